@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.aggregate.AggCache;
+import io.dingodb.exec.aggregate.CountAgg;
+import io.dingodb.exec.aggregate.MaxAgg;
+import io.dingodb.exec.aggregate.SumAgg;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouped aggregation of {@code SUM(amount), COUNT(*), MAX(ts)} by {@code name}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggCacheBenchmark {
+    @Param({"16", "4096"})
+    private int groups;
+
+    private List<Object[]> tuples;
+
+    @Setup
+    public void setup() {
+        tuples = BenchmarkData.tuples(16384, groups);
+    }
+
+    @Benchmark
+    public AggCache addTuple() {
+        AggCache cache = new AggCache(
+            TupleMapping.of(new int[]{1}),
+            ImmutableList.of(
+                new SumAgg(2, DingoTypeFactory.scalar("DOUBLE")),
+                new CountAgg(null),
+                new MaxAgg(3, DingoTypeFactory.scalar("LONG"))
+            )
+        );
+        for (Object[] tuple : tuples) {
+            cache.addTuple(tuple);
+        }
+        return cache;
+    }
+}
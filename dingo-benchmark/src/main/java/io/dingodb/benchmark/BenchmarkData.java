@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.codec.serial.DingoKeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.exec.table.Part;
+import io.dingodb.exec.table.PartInKvStore;
+import io.dingodb.meta.MetaService;
+import io.dingodb.meta.local.LocalMetaService;
+import io.dingodb.store.memory.MemoryStoreInstance;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic data shared by the benchmarks.
+ *
+ * <p>Tuples are of type {@code (INT id, STRING name, DOUBLE amount, LONG ts)} with {@code id} as the primary key.
+ */
+final class BenchmarkData {
+    static final DingoType SCHEMA = DingoTypeFactory.tuple("INT", "STRING", "DOUBLE", "LONG");
+    static final TupleMapping KEY_MAPPING = TupleMapping.of(new int[]{0});
+
+    private static final AtomicInteger TABLE_SEQ = new AtomicInteger(0);
+
+    private BenchmarkData() {
+    }
+
+    static @NonNull List<Object[]> tuples(int count, int distinctNames) {
+        Random random = new Random(count);
+        List<Object[]> tuples = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            tuples.add(new Object[]{
+                i,
+                "name_" + random.nextInt(distinctNames),
+                random.nextDouble() * 1000.0,
+                1600000000000L + random.nextInt(86400000),
+            });
+        }
+        return tuples;
+    }
+
+    static @NonNull TableDefinition tableDefinition(String name, String @NonNull ... types) {
+        // Table names are made unique, for the local meta service is shared in the JVM.
+        TableDefinition tableDefinition = new TableDefinition(name + "_" + TABLE_SEQ.incrementAndGet());
+        for (int i = 0; i < types.length; ++i) {
+            tableDefinition.addColumn(ColumnDefinition.builder()
+                .name("COL" + i)
+                .type(types[i])
+                .primary(i == 0 ? 0 : -1)
+                .nullable(i != 0)
+                .build());
+        }
+        return tableDefinition;
+    }
+
+    /**
+     * Create a table in the local meta service, store the tuples into a {@link MemoryStoreInstance} and scan them
+     * back, so that the operator benchmarks are fed by the same path as a real table scan.
+     */
+    static @NonNull List<Object[]> storeAndScan(
+        @NonNull TableDefinition tableDefinition,
+        @NonNull List<Object[]> tuples
+    ) {
+        LocalMetaService root = LocalMetaService.ROOT;
+        if (root.getSubMetaService(MetaService.DINGO_NAME) == null) {
+            root.createSubMetaService(MetaService.DINGO_NAME);
+        }
+        MetaService metaService = root.getSubMetaService(MetaService.DINGO_NAME);
+        metaService.createTable(tableDefinition.getName(), tableDefinition);
+        CommonId tableId = metaService.getTableId(tableDefinition.getName());
+        Part part = new PartInKvStore(
+            new MemoryStoreInstance(tableId),
+            new DingoKeyValueCodec(tableDefinition.getDingoType(), tableDefinition.getKeyMapping())
+        );
+        for (Object[] tuple : tuples) {
+            part.insert(tuple);
+        }
+        List<Object[]> result = new ArrayList<>(tuples.size());
+        Iterator<Object[]> iterator = part.scan(ByteArrayUtils.EMPTY_BYTES, ByteArrayUtils.MAX, true, true);
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.SinkOperator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A sink which only counts the tuples pushed in, used to drain the operators under benchmark.
+ */
+final class CountingSinkOperator extends SinkOperator {
+    private long count;
+
+    /**
+     * Put the operator and a new counting sink into a standalone task, and link the sole output of the operator to
+     * the sink.
+     *
+     * @param operator the operator
+     * @return the sink
+     */
+    static @NonNull CountingSinkOperator attachTo(@NonNull Operator operator) {
+        Task task = new TaskImpl(CommonId.EMPTY_TASK, CommonId.EMPTY_JOB, new Location("localhost", 0), null);
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+        operator.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(operator);
+        CountingSinkOperator sink = new CountingSinkOperator();
+        sink.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(sink);
+        operator.getSoleOutput().setLink(sink.getInput(0));
+        task.init();
+        return sink;
+    }
+
+    @Override
+    protected boolean push(Object[] tuple) {
+        ++count;
+        return true;
+    }
+
+    @Override
+    protected void fin(Fin fin) {
+    }
+
+    long takeCount() {
+        long result = count;
+        count = 0;
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.operator.HashJoinOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inner join of {@code ORDERS(id, customer_id, amount)} with {@code CUSTOMERS(id, name, amount, ts)} on the customer
+ * id, both sides scanned from in-memory stores.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashJoinBenchmark {
+    private static final int ORDERS_PER_CUSTOMER = 4;
+
+    @Param({"1024", "65536"})
+    private int customers;
+
+    private List<Object[]> orderTuples;
+    private List<Object[]> customerTuples;
+    private HashJoinOperator join;
+    private CountingSinkOperator sink;
+    private Fin fin;
+
+    @Setup
+    public void setup() {
+        TableDefinition customerTable = BenchmarkData.tableDefinition("CUSTOMERS", "INT", "STRING", "DOUBLE", "LONG");
+        customerTuples = BenchmarkData.storeAndScan(customerTable, BenchmarkData.tuples(customers, 64));
+        TableDefinition orderTable = BenchmarkData.tableDefinition("ORDERS", "INT", "INT", "DOUBLE");
+        Random random = new Random(customers);
+        int orders = customers * ORDERS_PER_CUSTOMER;
+        List<Object[]> tuples = new ArrayList<>(orders);
+        for (int i = 0; i < orders; ++i) {
+            tuples.add(new Object[]{i, random.nextInt(customers), random.nextDouble() * 100.0});
+        }
+        orderTuples = BenchmarkData.storeAndScan(orderTable, tuples);
+        join = new HashJoinOperator(
+            TupleMapping.of(new int[]{1}),
+            TupleMapping.of(new int[]{0}),
+            3,
+            4,
+            false,
+            false,
+            orderTable.getDingoType(),
+            customerTable.getDingoType()
+        );
+        sink = CountingSinkOperator.attachTo(join);
+        fin = FinWithProfiles.of(new OperatorProfile());
+    }
+
+    @Benchmark
+    public long join() {
+        for (Object[] tuple : customerTuples) {
+            join.push(1, tuple);
+        }
+        join.fin(1, fin);
+        for (Object[] tuple : orderTuples) {
+            join.push(0, tuple);
+        }
+        join.fin(0, fin);
+        return sink.takeCount();
+    }
+}
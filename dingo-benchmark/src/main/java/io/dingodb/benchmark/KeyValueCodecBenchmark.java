@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.codec.serial.DingoKeyValueCodec;
+import io.dingodb.common.store.KeyValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyValueCodecBenchmark {
+    @Param({"1024"})
+    private int size;
+
+    private DingoKeyValueCodec codec;
+    private List<Object[]> tuples;
+    private List<KeyValue> keyValues;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = new DingoKeyValueCodec(BenchmarkData.SCHEMA, BenchmarkData.KEY_MAPPING);
+        tuples = BenchmarkData.tuples(size, 64);
+        keyValues = new ArrayList<>(size);
+        for (Object[] tuple : tuples) {
+            keyValues.add(codec.encode(tuple));
+        }
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) throws IOException {
+        for (Object[] tuple : tuples) {
+            blackhole.consume(codec.encode(tuple));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws IOException {
+        for (KeyValue keyValue : keyValues) {
+            blackhole.consume(codec.decode(keyValue));
+        }
+    }
+}
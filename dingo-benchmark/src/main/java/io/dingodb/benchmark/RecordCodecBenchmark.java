@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.serial.io.RecordDecoder;
+import io.dingodb.serial.io.RecordEncoder;
+import io.dingodb.serial.schema.BooleanSchema;
+import io.dingodb.serial.schema.DingoSchema;
+import io.dingodb.serial.schema.DoubleSchema;
+import io.dingodb.serial.schema.IntegerSchema;
+import io.dingodb.serial.schema.LongSchema;
+import io.dingodb.serial.schema.StringSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordCodecBenchmark {
+    @Param({"1024"})
+    private int size;
+
+    private RecordEncoder encoder;
+    private RecordDecoder decoder;
+    private List<Object[]> records;
+    private List<byte[]> encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        List<DingoSchema> schemas = new ArrayList<>();
+        schemas.add(new IntegerSchema(0));
+        schemas.add(new StringSchema(1, 0));
+        schemas.add(new DoubleSchema(2));
+        schemas.add(new LongSchema(3));
+        schemas.add(new BooleanSchema(4));
+        encoder = new RecordEncoder(schemas, (short) 0, (byte) 1, (byte) 1, (byte) 1, null);
+        decoder = new RecordDecoder(schemas, (short) 0, (byte) 1, (byte) 1, (byte) 1, null);
+        records = new ArrayList<>(size);
+        encoded = new ArrayList<>(size);
+        for (Object[] tuple : BenchmarkData.tuples(size, 64)) {
+            Object[] record = new Object[]{tuple[0], tuple[1], tuple[2], tuple[3], (int) tuple[0] % 2 == 0};
+            records.add(record);
+            encoded.add(encoder.encode(record));
+        }
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) throws IOException {
+        for (Object[] record : records) {
+            blackhole.consume(encoder.encode(record));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws IOException {
+        for (byte[] bytes : encoded) {
+            blackhole.consume(decoder.decode(bytes));
+        }
+    }
+}
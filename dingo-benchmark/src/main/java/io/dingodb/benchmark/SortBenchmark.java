@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.operator.SortOperator;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ORDER BY name, amount DESC}, in full ({@code limit = -1}) or top-N, of tuples scanned from an in-memory
+ * store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortBenchmark {
+    @Param({"65536"})
+    private int size;
+
+    @Param({"-1", "100"})
+    private int limit;
+
+    private List<Object[]> tuples;
+    private SortOperator sort;
+    private CountingSinkOperator sink;
+    private Fin fin;
+
+    @Setup
+    public void setup() {
+        TableDefinition table = BenchmarkData.tableDefinition("SORTED", "INT", "STRING", "DOUBLE", "LONG");
+        tuples = BenchmarkData.storeAndScan(table, BenchmarkData.tuples(size, 1024));
+        sort = new SortOperator(
+            ImmutableList.of(
+                new SortCollation(1, SortDirection.ASCENDING, SortNullDirection.FIRST),
+                new SortCollation(2, SortDirection.DESCENDING, SortNullDirection.LAST)
+            ),
+            limit,
+            0,
+            table.getDingoType()
+        );
+        sink = CountingSinkOperator.attachTo(sort);
+        fin = FinWithProfiles.of(new OperatorProfile());
+    }
+
+    @Benchmark
+    public long sort() {
+        for (Object[] tuple : tuples) {
+            sort.push(0, tuple);
+        }
+        sort.fin(0, fin);
+        return sink.takeCount();
+    }
+}
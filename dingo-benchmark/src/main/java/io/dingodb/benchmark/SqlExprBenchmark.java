@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.expr.SqlExpr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation of typical filter predicates, compiled or interpreted according to the execution configuration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlExprBenchmark {
+    @Param({
+        "_[0] > 512",
+        "_[2] > 500.0 && _[0] < 800",
+        "_[1] == 'name_1' || _[3] < 0",
+        "_[0] * 2 + 1 > _[2]",
+    })
+    private String filter;
+
+    private SqlExpr expr;
+    private List<Object[]> tuples;
+
+    @Setup
+    public void setup() {
+        expr = new SqlExpr(filter, DingoTypeFactory.scalar("BOOL"));
+        expr.compileIn(BenchmarkData.SCHEMA, null);
+        tuples = BenchmarkData.tuples(1024, 64);
+    }
+
+    @Benchmark
+    public void eval(Blackhole blackhole) {
+        for (Object[] tuple : tuples) {
+            blackhole.consume(expr.eval(tuple));
+        }
+    }
+
+    @Benchmark
+    public SqlExpr compile() {
+        SqlExpr copy = expr.copy();
+        copy.compileIn(BenchmarkData.SCHEMA, null);
+        return copy;
+    }
+}
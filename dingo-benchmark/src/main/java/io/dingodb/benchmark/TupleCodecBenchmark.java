@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.benchmark;
+
+import io.dingodb.exec.codec.AvroTupleCodec;
+import io.dingodb.exec.codec.BinaryTupleCodec;
+import io.dingodb.exec.codec.TupleCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of tuple batches sent between tasks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TupleCodecBenchmark {
+    @Param({"avro", "binary"})
+    private String codecName;
+
+    @Param({"1", "64", "1024"})
+    private int batchSize;
+
+    private TupleCodec codec;
+    private List<Object[]> tuples;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = codecName.equals("avro")
+            ? new AvroTupleCodec(BenchmarkData.SCHEMA)
+            : new BinaryTupleCodec(BenchmarkData.SCHEMA);
+        tuples = BenchmarkData.tuples(batchSize, 64);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        codec.encode(os, tuples);
+        encoded = os.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream(encoded.length);
+        codec.encode(os, tuples);
+        return os.toByteArray();
+    }
+
+    @Benchmark
+    public List<Object[]> decode() throws IOException {
+        return codec.decode(encoded, 0, encoded.length);
+    }
+}
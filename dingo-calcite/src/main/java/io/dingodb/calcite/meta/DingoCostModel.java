@@ -19,6 +19,9 @@ package io.dingodb.calcite.meta;
 import io.dingodb.calcite.rel.DingoGetByIndex;
 import io.dingodb.calcite.rel.DingoGetByIndexMerge;
 import io.dingodb.calcite.rel.DingoGetByKeys;
+import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoTableScan;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
@@ -31,4 +34,10 @@ public abstract class DingoCostModel {
     public abstract RelOptCost getDingoGetByKeys(DingoGetByKeys dingoGetByKeys, RelMetadataQuery mq);
 
     public abstract RelOptCost getDingoTableScan(DingoTableScan dingoTableScan, RelMetadataQuery mq);
+
+    public abstract RelOptCost getDingoLookupJoin(DingoLookupJoin dingoLookupJoin, RelMetadataQuery mq);
+
+    public abstract RelOptCost getDingoHashJoin(DingoHashJoin dingoHashJoin, RelMetadataQuery mq);
+
+    public abstract RelOptCost getDingoMergeJoin(DingoMergeJoin dingoMergeJoin, RelMetadataQuery mq);
 }
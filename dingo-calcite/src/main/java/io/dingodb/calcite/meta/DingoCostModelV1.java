@@ -21,11 +21,15 @@ import io.dingodb.calcite.rel.DingoCost;
 import io.dingodb.calcite.rel.DingoGetByIndex;
 import io.dingodb.calcite.rel.DingoGetByIndexMerge;
 import io.dingodb.calcite.rel.DingoGetByKeys;
+import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoTableScan;
 import io.dingodb.calcite.rel.LogicalDingoTableScan;
 import io.dingodb.calcite.stats.StatsCache;
 import io.dingodb.calcite.stats.TableStats;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.table.ColumnDefinition;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.scalar.DateType;
@@ -38,6 +42,8 @@ import io.dingodb.common.type.scalar.TimeType;
 import io.dingodb.common.type.scalar.TimestampType;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.prepare.RelOptTableImpl;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -135,6 +141,90 @@ public class DingoCostModelV1 extends DingoCostModel {
         return getLogicDingoTableScan(dingoTableScan, mq);
     }
 
+    @Override
+    public RelOptCost getDingoLookupJoin(DingoLookupJoin dingoLookupJoin, RelMetadataQuery mq) {
+        // cost = index_cost + (table_cost + request_cost) / lookup_concurrency
+        // index cost = (index_scan_cost + index_net_cost) / scan_concurrency, only if looked up by index
+        // table cost = table_scan_cost + table_net_cost
+        // request cost = ceil(outer_rows / multi_get_batch_size) * requestFactor
+
+        // The inner table is never scanned entirely, so the cost depends only on the rows looked up.
+        DingoTable dingoTable = dingoLookupJoin.getTable().unwrap(DingoTable.class);
+        String schemaName = dingoTable.getNames().get(1);
+        TableDefinition td = dingoTable.getTableDefinition();
+        double outerRowCount = mq.getRowCount(dingoLookupJoin.getInput());
+        double rowCount = outerRowCount * dingoLookupJoin.getRowsPerKey();
+        double rowSize = getAvgRowSize(td.getColumns(), td, schemaName);
+        double indexSideCost = 0;
+        if (dingoLookupJoin.getIndexDefinition() != null) {
+            List<String> columnList = dingoLookupJoin.getIndexDefinition().getColumns()
+                .stream().map(ColumnDefinition::getName).collect(Collectors.toList());
+            List<ColumnDefinition> indexCdList = td.getColumns().stream()
+                .filter(cd -> columnList.contains(cd.getName())).collect(Collectors.toList());
+            double indexRowSize = getAvgRowSize(indexCdList, td, schemaName);
+            indexSideCost = (getScanCost(rowCount, indexRowSize) + getNetCost(rowCount, indexRowSize))
+                / scanConcurrency;
+        }
+        double tableSideCost = getScanCost(rowCount, rowSize) + getNetCost(rowCount, rowSize);
+        double requestCost = Math.ceil(outerRowCount / ExecutionConfiguration.multiGetBatchSize()) * requestFactor;
+        double cost = indexSideCost + (tableSideCost + requestCost) / lookupConcurrency;
+        return DingoCost.FACTORY.makeCost(cost, 0, 0);
+    }
+
+    @Override
+    public RelOptCost getDingoHashJoin(DingoHashJoin dingoHashJoin, RelMetadataQuery mq) {
+        // cost = join_cost + build_mem_cost + spill_cost
+        // build_mem_cost = right_rows * memFactor
+        // spill_cost = (left_scan_cost + left_net_cost + right_scan_cost + right_net_cost) * 2, only if the build side
+        //     does not fit in the join memory budget, as if all the rows are written to disk and read back
+
+        RelNode right = dingoHashJoin.getRight();
+        double buildMemCost = mq.getRowCount(right) * memFactor;
+        double spillCost = 0;
+        if (!fitsJoinMemory(right, mq)) {
+            spillCost = (getInputCost(dingoHashJoin.getLeft(), mq) + getInputCost(right, mq)) * 2;
+        }
+        return getJoinCost(dingoHashJoin, mq).plus(DingoCost.FACTORY.makeCost(buildMemCost + spillCost, 0, 0));
+    }
+
+    @Override
+    public RelOptCost getDingoMergeJoin(DingoMergeJoin dingoMergeJoin, RelMetadataQuery mq) {
+        // cost = join_cost + serial_scan_cost
+        // serial_scan_cost = (left_scan_cost + left_net_cost + right_scan_cost + right_net_cost)
+        //     * (1 - 1 / scan_concurrency)
+
+        // Nothing is held in memory, but the inputs are scanned one region after another to keep them ordered, while
+        // the costs of the scans assume the regions are scanned concurrently.
+        double inputCost = getInputCost(dingoMergeJoin.getLeft(), mq) + getInputCost(dingoMergeJoin.getRight(), mq);
+        double serialScanCost = inputCost * (1 - 1 / scanConcurrency);
+        return getJoinCost(dingoMergeJoin, mq).plus(DingoCost.FACTORY.makeCost(serialScanCost, 0, 0));
+    }
+
+    /**
+     * Check if the rows of the build side of a hash join are estimated to fit in
+     * {@link ExecutionConfiguration#joinMemoryBudget()}. They always fit if spilling is disabled.
+     */
+    public static boolean fitsJoinMemory(@NonNull RelNode build, @NonNull RelMetadataQuery mq) {
+        long budget = ExecutionConfiguration.joinMemoryBudget();
+        return budget <= 0 || mq.getRowCount(build) * getRowSize(build, mq) <= budget;
+    }
+
+    private static double getRowSize(@NonNull RelNode rel, @NonNull RelMetadataQuery mq) {
+        Double rowSize = mq.getAverageRowSize(rel);
+        return rowSize != null && rowSize > 1 ? rowSize : 8.0 * Math.max(rel.getRowType().getFieldCount(), 1);
+    }
+
+    private double getInputCost(@NonNull RelNode input, @NonNull RelMetadataQuery mq) {
+        double rowCount = mq.getRowCount(input);
+        double rowSize = getRowSize(input, mq);
+        return getScanCost(rowCount, rowSize) + getNetCost(rowCount, rowSize);
+    }
+
+    // The same as the default cost of joins, for matching the rows costs the same for all joins.
+    private static @NonNull RelOptCost getJoinCost(@NonNull Join join, @NonNull RelMetadataQuery mq) {
+        return DingoCost.FACTORY.makeCost(mq.getRowCount(join), 0, 0);
+    }
+
     private RelOptCost getLogicDingoTableScan(LogicalDingoTableScan dingoTableScan, RelMetadataQuery mq) {
         double rowCount = dingoTableScan.getTable().getRowCount();
 
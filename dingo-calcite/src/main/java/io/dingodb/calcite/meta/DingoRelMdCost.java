@@ -19,6 +19,9 @@ package io.dingodb.calcite.meta;
 import io.dingodb.calcite.rel.DingoGetByIndex;
 import io.dingodb.calcite.rel.DingoGetByIndexMerge;
 import io.dingodb.calcite.rel.DingoGetByKeys;
+import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoTableScan;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.rel.metadata.BuiltInMetadata;
@@ -62,4 +65,16 @@ public class DingoRelMdCost implements MetadataHandler<BuiltInMetadata.NonCumula
         return dingoCostModel.getDingoGetByIndexMerge(dingoGetByIndexMerge, mq);
     }
 
+    public RelOptCost getNonCumulativeCost(DingoLookupJoin dingoLookupJoin, RelMetadataQuery mq) {
+        return dingoCostModel.getDingoLookupJoin(dingoLookupJoin, mq);
+    }
+
+    public RelOptCost getNonCumulativeCost(DingoHashJoin dingoHashJoin, RelMetadataQuery mq) {
+        return dingoCostModel.getDingoHashJoin(dingoHashJoin, mq);
+    }
+
+    public RelOptCost getNonCumulativeCost(DingoMergeJoin dingoMergeJoin, RelMetadataQuery mq) {
+        return dingoCostModel.getDingoMergeJoin(dingoMergeJoin, mq);
+    }
+
 }
@@ -20,10 +20,12 @@ import com.google.common.collect.ImmutableList;
 import io.dingodb.calcite.traits.DingoRelStreaming;
 import io.dingodb.calcite.traits.DingoRelTraitsUtils;
 import io.dingodb.calcite.visitor.DingoRelVisitor;
+import lombok.Getter;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelTraitSet;
 import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
 import org.apache.calcite.rel.core.CorrelationId;
 import org.apache.calcite.rel.core.Join;
 import org.apache.calcite.rel.core.JoinInfo;
@@ -37,6 +39,12 @@ import java.util.List;
 import java.util.Set;
 
 public class DingoHashJoin extends Join implements DingoRel {
+    /**
+     * If {@code true}, the right input is replicated to every task of the left input, which keeps its own streaming.
+     */
+    @Getter
+    private final boolean broadcast;
+
     public DingoHashJoin(
         RelOptCluster cluster,
         RelTraitSet traitSet,
@@ -46,8 +54,23 @@ public class DingoHashJoin extends Join implements DingoRel {
         RexNode condition,
         Set<CorrelationId> variablesSet,
         JoinRelType joinType
+    ) {
+        this(cluster, traitSet, hints, left, right, condition, variablesSet, joinType, false);
+    }
+
+    public DingoHashJoin(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        Set<CorrelationId> variablesSet,
+        JoinRelType joinType,
+        boolean broadcast
     ) {
         super(cluster, traitSet, hints, left, right, condition, variablesSet, joinType);
+        this.broadcast = broadcast;
     }
 
     @Override
@@ -67,12 +90,22 @@ public class DingoHashJoin extends Join implements DingoRel {
             right,
             conditionExpr,
             getVariablesSet(),
-            joinType
+            joinType,
+            broadcast
         );
     }
 
+    @Override
+    public RelWriter explainTerms(RelWriter pw) {
+        return super.explainTerms(pw).itemIf("broadcast", true, broadcast);
+    }
+
     @Override
     public @Nullable RelNode derive(RelTraitSet childTraits, int childId) {
+        if (broadcast) {
+            // Inputs of a broadcast join have different streaming, which are fixed when it is created.
+            return null;
+        }
         RelTraitSet traits = getTraitSet();
         JoinInfo joinInfo = analyzeCondition();
         DingoRelStreaming leftStreaming;
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.rel;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.calcite.visitor.DingoRelVisitor;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
+import lombok.Getter;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.validate.SqlValidatorUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Join the input with a table, by looking up the table with the join keys of input rows, on the primary key or on a
+ * secondary index, instead of scanning the whole table.
+ */
+public class DingoLookupJoin extends SingleRel implements DingoRel {
+    @Getter
+    private final RelOptTable table;
+    @Getter
+    private final @Nullable RexNode filter;
+    @Getter
+    private final @Nullable TupleMapping selection;
+    /**
+     * The row type of the table after selection.
+     */
+    @Getter
+    private final RelDataType tableRowType;
+    @Getter
+    private final RexNode condition;
+    @Getter
+    private final JoinRelType joinType;
+    /**
+     * Join keys in input rows.
+     */
+    @Getter
+    private final List<Integer> leftKeys;
+    /**
+     * Join keys in table rows after selection.
+     */
+    @Getter
+    private final List<Integer> rightKeys;
+    /**
+     * Join keys in input rows used to look up.
+     */
+    @Getter
+    private final List<Integer> lookupKeys;
+    /**
+     * Columns of the table (or the index if present) corresponding to {@link #lookupKeys}.
+     */
+    @Getter
+    private final List<Integer> lookupColumns;
+    @Getter
+    private final @Nullable CommonId indexId;
+    @Getter
+    private final @Nullable TableDefinition indexDefinition;
+    /**
+     * Estimated number of table rows for each lookup key.
+     */
+    @Getter
+    private final double rowsPerKey;
+
+    public DingoLookupJoin(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelOptTable table,
+        @Nullable RexNode filter,
+        @Nullable TupleMapping selection,
+        RelDataType tableRowType,
+        RexNode condition,
+        JoinRelType joinType,
+        List<Integer> leftKeys,
+        List<Integer> rightKeys,
+        List<Integer> lookupKeys,
+        List<Integer> lookupColumns,
+        @Nullable CommonId indexId,
+        @Nullable TableDefinition indexDefinition,
+        double rowsPerKey
+    ) {
+        super(cluster, traits, input);
+        this.table = table;
+        this.filter = filter;
+        this.selection = selection;
+        this.tableRowType = tableRowType;
+        this.condition = condition;
+        this.joinType = joinType;
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.lookupKeys = lookupKeys;
+        this.lookupColumns = lookupColumns;
+        this.indexId = indexId;
+        this.indexDefinition = indexDefinition;
+        this.rowsPerKey = rowsPerKey;
+    }
+
+    @Override
+    protected RelDataType deriveRowType() {
+        return SqlValidatorUtil.deriveJoinRowType(
+            getInput().getRowType(),
+            tableRowType,
+            joinType,
+            getCluster().getTypeFactory(),
+            null,
+            ImmutableList.of()
+        );
+    }
+
+    @Override
+    public double estimateRowCount(@NonNull RelMetadataQuery mq) {
+        double rowCount = mq.getRowCount(getInput());
+        return joinType == JoinRelType.LEFT ? rowCount * Math.max(rowsPerKey, 1.0d) : rowCount * rowsPerKey;
+    }
+
+    @Override
+    public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new DingoLookupJoin(
+            getCluster(),
+            traitSet,
+            sole(inputs),
+            table,
+            filter,
+            selection,
+            tableRowType,
+            condition,
+            joinType,
+            leftKeys,
+            rightKeys,
+            lookupKeys,
+            lookupColumns,
+            indexId,
+            indexDefinition,
+            rowsPerKey
+        );
+    }
+
+    @Override
+    public @NonNull RelWriter explainTerms(@NonNull RelWriter pw) {
+        super.explainTerms(pw);
+        pw.item("table", table.getQualifiedName());
+        pw.item("condition", condition);
+        pw.item("joinType", joinType.lowerName);
+        pw.itemIf("index", indexId, indexId != null);
+        pw.itemIf("filter", filter, filter != null);
+        pw.itemIf("selection", selection, selection != null);
+        return pw;
+    }
+
+    @Override
+    public <T> T accept(@NonNull DingoRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.common.config.ExecutionConfiguration;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+
+/**
+ * Broadcast the right input of an equi-join to the tasks scanning the left table if the right input is estimated to
+ * be small, so that the left input is joined where it is scanned, without being shuffled by join keys.
+ */
+@Value.Enclosing
+public class DingoHashJoinBroadcastRule extends RelRule<DingoHashJoinBroadcastRule.Config> {
+    protected DingoHashJoinBroadcastRule(Config config) {
+        super(config);
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        LogicalJoin rel = call.rel(0);
+        LogicalDingoTableScan scan = call.rel(1);
+        long maxRows = ExecutionConfiguration.broadcastJoinRows();
+        Double rightRows = call.getMetadataQuery().getRowCount(rel.getRight());
+        if (maxRows <= 0 || rightRows == null || rightRows > maxRows) {
+            return;
+        }
+        // Results are gathered by the join itself, so its streaming is `ROOT`.
+        RelTraitSet traits = rel.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT);
+        call.transformTo(
+            new DingoHashJoin(
+                rel.getCluster(),
+                traits,
+                rel.getHints(),
+                convert(rel.getLeft(), traits.replace(DingoRelStreaming.of(scan.getTable()))),
+                convert(rel.getRight(), traits),
+                rel.getCondition(),
+                rel.getVariablesSet(),
+                rel.getJoinType(),
+                true
+            )
+        );
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoHashJoinBroadcastRule.Config.builder()
+            .operandSupplier(b0 ->
+                b0.operand(LogicalJoin.class).predicate(rel -> {
+                    if (!DingoHashJoinRule.match(rel)) {
+                        return false;
+                    }
+                    // Non-joined right tuples would be output by every task.
+                    if (rel.getJoinType() != JoinRelType.INNER && rel.getJoinType() != JoinRelType.LEFT) {
+                        return false;
+                    }
+                    JoinInfo joinInfo = rel.analyzeCondition();
+                    return joinInfo.leftKeys.size() != 0 && joinInfo.rightKeys.size() != 0;
+                }).inputs(
+                    b1 -> b1.operand(LogicalDingoTableScan.class)
+                        .predicate(scan -> scan.getAggCalls() == null)
+                        .noInputs(),
+                    b2 -> b2.operand(RelNode.class).anyInputs()
+                )
+            )
+            .description("DingoHashJoinBroadcastRule")
+            .build();
+
+        @Override
+        default DingoHashJoinBroadcastRule toRule() {
+            return new DingoHashJoinBroadcastRule(this);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.calcite.utils.TableUtils;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.TableDefinition;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Convert an equi-join with a table on the right to {@link DingoLookupJoin}, if the join keys cover the primary key
+ * of the table, or the leading columns of a scalar index. The plan is chosen by cost against the hash joins.
+ */
+@Value.Enclosing
+public class DingoLookupJoinRule extends RelRule<DingoLookupJoinRule.Config> {
+    // Selectivity of an equality condition on an index column, the same as guessed by Calcite.
+    private static final double INDEX_COLUMN_SELECTIVITY = 0.15d;
+
+    protected DingoLookupJoinRule(Config config) {
+        super(config);
+    }
+
+    private static boolean sameTypes(@NonNull LogicalJoin join, @NonNull JoinInfo joinInfo) {
+        List<RelDataTypeField> leftFields = join.getLeft().getRowType().getFieldList();
+        List<RelDataTypeField> rightFields = join.getRight().getRowType().getFieldList();
+        for (int i = 0; i < joinInfo.leftKeys.size(); ++i) {
+            RelDataTypeField left = leftFields.get(joinInfo.leftKeys.get(i));
+            RelDataTypeField right = rightFields.get(joinInfo.rightKeys.get(i));
+            if (left.getType().getSqlTypeName() != right.getType().getSqlTypeName()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        LogicalJoin join = call.rel(0);
+        LogicalDingoTableScan scan = call.rel(2);
+        JoinInfo joinInfo = join.analyzeCondition();
+        // Key values are encoded as they are, so the types must be the same.
+        if (!sameTypes(join, joinInfo)) {
+            return;
+        }
+        TableDefinition td = TableUtils.getTableDefinition(scan.getTable());
+        // Table columns of the right keys.
+        List<Integer> columns = joinInfo.rightKeys.stream()
+            .map(k -> scan.getSelection() == null ? k : scan.getSelection().get(k))
+            .collect(Collectors.toList());
+        List<Integer> lookupKeys = new ArrayList<>();
+        List<Integer> lookupColumns = new ArrayList<>();
+        CommonId indexId = null;
+        TableDefinition indexDefinition = null;
+        double rowsPerKey;
+        List<Integer> keyColumns = td.getKeyColumnIndices();
+        if (columns.containsAll(keyColumns)) {
+            for (int column : keyColumns) {
+                lookupKeys.add(joinInfo.leftKeys.get(columns.indexOf(column)));
+                lookupColumns.add(column);
+            }
+            rowsPerKey = 1.0d;
+        } else {
+            int prefix = 0;
+            for (Map.Entry<CommonId, TableDefinition> entry : DingoGetByIndexRule.getScalaIndices(scan.getTable())
+                .entrySet()) {
+                List<Integer> indexColumns = td.getColumnIndices(
+                    entry.getValue().getColumns().stream().map(ColumnDefinition::getName).collect(Collectors.toList())
+                );
+                // Leftmost matching principle.
+                int count = 0;
+                while (count < indexColumns.size() && columns.contains(indexColumns.get(count))) {
+                    ++count;
+                }
+                if (count > prefix) {
+                    prefix = count;
+                    indexId = entry.getKey();
+                    indexDefinition = entry.getValue();
+                    lookupKeys.clear();
+                    lookupColumns.clear();
+                    for (int i = 0; i < count; ++i) {
+                        lookupKeys.add(joinInfo.leftKeys.get(columns.indexOf(indexColumns.get(i))));
+                        lookupColumns.add(i);
+                    }
+                }
+            }
+            if (indexId == null) {
+                return;
+            }
+            rowsPerKey = Math.max(
+                1.0d,
+                scan.getTable().getRowCount() * Math.pow(INDEX_COLUMN_SELECTIVITY, prefix)
+            );
+        }
+        RelTraitSet traits = join.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT);
+        call.transformTo(
+            new DingoLookupJoin(
+                join.getCluster(),
+                traits,
+                convert(join.getLeft(), traits),
+                scan.getTable(),
+                scan.getFilter(),
+                scan.getSelection(),
+                scan.getRowType(),
+                join.getCondition(),
+                join.getJoinType(),
+                joinInfo.leftKeys,
+                joinInfo.rightKeys,
+                lookupKeys,
+                lookupColumns,
+                indexId,
+                indexDefinition,
+                rowsPerKey
+            )
+        );
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoLookupJoinRule.Config.builder()
+            .operandSupplier(b0 ->
+                b0.operand(LogicalJoin.class).predicate(rel -> {
+                    if (!DingoHashJoinRule.match(rel)) {
+                        return false;
+                    }
+                    // Non-joined table rows are never looked up.
+                    if (rel.getJoinType() != JoinRelType.INNER && rel.getJoinType() != JoinRelType.LEFT) {
+                        return false;
+                    }
+                    JoinInfo joinInfo = rel.analyzeCondition();
+                    return joinInfo.leftKeys.size() != 0 && joinInfo.rightKeys.size() != 0;
+                }).inputs(
+                    b1 -> b1.operand(RelNode.class).anyInputs(),
+                    b2 -> b2.operand(LogicalDingoTableScan.class)
+                        .predicate(scan -> scan.getAggCalls() == null && !scan.isForUpdate())
+                        .noInputs()
+                )
+            )
+            .description("DingoLookupJoinRule")
+            .build();
+
+        @Override
+        default DingoLookupJoinRule toRule() {
+            return new DingoLookupJoinRule(this);
+        }
+    }
+}
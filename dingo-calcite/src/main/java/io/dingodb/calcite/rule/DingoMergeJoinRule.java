@@ -0,0 +1,217 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.rule;
+
+import io.dingodb.calcite.meta.DingoCostModelV1;
+import io.dingodb.calcite.rel.DingoMergeJoin;
+import io.dingodb.calcite.rel.DingoTableScan;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.calcite.utils.TableUtils;
+import io.dingodb.common.partition.PartitionDefinition;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.partition.DingoPartitionServiceProvider;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.immutables.value.Value;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Convert an equi-join of two tables on the leading columns of their primary keys to {@link DingoMergeJoin}. Both
+ * tables are scanned in key order, for rows in a region are returned ordered by encoded key. Only range partitioned
+ * tables apply, for the regions of a hash partitioned table do not follow the key order.
+ *
+ * <p>The tables are scanned one region after another, so it only pays when a hash join would spill. The rule applies
+ * only if the right table, which would be the build side of a hash join, does not fit in the join memory budget, and
+ * the planner then compares the costs of both.
+ */
+@Value.Enclosing
+public class DingoMergeJoinRule extends RelRule<DingoMergeJoinRule.Config> {
+    // Types whose values are ordered the same as their encoded keys.
+    private static final Set<SqlTypeName> ORDERED_TYPES = EnumSet.of(
+        SqlTypeName.INTEGER,
+        SqlTypeName.BIGINT,
+        SqlTypeName.CHAR,
+        SqlTypeName.VARCHAR,
+        SqlTypeName.DATE,
+        SqlTypeName.TIME,
+        SqlTypeName.TIMESTAMP
+    );
+
+    protected DingoMergeJoinRule(Config config) {
+        super(config);
+    }
+
+    private static boolean isRangePartitioned(@NonNull TableDefinition td) {
+        PartitionDefinition partDefinition = td.getPartDefinition();
+        return partDefinition == null
+            || partDefinition.getFuncName() == null
+            || partDefinition.getFuncName().equalsIgnoreCase(DingoPartitionServiceProvider.RANGE_FUNC_NAME);
+    }
+
+    /**
+     * Get the positions of the join keys in the order of the primary key columns.
+     *
+     * @return the positions, or {@code null} if the keys of either side are not a prefix of its primary key, or
+     *     either table is not range partitioned
+     */
+    private static @Nullable List<Integer> orderKeys(
+        @NonNull JoinInfo joinInfo,
+        @NonNull LogicalDingoTableScan left,
+        @NonNull LogicalDingoTableScan right
+    ) {
+        TableDefinition leftTd = TableUtils.getTableDefinition(left.getTable());
+        TableDefinition rightTd = TableUtils.getTableDefinition(right.getTable());
+        if (!isRangePartitioned(leftTd) || !isRangePartitioned(rightTd)) {
+            return null;
+        }
+        List<Integer> leftPrimary = leftTd.getKeyColumnIndices();
+        List<Integer> rightPrimary = rightTd.getKeyColumnIndices();
+        int size = joinInfo.leftKeys.size();
+        if (size > leftPrimary.size() || size > rightPrimary.size()) {
+            return null;
+        }
+        List<Integer> positions = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            int position = -1;
+            for (int j = 0; j < size; ++j) {
+                if (column(left, joinInfo.leftKeys.get(j)) == leftPrimary.get(i)) {
+                    position = j;
+                    break;
+                }
+            }
+            if (position < 0 || column(right, joinInfo.rightKeys.get(position)) != rightPrimary.get(i)) {
+                return null;
+            }
+            RelDataType leftType = left.getRowType().getFieldList().get(joinInfo.leftKeys.get(position)).getType();
+            RelDataType rightType = right.getRowType().getFieldList().get(joinInfo.rightKeys.get(position)).getType();
+            if (leftType.getSqlTypeName() != rightType.getSqlTypeName()
+                || !ORDERED_TYPES.contains(leftType.getSqlTypeName())
+            ) {
+                return null;
+            }
+            positions.add(position);
+        }
+        return positions;
+    }
+
+    private static int column(@NonNull LogicalDingoTableScan scan, int field) {
+        return scan.getSelection() == null ? field : scan.getSelection().get(field);
+    }
+
+    private static @NonNull DingoTableScan orderedScan(
+        @NonNull LogicalDingoTableScan scan,
+        @NonNull List<Integer> keys
+    ) {
+        RelCollation collation = RelCollations.of(keys.stream().mapToInt(k -> k).toArray());
+        RelTraitSet traits = scan.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT.withCollation(collation));
+        return new DingoTableScan(
+            scan.getCluster(),
+            traits,
+            scan.getHints(),
+            scan.getTable(),
+            scan.getFilter(),
+            scan.getSelection()
+        );
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        LogicalJoin join = call.rel(0);
+        LogicalDingoTableScan left = call.rel(1);
+        LogicalDingoTableScan right = call.rel(2);
+        if (DingoCostModelV1.fitsJoinMemory(right, call.getMetadataQuery())) {
+            return;
+        }
+        JoinInfo joinInfo = join.analyzeCondition();
+        List<Integer> positions = orderKeys(joinInfo, left, right);
+        if (positions == null) {
+            return;
+        }
+        List<Integer> leftKeys = new ArrayList<>(positions.size());
+        List<Integer> rightKeys = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            leftKeys.add(joinInfo.leftKeys.get(position));
+            rightKeys.add(joinInfo.rightKeys.get(position));
+        }
+        RelTraitSet traits = join.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT);
+        call.transformTo(
+            new DingoMergeJoin(
+                join.getCluster(),
+                traits,
+                join.getHints(),
+                orderedScan(left, leftKeys),
+                orderedScan(right, rightKeys),
+                join.getCondition(),
+                join.getVariablesSet(),
+                join.getJoinType()
+            )
+        );
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoMergeJoinRule.Config.builder()
+            .operandSupplier(b0 ->
+                b0.operand(LogicalJoin.class).predicate(rel -> {
+                    if (!DingoHashJoinRule.match(rel)) {
+                        return false;
+                    }
+                    if (rel.getJoinType() != JoinRelType.INNER && rel.getJoinType() != JoinRelType.LEFT) {
+                        return false;
+                    }
+                    JoinInfo joinInfo = rel.analyzeCondition();
+                    return joinInfo.leftKeys.size() != 0 && joinInfo.rightKeys.size() != 0;
+                }).inputs(
+                    b1 -> b1.operand(LogicalDingoTableScan.class)
+                        .predicate(scan -> scan.getAggCalls() == null && !scan.isForUpdate())
+                        .noInputs(),
+                    b2 -> b2.operand(LogicalDingoTableScan.class)
+                        .predicate(scan -> scan.getAggCalls() == null && !scan.isForUpdate())
+                        .noInputs()
+                )
+            )
+            .description("DingoMergeJoinRule")
+            .build();
+
+        @Override
+        default DingoMergeJoinRule toRule() {
+            return new DingoMergeJoinRule(this);
+        }
+    }
+}
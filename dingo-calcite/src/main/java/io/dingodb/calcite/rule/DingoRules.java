@@ -33,12 +33,18 @@ public final class DingoRules {
         = DingoFilterRule.DEFAULT.toRule(DingoFilterRule.class);
     public static final DingoGetByIndexRule DINGO_GET_BY_INDEX_RULE
         = DingoGetByIndexRule.DEFAULT.toRule(DingoGetByIndexRule.class);
+    public static final DingoHashJoinBroadcastRule DINGO_HASH_JOIN_BROADCAST_RULE
+        = DingoHashJoinBroadcastRule.Config.DEFAULT.toRule();
     public static final DingoHashJoinDistributeRule DINGO_HASH_JOIN_DISTRIBUTE_RULE
         = DingoHashJoinDistributeRule.Config.DEFAULT.toRule();
     public static final DingoHashJoinRule DINGO_HASH_JOIN_RULE
         = DingoHashJoinRule.DEFAULT.toRule(DingoHashJoinRule.class);
     public static final DingoLikeRule DINGO_LIKE_RULE
         = DingoLikeRule.Config.DEFAULT.toRule();
+    public static final DingoLookupJoinRule DINGO_LOOKUP_JOIN_RULE
+        = DingoLookupJoinRule.Config.DEFAULT.toRule();
+    public static final DingoMergeJoinRule DINGO_MERGE_JOIN_RULE
+        = DingoMergeJoinRule.Config.DEFAULT.toRule();
     public static final DingoPartCountRule DINGO_PART_COUNT_RULE
         = DingoPartCountRule.Config.DEFAULT.toRule();
     public static final DingoPartDeleteRule DINGO_PART_DELETE_RULE
@@ -98,9 +104,12 @@ public final class DingoRules {
         DINGO_AGGREGATE_REDUCE_RULE,
         DINGO_AGGREGATE_RULE,
         DINGO_FILTER_RULE,
+        DINGO_HASH_JOIN_BROADCAST_RULE,
         DINGO_HASH_JOIN_DISTRIBUTE_RULE,
         DINGO_GET_BY_INDEX_RULE,
         DINGO_HASH_JOIN_RULE,
+        DINGO_LOOKUP_JOIN_RULE,
+        DINGO_MERGE_JOIN_RULE,
         DINGO_LIKE_RULE,
         DINGO_PART_COUNT_RULE,
         DINGO_PART_DELETE_RULE,
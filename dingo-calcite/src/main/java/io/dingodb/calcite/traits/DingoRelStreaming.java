@@ -24,13 +24,15 @@ import lombok.RequiredArgsConstructor;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.plan.RelTrait;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollations;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.List;
 import java.util.Set;
 
-@EqualsAndHashCode(of = {"partitions", "distribution"})
+@EqualsAndHashCode(of = {"partitions", "distribution", "collation"})
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class DingoRelStreaming implements RelTrait {
     public static final DingoRelStreaming NONE = new DingoRelStreaming(null, null);
@@ -40,6 +42,15 @@ public class DingoRelStreaming implements RelTrait {
     private final @Nullable Set<DingoRelPartition> partitions;
     @Getter
     private final @Nullable DingoRelPartition distribution;
+    /**
+     * Order of the tuples in each partition. Tuples are ordered globally if there are no partitions.
+     */
+    @Getter
+    private final @NonNull RelCollation collation;
+
+    private DingoRelStreaming(@Nullable Set<DingoRelPartition> partitions, @Nullable DingoRelPartition distribution) {
+        this(partitions, distribution, RelCollations.EMPTY);
+    }
 
     public static @NonNull DingoRelStreaming of(@NonNull RelOptTable table) {
         DingoRelPartition partition = DingoRelPartition.of(table);
@@ -55,6 +66,14 @@ public class DingoRelStreaming implements RelTrait {
         return partitions != null && partitions.isEmpty() && distribution == null;
     }
 
+    public boolean isOrdered() {
+        return !collation.getFieldCollations().isEmpty();
+    }
+
+    public @NonNull DingoRelStreaming withCollation(@NonNull RelCollation collation) {
+        return new DingoRelStreaming(partitions, distribution, collation);
+    }
+
     public @NonNull DingoRelStreaming withPartition(@NonNull DingoRelPartition partition) {
         return withPartitions(ImmutableSet.of(partition));
     }
@@ -113,7 +132,8 @@ public class DingoRelStreaming implements RelTrait {
         if (partitions != null) {
             return ((partitions.size() > 0) ? "PARTITIONED_BY" + partitions : "NO_PARTITION")
                 + ", "
-                + ((distribution != null) ? "DISTRIBUTED_BY[" + distribution + "]" : "NOT_DISTRIBUTED");
+                + ((distribution != null) ? "DISTRIBUTED_BY[" + distribution + "]" : "NOT_DISTRIBUTED")
+                + (isOrdered() ? ", ORDERED_BY" + collation : "");
         }
         return "NO_STREAMING";
     }
@@ -25,6 +25,8 @@ import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoGetVectorByDistance;
 import io.dingodb.calcite.rel.DingoHashJoin;
 import io.dingodb.calcite.rel.DingoLikeScan;
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartRangeDelete;
 import io.dingodb.calcite.rel.DingoProject;
@@ -48,6 +50,8 @@ import io.dingodb.calcite.visitor.function.DingoGetByKeysFun;
 import io.dingodb.calcite.visitor.function.DingoGetVectorByDistanceVisitFun;
 import io.dingodb.calcite.visitor.function.DingoHashJoinVisitFun;
 import io.dingodb.calcite.visitor.function.DingoLikeScanVisitFun;
+import io.dingodb.calcite.visitor.function.DingoLookupJoinVisitFun;
+import io.dingodb.calcite.visitor.function.DingoMergeJoinVisitFun;
 import io.dingodb.calcite.visitor.function.DingoProjectVisitFun;
 import io.dingodb.calcite.visitor.function.DingoRangeDeleteVisitFun;
 import io.dingodb.calcite.visitor.function.DingoReduceVisitFun;
@@ -213,4 +217,14 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Output>> {
     public Collection<Output> visit(@NonNull DingoGetByIndexMerge rel) {
         return DingoGetByIndexMergeVisitFun.visit(job, idGenerator, currentLocation, this, rel);
     }
+
+    @Override
+    public Collection<Output> visit(@NonNull DingoLookupJoin rel) {
+        return DingoLookupJoinVisitFun.visit(job, idGenerator, currentLocation, this, rel);
+    }
+
+    @Override
+    public Collection<Output> visit(@NonNull DingoMergeJoin rel) {
+        return DingoMergeJoinVisitFun.visit(job, idGenerator, currentLocation, this, rel);
+    }
 }
@@ -25,6 +25,8 @@ import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoGetVectorByDistance;
 import io.dingodb.calcite.rel.DingoHashJoin;
 import io.dingodb.calcite.rel.DingoLikeScan;
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoPartCountDelete;
 import io.dingodb.calcite.rel.DingoPartRangeDelete;
 import io.dingodb.calcite.rel.DingoProject;
@@ -85,4 +87,8 @@ public interface DingoRelVisitor<T> {
 
     T visit(@NonNull DingoGetByIndexMerge rel);
 
+    T visit(@NonNull DingoLookupJoin rel);
+
+    T visit(@NonNull DingoMergeJoin rel);
+
 }
@@ -23,7 +23,6 @@ import io.dingodb.calcite.utils.TableUtils;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
-import io.dingodb.common.partition.Distribution;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.util.ByteArrayUtils;
@@ -60,10 +59,19 @@ public final class DingoCountDeleteVisitFun {
             = tableInfo.getRangeDistributions();
 
         List<Output> outputs = new ArrayList<>(distributions.size());
-        for (Distribution distribution : distributions.values()) {
+        for (RangeDistribution distribution : distributions.values()) {
             Operator operator = rel.isDoDeleting() ? new RemovePartOperator(tableId, distribution.id(),
                 td.getDingoType(), td.getKeyMapping()
-            ) : new PartCountOperator(tableId, distribution.id(), td.getDingoType(), td.getKeyMapping());
+            ) : new PartCountOperator(
+                tableId,
+                distribution.id(),
+                td.getDingoType(),
+                td.getKeyMapping(),
+                distribution.getStartKey(),
+                distribution.getEndKey(),
+                distribution.isWithStart(),
+                distribution.isWithEnd()
+            );
             Task task = job.getOrCreate(currentLocation, idGenerator);
             operator.setId(idGenerator.getOperatorId(task.getId().seq));
             task.putOperator(operator);
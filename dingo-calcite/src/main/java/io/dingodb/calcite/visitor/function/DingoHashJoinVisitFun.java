@@ -17,8 +17,10 @@
 package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.CommonId;
 import io.dingodb.exec.base.IdGenerator;
@@ -26,13 +28,17 @@ import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Operator;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.operator.BroadcastOperator;
 import io.dingodb.exec.operator.HashJoinOperator;
 import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +50,9 @@ public class DingoHashJoinVisitFun {
     public static List<Output> visit(
         Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor, @NonNull DingoHashJoin rel
     ) {
+        if (rel.isBroadcast()) {
+            return visitBroadcast(job, idGenerator, currentLocation, visitor, rel);
+        }
         Collection<Output> leftInputs = dingo(rel.getLeft()).accept(visitor);
         Collection<Output> rightInputs = dingo(rel.getRight()).accept(visitor);
         Map<CommonId, Output> leftInputsMap = new HashMap<>(leftInputs.size());
@@ -56,13 +65,7 @@ public class DingoHashJoinVisitFun {
             CommonId taskId = entry.getKey();
             Output left = entry.getValue();
             Output right = rightInputsMap.get(taskId);
-            JoinInfo joinInfo = rel.analyzeCondition();
-            Operator operator = new HashJoinOperator(TupleMapping.of(joinInfo.leftKeys),
-                TupleMapping.of(joinInfo.rightKeys), rel.getLeft().getRowType().getFieldCount(),
-                rel.getRight().getRowType().getFieldCount(),
-                rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL,
-                rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL
-            );
+            Operator operator = createOperator(rel);
             operator.setId(idGenerator.getOperatorId(taskId));
             left.setLink(operator.getInput(0));
             right.setLink(operator.getInput(1));
@@ -72,4 +75,76 @@ public class DingoHashJoinVisitFun {
         }
         return outputs;
     }
+
+    /**
+     * The right input is sent once to each location of the left inputs and copied to a join operator for every left
+     * input there, so the left inputs are joined in place. The results are gathered to the current location.
+     */
+    private static @NonNull List<Output> visitBroadcast(
+        Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor, @NonNull DingoHashJoin rel
+    ) {
+        Collection<Output> leftInputs = dingo(rel.getLeft()).accept(visitor);
+        Collection<Output> rightInputs = dingo(rel.getRight()).accept(visitor);
+        // The right input is coalesced, as its streaming is `ROOT`.
+        assert rightInputs.size() == 1;
+        Output rightInput = rightInputs.iterator().next();
+        Map<Location, List<Output>> leftInputsMap = new LinkedHashMap<>();
+        for (Output input : leftInputs) {
+            leftInputsMap.computeIfAbsent(input.getTask().getLocation(), k -> new ArrayList<>()).add(input);
+        }
+        DingoType rightSchema = DefinitionMapper.mapToDingoType(rel.getRight().getRowType());
+        List<Output> rights = broadcast(idGenerator, rightInput, leftInputsMap.size());
+        List<Output> outputs = new LinkedList<>();
+        int index = 0;
+        for (Map.Entry<Location, List<Output>> entry : leftInputsMap.entrySet()) {
+            Output right = rights.get(index++);
+            Output received = DingoExchangeFun.exchange(job, idGenerator, right, entry.getKey(), rightSchema);
+            List<Output> lefts = entry.getValue();
+            List<Output> copies = broadcast(idGenerator, received, lefts.size());
+            for (int i = 0; i < lefts.size(); ++i) {
+                Output left = lefts.get(i);
+                Task task = left.getTask();
+                Operator operator = createOperator(rel);
+                operator.setId(idGenerator.getOperatorId(task.getId()));
+                left.setLink(operator.getInput(0));
+                copies.get(i).setLink(operator.getInput(1));
+                task.putOperator(operator);
+                Output output = operator.getSoleOutput();
+                output.copyHint(left);
+                outputs.add(output);
+            }
+        }
+        return DingoStreamingConverterVisitFun.convertStreaming(
+            job, idGenerator, currentLocation,
+            outputs,
+            dingo(rel.getLeft()).getStreaming(),
+            rel.getStreaming(),
+            DefinitionMapper.mapToDingoType(rel.getRowType())
+        );
+    }
+
+    private static @NonNull List<Output> broadcast(IdGenerator idGenerator, @NonNull Output input, int num) {
+        if (num == 1) {
+            return Collections.singletonList(input);
+        }
+        Task task = input.getTask();
+        BroadcastOperator operator = new BroadcastOperator();
+        operator.setId(idGenerator.getOperatorId(task.getId()));
+        operator.createOutputs(num);
+        task.putOperator(operator);
+        input.setLink(operator.getInput(0));
+        return new ArrayList<>(operator.getOutputs());
+    }
+
+    private static @NonNull Operator createOperator(@NonNull DingoHashJoin rel) {
+        JoinInfo joinInfo = rel.analyzeCondition();
+        return new HashJoinOperator(TupleMapping.of(joinInfo.leftKeys),
+            TupleMapping.of(joinInfo.rightKeys), rel.getLeft().getRowType().getFieldCount(),
+            rel.getRight().getRowType().getFieldCount(),
+            rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL,
+            rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL,
+            DefinitionMapper.mapToDingoType(rel.getLeft().getRowType()),
+            DefinitionMapper.mapToDingoType(rel.getRight().getRowType())
+        );
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.visitor.function;
+
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.utils.MetaServiceUtils;
+import io.dingodb.calcite.utils.SqlExprUtils;
+import io.dingodb.calcite.utils.TableInfo;
+import io.dingodb.calcite.utils.TableUtils;
+import io.dingodb.calcite.visitor.DingoJobVisitor;
+import io.dingodb.common.Location;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.exec.base.IdGenerator;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.LookupJoinOperator;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.stream.Collectors;
+
+import static io.dingodb.calcite.rel.DingoRel.dingo;
+
+public final class DingoLookupJoinVisitFun {
+    private DingoLookupJoinVisitFun() {
+    }
+
+    @NonNull
+    public static List<Output> visit(
+        Job job,
+        IdGenerator idGenerator,
+        Location currentLocation,
+        DingoJobVisitor visitor,
+        @NonNull DingoLookupJoin rel
+    ) {
+        Collection<Output> inputs = dingo(rel.getInput()).accept(visitor);
+        TableInfo tableInfo = MetaServiceUtils.getTableInfo(rel.getTable());
+        TableDefinition td = TableUtils.getTableDefinition(rel.getTable());
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> indexRanges = null;
+        TupleMapping indexMapping = null;
+        TableDefinition indexTd = rel.getIndexDefinition();
+        if (rel.getIndexId() != null) {
+            indexRanges = MetaServiceUtils.getMetaService(rel.getTable())
+                .getIndexRangeDistribution(rel.getIndexId(), indexTd);
+            List<String> columnNames = indexTd.getColumns().stream()
+                .map(ColumnDefinition::getName)
+                .collect(Collectors.toList());
+            indexMapping = TupleMapping.of(td.getColumnIndices(columnNames));
+        }
+        SqlExpr filter = null;
+        if (rel.getFilter() != null) {
+            filter = SqlExprUtils.toSqlExpr(rel.getFilter());
+        }
+        List<Output> outputs = new LinkedList<>();
+        for (Output input : inputs) {
+            Task task = input.getTask();
+            LookupJoinOperator operator = new LookupJoinOperator(
+                tableInfo.getId(),
+                td,
+                tableInfo.getRangeDistributions(),
+                rel.getIndexId(),
+                indexTd,
+                indexRanges,
+                indexMapping,
+                TupleMapping.of(rel.getLeftKeys()),
+                TupleMapping.of(rel.getRightKeys()),
+                TupleMapping.of(rel.getLookupKeys()),
+                TupleMapping.of(rel.getLookupColumns()),
+                filter,
+                rel.getSelection(),
+                rel.getInput().getRowType().getFieldCount(),
+                rel.getJoinType() == JoinRelType.LEFT
+            );
+            operator.setId(idGenerator.getOperatorId(task.getId()));
+            task.putOperator(operator);
+            input.setLink(operator.getInput(0));
+            Output output = operator.getSoleOutput();
+            output.copyHint(input);
+            outputs.add(output);
+        }
+        return outputs;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.calcite.visitor.function;
+
+import io.dingodb.calcite.rel.DingoMergeJoin;
+import io.dingodb.calcite.visitor.DingoJobVisitor;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.IdGenerator;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.operator.MergeJoinOperator;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.dingodb.calcite.rel.DingoRel.dingo;
+
+public final class DingoMergeJoinVisitFun {
+    private DingoMergeJoinVisitFun() {
+    }
+
+    @NonNull
+    public static List<Output> visit(
+        Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor, @NonNull DingoMergeJoin rel
+    ) {
+        Collection<Output> leftInputs = dingo(rel.getLeft()).accept(visitor);
+        Collection<Output> rightInputs = dingo(rel.getRight()).accept(visitor);
+        // Both inputs are ordered, so they are coalesced in the same task.
+        assert leftInputs.size() == 1 && rightInputs.size() == 1;
+        Output left = leftInputs.iterator().next();
+        Output right = rightInputs.iterator().next();
+        assert left.getTaskId().equals(right.getTaskId());
+        Operator operator = new MergeJoinOperator(
+            TupleMapping.of(dingo(rel.getLeft()).getStreaming().getCollation().getKeys()),
+            TupleMapping.of(dingo(rel.getRight()).getStreaming().getCollation().getKeys()),
+            rel.getLeft().getRowType().getFieldCount(),
+            rel.getRight().getRowType().getFieldCount(),
+            rel.getJoinType() == JoinRelType.LEFT
+        );
+        Task task = left.getTask();
+        operator.setId(idGenerator.getOperatorId(task.getId()));
+        task.putOperator(operator);
+        left.setLink(operator.getInput(0));
+        right.setLink(operator.getInput(1));
+        return new ArrayList<>(operator.getOutputs());
+    }
+}
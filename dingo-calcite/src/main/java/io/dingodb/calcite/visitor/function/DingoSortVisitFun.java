@@ -17,6 +17,7 @@
 package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.calcite.rel.DingoSort;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
 import io.dingodb.exec.base.IdGenerator;
@@ -62,7 +63,8 @@ public class DingoSortVisitFun {
             return new SortOperator(
                 toSortCollation(rel.getCollation().getFieldCollations()),
                 rel.fetch == null ? -1 : RexLiteral.intValue(rel.fetch),
-                rel.offset == null ? 0 : RexLiteral.intValue(rel.offset)
+                rel.offset == null ? 0 : RexLiteral.intValue(rel.offset),
+                DefinitionMapper.mapToDingoType(rel.getRowType())
             );
         }
     }
@@ -38,6 +38,7 @@ import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.OrderedScanOperator;
 import io.dingodb.exec.operator.PartRangeScanOperator;
 import io.dingodb.partition.DingoPartitionServiceProvider;
 import io.dingodb.partition.PartitionService;
@@ -96,6 +97,10 @@ public final class DingoTableScanVisitFun {
             distributions = ps.calcPartitionRange(startKey, endKey, withStart, withEnd, ranges);
         }
 
+        if (rel.getStreaming().isOrdered()) {
+            return visitOrdered(job, idGenerator, currentLocation, rel, tableInfo.getId(), td, distributions, filter);
+        }
+
         List<Output> outputs = new ArrayList<>();
 
         for (RangeDistribution rd : distributions) {
@@ -125,4 +130,41 @@ public final class DingoTableScanVisitFun {
 
         return outputs;
     }
+
+    /**
+     * Scan the ranges one after another in a single operator, so the tuples are ordered by the primary key.
+     */
+    private static @NonNull Collection<Output> visitOrdered(
+        Job job,
+        IdGenerator idGenerator,
+        Location currentLocation,
+        @NonNull DingoTableScan rel,
+        CommonId tableId,
+        @NonNull TableDefinition td,
+        @NonNull NavigableSet<RangeDistribution> distributions,
+        SqlExpr filter
+    ) {
+        List<RangeDistribution> ranges = new ArrayList<>(distributions.size());
+        for (RangeDistribution rd : distributions) {
+            ranges.add(RangeDistribution.builder()
+                .id(rd.id())
+                .startKey(rd.getStartKey())
+                .endKey(rd.getEndKey())
+                .withStart(rd.isWithStart())
+                .withEnd(rd.isWithEnd())
+                .build());
+        }
+        OrderedScanOperator operator = new OrderedScanOperator(
+            tableId,
+            ranges,
+            td.getDingoType(),
+            td.getKeyMapping(),
+            filter,
+            rel.getSelection()
+        );
+        Task task = job.getOrCreate(currentLocation, idGenerator);
+        operator.setId(idGenerator.getOperatorId(task.getId()));
+        task.putOperator(operator);
+        return operator.getOutputs();
+    }
 }
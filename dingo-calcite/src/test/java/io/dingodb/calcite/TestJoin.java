@@ -19,15 +19,20 @@ package io.dingodb.calcite;
 import io.dingodb.calcite.mock.MockMetaServiceProvider;
 import io.dingodb.calcite.rel.DingoFilter;
 import io.dingodb.calcite.rel.DingoHashJoin;
+import io.dingodb.calcite.rel.DingoLookupJoin;
+import io.dingodb.calcite.rel.DingoMergeJoin;
 import io.dingodb.calcite.rel.DingoProject;
 import io.dingodb.calcite.rel.DingoRoot;
 import io.dingodb.calcite.rel.DingoStreamingConverter;
 import io.dingodb.calcite.rel.DingoTableScan;
 import io.dingodb.calcite.rel.LogicalDingoRoot;
 import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.test.asserts.Assert;
 import io.dingodb.test.asserts.AssertRelNode;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.rel.RelCollations;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelRoot;
 import org.apache.calcite.rel.core.JoinRelType;
@@ -41,6 +46,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @Slf4j
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class TestJoin {
@@ -182,4 +189,117 @@ public class TestJoin {
             .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.RIGHT)
             .inputNum(2);
     }
+
+    @Test
+    public void testJoinBroadcast() throws SqlParseException {
+        String sql = "select * from test join test1 on test.name = test1.id1 where test1.name = 'Alice'";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoHashJoin join = findRel(optimized, DingoHashJoin.class);
+        assertThat(join).isNotNull();
+        assertThat(join.isBroadcast()).isTrue();
+        AssertRelNode assertJoin = Assert.relNode(join).streaming(DingoRelStreaming.ROOT);
+        assertJoin.input(0).isA(DingoTableScan.class);
+        assertJoin.input(1).isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT);
+    }
+
+    @Test
+    public void testJoinMerge() throws SqlParseException {
+        // A hash join would spill.
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setJoinMemoryBudget(1L);
+        DingoConfiguration.instance().setExecution(execution);
+        try {
+            String sql = "select * from test join test1 on test.id = test1.id0";
+            SqlNode sqlNode = parser.parse(sql);
+            RelRoot relRoot = parser.convert(sqlNode);
+            RelNode optimized = parser.optimize(relRoot.rel);
+            DingoMergeJoin join = findRel(optimized, DingoMergeJoin.class);
+            assertThat(join).isNotNull();
+            DingoRelStreaming ordered = DingoRelStreaming.ROOT.withCollation(RelCollations.of(0));
+            AssertRelNode assertJoin = Assert.relNode(join).streaming(DingoRelStreaming.ROOT);
+            assertJoin.input(0).isA(DingoTableScan.class).streaming(ordered);
+            assertJoin.input(1).isA(DingoTableScan.class).streaming(ordered);
+        } finally {
+            DingoConfiguration.instance().setExecution(null);
+        }
+    }
+
+    @Test
+    public void testJoinMergeFitsMemory() throws SqlParseException {
+        String sql = "select * from test join test1 on test.id = test1.id0";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        // Scanning regions concurrently is cheaper if the build side fits in the memory budget.
+        assertThat(findRel(optimized, DingoMergeJoin.class)).isNull();
+        assertThat(findRel(optimized, DingoHashJoin.class)).isNotNull();
+    }
+
+    @Test
+    public void testJoinMergeHashPartitioned() throws SqlParseException {
+        String sql = "select * from test join test_hash on test.id = test_hash.id";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        // Regions of a hash partitioned table are not in key order.
+        assertThat(findRel(optimized, DingoMergeJoin.class)).isNull();
+    }
+
+    @Test
+    public void testJoinLookup() throws SqlParseException {
+        String sql = "select * from test1 join test on test1.id0 = test.id"
+            + " where test1.id0 = 1 and test1.id1 = 'A' and test1.id2";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoLookupJoin join = findRel(optimized, DingoLookupJoin.class);
+        assertThat(join).isNotNull();
+        assertThat(join.getJoinType()).isEqualTo(JoinRelType.INNER);
+        // Looked up by the primary key.
+        assertThat(join.getIndexId()).isNull();
+        assertThat(join.getIndexDefinition()).isNull();
+    }
+
+    @Test
+    public void testJoinLookupByIndex() throws SqlParseException {
+        String sql = "select * from test join test_index on test.id = test_index.id0 where test.id = 1";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoLookupJoin join = findRel(optimized, DingoLookupJoin.class);
+        assertThat(join).isNotNull();
+        assertThat(join.getJoinType()).isEqualTo(JoinRelType.INNER);
+        assertThat(join.getIndexId()).isNotNull();
+        assertThat(join.getIndexDefinition()).isNotNull();
+    }
+
+    @Test
+    public void testJoinLookupLeft() throws SqlParseException {
+        String sql = "select * from test1 left join test on test1.id0 = test.id"
+            + " where test1.id0 = 1 and test1.id1 = 'A' and test1.id2";
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        RelNode optimized = parser.optimize(relRoot.rel);
+        DingoLookupJoin join = findRel(optimized, DingoLookupJoin.class);
+        assertThat(join).isNotNull();
+        // Unmatched left rows are kept, padded with nulls.
+        assertThat(join.getJoinType()).isEqualTo(JoinRelType.LEFT);
+        assertThat(join.getIndexId()).isNull();
+    }
+
+    private static <T extends RelNode> T findRel(RelNode rel, Class<T> clazz) {
+        if (clazz.isInstance(rel)) {
+            return clazz.cast(rel);
+        }
+        for (RelNode input : rel.getInputs()) {
+            T found = findRel(input, clazz);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
 }
@@ -47,6 +47,8 @@ public class MockMetaServiceProvider {
             String test1 = "test1";
             String tableDate = "table-with-date";
             String tableArray = "table-with-array";
+            String tableIndex = "test_index";
+            String tableHash = "test_hash";
             metaService.createTable(
                 test, TableDefinition.readJson(MockMetaServiceProvider.class.getResourceAsStream("/table-test.json"))
             );
@@ -61,6 +63,16 @@ public class MockMetaServiceProvider {
                 tableArray,
                 TableDefinition.readJson(MockMetaServiceProvider.class.getResourceAsStream("/table-with-array.json"))
             );
+            // The local meta service takes a table as its own index, so this one is a scalar index on "id0".
+            metaService.createTable(
+                tableIndex,
+                TableDefinition.readJson(MockMetaServiceProvider.class.getResourceAsStream("/table-with-index.json"))
+            );
+            // Distributions are created from the partition definition.
+            metaService.createTable(
+                tableHash,
+                TableDefinition.readJson(MockMetaServiceProvider.class.getResourceAsStream("/table-with-hash.json"))
+            );
 
             byte[] begin = ByteArrayUtils.MIN;
             byte[] partition = {1, 0, 0, 1, 0, 0, 0, 2};
@@ -70,6 +82,7 @@ public class MockMetaServiceProvider {
             CommonId test1TableId = metaService.getTableId(test1);
             CommonId testDateTableId = metaService.getTableId(tableDate);
             CommonId testArrayTableId = metaService.getTableId(tableArray);
+            CommonId testIndexTableId = metaService.getTableId(tableIndex);
 
             ((LocalMetaService) metaService).addRangeDistributions(testTableId, begin, partition);
             ((LocalMetaService) metaService).addRangeDistributions(testTableId, partition, end);
@@ -84,6 +97,9 @@ public class MockMetaServiceProvider {
             ((LocalMetaService) metaService).addRangeDistributions(testArrayTableId, begin, partition);
             ((LocalMetaService) metaService).addRangeDistributions(testArrayTableId, partition, end);
 
+            ((LocalMetaService) metaService).addRangeDistributions(testIndexTableId, begin, partition);
+            ((LocalMetaService) metaService).addRangeDistributions(testIndexTableId, partition, end);
+
             LocalMetaService.setLocation(LOC_0);
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -43,6 +43,7 @@ import io.dingodb.client.operation.impl.VectorGetRegionMetricsOperation;
 import io.dingodb.client.operation.impl.VectorScanQueryOperation;
 import io.dingodb.client.operation.impl.VectorSearchOperation;
 import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.util.Optional;
 import io.dingodb.sdk.common.DingoClientException;
 import io.dingodb.sdk.common.index.Index;
@@ -64,6 +65,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public class DingoClient {
@@ -142,6 +144,18 @@ public class DingoClient {
         return operationService.exec(schema, tableName, operation, parameter);
     }
 
+    /**
+     * Executor-offloaded version of {@link #exec(String, Operation, Any)}. The methods ending with {@code Async} run
+     * the operation on the operator executor and return a future instead of blocking the caller, with the same route
+     * table retries as the synchronous methods. A failed operation completes its future exceptionally.
+     *
+     * <p>The store and index calls are still blocking, so every sub request of an operation holds a thread of the
+     * shared executor until its call returns. An operation over many regions takes as many threads at once.
+     */
+    public CompletableFuture<Any> execAsync(String tableName, Operation operation, Any parameter) {
+        return operationService.execAsync(schema, tableName, operation, parameter);
+    }
+
     public boolean upsert(String tableName, Record record) {
         return Parameters.cleanNull(upsert(tableName, Collections.singletonList(record)).get(0), false);
     }
@@ -154,6 +168,19 @@ public class DingoClient {
         return operationService.exec(schema, tableName, PutOperation.getInstance(), records);
     }
 
+    public CompletableFuture<Boolean> upsertAsync(String tableName, Record record) {
+        return upsertAsync(tableName, Collections.singletonList(record))
+            .thenApply(r -> Parameters.cleanNull(r.get(0), false));
+    }
+
+    public CompletableFuture<List<Boolean>> upsertAsync(String tableName, List<Record> records) {
+        return upsertAsync(schema, tableName, records);
+    }
+
+    public CompletableFuture<List<Boolean>> upsertAsync(String schema, String tableName, List<Record> records) {
+        return operationService.execAsync(schema, tableName, PutOperation.getInstance(), records);
+    }
+
     /**
      * Insert table data and index(scalar + vector) data at the same time.
      * @param tableName table name
@@ -179,6 +206,15 @@ public class DingoClient {
         return operationService.exec(schema, tableName, PutIfAbsentOperation.getInstance(), records);
     }
 
+    public CompletableFuture<Boolean> putIfAbsentAsync(String tableName, Record record) {
+        return putIfAbsentAsync(tableName, Collections.singletonList(record))
+            .thenApply(r -> Parameters.cleanNull(r.get(0), false));
+    }
+
+    public CompletableFuture<List<Boolean>> putIfAbsentAsync(String tableName, List<Record> records) {
+        return operationService.execAsync(schema, tableName, PutIfAbsentOperation.getInstance(), records);
+    }
+
     public List<Boolean> putIfAbsentNotStandard(String tableName, List<Record> records) {
         return operationService.exec(schema, tableName, PutIfAbsentOperation.getNotStandardInstance(), records);
     }
@@ -198,6 +234,17 @@ public class DingoClient {
         );
     }
 
+    public CompletableFuture<List<Boolean>> compareAndSetAsync(
+        String tableName, List<Record> records, List<Record> expects
+    ) {
+        return operationService.execAsync(
+            schema,
+            tableName,
+            CompareAndSetOperation.getInstance(),
+            new CompareAndSetOperation.Parameter(records, expects)
+        );
+    }
+
     /**
      * Update table data and index(scalar and vector) data at the same time.
      * @param record record
@@ -238,6 +285,19 @@ public class DingoClient {
         return operationService.exec(schema, tableName, GetOperation.getInstance(), keys);
     }
 
+    public CompletableFuture<Record> getAsync(String tableName, Key key) {
+        return getAsync(tableName, Collections.singletonList(key))
+            .thenApply(records -> records != null && records.size() > 0 ? records.get(0) : null);
+    }
+
+    public CompletableFuture<List<Record>> getAsync(String tableName, List<Key> keys) {
+        return getAsync(schema, tableName, keys);
+    }
+
+    public CompletableFuture<List<Record>> getAsync(String schema, String tableName, List<Key> keys) {
+        return operationService.execAsync(schema, tableName, GetOperation.getInstance(), keys);
+    }
+
     public Record get(final String tableName, final Key firstKey, List<String> colNames) {
         return Optional.mapOrNull(get(tableName, firstKey), r -> r.extract(colNames));
     }
@@ -270,6 +330,26 @@ public class DingoClient {
         );
     }
 
+    public CompletableFuture<Iterator<Record>> scanAsync(
+        final String tableName, Key begin, Key end, boolean withBegin, boolean withEnd
+    ) {
+        return operationService.execAsync(
+            schema, tableName, ScanOperation.getInstance(), new OpKeyRange(begin, end, withBegin, withEnd)
+        );
+    }
+
+    public CompletableFuture<Iterator<Record>> scanAsync(
+        final String tableName, Key begin, Key end, boolean withBegin, boolean withEnd,
+        List<KeyRangeCoprocessor.Aggregation> aggregationOperators,
+        List<String> groupBy) {
+        return operationService.execAsync(
+            schema,
+            tableName,
+            ScanCoprocessorOperation.getInstance(),
+            new KeyRangeCoprocessor(new OpKeyRange(begin, end, withBegin, withEnd), aggregationOperators, groupBy)
+        );
+    }
+
     public Iterator<Record> scanNotStandard(
         final String tableName, Key begin, Key end, boolean withBegin, boolean withEnd,
         List<KeyRangeCoprocessor.Aggregation> aggregationOperators,
@@ -303,6 +383,30 @@ public class DingoClient {
         );
     }
 
+    public CompletableFuture<Boolean> deleteAsync(final String tableName, Key key) {
+        return deleteAsync(tableName, Collections.singletonList(key))
+            .thenApply(r -> Parameters.cleanNull(r.get(0), false));
+    }
+
+    public CompletableFuture<List<Boolean>> deleteAsync(final String tableName, List<Key> keys) {
+        return deleteAsync(schema, tableName, keys);
+    }
+
+    public CompletableFuture<List<Boolean>> deleteAsync(String schema, final String tableName, List<Key> keys) {
+        return operationService.execAsync(schema, tableName, DeleteOperation.getInstance(), keys);
+    }
+
+    public CompletableFuture<DeleteRangeResult> deleteAsync(
+        String tableName, Key begin, Key end, boolean withBegin, boolean withEnd
+    ) {
+        return operationService.execAsync(
+            schema,
+            tableName,
+            DeleteRangeOperation.getInstance(),
+            new OpKeyRange(begin, end, withBegin, withEnd)
+        );
+    }
+
     /**
      * Delete table data and index(scalar + vector) data at the same time.
      * @param tableName table name
@@ -373,6 +477,36 @@ public class DingoClient {
     public List<VectorWithId> vectorAdd(String schema, String indexName, List<VectorWithId> vectors,
                                         Boolean replaceDeleted, Boolean isUpdate) {
         VectorContext context = VectorContext.builder().replaceDeleted(replaceDeleted).isUpdate(isUpdate).build();
+        checkVectors(schema, indexName, vectors);
+        return indexService.exec(schema, indexName, VectorAddOperation.getInstance(), vectors, context);
+    }
+
+    public CompletableFuture<List<VectorWithId>> vectorAddAsync(String indexName, List<VectorWithId> vectors) {
+        return vectorAddAsync(schema, indexName, vectors);
+    }
+
+    public CompletableFuture<List<VectorWithId>> vectorAddAsync(
+        String schema, String indexName, List<VectorWithId> vectors
+    ) {
+        return vectorAddAsync(schema, indexName, vectors, false, false);
+    }
+
+    /**
+     * Asynchronous version of {@link #vectorAdd(String, String, List, Boolean, Boolean)}, the vectors are checked
+     * against the index dimension on the operator executor, so the blocking index lookup does not run on the caller.
+     */
+    public CompletableFuture<List<VectorWithId>> vectorAddAsync(
+        String schema, String indexName, List<VectorWithId> vectors, Boolean replaceDeleted, Boolean isUpdate
+    ) {
+        VectorContext context = VectorContext.builder().replaceDeleted(replaceDeleted).isUpdate(isUpdate).build();
+        return CompletableFuture
+            .runAsync(() -> checkVectors(schema, indexName, vectors), Executors.executor("exec-operator"))
+            .thenCompose(__ -> indexService.execAsync(
+                schema, indexName, VectorAddOperation.getInstance(), vectors, context
+            ));
+    }
+
+    private void checkVectors(String schema, String indexName, List<VectorWithId> vectors) {
         int dimension = getDimension(schema, indexName);
         long count = checkDimension(vectors, dimension);
         int messageSize = getMessageSize(vectors);
@@ -385,7 +519,6 @@ public class DingoClient {
         if (dimension != 0 && count > 0) {
             throw new DingoClientException("Dimension is not the same length as its value or from the time it was created");
         }
-        return indexService.exec(schema, indexName, VectorAddOperation.getInstance(), vectors, context);
     }
 
     /**
@@ -456,7 +589,27 @@ public class DingoClient {
             indexName,
             VectorSearchOperation.getInstance(),
             vectorSearch);
+        return topN(distanceArrays, vectorSearch);
+    }
+
+    public CompletableFuture<List<VectorDistanceArray>> vectorSearchAsync(String indexName, VectorSearch vectorSearch) {
+        return vectorSearchAsync(schema, indexName, vectorSearch);
+    }
+
+    public CompletableFuture<List<VectorDistanceArray>> vectorSearchAsync(
+        String schema, String indexName, VectorSearch vectorSearch
+    ) {
+        return indexService.<List<VectorDistanceArray>>execAsync(
+            schema,
+            indexName,
+            VectorSearchOperation.getInstance(),
+            vectorSearch
+        ).thenApply(distanceArrays -> topN(distanceArrays, vectorSearch));
+    }
 
+    private static List<VectorDistanceArray> topN(
+        List<VectorDistanceArray> distanceArrays, VectorSearch vectorSearch
+    ) {
         List<VectorDistanceArray> result = new ArrayList<>();
         for (VectorDistanceArray distanceArray : distanceArrays) {
             List<VectorWithDistance> withDistances = distanceArray.getVectorWithDistances();
@@ -512,6 +665,14 @@ public class DingoClient {
         return indexService.exec(schema, indexName, VectorDeleteOperation.getInstance(), ids);
     }
 
+    public CompletableFuture<List<Boolean>> vectorDeleteAsync(String indexName, List<Long> ids) {
+        return vectorDeleteAsync(schema, indexName, ids);
+    }
+
+    public CompletableFuture<List<Boolean>> vectorDeleteAsync(String schema, String indexName, List<Long> ids) {
+        return indexService.execAsync(schema, indexName, VectorDeleteOperation.getInstance(), ids);
+    }
+
     public Long vectorCount(String schema, String indexName) {
         return indexService.exec(schema, indexName, VectorCountOperation.getInstance(), null);
     }
@@ -243,15 +243,7 @@ public class DingoOpCli implements DingoMapper {
                 throw new DingoClientException("Cannot find table name for class " + object.getClass().getName());
             }
 
-            TableDefinition tableDefinition = entry.getTableDefinition(tableName);
-            if (tableDefinition == null) {
-                throw new DingoClientException("Cannot find table name for class " + object.getClass().getName());
-            }
-
-            Value[] values = entry.getValues(object, true);
-            Record record = new Record(tableDefinition.getColumns().toArray(new Column[0]), values);
-
-            recordList.add(record);
+            recordList.add(entry.toRecord(tableName, object));
         }
 
         if (!isSameType) {
@@ -269,15 +261,7 @@ public class DingoOpCli implements DingoMapper {
             throw new DingoClientException("Cannot find table name for class " + object.getClass().getName());
         }
 
-        TableDefinition tableDefinition = entry.getTableDefinition(tableName);
-        if (tableDefinition == null) {
-            throw new DingoClientException("Cannot find table name for class " + object.getClass().getName());
-        }
-
-        Value[] columns = entry.getValues(object, true);
-        Record record = new Record(tableDefinition.getColumns().toArray(new Column[0]), columns);
-
-        doSave(tableName, Arrays.asList(record));
+        doSave(tableName, Arrays.asList(entry.toRecord(tableName, object)));
     }
 
     private void doSave(@NotNull String tableName, List<Record> recordList) {
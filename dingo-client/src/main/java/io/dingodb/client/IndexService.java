@@ -47,7 +47,8 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import static io.dingodb.sdk.common.utils.EntityConversion.mapping;
 import static io.dingodb.sdk.common.utils.Parameters.cleanNull;
@@ -82,7 +83,52 @@ public class IndexService {
         Object parameters,
         VectorContext context
     ) {
-        schemaName = schemaName.toUpperCase();
+        return OperationUtils.join(exec(schemaName, indexName, operation, parameters, context, Runnable::run));
+    }
+
+    public <R> CompletableFuture<R> execAsync(
+        String schemaName, String indexName, Operation operation, Object parameters
+    ) {
+        return execAsync(schemaName, indexName, operation, parameters, VectorContext.builder().build());
+    }
+
+    /**
+     * Executor-offloaded version of {@link #exec(String, String, Operation, Object, VectorContext)}. It frees the
+     * caller, but it is not non-blocking I/O: the index client only has blocking calls, so each sub task holds an
+     * operator thread for the whole of its index call, and a retry refreshes the route table with blocking meta calls
+     * on that thread. The returned future completes when all sub tasks, including their retries, are done.
+     */
+    public <R> CompletableFuture<R> execAsync(
+        String schemaName,
+        String indexName,
+        Operation operation,
+        Object parameters,
+        VectorContext context
+    ) {
+        return exec(schemaName, indexName, operation, parameters, context, Executors.executor("exec-operator"));
+    }
+
+    private <R> CompletableFuture<R> exec(
+        String schemaName,
+        String indexName,
+        Operation operation,
+        Object parameters,
+        VectorContext context,
+        Executor executor
+    ) {
+        String schema = schemaName.toUpperCase();
+        return CompletableFuture
+            .supplyAsync(() -> this.<R>fork(schema, indexName, operation, parameters, context), executor)
+            .thenCompose(Function.identity());
+    }
+
+    private <R> CompletableFuture<R> fork(
+        String schemaName,
+        String indexName,
+        Operation operation,
+        Object parameters,
+        VectorContext context
+    ) {
         IndexInfo indexInfo = Parameters.nonNull(getRouteTable(schemaName, indexName, false), "Index not found.");
 
         Operation.Fork fork = null;
@@ -93,20 +139,18 @@ public class IndexService {
             fork = operation.fork(Any.wrap(parameters), indexInfo);
         }
 
-        exec(indexInfo, operation, fork, context);
-
-        return operation.reduce(fork);
-    }
-
-    private void exec(IndexInfo indexInfo, Operation operation, Operation.Fork fork, VectorContext context) {
-        exec(indexInfo, operation, fork, retryTimes, context).ifPresent(e -> {
-            if (!fork.isIgnoreError()) {
-                throw new DingoClientException(-1, e);
-            }
+        Operation.Fork result = fork;
+        return exec(indexInfo, operation, fork, retryTimes, context).thenApply(error -> {
+            error.ifPresent(e -> {
+                if (!result.isIgnoreError()) {
+                    throw new DingoClientException(-1, e);
+                }
+            });
+            return operation.reduce(result);
         });
     }
 
-    private Optional<Throwable> exec(
+    private CompletableFuture<Optional<Throwable>> exec(
         IndexInfo indexInfo,
         Operation operation,
         Operation.Fork fork,
@@ -114,46 +158,44 @@ public class IndexService {
         VectorContext vectorContext
     ) {
         if (retry <= 0) {
-            return Optional.of(
-                new DingoClientException(-1, "Exceeded the retry limit for performing " + operation.getClass()));
+            return CompletableFuture.completedFuture(Optional.of(
+                new DingoClientException(-1, "Exceeded the retry limit for performing " + operation.getClass())));
         }
         List<OperationContext> contexts = generateContext(indexInfo, fork, vectorContext);
-        Optional<Throwable> error = Optional.empty();
-        CountDownLatch countDownLatch = new CountDownLatch(contexts.size());
-        contexts.forEach(context -> CompletableFuture
+        List<CompletableFuture<Optional<Throwable>>> futures = new ArrayList<>(contexts.size());
+        contexts.forEach(context -> futures.add(CompletableFuture
             .runAsync(() -> operation.exec(context), Executors.executor("exec-operator"))
             .thenApply(r -> Optional.<Throwable>empty())
             .exceptionally(Optional::of)
-            .thenAccept(e -> {
-                e.map(OperationUtils::getCause)
-                    .ifPresent(__ -> log.error(__.getMessage(), __))
-                    .map(err -> {
-                        if (err instanceof DingoClientException.InvalidRouteTableException) {
-                            IndexInfo newIndexInfo = getRouteTable(
-                                indexInfo.schemaName.toUpperCase(),
-                                indexInfo.indexName,
-                                true);
-                            Operation.Fork newFork = operation.fork(context, newIndexInfo);
-                            if (newFork == null) {
-                                return exec(newIndexInfo, operation, newFork, 0, vectorContext).orNull();
-                            }
-                            if (fork.result() != newFork.result()) {
-                                fork.setResult(newFork.result());
-                            }
-                            return exec(newIndexInfo, operation, newFork, retry - 1, vectorContext).orNull();
-                        } else {
-                            return err;
-                        }
-                    }).ifPresent(error::ifAbsentSet);
-                countDownLatch.countDown();
-            }));
+            .thenCompose(e -> e.map(OperationUtils::getCause)
+                .ifPresent(__ -> log.error(__.getMessage(), __))
+                .mapOrGet(
+                    err -> err instanceof DingoClientException.InvalidRouteTableException
+                        ? retry(indexInfo, operation, fork, context, retry, vectorContext)
+                        : CompletableFuture.completedFuture(Optional.of(err)),
+                    () -> CompletableFuture.completedFuture(Optional.<Throwable>empty())
+                ))
+            .exceptionally(Optional::of)));
+        return OperationUtils.firstError(futures);
+    }
 
-        try {
-            countDownLatch.await();
-        } catch (InterruptedException e) {
-            log.warn("Exec {} interrupted.", operation.getClass());
+    private CompletableFuture<Optional<Throwable>> retry(
+        IndexInfo indexInfo,
+        Operation operation,
+        Operation.Fork fork,
+        OperationContext context,
+        int retry,
+        VectorContext vectorContext
+    ) {
+        IndexInfo newIndexInfo = getRouteTable(indexInfo.schemaName.toUpperCase(), indexInfo.indexName, true);
+        Operation.Fork newFork = operation.fork(context, newIndexInfo);
+        if (newFork == null) {
+            return exec(newIndexInfo, operation, newFork, 0, vectorContext);
+        }
+        if (fork.result() != newFork.result()) {
+            fork.setResult(newFork.result());
         }
-        return error;
+        return exec(newIndexInfo, operation, newFork, retry - 1, vectorContext);
     }
 
     private List<OperationContext> generateContext(
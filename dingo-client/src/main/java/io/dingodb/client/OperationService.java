@@ -48,7 +48,8 @@ import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -62,9 +63,17 @@ public class OperationService {
     private final int retryTimes;
 
     public OperationService(String coordinatorSvr, int retryTimes) {
-        this.rootMetaService = new MetaServiceClient(coordinatorSvr);
+        this(new MetaServiceClient(coordinatorSvr), retryTimes);
+    }
+
+    private OperationService(MetaServiceClient rootMetaService, int retryTimes) {
+        this(rootMetaService, new StoreServiceClient(rootMetaService, retryTimes), retryTimes);
+    }
+
+    OperationService(MetaServiceClient rootMetaService, StoreServiceClient storeService, int retryTimes) {
+        this.rootMetaService = rootMetaService;
         this.metaServiceConnector = (MetaServiceConnector) rootMetaService.getMetaConnector();
-        this.storeService = new StoreServiceClient(rootMetaService, retryTimes);
+        this.storeService = storeService;
         this.retryTimes = retryTimes;
     }
 
@@ -76,7 +85,32 @@ public class OperationService {
     }
 
     public <R> R exec(String schemaName, String tableName, Operation operation, Object parameters) {
-        schemaName = schemaName.toUpperCase();
+        return OperationUtils.join(exec(schemaName, tableName, operation, parameters, Runnable::run));
+    }
+
+    /**
+     * Executor-offloaded version of {@link #exec(String, String, Operation, Object)}. It frees the caller, but it is
+     * not non-blocking I/O: the store client only has blocking calls, so each sub task holds an operator thread for
+     * the whole of its store call, and a retry refreshes the route table with blocking meta calls on that thread.
+     * The returned future completes when all sub tasks, including their retries, are done, and no thread waits for
+     * the sub tasks.
+     */
+    public <R> CompletableFuture<R> execAsync(
+        String schemaName, String tableName, Operation operation, Object parameters
+    ) {
+        return exec(schemaName, tableName, operation, parameters, Executors.executor("exec-operator"));
+    }
+
+    private <R> CompletableFuture<R> exec(
+        String schemaName, String tableName, Operation operation, Object parameters, Executor executor
+    ) {
+        String schema = schemaName.toUpperCase();
+        return CompletableFuture
+            .supplyAsync(() -> this.<R>fork(schema, tableName, operation, parameters), executor)
+            .thenCompose(Function.identity());
+    }
+
+    private <R> CompletableFuture<R> fork(String schemaName, String tableName, Operation operation, Object parameters) {
         TableInfo tableInfo = Parameters.nonNull(getRouteTable(schemaName, tableName, false), "Table not found.");
 
         Operation.Fork fork;
@@ -87,59 +121,56 @@ public class OperationService {
             fork = operation.fork(Any.wrap(parameters), tableInfo);
         }
 
-        exec(tableInfo, operation, fork);
-
-        return operation.reduce(fork);
-    }
-
-    private void exec(TableInfo tableInfo, Operation operation, Operation.Fork fork) {
-        exec(operation, tableInfo, fork, retryTimes).ifPresent(e -> {
-            if (!fork.isIgnoreError()) {
-                throw new DingoClientException(-1, e);
-            }
+        Operation.Fork result = fork;
+        return exec(operation, tableInfo, fork, retryTimes).thenApply(error -> {
+            error.ifPresent(e -> {
+                if (!result.isIgnoreError()) {
+                    throw new DingoClientException(-1, e);
+                }
+            });
+            return operation.reduce(result);
         });
     }
 
-    private Optional<Throwable> exec(
+    private CompletableFuture<Optional<Throwable>> exec(
         Operation operation,
         TableInfo tableInfo,
         Operation.Fork fork,
         int retry
     ) {
         if (retry <= 0) {
-            return Optional.of(new DingoClientException(-1, "Exceeded the retry limit for performing "
-                + operation.getClass()));
+            return CompletableFuture.completedFuture(Optional.of(new DingoClientException(-1,
+                "Exceeded the retry limit for performing " + operation.getClass())));
         }
         List<OperationContext> contexts = generateContext(tableInfo, fork);
-        Optional<Throwable> error = Optional.empty();
-        CountDownLatch countDownLatch = new CountDownLatch(contexts.size());
-        contexts.forEach(context -> CompletableFuture
+        List<CompletableFuture<Optional<Throwable>>> futures = new ArrayList<>(contexts.size());
+        contexts.forEach(context -> futures.add(CompletableFuture
             .runAsync(() -> operation.exec(context), Executors.executor("exec-operator"))
             .thenApply(r -> Optional.<Throwable>empty())
             .exceptionally(Optional::of)
-            .thenAccept(e -> {
-                e.map(OperationUtils::getCause)
-                    .ifPresent(__ -> log.error(__.getMessage(), __))
-                    .filter(DingoClientException.InvalidRouteTableException.class::isInstance)
-                    .map(err -> {
-                        TableInfo newTableInfo = getRouteTable(
-                            tableInfo.schemaName.toUpperCase(),
-                            tableInfo.tableName,
-                            true);
-                        Operation.Fork newFork = operation.fork(context, newTableInfo);
-                        if (newFork == null) {
-                            return exec(operation, newTableInfo, newFork, 0).orNull();
-                        }
-                        return exec(operation, newTableInfo, newFork, retry - 1).orNull();
-                    }).ifPresent(error::ifAbsentSet);
-                countDownLatch.countDown();
-            }));
-        try {
-            countDownLatch.await();
-        } catch (InterruptedException e) {
-            log.warn("Exec {} interrupted.", operation.getClass());
+            .thenCompose(e -> e.map(OperationUtils::getCause)
+                .ifPresent(__ -> log.error(__.getMessage(), __))
+                .filter(DingoClientException.InvalidRouteTableException.class::isInstance)
+                .mapOrGet(
+                    err -> retry(operation, tableInfo, context, retry),
+                    () -> CompletableFuture.completedFuture(Optional.<Throwable>empty())
+                ))
+            .exceptionally(Optional::of)));
+        return OperationUtils.firstError(futures);
+    }
+
+    private CompletableFuture<Optional<Throwable>> retry(
+        Operation operation,
+        TableInfo tableInfo,
+        OperationContext context,
+        int retry
+    ) {
+        TableInfo newTableInfo = getRouteTable(tableInfo.schemaName.toUpperCase(), tableInfo.tableName, true);
+        Operation.Fork newFork = operation.fork(context, newTableInfo);
+        if (newFork == null) {
+            return exec(operation, newTableInfo, newFork, 0);
         }
-        return error;
+        return exec(operation, newTableInfo, newFork, retry - 1);
     }
 
     private List<OperationContext> generateContext(TableInfo table, Operation.Fork fork) {
@@ -234,7 +265,7 @@ public class OperationService {
         );
     }
 
-    private TableInfo refreshRouteTable(String schemaName, String tableName) {
+    TableInfo refreshRouteTable(String schemaName, String tableName) {
         try {
             MetaServiceClient metaService = getSubMetaService(schemaName);
 
@@ -17,18 +17,21 @@
 package io.dingodb.client.common;
 
 import io.dingodb.client.mappers.TypeMapper;
+import io.dingodb.client.utils.Accessors;
 import io.dingodb.client.utils.DeferredObjectLoader;
 import io.dingodb.client.utils.ThreadLocalKeySaver;
 import io.dingodb.client.utils.TypeUtils;
 import io.dingodb.sdk.common.DingoClientException;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import javax.validation.constraints.NotNull;
 
 
 /**
  * Implementation of a value, which can be either a method on a class (getter) or a field.
+ * The field or methods are accessed through method handles resolved when the value is created.
  */
 public abstract class ValueType {
     private final TypeMapper mapper;
@@ -57,16 +60,27 @@ public abstract class ValueType {
 
     public static class FieldValue extends ValueType {
         private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
 
         public FieldValue(Field field, TypeMapper typeMapper, TypeUtils.AnnotatedType annotatedType) {
             super(typeMapper, annotatedType);
             this.field = field;
-            this.field.setAccessible(true);
+            try {
+                this.getter = Accessors.getter(field);
+                this.setter = Accessors.setter(field);
+            } catch (IllegalAccessException e) {
+                throw new DingoClientException(String.format("Could not access field %s: %s", field, e.getMessage()));
+            }
         }
 
         @Override
         public Object get(Object obj) throws ReflectiveOperationException {
-            return this.field.get(obj);
+            try {
+                return (Object) getter.invokeExact(obj);
+            } catch (Throwable e) {
+                throw Accessors.failure(e);
+            }
         }
 
         @Override
@@ -74,8 +88,8 @@ public abstract class ValueType {
             if (value instanceof DeferredObjectLoader.DeferredObject) {
                 DeferredObjectLoader.DeferredSetter setter = object -> {
                     try {
-                        field.set(obj, object);
-                    } catch (IllegalArgumentException | IllegalAccessException e) {
+                        doSet(obj, object);
+                    } catch (IllegalArgumentException | ReflectiveOperationException e) {
                         throw new DingoClientException(
                             String.format("Could not set field %s on %s to %s", field, obj, value)
                         );
@@ -85,7 +99,20 @@ public abstract class ValueType {
                     new DeferredObjectLoader.DeferredObjectSetter(setter, (DeferredObjectLoader.DeferredObject) value);
                 DeferredObjectLoader.add(objectSetter);
             } else {
-                this.field.set(obj, value);
+                doSet(obj, value);
+            }
+        }
+
+        private void doSet(Object obj, Object value) throws ReflectiveOperationException {
+            if (setter == null) {
+                // Not writable, let the field report the failure.
+                field.set(obj, value);
+                return;
+            }
+            try {
+                setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw Accessors.failure(e);
             }
         }
 
@@ -111,12 +138,22 @@ public abstract class ValueType {
 
     public static class MethodValue extends ValueType {
         private final PropertyDefinition property;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
 
         public MethodValue(PropertyDefinition property,
                            TypeMapper typeMapper,
                            TypeUtils.AnnotatedType annotatedType) {
             super(typeMapper, annotatedType);
             this.property = property;
+            try {
+                this.getter = property.getGetter() == null ? null : Accessors.getter(property.getGetter());
+                this.setter = property.getSetter() == null ? null : Accessors.setter(property.getSetter());
+            } catch (IllegalAccessException e) {
+                throw new DingoClientException(
+                    String.format("Could not access property %s: %s", property, e.getMessage())
+                );
+            }
         }
 
         @Override
@@ -124,83 +161,54 @@ public abstract class ValueType {
             if (obj == null) {
                 return null;
             }
-            return this.property.getGetter().invoke(obj);
+            try {
+                return (Object) getter.invokeExact(obj);
+            } catch (Throwable e) {
+                throw Accessors.failure(e);
+            }
         }
 
         @Override
         public void set(final Object obj, final Object value) throws ReflectiveOperationException {
-            if (this.property.getSetter() == null) {
+            if (this.setter == null) {
                 throw new DingoClientException(
                     "Lazy loading cannot be used on objects with a property key type "
                         + "and no annotated key setter method");
+            }
+            final Key key = property.getSetterParamType() == PropertyDefinition.SetterParamType.NONE
+                ? null : ThreadLocalKeySaver.get();
+            if (value instanceof DeferredObjectLoader.DeferredObject) {
+                DeferredObjectLoader.DeferredSetter setter = object -> {
+                    try {
+                        doSet(obj, object, key);
+                    } catch (ReflectiveOperationException e) {
+                        throw new DingoClientException(
+                            String.format("Could not set field %s on %s to %s", property, obj, value)
+                        );
+                    }
+                };
+                DeferredObjectLoader.DeferredObjectSetter objectSetter =
+                    new DeferredObjectLoader.DeferredObjectSetter(setter, (DeferredObjectLoader.DeferredObject) value);
+                DeferredObjectLoader.add(objectSetter);
             } else {
+                doSet(obj, value, key);
+            }
+        }
+
+        private void doSet(Object obj, Object value, Key key) throws ReflectiveOperationException {
+            try {
                 switch (this.property.getSetterParamType()) {
-                    case KEY: {
-                        final Key key = ThreadLocalKeySaver.get();
-                        if (value instanceof DeferredObjectLoader.DeferredObject) {
-                            DeferredObjectLoader.DeferredSetter setter = object -> {
-                                try {
-                                    property.getSetter().invoke(obj, value, key);
-                                } catch (ReflectiveOperationException e) {
-                                    throw new DingoClientException(
-                                        String.format("Could not set field %s on %s to %s", property, obj, value)
-                                    );
-                                }
-                            };
-                            DeferredObjectLoader.DeferredObjectSetter objectSetter =
-                                new DeferredObjectLoader.DeferredObjectSetter(
-                                    setter,
-                                    (DeferredObjectLoader.DeferredObject) value);
-                            DeferredObjectLoader.add(objectSetter);
-                        } else {
-                            this.property.getSetter().invoke(obj, value, key);
-                        }
+                    case KEY:
+                        setter.invokeExact(obj, value, (Object) key);
                         break;
-                    }
-
-                    case VALUE: {
-                        final Key key = ThreadLocalKeySaver.get();
-                        if (value instanceof DeferredObjectLoader.DeferredObject) {
-                            DeferredObjectLoader.DeferredSetter setter = object -> {
-                                try {
-                                    property.getSetter().invoke(obj, value, key.userKey);
-                                } catch (ReflectiveOperationException e) {
-                                    throw new DingoClientException(
-                                        String.format("Could not set field %s on %s to %s", property, obj, value)
-                                    );
-                                }
-                            };
-                            DeferredObjectLoader.DeferredObjectSetter objectSetter =
-                                new DeferredObjectLoader.DeferredObjectSetter(
-                                    setter,
-                                    (DeferredObjectLoader.DeferredObject) value);
-                            DeferredObjectLoader.add(objectSetter);
-                        } else {
-                            this.property.getSetter().invoke(obj, value, key.userKey);
-                        }
+                    case VALUE:
+                        setter.invokeExact(obj, value, (Object) key.userKey);
                         break;
-                    }
-
                     default:
-                        if (value instanceof DeferredObjectLoader.DeferredObject) {
-                            DeferredObjectLoader.DeferredSetter setter = object -> {
-                                try {
-                                    property.getSetter().invoke(obj, value);
-                                } catch (ReflectiveOperationException e) {
-                                    throw new DingoClientException(
-                                        String.format("Could not set field %s on %s to %s", property, obj, value)
-                                    );
-                                }
-                            };
-                            DeferredObjectLoader.DeferredObjectSetter objectSetter =
-                                new DeferredObjectLoader.DeferredObjectSetter(
-                                    setter,
-                                    (DeferredObjectLoader.DeferredObject) value);
-                            DeferredObjectLoader.add(objectSetter);
-                        } else {
-                            this.property.getSetter().invoke(obj, value);
-                        }
+                        setter.invokeExact(obj, value);
                 }
+            } catch (Throwable e) {
+                throw Accessors.failure(e);
             }
         }
 
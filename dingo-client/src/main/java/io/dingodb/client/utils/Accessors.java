@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.client.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Builds the method handles used by the mapper to read and write mapped classes. The handles are resolved once per
+ * field, property or constructor and kept in the {@link ClassCacheEntry} of the class, so that mapping a record does
+ * not go through the access checks of {@link Field#get} or {@link Method#invoke} for every value.
+ *
+ * <p>All handles are erased to {@code Object} parameters so they can be called with {@code invokeExact}:
+ * getters are {@code (Object)Object}, setters are {@code (Object, Object...)void} and constructors and factory
+ * methods are {@code (Object[])Object}.
+ *
+ * <p>Arguments of wrong types, including {@code null} for primitive parameters, are reported as
+ * {@link IllegalArgumentException}, as the reflective calls do.
+ */
+public final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle NON_NULL;
+
+    static {
+        try {
+            NON_NULL = LOOKUP.findStatic(Accessors.class, "nonNull", GETTER);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Accessors() {
+    }
+
+    public static MethodHandle getter(Field field) throws IllegalAccessException {
+        field.setAccessible(true);
+        return erase(LOOKUP.unreflectGetter(field), field, GETTER);
+    }
+
+    /**
+     * Get the setter of a field, or {@code null} if the field cannot be written, which is the case of static final
+     * fields.
+     */
+    public static MethodHandle setter(Field field) throws IllegalAccessException {
+        if (Modifier.isStatic(field.getModifiers()) && Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        field.setAccessible(true);
+        MethodHandle handle = erase(LOOKUP.unreflectSetter(field), field, setterType(1));
+        return checkNulls(handle, 1, field.getType());
+    }
+
+    public static MethodHandle getter(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        return erase(LOOKUP.unreflect(method), method, GETTER);
+    }
+
+    public static MethodHandle setter(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = erase(LOOKUP.unreflect(method), method, setterType(method.getParameterCount()));
+        return checkNulls(handle, 1, method.getParameterTypes());
+    }
+
+    /**
+     * Get a {@code (Object)Object} handle of a one argument method called on the given receiver.
+     */
+    public static MethodHandle function(Method method, Object receiver) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = LOOKUP.unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(receiver);
+        }
+        return checkNulls(handle.asType(GETTER), 0, method.getParameterTypes());
+    }
+
+    public static MethodHandle constructor(Constructor<?> constructor) throws IllegalAccessException {
+        constructor.setAccessible(true);
+        int count = constructor.getParameterCount();
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor).asType(MethodType.genericMethodType(count));
+        return checkNulls(handle, 0, constructor.getParameterTypes()).asSpreader(Object[].class, count);
+    }
+
+    public static MethodHandle factory(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        int count = method.getParameterCount();
+        MethodHandle handle = LOOKUP.unreflect(method).asType(MethodType.genericMethodType(count));
+        return checkNulls(handle, 0, method.getParameterTypes()).asSpreader(Object[].class, count);
+    }
+
+    /**
+     * Convert a throwable raised by a handle the same way the reflective call would have reported it:
+     * errors are rethrown, arguments of wrong types are rethrown as {@link IllegalArgumentException} and anything
+     * else thrown by the target is wrapped in an {@link InvocationTargetException}.
+     */
+    public static ReflectiveOperationException failure(Throwable throwable) {
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        if (throwable instanceof NullArgumentException) {
+            throw (NullArgumentException) throwable;
+        }
+        if (throwable instanceof ClassCastException) {
+            // Raised by the casts of the erased handle.
+            throw new IllegalArgumentException(throwable.getMessage(), throwable);
+        }
+        if (throwable instanceof ReflectiveOperationException) {
+            return (ReflectiveOperationException) throwable;
+        }
+        return new InvocationTargetException(throwable);
+    }
+
+    private static Object nonNull(Object value) {
+        if (value == null) {
+            throw new NullArgumentException();
+        }
+        return value;
+    }
+
+    /**
+     * Reject {@code null} for the primitive parameters, which the erased handle would fail to unbox with a
+     * {@link NullPointerException}.
+     */
+    private static MethodHandle checkNulls(MethodHandle handle, int offset, Class<?>... types) {
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isPrimitive()) {
+                handle = MethodHandles.filterArguments(handle, offset + i, NON_NULL);
+            }
+        }
+        return handle;
+    }
+
+    private static MethodType setterType(int parameterCount) {
+        return MethodType.genericMethodType(parameterCount + 1).changeReturnType(void.class);
+    }
+
+    private static MethodHandle erase(MethodHandle handle, Member member, MethodType type) {
+        if (Modifier.isStatic(member.getModifiers())) {
+            // Static members ignore the instance, as the reflective calls do.
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(type);
+    }
+
+    private static final class NullArgumentException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        private NullArgumentException() {
+            super("Cannot pass null to a primitive parameter.");
+        }
+    }
+}
@@ -45,6 +45,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -70,6 +71,7 @@ public class ClassCacheEntry<T> {
     public static final String VERSION_PREFIX = "@V";
     public static final String TYPE_PREFIX = "@T:";
     public static final String TYPE_NAME = ".type";
+    private static final Object[] NO_ARGS = new Object[0];
     private String database;
     private String tableName;
 
@@ -79,6 +81,9 @@ public class ClassCacheEntry<T> {
     private boolean mapAll = true;
     private List<String> keysName = new ArrayList<>();
     private final LinkedHashMap<String, ValueType> values = new LinkedHashMap<>();
+    // The values and their upper case column names, in the order of the values map.
+    private ValueType[] valueTypes;
+    private String[] columnNames;
     private ClassCacheEntry<?> superClazz;
     private int columnCnt;
     private final IBaseDingoMapper mapper;
@@ -91,6 +96,7 @@ public class ClassCacheEntry<T> {
     private String[] constructorParamBins;
     private Object[] constructorParamDefaults;
     private Constructor<T> constructor;
+    private MethodHandle constructorHandle;
     private final ClassConfig config;
     private String factoryMethod;
     private String factoryClass;
@@ -103,8 +109,24 @@ public class ClassCacheEntry<T> {
     }
 
     private Method factoryConstructorMethod;
+    private MethodHandle factoryConstructorHandle;
     private FactoryMethodType factoryConstructorType;
 
+    private volatile TableLayout tableLayout;
+
+    /**
+     * The table definition generated for a table name, with its columns in the array form used by records.
+     */
+    private static final class TableLayout {
+        private final TableDefinition definition;
+        private final Column[] columns;
+
+        private TableLayout(TableDefinition definition) {
+            this.definition = definition;
+            this.columns = definition.getColumns().toArray(new Column[0]);
+        }
+    }
+
     /**
      * When there are subclasses, need to store type information to be able to re-create an instance of the same type.
      * As the class name can be verbose, we provide the ability to set a string representing the class name.
@@ -142,6 +164,8 @@ public class ClassCacheEntry<T> {
 
         this.loadFieldsFromClass();
         this.loadPropertiesFromClass();
+        this.valueTypes = this.values.values().toArray(new ValueType[0]);
+        this.columnNames = this.values.keySet().stream().map(String::toUpperCase).toArray(String[]::new);
         this.superClazz = ClassCache.getInstance().loadClass(this.clazz.getSuperclass(), this.mapper);
         this.columnCnt = this.values.size() + (superClazz != null ? superClazz.columnCnt : 0);
         if (this.columnCnt == 0) {
@@ -406,6 +430,12 @@ public class ClassCacheEntry<T> {
     private void setConstructorFactoryMethod(Method method) {
         this.factoryConstructorMethod = method;
         this.factoryConstructorMethod.setAccessible(true);
+        try {
+            this.factoryConstructorHandle = Accessors.factory(method);
+        } catch (IllegalAccessException e) {
+            throw new DingoClientException("Class " + clazz.getSimpleName()
+                + " has an inaccessible factory method " + method.getName() + ": " + e.getMessage());
+        }
 
         if (method.getParameterCount() == 0) {
             this.factoryConstructorType = FactoryMethodType.NO_PARAMS;
@@ -506,6 +536,12 @@ public class ClassCacheEntry<T> {
         }
         this.constructor = (Constructor<T>) desiredConstructor;
         this.constructor.setAccessible(true);
+        try {
+            this.constructorHandle = Accessors.constructor(desiredConstructor);
+        } catch (IllegalAccessException e) {
+            throw new DingoClientException("Class " + clazz.getSimpleName()
+                + " has an inaccessible constructor: " + e.getMessage());
+        }
     }
 
     private PropertyDefinition getOrCreateProperty(String name, Map<String, PropertyDefinition> properties) {
@@ -776,11 +812,9 @@ public class ClassCacheEntry<T> {
         Value[] values = new Value[this.columnCnt];
         try {
             int index = 0;
-            ClassCacheEntry thisClass = this;
+            ClassCacheEntry<?> thisClass = this;
             while (thisClass != null) {
-                Set<String> keys = thisClass.values.keySet();
-                for (String name : keys) {
-                    ValueType value = (ValueType) thisClass.values.get(name);
+                for (ValueType value : thisClass.valueTypes) {
                     Object javaValue = value.get(instance);
                     Object dingoValue = value.getTypeMapper().toDingoFormat(javaValue);
                     if (dingoValue != null || allowNullColumns) {
@@ -872,7 +906,31 @@ public class ClassCacheEntry<T> {
         return new SqlTypeInfo(typeName);
     }
 
+    /**
+     * Get the table definition of the mapped class. The definition of the last requested table name is cached, as
+     * it is needed for every object saved.
+     */
     public TableDefinition getTableDefinition(String tableName) {
+        return getTableLayout(tableName).definition;
+    }
+
+    /**
+     * Get the record of an object to be stored in the given table, with the values of all columns.
+     */
+    public Record toRecord(String tableName, Object instance) {
+        return new Record(getTableLayout(tableName).columns, getValues(instance, true));
+    }
+
+    private TableLayout getTableLayout(String tableName) {
+        TableLayout layout = this.tableLayout;
+        if (layout == null || !layout.definition.getName().equals(tableName)) {
+            layout = new TableLayout(createTableDefinition(tableName));
+            this.tableLayout = layout;
+        }
+        return layout;
+    }
+
+    private TableDefinition createTableDefinition(String tableName) {
         List<Field> keyFieldList = this.keys.stream()
             .map(v -> ((ValueType.FieldValue) v).getField()).collect(Collectors.toList());
         int pkIndex = 0;
@@ -1123,6 +1181,11 @@ public class ClassCacheEntry<T> {
                 }
             }
 
+            if (record != null && thisClass.factoryConstructorMethod == null
+                && thisClass.constructorParamBins.length == 0) {
+                return (T) thisClass.constructFromRecord(record);
+            }
+
             T result = null;
             while (thisClass != null) {
                 for (String name : thisClass.values.keySet()) {
@@ -1148,6 +1211,45 @@ public class ClassCacheEntry<T> {
         }
     }
 
+    /**
+     * Construct an object of a class with a no-arg constructor from a record. The columns are read by the cached
+     * column names and set through the value accessors, without the intermediate map of java values.
+     */
+    private T constructFromRecord(Record record) throws ReflectiveOperationException {
+        Object[] javaValues = new Object[valueTypes.length];
+        for (int i = 0; i < valueTypes.length; i++) {
+            javaValues[i] = valueTypes[i].getTypeMapper().fromDingoFormat(record.getValue(columnNames[i]));
+        }
+        T result = newInstance(constructorHandle, NO_ARGS);
+        // Once the object has been created, we need to store it against the current key so that
+        // recursive objects resolve correctly
+        LoadedObjectResolver.setObjectForCurrentKey(result);
+
+        for (int i = 0; i < valueTypes.length; i++) {
+            Object object = javaValues[i];
+            if (object == null && valueTypes[i].getType().isPrimitive()) {
+                object = PrimitiveDefaults.getDefaultValue(valueTypes[i].getType());
+            }
+            valueTypes[i].set(result, object);
+        }
+        for (ClassCacheEntry<?> thisClass = superClazz; thisClass != null; thisClass = thisClass.superClazz) {
+            for (int i = 0; i < thisClass.valueTypes.length; i++) {
+                ValueType value = thisClass.valueTypes[i];
+                value.set(result, value.getTypeMapper().fromDingoFormat(record.getValue(thisClass.columnNames[i])));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance(MethodHandle handle, Object[] args) throws ReflectiveOperationException {
+        try {
+            return (T) (Object) handle.invokeExact(args);
+        } catch (Throwable e) {
+            throw Accessors.failure(e);
+        }
+    }
+
     public void hydrateFromRecord(Record record, Object instance) {
         this.hydrateFromRecordOrMap(record, null, instance);
     }
@@ -1261,7 +1363,7 @@ public class ClassCacheEntry<T> {
                 default:
                     args = null;
             }
-            result = (T) factoryConstructorMethod.invoke(null, args);
+            result = newInstance(factoryConstructorHandle, args == null ? NO_ARGS : args);
         } else {
             Object[] args = new Object[constructorParamBins.length];
             for (int i = 0; i < constructorParamBins.length; i++) {
@@ -1272,7 +1374,7 @@ public class ClassCacheEntry<T> {
                 }
                 javaValuesMap.remove(constructorParamBins[i]);
             }
-            result = constructor.newInstance(args);
+            result = newInstance(constructorHandle, args);
         }
         // Once the object has been created, we need to store it against the current key so that
         // recursive objects resolve correctly
@@ -21,13 +21,14 @@ import io.dingodb.client.annotation.ToDingo;
 import io.dingodb.client.mappers.TypeMapper;
 import io.dingodb.sdk.common.DingoClientException;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
 public class GenericTypeMapper extends TypeMapper {
     private final Class<?> mappedClass;
     private final Object converter;
     private Method toDingo;
+    private final MethodHandle toDingoHandle;
 
     private Method fromDingo;
 
@@ -54,6 +55,11 @@ public class GenericTypeMapper extends TypeMapper {
         }
         this.converter = converter;
         mappedClass = validateAndGetClass();
+        try {
+            toDingoHandle = Accessors.function(toDingo, converter);
+        } catch (IllegalAccessException e) {
+            throw new DingoClientException(e.getMessage());
+        }
     }
 
     public Class<?> getMappedClass() {
@@ -122,8 +128,8 @@ public class GenericTypeMapper extends TypeMapper {
     @Override
     public Object toDingoFormat(Object value) {
         try {
-            return this.toDingo.invoke(converter, value);
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+            return (Object) this.toDingoHandle.invokeExact(value);
+        } catch (Throwable e) {
             throw new DingoClientException(e.getMessage());
         }
     }
@@ -18,11 +18,13 @@ package io.dingodb.client.utils;
 
 import io.dingodb.client.common.Key;
 import io.dingodb.client.common.Record;
+import io.dingodb.common.util.Optional;
 import io.dingodb.sdk.common.codec.CodecUtils;
 import io.dingodb.sdk.common.table.Column;
 import io.dingodb.sdk.common.table.Table;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
@@ -98,4 +100,35 @@ public final class OperationUtils {
         return err;
     }
 
+    /**
+     * Complete with the first error of the given sub task futures, in their order, once all of them are done.
+     */
+    public static CompletableFuture<Optional<Throwable>> firstError(
+        List<CompletableFuture<Optional<Throwable>>> futures
+    ) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(__ -> futures.stream()
+            .map(CompletableFuture::join)
+            .filter(Optional::isPresent)
+            .findFirst()
+            .orElseGet(Optional::empty));
+    }
+
+    /**
+     * Wait for the result of an asynchronous operation, throwing its failure as the synchronous operation would.
+     */
+    public static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = getCause(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
 }
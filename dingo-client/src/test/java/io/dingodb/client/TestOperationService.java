@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.client;
+
+import io.dingodb.client.common.TableInfo;
+import io.dingodb.client.operation.impl.Operation;
+import io.dingodb.sdk.common.DingoClientException;
+import io.dingodb.sdk.common.utils.Any;
+import io.dingodb.sdk.service.meta.MetaServiceClient;
+import io.dingodb.sdk.service.store.StoreServiceClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class TestOperationService {
+
+    private static final int RETRY_TIMES = 3;
+
+    @Test
+    public void testExecAsync() throws Exception {
+        RoutedOperationService service = new RoutedOperationService();
+        FlakyOperation operation = new FlakyOperation(0);
+        CompletableFuture<List<Integer>> future = service.execAsync("test", "t", operation, Arrays.asList(1, 2, 3));
+        assertThat(future.get(10, TimeUnit.SECONDS)).containsExactly(10, 20, 30);
+        assertThat(service.refreshes.get()).isEqualTo(1);
+        assertThat(operation.execs.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testExecAsyncRetry() throws Exception {
+        RoutedOperationService service = new RoutedOperationService();
+        FlakyOperation operation = new FlakyOperation(1);
+        CompletableFuture<List<Integer>> future = service.execAsync("test", "t", operation, Arrays.asList(1, 2, 3));
+        assertThat(future.get(10, TimeUnit.SECONDS)).containsExactly(10, 20, 30);
+        // The first lookup and one forced refresh for the failed sub task.
+        assertThat(service.refreshes.get()).isEqualTo(2);
+        assertThat(operation.execs.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testExecAsyncRetryLimit() {
+        RoutedOperationService service = new RoutedOperationService();
+        FlakyOperation operation = new FlakyOperation(Integer.MAX_VALUE);
+        CompletableFuture<List<Integer>> future = service.execAsync("test", "t", operation, Arrays.asList(1, 2, 3));
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(DingoClientException.class);
+        assertThat(service.refreshes.get()).isEqualTo(1 + 3 * RETRY_TIMES);
+    }
+
+    @Test
+    public void testExecAsyncTableNotFound() {
+        RoutedOperationService service = new RoutedOperationService();
+        service.found = false;
+        CompletableFuture<List<Integer>> future = service.execAsync(
+            "test", "t", new FlakyOperation(0), Arrays.asList(1, 2, 3)
+        );
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("Table not found.");
+    }
+
+    @Test
+    public void testExecRetryLimit() {
+        RoutedOperationService service = new RoutedOperationService();
+        FlakyOperation operation = new FlakyOperation(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> service.exec("test", "t", operation, Arrays.asList(1, 2, 3)))
+            .isInstanceOf(DingoClientException.class);
+    }
+
+    private static class RoutedOperationService extends OperationService {
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private volatile boolean found = true;
+
+        RoutedOperationService() {
+            super(mock(MetaServiceClient.class), mock(StoreServiceClient.class), RETRY_TIMES);
+        }
+
+        @Override
+        TableInfo refreshRouteTable(String schemaName, String tableName) {
+            refreshes.incrementAndGet();
+            return found ? new TableInfo(schemaName, tableName, null, null, null, null) : null;
+        }
+    }
+
+    /**
+     * Each value is a sub task, which fails with a route table error the given number of times before it stores ten
+     * times the value at its position of the result.
+     */
+    private static class FlakyOperation implements Operation {
+        private final AtomicInteger failures;
+        private final AtomicInteger execs = new AtomicInteger();
+
+        FlakyOperation(int failures) {
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public Fork fork(Any parameters, TableInfo tableInfo) {
+            List<Integer> values = parameters.getValue();
+            NavigableSet<Task> subTasks = new TreeSet<>(Comparator.comparingInt(t -> t.<Integer>parameters()));
+            for (int i = 0; i < values.size(); i++) {
+                subTasks.add(new Task(null, new Any(i)));
+            }
+            return new Fork(values.stream().mapToInt(Integer::intValue).toArray(), subTasks, false);
+        }
+
+        @Override
+        public Fork fork(OperationContext context, TableInfo tableInfo) {
+            NavigableSet<Task> subTasks = new TreeSet<>(Comparator.comparingInt(t -> t.<Integer>parameters()));
+            subTasks.add(new Task(null, context.getParameters()));
+            return new Fork(context.result(), subTasks, false);
+        }
+
+        @Override
+        public void exec(OperationContext context) {
+            execs.incrementAndGet();
+            if (failures.getAndDecrement() > 0) {
+                throw mock(DingoClientException.InvalidRouteTableException.class);
+            }
+            int index = context.parameters();
+            context.<int[]>result()[index] *= 10;
+        }
+
+        @Override
+        public <R> R reduce(Fork fork) {
+            return (R) Arrays.stream(fork.<int[]>result()).boxed().collect(Collectors.toList());
+        }
+    }
+
+}
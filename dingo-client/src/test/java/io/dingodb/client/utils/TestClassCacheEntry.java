@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.client.utils;
+
+import io.dingodb.client.annotation.DingoKey;
+import io.dingodb.client.annotation.DingoRecord;
+import io.dingodb.client.common.Record;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestClassCacheEntry {
+    private static final String TABLE_NAME = "ROUND_TRIP";
+
+    private static <T> ClassCacheEntry<T> entry(Class<T> clazz) {
+        return ClassCache.getInstance().loadClass(clazz, null);
+    }
+
+    @Test
+    public void testPrimitives() {
+        ClassCacheEntry<RoundTrip> entry = entry(RoundTrip.class);
+        RoundTrip object = new RoundTrip();
+        object.id = 1;
+        object.count = 10L;
+        object.score = 1.5;
+        object.flag = true;
+        Record record = entry.toRecord(TABLE_NAME, object);
+        assertThat((Object) record.getValue("ID")).isEqualTo(1);
+        assertThat((Object) record.getValue("COUNT")).isEqualTo(10L);
+        RoundTrip result = entry.constructAndHydrate(record);
+        assertThat(result.id).isEqualTo(1);
+        assertThat(result.count).isEqualTo(10L);
+        assertThat(result.score).isEqualTo(1.5);
+        assertThat(result.flag).isTrue();
+    }
+
+    @Test
+    public void testBoxed() {
+        ClassCacheEntry<RoundTrip> entry = entry(RoundTrip.class);
+        RoundTrip object = new RoundTrip();
+        object.id = 2;
+        object.boxedInt = 20;
+        object.boxedLong = 200L;
+        object.name = "dingo";
+        RoundTrip result = entry.constructAndHydrate(entry.toRecord(TABLE_NAME, object));
+        assertThat(result.id).isEqualTo(2);
+        assertThat(result.boxedInt).isEqualTo(20);
+        assertThat(result.boxedLong).isEqualTo(200L);
+        assertThat(result.name).isEqualTo("dingo");
+    }
+
+    @Test
+    public void testNulls() {
+        ClassCacheEntry<RoundTrip> entry = entry(RoundTrip.class);
+        RoundTrip object = new RoundTrip();
+        object.id = 3;
+        Record record = entry.toRecord(TABLE_NAME, object);
+        assertThat((Object) record.getValue("BOXEDINT")).isNull();
+        RoundTrip result = entry.constructAndHydrate(record);
+        assertThat(result.boxedInt).isNull();
+        assertThat(result.boxedLong).isNull();
+        assertThat(result.name).isNull();
+        // Primitive columns read as null get the default values.
+        Record nullCount = new Record(
+            record.getColumns(),
+            new Object[]{3, null, 1.0, false, null, null, null}
+        );
+        assertThat(entry.constructAndHydrate(nullCount).count).isZero();
+    }
+
+    @Test
+    public void testTypeMismatch() {
+        ClassCacheEntry<RoundTrip> entry = entry(RoundTrip.class);
+        RoundTrip object = new RoundTrip();
+        object.id = 4;
+        Record record = entry.toRecord(TABLE_NAME, object);
+        // An integer in the string column.
+        Record mismatch = new Record(
+            record.getColumns(),
+            new Object[]{4, 0L, 0.0, false, null, null, 5}
+        );
+        assertThatThrownBy(() -> entry.constructAndHydrate(mismatch))
+            .isInstanceOf(IllegalArgumentException.class);
+        // An object of another class.
+        assertThatThrownBy(() -> entry.toRecord(TABLE_NAME, new Object()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DingoRecord(table = TABLE_NAME)
+    public static class RoundTrip {
+        @DingoKey
+        public int id;
+        public long count;
+        public double score;
+        public boolean flag;
+        public Integer boxedInt;
+        public Long boxedLong;
+        public String name;
+    }
+}
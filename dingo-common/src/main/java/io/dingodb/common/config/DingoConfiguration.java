@@ -62,6 +62,7 @@ public class DingoConfiguration {
     private ExchangeConfiguration exchange;
     private SecurityConfiguration security;
     private VariableConfiguration variable;
+    private ExecutionConfiguration execution;
     private List<String> servicePkgs;
     private Map<String, Object> server;
     private Map<String, Object> store = new ConcurrentHashMap<>();
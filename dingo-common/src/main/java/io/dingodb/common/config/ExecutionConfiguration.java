@@ -0,0 +1,344 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.config;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import io.dingodb.common.util.Optional;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+public class ExecutionConfiguration {
+    public static final long DEFAULT_JOIN_MEMORY_BUDGET = 256L * 1024 * 1024;
+    public static final long DEFAULT_SORT_MEMORY_BUDGET = 256L * 1024 * 1024;
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_MULTI_GET_BATCH_SIZE = 256;
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 256;
+    public static final int DEFAULT_WRITE_BATCHES_IN_FLIGHT = 4;
+    public static final String EXCHANGE_CODEC_BINARY = "binary";
+    public static final String EXCHANGE_CODEC_AVRO = "avro";
+    public static final String TASK_CODEC_BINARY = "binary";
+    public static final String TASK_CODEC_JSON = "json";
+    public static final String SCHEDULER_BOUNDED = "bounded";
+    public static final String SCHEDULER_UNBOUNDED = "unbounded";
+    public static final int DEFAULT_SCHEDULER_THREADS_PER_CORE = 4;
+    public static final int DEFAULT_SCHEDULER_BLOCKING_THREADS = 256;
+    public static final int DEFAULT_SCHEDULER_STORE_THREADS = 64;
+    public static final int DEFAULT_MULTI_GET_PREFETCH = 1;
+    public static final int DEFAULT_SOURCE_YIELD_TUPLES = 65536;
+    public static final int DEFAULT_PLAN_CACHE_SIZE = 1024;
+    public static final int DEFAULT_TASK_TEMPLATES = 0;
+    public static final long DEFAULT_BROADCAST_JOIN_ROWS = 10000L;
+    public static final int DEFAULT_MYSQL_WORKER_THREADS = 64;
+    public static final int DEFAULT_MYSQL_WORKER_QUEUE_SIZE = 1024;
+    public static final long DEFAULT_MYSQL_WRITE_TIMEOUT = 60000L;
+    public static final int DEFAULT_MYSQL_STATEMENT_CACHE_SIZE = 64;
+
+    private Long joinMemoryBudget;
+    private Long sortMemoryBudget;
+    private String spillPath;
+    private Integer batchSize;
+    private Boolean exprCodegen;
+    private Integer multiGetBatchSize;
+    private Integer writeBatchSize;
+    private Integer writeBatchesInFlight;
+    private String exchangeCodec;
+    private String scheduler;
+    private Integer schedulerThreadsPerCore;
+    private Integer schedulerBlockingThreads;
+    private Integer schedulerStoreThreads;
+    private Integer multiGetPrefetch;
+    private Integer maxRunningTasks;
+    private Integer sourceYieldTuples;
+    private Integer planCacheSize;
+    private Integer taskTemplates;
+    private String taskCodec;
+    private Long broadcastJoinRows;
+    private Integer mysqlWorkerThreads;
+    private Integer mysqlWorkerQueueSize;
+    private Long mysqlWriteTimeout;
+    private Integer mysqlStatementCacheSize;
+
+    /**
+     * Max bytes of in-memory build side a hash join operator may hold before spilling partitions to disk.
+     * The budget is per operator, not shared by the operators of a task. A non-positive value disables spilling.
+     */
+    public static long joinMemoryBudget() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getJoinMemoryBudget)
+            .orElse(DEFAULT_JOIN_MEMORY_BUDGET);
+    }
+
+    /**
+     * Max bytes of tuples a sort task may hold before spilling sorted runs to disk.
+     * A non-positive value disables spilling.
+     */
+    public static long sortMemoryBudget() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getSortMemoryBudget)
+            .orElse(DEFAULT_SORT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Max number of tuples pushed between operators in one batch. A value less than 2 disables batching.
+     */
+    public static int batchSize() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getBatchSize)
+            .orElse(DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Max number of keys sent to a region in one batch get request.
+     */
+    public static int multiGetBatchSize() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getMultiGetBatchSize)
+            .filter(size -> size > 0)
+            .orElse(DEFAULT_MULTI_GET_BATCH_SIZE);
+    }
+
+    /**
+     * Max number of batch gets issued ahead while the rows of the current batch are consumed. Zero disables
+     * prefetching, so that every batch is got on the thread consuming it.
+     */
+    public static int multiGetPrefetch() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getMultiGetPrefetch)
+            .filter(prefetch -> prefetch >= 0)
+            .orElse(DEFAULT_MULTI_GET_PREFETCH);
+    }
+
+    /**
+     * Max number of rows written to a region in one batch request by insert, update and delete.
+     */
+    public static int writeBatchSize() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getWriteBatchSize)
+            .filter(size -> size > 0)
+            .orElse(DEFAULT_WRITE_BATCH_SIZE);
+    }
+
+    /**
+     * Max number of write batches of an operator waiting for responses at the same time.
+     */
+    public static int writeBatchesInFlight() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getWriteBatchesInFlight)
+            .filter(size -> size > 0)
+            .orElse(DEFAULT_WRITE_BATCHES_IN_FLIGHT);
+    }
+
+    /**
+     * Whether to compile sql exprs to bytecode. Exprs which cannot be compiled are always interpreted.
+     */
+    public static boolean exprCodegen() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getExprCodegen)
+            .orElse(true);
+    }
+
+    /**
+     * Codec of tuples sent between tasks, {@value EXCHANGE_CODEC_BINARY} or {@value EXCHANGE_CODEC_AVRO}.
+     * Receivers of this version decode either one, but older ones decode only avro, so binary is to be turned on
+     * after all the nodes are upgraded.
+     */
+    public static String exchangeCodec() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getExchangeCodec)
+            .orElse(EXCHANGE_CODEC_AVRO);
+    }
+
+    /**
+     * Scheduler of tasks and source operators, {@value SCHEDULER_BOUNDED} or {@value SCHEDULER_UNBOUNDED}.
+     * The unbounded one runs every source operator on its own thread, as it was before the bounded one came.
+     */
+    public static String scheduler() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getScheduler)
+            .orElse(SCHEDULER_BOUNDED);
+    }
+
+    /**
+     * Number of worker threads per available processor of the bounded scheduler.
+     */
+    public static int schedulerThreadsPerCore() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getSchedulerThreadsPerCore)
+            .filter(threads -> threads > 0)
+            .orElse(DEFAULT_SCHEDULER_THREADS_PER_CORE);
+    }
+
+    /**
+     * Number of threads of the bounded scheduler running the source operators which may block, such as the inputs of
+     * joins waiting for each other. Pushing to sinks or receiving from other tasks never blocks, so such sources are
+     * rare, but too few threads may leave blocked sources waiting for the sources queued behind them.
+     */
+    public static int schedulerBlockingThreads() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getSchedulerBlockingThreads)
+            .filter(threads -> threads > 0)
+            .orElse(DEFAULT_SCHEDULER_BLOCKING_THREADS);
+    }
+
+    /**
+     * Number of threads of the bounded scheduler making the calls to the store issued ahead by batch gets and writes,
+     * which bounds the calls in flight of all the tasks.
+     */
+    public static int schedulerStoreThreads() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getSchedulerStoreThreads)
+            .filter(threads -> threads > 0)
+            .orElse(DEFAULT_SCHEDULER_STORE_THREADS);
+    }
+
+    /**
+     * Max number of task runs executing at the same time, the others are queued until admitted. Runs of tasks waiting
+     * for other tasks are not counted, for they could take all the slots from the tasks they wait for.
+     * A non-positive value disables admission control.
+     */
+    public static int maxRunningTasks() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getMaxRunningTasks)
+            .orElse(0);
+    }
+
+    /**
+     * Number of tuples a source operator pushes before yielding its worker thread to other queued work.
+     * A non-positive value disables yielding.
+     */
+    public static int sourceYieldTuples() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getSourceYieldTuples)
+            .orElse(DEFAULT_SOURCE_YIELD_TUPLES);
+    }
+
+    /**
+     * Max number of optimized plans cached by sql statement shape. A non-positive value disables the cache.
+     */
+    public static int planCacheSize() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getPlanCacheSize)
+            .orElse(DEFAULT_PLAN_CACHE_SIZE);
+    }
+
+    /**
+     * Max number of task templates kept for each executor, so that tasks of the same shape are created remotely
+     * without shipping them again. A non-positive value disables templates, which is the default, for executors of
+     * versions not knowing templates cannot run the tasks sent so. Enable it only when all the executors know them.
+     */
+    public static int taskTemplates() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getTaskTemplates)
+            .orElse(DEFAULT_TASK_TEMPLATES);
+    }
+
+    /**
+     * Encoding of the task messages sent to executors, {@value TASK_CODEC_BINARY} or {@value TASK_CODEC_JSON}.
+     * Executors of this version accept both, but older ones accept only json, so binary is to be turned on after all
+     * the nodes are upgraded.
+     */
+    public static String taskCodec() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getTaskCodec)
+            .orElse(TASK_CODEC_JSON);
+    }
+
+    /**
+     * Max estimated rows of the build side of an equi-join to be broadcast to the tasks of the probe side, instead of
+     * shuffling both sides by join keys. A non-positive value disables broadcast joins.
+     */
+    public static long broadcastJoinRows() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getBroadcastJoinRows)
+            .orElse(DEFAULT_BROADCAST_JOIN_ROWS);
+    }
+
+    /**
+     * Number of threads executing the commands of mysql connections, off the netty event loops.
+     */
+    public static int mysqlWorkerThreads() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getMysqlWorkerThreads)
+            .filter(threads -> threads > 0)
+            .orElse(DEFAULT_MYSQL_WORKER_THREADS);
+    }
+
+    /**
+     * Max number of mysql connections waiting for a worker thread. Commands beyond it are answered with an error.
+     */
+    public static int mysqlWorkerQueueSize() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getMysqlWorkerQueueSize)
+            .filter(size -> size > 0)
+            .orElse(DEFAULT_MYSQL_WORKER_QUEUE_SIZE);
+    }
+
+    /**
+     * Max milliseconds to wait for a mysql client to read the results sent, before the connection is closed.
+     */
+    public static long mysqlWriteTimeout() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getMysqlWriteTimeout)
+            .filter(timeout -> timeout > 0)
+            .orElse(DEFAULT_MYSQL_WRITE_TIMEOUT);
+    }
+
+    /**
+     * Max number of statements closed by a mysql client but kept prepared, for the client to prepare the same sql
+     * again without planning. A non-positive value disables keeping them.
+     */
+    public static int mysqlStatementCacheSize() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getMysqlStatementCacheSize)
+            .orElse(DEFAULT_MYSQL_STATEMENT_CACHE_SIZE);
+    }
+
+    public static String spillPath() {
+        return Optional.ofNullable(DingoConfiguration.instance())
+            .map(DingoConfiguration::getExecution)
+            .map(ExecutionConfiguration::getSpillPath)
+            .orElse(System.getProperty("java.io.tmpdir"));
+    }
+}
@@ -23,6 +23,7 @@ public enum ErrorCode {
     ER_YES(1003, "HY000", "YES"),
     ER_CANT_CREATE_FILE(1004, "HY000", " Can't create file '%s' (errno: %d - %s)"),
     ER_CANT_CREATE_DB(1006, "HY000", "Can't create table '%s' (errno: %d)"),
+    ER_OUT_OF_RESOURCES(1041, "HY000", "Out of resources, too many commands waiting for execution"),
     ER_ACCESS_DB_DENIED_ERROR(1044, "42000", "Access denied for user '%s'@'%s' to database '%s'"),
     ER_ACCESS_DENIED_ERROR(1045, "28000", "Access denied for user '%s'@'%s' (using password: %s)"),
     ER_NO_DATABASE_ERROR(1046, "3D000", "No database selected"),
@@ -36,6 +37,7 @@ public enum ErrorCode {
     ER_UNKNOWN_ERROR(1105, "3D000", "Unknown error"),
     ER_UNKNOWN_VARIABLES(1193, "HY000", "Unknown system variable '%s'"),
     ER_IMMUTABLE_VARIABLES(1238, "HY000", "Variable '%s' is a read-only variable"),
+    ER_UNKNOWN_STMT_HANDLER(1243, "HY000", "Unknown prepared statement handler (%s) given to %s"),
     ER_PASSWORD_EXPIRE(1820, "HY000", "You must reset your password using ALTER USER statement before executing this statement."),
 
     ER_LOCK_ACCOUNT(3118, "HY000", "Access denied for user '%s'@'%s'. Account is locked.");
@@ -18,6 +18,7 @@ package io.dingodb.driver;
 
 import com.google.common.collect.ImmutableList;
 import io.dingodb.calcite.DingoParser;
+import io.dingodb.calcite.DingoParserContext;
 import io.dingodb.calcite.grammar.ddl.DingoSqlCreateTable;
 import io.dingodb.calcite.operation.DdlOperation;
 import io.dingodb.calcite.operation.Operation;
@@ -189,6 +190,11 @@ public final class DingoDriverParser extends DingoParser {
         String jobIdPrefix,
         String sql
     ) {
+        PlanCache.Key textKey = planCacheKey(sql, true);
+        PlanCache.Plan textPlan = PlanCache.INSTANCE.get(textKey);
+        if (textPlan != null) {
+            return createSignature(jobManager, sql, Meta.CursorFactory.ARRAY, textPlan);
+        }
         SqlNode sqlNode;
         try {
             sqlNode = parse(sql);
@@ -213,6 +219,7 @@ public final class DingoDriverParser extends DingoParser {
                     .collect(Collectors.toList());
             } else {
                 ((DdlOperation)operation).execute();
+                PlanCache.INSTANCE.invalidateAll();
             }
 
             Meta.StatementType statementType = isDdl
@@ -231,6 +238,7 @@ public final class DingoDriverParser extends DingoParser {
             DingoDdlVerify.verify(sqlNode, connection);
             final DdlExecutor ddlExecutor = PARSER_CONFIG.parserFactory().getDdlExecutor();
             ddlExecutor.executeDdl(connection, sqlNode);
+            PlanCache.INSTANCE.invalidateAll();
             return new DingoSignature(
                 ImmutableList.of(),
                 sql,
@@ -245,6 +253,15 @@ public final class DingoDriverParser extends DingoParser {
             explain = (SqlExplain) sqlNode;
             sqlNode = explain.getExplicandum();
         }
+        PlanCache.Key cacheKey = null;
+        if (explain == null) {
+            cacheKey = planCacheKey(sqlNode.toString(), false);
+            PlanCache.Plan plan = PlanCache.INSTANCE.get(cacheKey);
+            if (plan != null) {
+                PlanCache.INSTANCE.put(textKey, plan);
+                return createSignature(jobManager, sql, cursorFactory, plan);
+            }
+        }
         SqlValidator validator = getSqlValidator();
         try {
             sqlNode = validator.validate(sqlNode);
@@ -271,6 +288,7 @@ public final class DingoDriverParser extends DingoParser {
         final List<ColumnMetaData> columns = getColumnMetaDataList(typeFactory, jdbcType, originList);
 
         final RelRoot relRoot = convert(sqlNode, false);
+        final boolean cacheable = cacheKey != null && PlanCache.isCacheable(relRoot.rel);
         final RelNode relNode = optimize(relRoot.rel);
         extractAutoIncrement(relNode, jobIdPrefix);
         Location currentLocation = MetaService.root().currentLocation();
@@ -296,6 +314,20 @@ public final class DingoDriverParser extends DingoParser {
                 job
             );
         }
+        if (cacheable) {
+            PlanCache.Plan plan = new PlanCache.Plan(
+                relNode,
+                columns,
+                createParameterList(parasType),
+                job.getParasType(),
+                statementType,
+                PlanCache.collectTables(relNode)
+            );
+            PlanCache.INSTANCE.put(cacheKey, plan);
+            PlanCache.INSTANCE.put(textKey, plan);
+            // The cached plan is kept, release the memo of the planner.
+            getPlanner().clear();
+        }
         return new DingoSignature(
             columns,
             sql,
@@ -307,6 +339,47 @@ public final class DingoDriverParser extends DingoParser {
         );
     }
 
+    /**
+     * Generation of cached plans on this server, which is changed by ddl. Statements prepared in different
+     * generations may have different plans.
+     */
+    public static long planGeneration() {
+        return PlanCache.INSTANCE.generation();
+    }
+
+    private PlanCache.@NonNull Key planCacheKey(@NonNull String sql, boolean text) {
+        DingoParserContext context = connection.getContext();
+        return new PlanCache.Key(
+            sql,
+            text,
+            context.getDefaultSchemaName(),
+            context.getOption("user"),
+            context.getOption("host"),
+            context.getTimeZone().getID(),
+            context.isPushDown()
+        );
+    }
+
+    private static @NonNull Meta.Signature createSignature(
+        @NonNull JobManager jobManager,
+        String sql,
+        Meta.CursorFactory cursorFactory,
+        PlanCache.@NonNull Plan plan
+    ) {
+        long jobSeqId = LocalTimestampOracle.INSTANCE.nextTimestamp();
+        Job job = jobManager.createJob(jobSeqId, jobSeqId, plan.getParasType());
+        DingoJobVisitor.renderJob(job, plan.getRelNode(), MetaService.root().currentLocation(), true);
+        return new DingoSignature(
+            new ArrayList<>(plan.getColumns()),
+            sql,
+            new ArrayList<>(plan.getParameters()),
+            null,
+            cursorFactory,
+            plan.getStatementType(),
+            job.getJobId()
+        );
+    }
+
     /**
      * Determine if it is an insert statement and if there is an autoincrement primary key in the table.
      * @param relNode dingo relNode
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.DingoPartCountDelete;
+import io.dingodb.calcite.rel.DingoPartRangeDelete;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.privilege.DingoSqlAccessEnum;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.fun.AutoIncrementFun;
+import io.dingodb.meta.MetaService;
+import io.dingodb.verify.privilege.PrivilegeVerify;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.avatica.AvaticaParameter;
+import org.apache.calcite.avatica.ColumnMetaData;
+import org.apache.calcite.avatica.Meta;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelVisitor;
+import org.apache.calcite.rel.core.TableModify;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexSubQuery;
+import org.apache.calcite.sql.SqlOperator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-wide cache of optimized plans, keyed by the statement shape and the session settings affecting planning.
+ * A plan is also keyed by the sql text it was planned from, so that the same text is not parsed again.
+ * A cached plan is used only if the versions of its tables are unchanged and the user still has the privileges.
+ * DDL issued through this node drops all the plans. The versions are read through {@link MetaService#getTableVersion},
+ * which may serve them from a local cache, so that DDL issued through other nodes is seen when that cache expires.
+ */
+@Slf4j
+final class PlanCache {
+    static final PlanCache INSTANCE = new PlanCache(ExecutionConfiguration.planCacheSize());
+
+    private final @Nullable Cache<Key, Plan> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    PlanCache(int size) {
+        cache = size > 0 ? CacheBuilder.newBuilder().maximumSize(size).build() : null;
+    }
+
+    @Nullable Plan get(@NonNull Key key) {
+        if (cache == null) {
+            return null;
+        }
+        Plan plan = cache.getIfPresent(key);
+        if (plan != null && !plan.isValid(key)) {
+            cache.invalidate(key);
+            return null;
+        }
+        return plan;
+    }
+
+    void put(@NonNull Key key, @NonNull Plan plan) {
+        if (cache != null) {
+            cache.put(key, plan);
+        }
+    }
+
+    void invalidateAll() {
+        generation.incrementAndGet();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Number of times the cache was invalidated by ddl, for holders of plans out of the cache to check staleness.
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Check if a converted (not yet optimized) plan can be cached. Plans calling non-deterministic functions cannot,
+     * for constant expressions are evaluated in optimizing.
+     */
+    static boolean isCacheable(@NonNull RelNode relNode) {
+        NonDeterministicFinder finder = new NonDeterministicFinder();
+        finder.go(relNode);
+        return !finder.found;
+    }
+
+    static @NonNull List<TableState> collectTables(@NonNull RelNode relNode) {
+        List<TableState> tables = new ArrayList<>();
+        new RelVisitor() {
+            @Override
+            public void visit(@NonNull RelNode node, int ordinal, @Nullable RelNode parent) {
+                RelOptTable relOptTable = node.getTable();
+                DingoTable table = relOptTable != null ? relOptTable.unwrap(DingoTable.class) : null;
+                if (table != null) {
+                    List<String> names = table.getNames();
+                    tables.add(new TableState(
+                        names.get(1),
+                        names.get(names.size() - 1),
+                        table.getTableId(),
+                        table.getTableDefinition().getVersion(),
+                        accessOf(node)
+                    ));
+                }
+                super.visit(node, ordinal, parent);
+            }
+        }.go(relNode);
+        return tables;
+    }
+
+    private static DingoSqlAccessEnum accessOf(RelNode node) {
+        if (node instanceof TableModify) {
+            switch (((TableModify) node).getOperation()) {
+                case INSERT:
+                    return DingoSqlAccessEnum.INSERT;
+                case UPDATE:
+                    return DingoSqlAccessEnum.UPDATE;
+                case DELETE:
+                    return DingoSqlAccessEnum.DELETE;
+                default:
+                    break;
+            }
+        } else if (node instanceof DingoPartCountDelete || node instanceof DingoPartRangeDelete) {
+            return DingoSqlAccessEnum.DELETE;
+        }
+        return DingoSqlAccessEnum.SELECT;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    static final class Key {
+        private final String sql;
+        // If the sql is the text from client, or the sql node unparsed.
+        private final boolean text;
+        private final String defaultSchema;
+        private final String user;
+        private final String host;
+        private final String timeZone;
+        private final boolean pushDown;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static final class Plan {
+        private final RelNode relNode;
+        private final List<ColumnMetaData> columns;
+        private final List<AvaticaParameter> parameters;
+        private final DingoType parasType;
+        private final Meta.StatementType statementType;
+        private final List<TableState> tables;
+
+        private boolean isValid(@NonNull Key key) {
+            for (TableState table : tables) {
+                if (!table.isValid(key)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @AllArgsConstructor
+    static final class TableState {
+        private final String schemaName;
+        private final String tableName;
+        private final CommonId tableId;
+        // Copied, for the definition object may be shared with and changed by the meta service.
+        private final int version;
+        private final DingoSqlAccessEnum access;
+
+        private boolean isValid(@NonNull Key key) {
+            if (!PrivilegeVerify.verify(key.user, key.host, schemaName, tableName, access)) {
+                return false;
+            }
+            try {
+                // A dropped table has no version, and a table created again with the same name has a new id.
+                Integer current = MetaService.root().getTableVersion(tableId);
+                return current != null && current == version;
+            } catch (RuntimeException e) {
+                log.warn("Failed to check definition of table \"{}.{}\".", schemaName, tableName, e);
+                return false;
+            }
+        }
+    }
+
+    private static final class NonDeterministicFinder extends RelVisitor {
+        private boolean found = false;
+
+        private final RexShuttle shuttle = new RexShuttle() {
+            @Override
+            public RexNode visitCall(@NonNull RexCall call) {
+                SqlOperator operator = call.getOperator();
+                if (!operator.isDeterministic()
+                    || operator.isDynamicFunction()
+                    || AutoIncrementFun.NAME.equalsIgnoreCase(operator.getName())
+                ) {
+                    found = true;
+                    return call;
+                }
+                return super.visitCall(call);
+            }
+
+            @Override
+            public RexNode visitSubQuery(@NonNull RexSubQuery subQuery) {
+                NonDeterministicFinder.this.go(subQuery.rel);
+                return super.visitSubQuery(subQuery);
+            }
+        };
+
+        @Override
+        public void visit(@NonNull RelNode node, int ordinal, @Nullable RelNode parent) {
+            if (found) {
+                return;
+            }
+            node.accept(shuttle);
+            super.visit(node, ordinal, parent);
+        }
+    }
+}
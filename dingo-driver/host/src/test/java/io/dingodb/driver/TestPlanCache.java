@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver;
+
+import io.dingodb.calcite.DingoParser;
+import io.dingodb.calcite.DingoParserContext;
+import io.dingodb.calcite.schema.DingoRootSchema;
+import io.dingodb.common.environment.ExecutionEnvironment;
+import io.dingodb.common.privilege.DingoSqlAccessEnum;
+import io.dingodb.common.privilege.PrivilegeDict;
+import io.dingodb.common.privilege.PrivilegeGather;
+import io.dingodb.common.privilege.UserDefinition;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.exec.fun.AutoIncrementFun;
+import io.dingodb.meta.MetaService;
+import io.dingodb.verify.privilege.PrivilegeVerify;
+import org.apache.calcite.avatica.Meta;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPlanCache {
+    private static final String SCHEMA_NAME = DingoRootSchema.DEFAULT_SCHEMA_NAME;
+    private static final String TABLE_NAME = "TEST";
+    private static final String USER = "plan_cache_user";
+    private static final String HOST = "%";
+
+    private static DingoParserContext context;
+    private static MetaService metaService;
+    private static boolean isVerify;
+
+    private DingoParser parser;
+    private PlanCache cache;
+
+    @BeforeAll
+    public static void setupAll() throws IOException {
+        MetaService root = MetaService.root();
+        root.createSubMetaService(SCHEMA_NAME);
+        metaService = root.getSubMetaService(SCHEMA_NAME);
+        createTable();
+        context = new DingoParserContext(SCHEMA_NAME);
+        isVerify = PrivilegeVerify.isVerify;
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        PrivilegeVerify.isVerify = isVerify;
+    }
+
+    @BeforeEach
+    public void setup() {
+        PrivilegeVerify.isVerify = false;
+        parser = new DingoParser(context);
+        cache = new PlanCache(16);
+    }
+
+    private static void createTable() throws IOException {
+        metaService.createTable(
+            TABLE_NAME,
+            TableDefinition.readJson(TestPlanCache.class.getResourceAsStream("/table-test.json"))
+        );
+    }
+
+    private static PlanCache.Key key(String sql) {
+        return new PlanCache.Key(sql, true, SCHEMA_NAME, USER, HOST, "UTC", true);
+    }
+
+    private RelNode convert(String sql) throws SqlParseException {
+        return parser.convert(parser.parse(sql)).rel;
+    }
+
+    private PlanCache.Plan plan(String sql) throws SqlParseException {
+        RelNode relNode = convert(sql);
+        return new PlanCache.Plan(
+            relNode,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            null,
+            Meta.StatementType.SELECT,
+            PlanCache.collectTables(relNode)
+        );
+    }
+
+    @Test
+    public void testHit() throws SqlParseException {
+        String sql = "select id, name from test where id = 1";
+        PlanCache.Plan plan = plan(sql);
+        assertThat(plan.getTables()).hasSize(1);
+        cache.put(key(sql), plan);
+        assertThat(cache.get(key(sql))).isSameAs(plan);
+        assertThat(cache.get(key("select id from test"))).isNull();
+    }
+
+    @Test
+    public void testInvalidateAll() throws SqlParseException {
+        String sql = "select * from test";
+        cache.put(key(sql), plan(sql));
+        long generation = cache.generation();
+        cache.invalidateAll();
+        assertThat(cache.get(key(sql))).isNull();
+        assertThat(cache.generation()).isEqualTo(generation + 1);
+    }
+
+    @Test
+    public void testTableRecreated() throws SqlParseException, IOException {
+        String sql = "select name from test where amount > 1.0";
+        cache.put(key(sql), plan(sql));
+        // DDL through another node does not invalidate this cache, the table is checked against the meta service.
+        metaService.dropTable(TABLE_NAME);
+        try {
+            assertThat(cache.get(key(sql))).isNull();
+        } finally {
+            createTable();
+        }
+        cache.put(key(sql), plan(sql));
+        metaService.dropTable(TABLE_NAME);
+        createTable();
+        assertThat(cache.get(key(sql))).isNull();
+    }
+
+    @Test
+    public void testVersionChanged() throws SqlParseException, IOException {
+        String sql = "select id from test where name = 'a'";
+        cache.put(key(sql), plan(sql));
+        // Altered through another node, the definition is shared with the local meta service.
+        metaService.getTableDefinition(TABLE_NAME).increaseVersion();
+        try {
+            assertThat(cache.get(key(sql))).isNull();
+        } finally {
+            metaService.dropTable(TABLE_NAME);
+            createTable();
+        }
+    }
+
+    @Test
+    public void testPrivilegeRevoked() throws SqlParseException {
+        String sql = "select * from test where id = 2";
+        UserDefinition userDef = UserDefinition.builder().user(USER).host(HOST).build();
+        Boolean[] privileges = new Boolean[PrivilegeDict.privilegeIndexDict.size()];
+        Arrays.fill(privileges, false);
+        int select = PrivilegeDict.privilegeIndexDict.get(DingoSqlAccessEnum.SELECT.getAccessType());
+        privileges[select] = true;
+        userDef.setPrivileges(privileges);
+        PrivilegeGather privilegeGather = PrivilegeGather.builder()
+            .user(USER)
+            .host(HOST)
+            .userDef(userDef)
+            .schemaPrivDefMap(new HashMap<>())
+            .tablePrivDefMap(new HashMap<>())
+            .build();
+        String gatherKey = USER + "#" + HOST;
+        PrivilegeVerify.isVerify = true;
+        ExecutionEnvironment.getExecutionEnvironment().getPrivilegeGatherMap().put(gatherKey, privilegeGather);
+        try {
+            PlanCache.Plan plan = plan(sql);
+            cache.put(key(sql), plan);
+            assertThat(cache.get(key(sql))).isSameAs(plan);
+            privileges[select] = false;
+            assertThat(cache.get(key(sql))).isNull();
+        } finally {
+            ExecutionEnvironment.getExecutionEnvironment().getPrivilegeGatherMap().remove(gatherKey);
+        }
+    }
+
+    @Test
+    public void testCacheable() throws SqlParseException {
+        assertThat(PlanCache.isCacheable(convert("select id, name from test where id = 1"))).isTrue();
+    }
+
+    @Test
+    public void testNonDeterministic() throws SqlParseException {
+        assertThat(PlanCache.isCacheable(convert("select id, rand() from test"))).isFalse();
+        assertThat(PlanCache.isCacheable(convert("select * from test where amount > rand()"))).isFalse();
+    }
+
+    @Test
+    public void testAutoIncrement() throws SqlParseException {
+        String sql = "select " + AutoIncrementFun.NAME + "('" + SCHEMA_NAME + "', '" + TABLE_NAME + "') from test";
+        assertThat(PlanCache.isCacheable(convert(sql))).isFalse();
+    }
+}
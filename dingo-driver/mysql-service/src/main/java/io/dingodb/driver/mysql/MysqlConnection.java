@@ -16,17 +16,25 @@
 
 package io.dingodb.driver.mysql;
 
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.driver.DingoConnection;
+import io.dingodb.driver.mysql.command.PreparedStatementCache;
 import io.dingodb.driver.mysql.netty.MysqlIdleStateHandler;
 import io.dingodb.driver.mysql.packet.AuthPacket;
 import io.netty.channel.socket.SocketChannel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Set;
 
+import static io.dingodb.calcite.operation.SetOptionOperation.CONNECTION_CHARSET;
+import static io.dingodb.common.util.Utils.getCharacterSet;
+
+@Slf4j
 public class MysqlConnection {
     @Getter
     private String id;
@@ -44,6 +52,11 @@ public class MysqlConnection {
 
     public volatile Boolean passwordExpire = false;
 
+    public final PreparedStatementCache preparedStatements = new PreparedStatementCache();
+
+    private String charsetName;
+    private Charset charset;
+
     public MysqlConnection(SocketChannel channel) {
         this.channel = channel;
     }
@@ -53,6 +66,52 @@ public class MysqlConnection {
         this.id = dingoConnection.id;
     }
 
+    /**
+     * Charset of result strings set by the client, cached until the client changes it.
+     */
+    public synchronized Charset getCharset() throws SQLException {
+        String name = getCharacterSet(connection.getClientInfo(CONNECTION_CHARSET));
+        if (!name.equals(charsetName)) {
+            charset = Charset.forName(name);
+            charsetName = name;
+        }
+        return charset;
+    }
+
+    /**
+     * Wait until the channel is writable, so that rows are not buffered for a client which reads them slowly. The
+     * connection is closed if the client reads nothing within {@link ExecutionConfiguration#mysqlWriteTimeout()}, so
+     * the worker thread is not held forever.
+     *
+     * @return {@code false} if the channel is closed
+     */
+    public synchronized boolean awaitWritable() {
+        long timeout = ExecutionConfiguration.mysqlWriteTimeout();
+        long deadline = System.currentTimeMillis() + timeout;
+        while (channel.isActive() && !channel.isWritable()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                log.warn("Connection {} read no results in {}ms, close it.", id, timeout);
+                channel.close();
+                return false;
+            }
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return channel.isActive();
+    }
+
+    /**
+     * Wake up the thread waiting in {@link #awaitWritable()}, on change of channel writability or on close.
+     */
+    public synchronized void notifyWritable() {
+        notifyAll();
+    }
+
     public void close() {
         if (channel.isActive()) {
             channel.disconnect();
@@ -16,15 +16,13 @@
 
 package io.dingodb.driver.mysql.command;
 
-import io.dingodb.common.mysql.MysqlByteUtil;
+import io.dingodb.common.mysql.MysqlMessage;
 import io.dingodb.common.mysql.constant.ErrorCode;
 import io.dingodb.driver.DingoConnection;
 import io.dingodb.driver.DingoPreparedStatement;
 import io.dingodb.driver.DingoStatement;
 import io.dingodb.driver.mysql.MysqlConnection;
-import io.dingodb.driver.mysql.MysqlType;
 import io.dingodb.driver.mysql.packet.ColumnPacket;
-import io.dingodb.driver.mysql.packet.ExecuteStatementPacket;
 import io.dingodb.driver.mysql.packet.MysqlPacketFactory;
 import io.dingodb.driver.mysql.packet.OKPacket;
 import io.dingodb.driver.mysql.packet.PrepareOkPacket;
@@ -34,16 +32,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.avatica.Meta;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.UnsupportedEncodingException;
-import java.math.BigDecimal;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Time;
-import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
@@ -122,8 +113,10 @@ public class MysqlCommands {
         DingoConnection connection = (DingoConnection) mysqlConnection.getConnection();
         AtomicLong packetId = new AtomicLong(2);
         try {
-            DingoPreparedStatement preparedStatement = (DingoPreparedStatement) connection
-                .prepareStatement(sql);
+            DingoPreparedStatement preparedStatement = mysqlConnection.preparedStatements.prepare(
+                sql,
+                () -> (DingoPreparedStatement) connection.prepareStatement(sql)
+            ).getStatement();
             Meta.StatementHandle statementHandle = preparedStatement.handle;
             String placeholder = "?";
             int i = 0;
@@ -217,96 +210,35 @@ public class MysqlCommands {
         }
     }
 
-    public void executeStatement(ExecuteStatementPacket statementPacket,
-                                 DingoPreparedStatement preparedStatement,
-                                 boolean isSelect,
+    public void executeStatement(byte[] data,
+                                 PreparedStatementCache.Entry entry,
                                  AtomicLong packetId,
                                  MysqlConnection mysqlConnection
     ) {
+        DingoPreparedStatement preparedStatement = entry.getStatement();
         try {
-            statementPacket.paramValMap.forEach((k, v) -> {
-                try {
-                    switch (v.getType()) {
-                        case MysqlType.FIELD_TYPE_TINY:
-                            byte byteVal = v.getValue()[0];
-                            if (byteVal == 0x00) {
-                                preparedStatement.setBoolean(k, false);
-                            } else if (byteVal == 0x01) {
-                                preparedStatement.setBoolean(k, true);
-                            } else {
-                                preparedStatement.setObject(k, byteVal, java.sql.Types.TINYINT);
-                            }
-                            break;
-                        case MysqlType.FIELD_TYPE_SHORT:
-                            short shortValue = ByteBuffer.wrap(v.getValue())
-                                .order(ByteOrder.LITTLE_ENDIAN)
-                                .getShort();
-                            preparedStatement.setShort(k, shortValue);
-                            break;
-                        case MysqlType.FIELD_TYPE_LONGLONG:
-                            long longVal = MysqlByteUtil.bytesToLongLittleEndian(v.getValue());
-                            preparedStatement.setLong(k, longVal);
-                            break;
-                        case MysqlType.FIELD_TYPE_LONG:
-                            // 4 bytes
-                            // int in mysql jdbc long
-                            int intVal = MysqlByteUtil.bytesToIntLittleEndian(v.getValue());
-                            preparedStatement.setInt(k, intVal);
-                            break;
-                        case MysqlType.FIELD_TYPE_FLOAT:
-                            ByteBuffer buffer = ByteBuffer.wrap(v.getValue());
-                            buffer.order(ByteOrder.LITTLE_ENDIAN);
-                            float floatVal = buffer.getFloat();
-                            preparedStatement.setFloat(k, floatVal);
-                            break;
-                        case MysqlType.FIELD_TYPE_DOUBLE:
-                            buffer = ByteBuffer.wrap(v.getValue());
-                            buffer.order(ByteOrder.LITTLE_ENDIAN);
-                            double doubleVal = buffer.getDouble();
-                            preparedStatement.setDouble(k, doubleVal);
-                            break;
-                        case MysqlType.FIELD_TYPE_DATE:
-                            long timestamp = MysqlByteUtil.bytesToDateLittleEndian(v.getValue());
-                            Date dateVal = new Date(timestamp);
-                            preparedStatement.setDate(k, dateVal);
-                            break;
-                        case MysqlType.FIELD_TYPE_TIME:
-                            Time time = MysqlByteUtil.bytesToTimeLittleEndian(v.getValue());
-                            preparedStatement.setTime(k, time);
-                            break;
-                        case MysqlType.FIELD_TYPE_DATETIME:
-                        case MysqlType.FIELD_TYPE_TIMESTAMP:
-                            Timestamp timeStamp = MysqlByteUtil.bytesToTimeStampLittleEndian(v.getValue());
-                            preparedStatement.setTimestamp(k, timeStamp);
-                            break;
-                        case MysqlType.FIELD_TYPE_VAR_STRING:
-                        case MysqlType.FIELD_TYPE_STRING:
-                        case MysqlType.FIELD_TYPE_VARCHAR:
-                            String characterSet = mysqlConnection.getConnection()
-                                .getClientInfo(CONNECTION_CHARSET);
-                            characterSet = getCharacterSet(characterSet);
-                            String charVal;
-                            try {
-                                charVal = new String(v.getValue(), characterSet);
-                            } catch (UnsupportedEncodingException e) {
-                                throw new RuntimeException(e);
-                            }
-                            preparedStatement.setString(k, charVal);
-                            break;
-                        case MysqlType.FIELD_TYPE_DECIMAL:
-                        case MysqlType.FIELD_TYPE_NEWDECIMAL:
-                            BigDecimal bigDecimal = new BigDecimal(new String(v.getValue()));
-                            preparedStatement.setBigDecimal(k, bigDecimal);
-                            break;
-                        default:
-                            charVal = new String(v.getValue());
-                            preparedStatement.setObject(k, charVal);
+            int paramCount = preparedStatement.getParameterCount();
+            if (paramCount > 0) {
+                MysqlMessage message = new MysqlMessage(data);
+                // skip packet id, command, statement id, flags and iteration count
+                message.position(11);
+                byte[] nullBitmap = message.readBytes((paramCount + 7) / 8);
+                ParameterDecoder decoder = entry.getDecoder();
+                if (message.read() == 1) {
+                    int[] types = new int[paramCount];
+                    for (int i = 0; i < paramCount; i++) {
+                        types[i] = message.read() & 0xff;
+                        // unsigned
+                        message.read();
                     }
-                } catch (SQLException e) {
-                    MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, e);
+                    decoder = entry.bind(types);
                 }
-            });
-            if (isSelect) {
+                if (decoder == null) {
+                    throw new SQLException("Types of parameters are not bound.", "HY000");
+                }
+                decoder.decode(message, nullBitmap, preparedStatement, mysqlConnection.getCharset());
+            }
+            if (entry.isSelect()) {
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
                     MysqlResponseHandler.responsePrepareExecute(resultSet, packetId, mysqlConnection);
                 } catch (SQLException e) {
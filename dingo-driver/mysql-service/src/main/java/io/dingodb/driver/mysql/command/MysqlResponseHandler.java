@@ -27,8 +27,7 @@ import io.dingodb.driver.mysql.packet.ERRPacket;
 import io.dingodb.driver.mysql.packet.MysqlPacketFactory;
 import io.dingodb.driver.mysql.packet.OKPacket;
 import io.dingodb.driver.mysql.packet.PreparePacket;
-import io.dingodb.driver.mysql.packet.PrepareResultSetRowPacket;
-import io.dingodb.driver.mysql.packet.ResultSetRowPacket;
+import io.dingodb.driver.mysql.packet.ResultSetRowEncoder;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.socket.SocketChannel;
@@ -44,8 +43,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
-import static io.dingodb.calcite.operation.SetOptionOperation.CONNECTION_CHARSET;
-import static io.dingodb.common.util.Utils.getCharacterSet;
 import static io.dingodb.common.util.Utils.getDateByTimezone;
 
 @Slf4j
@@ -53,6 +50,8 @@ public final class MysqlResponseHandler {
 
     static MysqlPacketFactory factory = MysqlPacketFactory.getInstance();
 
+    private static final int FLUSH_BYTES = 1024 * 1024;
+
     private MysqlResponseHandler() {
     }
 
@@ -106,14 +105,14 @@ public final class MysqlResponseHandler {
             }
 
             if (deprecateEof) {
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = writeRows(resultSet, packetId, mysqlConnection, buffer, false);
                 OKPacket okEofPacket = factory.getOkEofPacket(0, packetId, 0);
                 okEofPacket.write(buffer);
             } else {
                 // intermediate eof
                 factory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = writeRows(resultSet, packetId, mysqlConnection, buffer, false);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
                 factory.getEofPacket(packetId).write(buffer);
@@ -125,40 +124,31 @@ public final class MysqlResponseHandler {
         }
     }
 
-    private static void handlerRowPacket(ResultSet resultSet, AtomicLong packetId, MysqlConnection mysqlConnection,
-                                  ByteBuf buffer, int columnCount) throws SQLException {
-        ResultSetMetaData metaData = resultSet.getMetaData();
-        String typeName;
+    private static ByteBuf writeRows(ResultSet resultSet,
+                                     AtomicLong packetId,
+                                     MysqlConnection mysqlConnection,
+                                     ByteBuf buffer,
+                                     boolean binary) throws SQLException {
+        ResultSetRowEncoder encoder = ResultSetRowEncoder.of(resultSet.getMetaData(), mysqlConnection, binary);
         while (resultSet.next()) {
-            ResultSetRowPacket resultSetRowPacket = new ResultSetRowPacket();
-            resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
-            String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            characterSet = getCharacterSet(characterSet);
-            resultSetRowPacket.setCharacterSet(characterSet);
-            for (int i = 1; i <= columnCount; i ++) {
-                Object val = resultSet.getObject(i);
-                typeName = metaData.getColumnTypeName(i);
-                if (typeName.equalsIgnoreCase("BOOLEAN")) {
-                    if (val != null) {
-                        if ("TRUE".equalsIgnoreCase(val.toString())) {
-                            val = "1";
-                        } else {
-                            val = "0";
-                        }
-                    }
-                } else if (typeName.equalsIgnoreCase("ARRAY")) {
-                    val = getArrayObject(mysqlConnection, val);
+            encoder.write(resultSet, packetId, buffer);
+            if (buffer.writerIndex() > FLUSH_BYTES) {
+                buffer = flush(mysqlConnection, buffer);
+                if (!mysqlConnection.awaitWritable()) {
+                    break;
                 }
-                resultSetRowPacket.addColumnValue(val);
-            }
-            resultSetRowPacket.write(buffer);
-            int writerIndex = buffer.writerIndex();
-            if (writerIndex > 1048576) {
-                buffer.retain();
-                mysqlConnection.channel.writeAndFlush(buffer);
-                buffer.clear();
             }
         }
+        return buffer;
+    }
+
+    /**
+     * Write out the rows buffered so far and return a new buffer for the following ones. The written buffer is
+     * released by netty after sent, so it must not be reused.
+     */
+    private static ByteBuf flush(MysqlConnection mysqlConnection, ByteBuf buffer) {
+        mysqlConnection.channel.writeAndFlush(buffer);
+        return ByteBufAllocator.DEFAULT.buffer();
     }
 
     public static Object getArrayObject(MysqlConnection mysqlConnection, Object val) throws SQLException {
@@ -183,30 +173,6 @@ public final class MysqlResponseHandler {
         return StringUtils.join(arrayVal);
     }
 
-    private static void handlerPrepareRowPacket(ResultSet resultSet,
-                                                AtomicLong packetId,
-                                                MysqlConnection mysqlConnection,
-                                                ByteBuf buffer,
-                                                int columnCount) throws SQLException {
-        while (resultSet.next()) {
-            PrepareResultSetRowPacket resultSetRowPacket = new PrepareResultSetRowPacket();
-            String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            characterSet = getCharacterSet(characterSet);
-            resultSetRowPacket.setCharacterSet(characterSet);
-            resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
-            resultSetRowPacket.setMetaData(resultSet.getMetaData());
-            for (int i = 1; i <= columnCount; i ++) {
-                resultSetRowPacket.addColumnValue(resultSet.getObject(i), mysqlConnection);
-            }
-            resultSetRowPacket.write(buffer);
-            int writerIndex = buffer.writerIndex();
-            if (writerIndex > 1048576) {
-                mysqlConnection.channel.writeAndFlush(buffer);
-                buffer.clear();
-            }
-        }
-    }
-
     public static void responseError(AtomicLong packetId,
                                      SocketChannel channel,
                                      io.dingodb.common.mysql.constant.ErrorCode errorCode) {
@@ -290,14 +256,14 @@ public final class MysqlResponseHandler {
             }
 
             if (deprecateEof) {
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = writeRows(resultSet, packetId, mysqlConnection, buffer, true);
                 OKPacket okEofPacket = factory.getOkEofPacket(0, packetId, 0);
                 okEofPacket.write(buffer);
             } else {
                 // intermediate eof
                 factory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = writeRows(resultSet, packetId, mysqlConnection, buffer, true);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
                 factory.getEofPacket(packetId).write(buffer);
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver.mysql.command;
+
+import io.dingodb.common.mysql.MysqlByteUtil;
+import io.dingodb.common.mysql.MysqlMessage;
+import io.dingodb.driver.mysql.MysqlType;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * Decoder of the parameter values of COM_STMT_EXECUTE in binary protocol, with the setter of each parameter resolved
+ * from the parameter types once, when they are bound by the client.
+ */
+public final class ParameterDecoder {
+    private final int[] types;
+    private final Setter[] setters;
+
+    private ParameterDecoder(int[] types) {
+        this.types = types;
+        this.setters = new Setter[types.length];
+        for (int i = 0; i < types.length; i++) {
+            setters[i] = setterOf(types[i]);
+        }
+    }
+
+    public static ParameterDecoder of(int[] types) {
+        return new ParameterDecoder(types);
+    }
+
+    public boolean isTypesOf(int[] types) {
+        return Arrays.equals(this.types, types);
+    }
+
+    /**
+     * Set the parameters of the statement by the values in the message, which is positioned at the first value.
+     *
+     * @param nullBitmap the null bitmap of the parameters
+     */
+    public void decode(
+        MysqlMessage message,
+        byte[] nullBitmap,
+        PreparedStatement statement,
+        Charset charset
+    ) throws SQLException {
+        for (int i = 0; i < setters.length; i++) {
+            if ((nullBitmap[i / 8] & (1 << (i % 8))) != 0) {
+                statement.setNull(i + 1, Types.NULL);
+            } else {
+                setters[i].set(statement, i + 1, message, charset);
+            }
+        }
+    }
+
+    private static Setter setterOf(int type) {
+        switch (type) {
+            case MysqlType.FIELD_TYPE_TINY:
+                return (statement, index, message, charset) -> {
+                    byte value = message.read();
+                    if (value == 0x00) {
+                        statement.setBoolean(index, false);
+                    } else if (value == 0x01) {
+                        statement.setBoolean(index, true);
+                    } else {
+                        statement.setObject(index, value, Types.TINYINT);
+                    }
+                };
+            case MysqlType.FIELD_TYPE_SHORT:
+            case MysqlType.FIELD_TYPE_YEAR:
+                return (statement, index, message, charset) -> statement.setShort(index, (short) message.readUB2());
+            case MysqlType.FIELD_TYPE_LONG:
+            case MysqlType.FIELD_TYPE_INT24:
+                return (statement, index, message, charset) -> statement.setInt(index, message.readInt());
+            case MysqlType.FIELD_TYPE_LONGLONG:
+                return (statement, index, message, charset) -> statement.setLong(index, message.readLong());
+            case MysqlType.FIELD_TYPE_FLOAT:
+                return (statement, index, message, charset) -> statement.setFloat(index, message.readFloat());
+            case MysqlType.FIELD_TYPE_DOUBLE:
+                return (statement, index, message, charset) -> statement.setDouble(index, message.readDouble());
+            case MysqlType.FIELD_TYPE_NULL:
+                return (statement, index, message, charset) -> statement.setNull(index, Types.NULL);
+            case MysqlType.FIELD_TYPE_DATE:
+                return (statement, index, message, charset) -> {
+                    byte[] bytes = readBytesWithLength(message);
+                    if (bytes.length == 0) {
+                        statement.setNull(index, Types.DATE);
+                    } else {
+                        statement.setDate(index, new Date(MysqlByteUtil.bytesToDateLittleEndian(bytes)));
+                    }
+                };
+            case MysqlType.FIELD_TYPE_TIME:
+                return (statement, index, message, charset) -> {
+                    byte[] bytes = readBytesWithLength(message);
+                    if (bytes.length == 0) {
+                        statement.setNull(index, Types.TIME);
+                    } else {
+                        statement.setTime(index, MysqlByteUtil.bytesToTimeLittleEndian(bytes));
+                    }
+                };
+            case MysqlType.FIELD_TYPE_DATETIME:
+            case MysqlType.FIELD_TYPE_TIMESTAMP:
+                return (statement, index, message, charset) -> {
+                    byte[] bytes = readBytesWithLength(message);
+                    if (bytes.length == 0) {
+                        statement.setNull(index, Types.TIMESTAMP);
+                    } else {
+                        statement.setTimestamp(index, MysqlByteUtil.bytesToTimeStampLittleEndian(bytes));
+                    }
+                };
+            case MysqlType.FIELD_TYPE_DECIMAL:
+            case MysqlType.FIELD_TYPE_NEWDECIMAL:
+                return (statement, index, message, charset) -> statement.setBigDecimal(
+                    index,
+                    new BigDecimal(new String(readBytesWithLength(message), StandardCharsets.US_ASCII))
+                );
+            case MysqlType.FIELD_TYPE_VAR_STRING:
+            case MysqlType.FIELD_TYPE_STRING:
+            case MysqlType.FIELD_TYPE_VARCHAR:
+                return (statement, index, message, charset) -> statement.setString(
+                    index,
+                    new String(readBytesWithLength(message), charset)
+                );
+            default:
+                return (statement, index, message, charset) -> statement.setObject(
+                    index,
+                    new String(readBytesWithLength(message), charset)
+                );
+        }
+    }
+
+    private static byte[] readBytesWithLength(MysqlMessage message) {
+        return message.readBytes((int) message.readLength());
+    }
+
+    @FunctionalInterface
+    private interface Setter {
+        void set(PreparedStatement statement, int index, MysqlMessage message, Charset charset) throws SQLException;
+    }
+}
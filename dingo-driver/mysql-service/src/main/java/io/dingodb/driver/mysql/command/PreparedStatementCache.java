@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver.mysql.command;
+
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.driver.DingoDriverParser;
+import io.dingodb.driver.DingoPreparedStatement;
+import lombok.Getter;
+import org.apache.calcite.avatica.Meta;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prepared statements of a mysql connection. Every prepare of the client gets a statement of its own, for the bound
+ * parameter types are kept per statement by the protocol. A statement closed by the client is kept prepared, up to
+ * {@link ExecutionConfiguration#mysqlStatementCacheSize()} of them, and is given to the next prepare of the same sql,
+ * so that it costs neither parsing nor planning. The optimized plans are shared across statements and connections by
+ * the plan cache of the driver, this one keeps the statements of a connection.
+ */
+public final class PreparedStatementCache {
+    private final int capacity;
+    // Statements used by the client.
+    private final Map<Integer, Entry> ids = new HashMap<>();
+    // Statements closed by the client, in the order of closing.
+    private final LinkedHashMap<Integer, Entry> closed = new LinkedHashMap<>();
+
+    public PreparedStatementCache() {
+        this.capacity = ExecutionConfiguration.mysqlStatementCacheSize();
+    }
+
+    public synchronized Entry prepare(String sql, Preparer preparer) throws SQLException {
+        Entry entry = takeClosed(sql);
+        if (entry == null) {
+            entry = new Entry(sql, preparer.prepare(), DingoDriverParser.planGeneration());
+        }
+        ids.put(entry.getId(), entry);
+        return entry;
+    }
+
+    private @Nullable Entry takeClosed(String sql) throws SQLException {
+        Iterator<Entry> iterator = closed.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.sql.equals(sql)) {
+                iterator.remove();
+                if (entry.generation != DingoDriverParser.planGeneration()) {
+                    // Prepared before ddl, prepare it again.
+                    entry.statement.close();
+                    return null;
+                }
+                // A new statement to the client, with no types bound.
+                entry.decoder = null;
+                entry.reset();
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the statement of the id, if it is prepared and not closed by the client.
+     */
+    public synchronized @Nullable Entry get(int id) {
+        return ids.get(id);
+    }
+
+    public synchronized void close(int id) throws SQLException {
+        Entry entry = ids.remove(id);
+        if (entry == null) {
+            return;
+        }
+        if (capacity <= 0 || entry.generation != DingoDriverParser.planGeneration()) {
+            entry.statement.close();
+            return;
+        }
+        closed.put(id, entry);
+        if (closed.size() > capacity) {
+            Iterator<Entry> iterator = closed.values().iterator();
+            Entry eldest = iterator.next();
+            iterator.remove();
+            eldest.statement.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Preparer {
+        DingoPreparedStatement prepare() throws SQLException;
+    }
+
+    public static final class Entry {
+        private final String sql;
+        @Getter
+        private final DingoPreparedStatement statement;
+        private final long generation;
+
+        /**
+         * Decoder of the parameter types bound by the last execution, to be used by executions not binding them.
+         */
+        @Getter
+        private @Nullable ParameterDecoder decoder;
+
+        private Entry(String sql, DingoPreparedStatement statement, long generation) {
+            this.sql = sql;
+            this.statement = statement;
+            this.generation = generation;
+        }
+
+        public int getId() {
+            return statement.handle.id;
+        }
+
+        public boolean isSelect() {
+            return statement.getStatementType() == Meta.StatementType.SELECT;
+        }
+
+        /**
+         * Bind the parameter types sent by an execution, keeping the decoder if the types are not changed.
+         *
+         * @param types the mysql types of the parameters
+         * @return the decoder of the types
+         */
+        public @NonNull ParameterDecoder bind(int[] types) {
+            ParameterDecoder current = decoder;
+            if (current == null || !current.isTypesOf(types)) {
+                current = ParameterDecoder.of(types);
+                decoder = current;
+            }
+            return current;
+        }
+
+        /**
+         * Reset the statement as COM_STMT_RESET does, clearing the parameters of the last execution.
+         */
+        public void reset() throws SQLException {
+            statement.clearParameters();
+        }
+    }
+}
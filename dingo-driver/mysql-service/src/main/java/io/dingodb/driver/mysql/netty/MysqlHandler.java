@@ -14,27 +14,91 @@
  * limitations under the License.
  */
 
+
 package io.dingodb.driver.mysql.netty;
 
+import io.dingodb.common.mysql.constant.ErrorCode;
 import io.dingodb.driver.mysql.MysqlConnection;
+import io.dingodb.driver.mysql.command.MysqlResponseHandler;
 import io.dingodb.driver.mysql.process.MessageProcess;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Slf4j
 public class MysqlHandler extends SimpleChannelInboundHandler<ByteBuf> {
     public MysqlConnection mysqlConnection;
 
-    public MysqlHandler(MysqlConnection mysqlConnection) {
+    private final Executor executor;
+    // Commands of a connection are processed one by one in order, by at most one worker at a time.
+    private final Queue<ByteBuf> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean processing = new AtomicBoolean();
+
+    public MysqlHandler(MysqlConnection mysqlConnection, Executor executor) {
         this.mysqlConnection = mysqlConnection;
+        this.executor = executor;
     }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) {
-        MessageProcess.process(msg, mysqlConnection);
+        pending.add(msg.retain());
+        schedule();
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        mysqlConnection.notifyWritable();
+        super.channelWritabilityChanged(ctx);
+    }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        ByteBuf msg;
+        while ((msg = pending.poll()) != null) {
+            msg.release();
+        }
+        mysqlConnection.notifyWritable();
+        super.channelInactive(ctx);
+    }
+
+    private void schedule() {
+        if (pending.isEmpty() || !processing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::processPending);
+        } catch (RejectedExecutionException e) {
+            processing.set(false);
+            ByteBuf msg;
+            while ((msg = pending.poll()) != null) {
+                AtomicLong packetId = new AtomicLong(msg.getByte(msg.readerIndex()) + 1);
+                msg.release();
+                MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, ErrorCode.ER_OUT_OF_RESOURCES);
+            }
+        }
+    }
+
+    private void processPending() {
+        ByteBuf msg;
+        while ((msg = pending.poll()) != null) {
+            try {
+                MessageProcess.process(msg, mysqlConnection);
+            } catch (Exception e) {
+                log.error("Process mysql command of connection {} failed.", mysqlConnection.getId(), e);
+            } finally {
+                msg.release();
+            }
+        }
+        processing.set(false);
+        // A command may come between the last poll and resetting the flag.
+        schedule();
+    }
 }
@@ -17,12 +17,14 @@
 package io.dingodb.driver.mysql.netty;
 
 import io.dingodb.common.concurrent.ThreadPoolBuilder;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.driver.mysql.MysqlConnection;
 import io.dingodb.net.netty.Connection;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
@@ -34,6 +36,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 @Getter
@@ -43,17 +47,37 @@ public class MysqlNettyServer {
     public final int port;
     public static final Map<String, MysqlConnection> connections = new ConcurrentHashMap<>();
 
+    // Event loops only decode packets and write responses, commands are executed by the worker pool.
+    private static final int EVENT_LOOP_THREADS = ThreadPoolBuilder.AVAILABLE_PROCESSORS;
+    private static final int WRITE_BUFFER_LOW_WATER_MARK = 1024 * 1024;
+    private static final int WRITE_BUFFER_HIGH_WATER_MARK = 4 * 1024 * 1024;
+
     private EventLoopGroup eventLoopGroup;
+    private ExecutorService executor;
     private ServerBootstrap server;
 
     public void start() throws Exception {
         server = new ServerBootstrap();
-        eventLoopGroup = new NioEventLoopGroup(151,
-            new ThreadPoolBuilder().name("mysql server " + port).coreThreads(151).maximumThreads(151).build());
+        eventLoopGroup = new NioEventLoopGroup(EVENT_LOOP_THREADS, new ThreadPoolBuilder()
+            .name("mysql server " + port)
+            .coreThreads(EVENT_LOOP_THREADS)
+            .maximumThreads(EVENT_LOOP_THREADS)
+            .build());
+        int workerThreads = ExecutionConfiguration.mysqlWorkerThreads();
+        executor = new ThreadPoolBuilder()
+            .name("mysql worker " + port)
+            .coreThreads(workerThreads)
+            .maximumThreads(workerThreads)
+            .workQueue(new LinkedBlockingQueue<>(ExecutionConfiguration.mysqlWorkerQueueSize()))
+            .build();
         server
             .channel(NioServerSocketChannel.class)
             .group(eventLoopGroup)
             .childOption(ChannelOption.TCP_NODELAY, true)
+            .childOption(
+                ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(WRITE_BUFFER_LOW_WATER_MARK, WRITE_BUFFER_HIGH_WATER_MARK)
+            )
             .childHandler(channelInitializer());
         if (host != null) {
             server.localAddress(host, port);
@@ -80,12 +104,13 @@ public class MysqlNettyServer {
                 mysqlConnection.mysqlIdleStateHandler = mysqlIdleStateHandler;
                 ch.pipeline().addLast("idleStateHandler", mysqlIdleStateHandler);
                 ch.pipeline()
-                    .addLast("mysqlHandler", new MysqlHandler(mysqlConnection));
+                    .addLast("mysqlHandler", new MysqlHandler(mysqlConnection, executor));
             }
         };
     }
 
     public void close() {
         eventLoopGroup.shutdownGracefully();
+        executor.shutdown();
     }
 }
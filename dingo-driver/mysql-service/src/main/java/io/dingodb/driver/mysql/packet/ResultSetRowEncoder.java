@@ -0,0 +1,355 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver.mysql.packet;
+
+import io.dingodb.driver.mysql.MysqlConnection;
+import io.dingodb.driver.mysql.util.BufferUtil;
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.dingodb.driver.mysql.command.MysqlResponseHandler.getArrayObject;
+
+/**
+ * Encoder of the row packets of a result set, in text protocol or in binary protocol of prepared statements.
+ * Column types and charset are resolved once for the result set, and values are written into the buffer directly,
+ * without a packet object or byte arrays for each row.
+ */
+public final class ResultSetRowEncoder {
+    private static final int MAX_PACKET_SIZE = 0xFFFFFF;
+    private static final byte NULL_MARK = (byte) 251;
+    private static final int NULL_BITMAP_OFFSET = 2;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+    private final MysqlConnection mysqlConnection;
+    private final Kind[] kinds;
+    private final Charset charset;
+    // Strings shorter than this are encoded to less than 251 bytes, so have a single byte length.
+    private final int shortStringChars;
+    private final boolean binary;
+
+    private ResultSetRowEncoder(MysqlConnection mysqlConnection, Kind[] kinds, Charset charset, boolean binary) {
+        this.mysqlConnection = mysqlConnection;
+        this.kinds = kinds;
+        this.charset = charset;
+        this.shortStringChars = (int) (251 / Math.ceil(charset.newEncoder().maxBytesPerChar()));
+        this.binary = binary;
+    }
+
+    public static ResultSetRowEncoder of(
+        ResultSetMetaData metaData,
+        MysqlConnection mysqlConnection,
+        boolean binary
+    ) throws SQLException {
+        Kind[] kinds = new Kind[metaData.getColumnCount()];
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = Kind.of(metaData.getColumnTypeName(i + 1));
+        }
+        return new ResultSetRowEncoder(mysqlConnection, kinds, mysqlConnection.getCharset(), binary);
+    }
+
+    /**
+     * Write the current row of the result set as a packet, split if larger than the max packet size.
+     */
+    public void write(ResultSet resultSet, AtomicLong packetId, ByteBuf buffer) throws SQLException {
+        int start = buffer.writerIndex();
+        BufferUtil.writeUB3(buffer, 0);
+        buffer.writeByte((byte) packetId.getAndIncrement());
+        if (binary) {
+            writeBinary(resultSet, buffer);
+        } else {
+            writeText(resultSet, buffer);
+        }
+        int size = buffer.writerIndex() - start - 4;
+        if (size < MAX_PACKET_SIZE) {
+            buffer.setMediumLE(start, size);
+        } else {
+            split(buffer, start, packetId);
+        }
+    }
+
+    private void writeText(ResultSet resultSet, ByteBuf buffer) throws SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            Object val = resultSet.getObject(i + 1);
+            if (val == null) {
+                buffer.writeByte(NULL_MARK);
+                continue;
+            }
+            switch (kinds[i]) {
+                case BOOLEAN:
+                    boolean bool = val instanceof Boolean ? (Boolean) val : "TRUE".equalsIgnoreCase(val.toString());
+                    buffer.writeByte(1);
+                    buffer.writeByte(bool ? '1' : '0');
+                    break;
+                case INTEGER:
+                case BIGINT:
+                    if (val instanceof Integer || val instanceof Long || val instanceof Short || val instanceof Byte) {
+                        writeDigits(buffer, ((Number) val).longValue());
+                    } else {
+                        writeString(buffer, val.toString());
+                    }
+                    break;
+                case DATE:
+                    if (val instanceof Date) {
+                        writeDate(buffer, ((Date) val).toLocalDate());
+                    } else {
+                        writeString(buffer, val.toString());
+                    }
+                    break;
+                case TIME:
+                    if (val instanceof Time) {
+                        writeTime(buffer, ((Time) val).toLocalTime());
+                    } else {
+                        writeString(buffer, val.toString());
+                    }
+                    break;
+                case TIMESTAMP:
+                    if (val instanceof Timestamp) {
+                        writeTimestamp(buffer, ((Timestamp) val).toLocalDateTime());
+                    } else {
+                        writeString(buffer, val.toString());
+                    }
+                    break;
+                case ARRAY:
+                    writeString(buffer, getArrayObject(mysqlConnection, val).toString());
+                    break;
+                default:
+                    writeString(buffer, val.toString());
+                    break;
+            }
+        }
+    }
+
+    private void writeBinary(ResultSet resultSet, ByteBuf buffer) throws SQLException {
+        buffer.writeByte(OKPacket.HEADER);
+        int bitmapIndex = buffer.writerIndex();
+        buffer.writeZero((kinds.length + 7 + NULL_BITMAP_OFFSET) / 8);
+        for (int i = 0; i < kinds.length; i++) {
+            Object val = resultSet.getObject(i + 1);
+            if (val == null) {
+                int bit = i + NULL_BITMAP_OFFSET;
+                int index = bitmapIndex + bit / 8;
+                buffer.setByte(index, buffer.getByte(index) | (1 << (bit % 8)));
+                continue;
+            }
+            switch (kinds[i]) {
+                case BOOLEAN:
+                    buffer.writeByte((Boolean) val ? 1 : 0);
+                    break;
+                case INTEGER:
+                    BufferUtil.writeInt(buffer, ((Number) val).intValue());
+                    break;
+                case BIGINT:
+                    BufferUtil.writeLong(buffer, ((Number) val).longValue());
+                    break;
+                case FLOAT:
+                    BufferUtil.writeFloat(buffer, ((Number) val).floatValue());
+                    break;
+                case DOUBLE:
+                    BufferUtil.writeDouble(buffer, ((Number) val).doubleValue());
+                    break;
+                case DATE:
+                    BufferUtil.writeLength(buffer, 4);
+                    BufferUtil.writeDate(buffer, (Date) val);
+                    break;
+                case TIME:
+                    BufferUtil.writeLength(buffer, 12);
+                    BufferUtil.writeTime(buffer, (Time) val);
+                    break;
+                case TIMESTAMP:
+                    BufferUtil.writeLength(buffer, 11);
+                    BufferUtil.writeDateTime(buffer, (Timestamp) val);
+                    break;
+                case ARRAY:
+                    if (val instanceof Array) {
+                        val = getArrayObject(mysqlConnection, val);
+                    }
+                    writeString(buffer, val.toString());
+                    break;
+                default:
+                    writeString(buffer, val.toString());
+                    break;
+            }
+        }
+    }
+
+    private void writeString(ByteBuf buffer, String value) {
+        if (value.length() < shortStringChars) {
+            int lengthIndex = buffer.writerIndex();
+            buffer.writeByte(0);
+            buffer.setByte(lengthIndex, buffer.writeCharSequence(value, charset));
+        } else {
+            byte[] bytes = value.getBytes(charset);
+            BufferUtil.writeLength(buffer, bytes.length);
+            buffer.writeBytes(bytes);
+        }
+    }
+
+    /**
+     * Write a long in decimal as a length-encoded string, without creating the string.
+     */
+    private static void writeDigits(ByteBuf buffer, long value) {
+        if (value == Long.MIN_VALUE) {
+            byte[] bytes = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+            buffer.writeByte(bytes.length);
+            buffer.writeBytes(bytes);
+            return;
+        }
+        int digits = 1;
+        for (long v = Math.abs(value); v >= 10; v /= 10) {
+            digits++;
+        }
+        int length = value < 0 ? digits + 1 : digits;
+        buffer.writeByte(length);
+        if (value < 0) {
+            buffer.writeByte('-');
+        }
+        int end = buffer.writerIndex() + digits;
+        buffer.writerIndex(end);
+        long v = Math.abs(value);
+        for (int i = end - 1; i >= end - digits; i--) {
+            buffer.setByte(i, '0' + (int) (v % 10));
+            v /= 10;
+        }
+    }
+
+    private static void writePadded(ByteBuf buffer, int value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            buffer.writeByte('0' + value / POWERS_OF_TEN[i] % 10);
+        }
+    }
+
+    // Same as `java.sql.Date#toString`.
+    private static void writeDate(ByteBuf buffer, LocalDate date) {
+        buffer.writeByte(10);
+        writeDateDigits(buffer, date);
+    }
+
+    private static void writeDateDigits(ByteBuf buffer, LocalDate date) {
+        writePadded(buffer, date.getYear(), 4);
+        buffer.writeByte('-');
+        writePadded(buffer, date.getMonthValue(), 2);
+        buffer.writeByte('-');
+        writePadded(buffer, date.getDayOfMonth(), 2);
+    }
+
+    // Same as `java.sql.Time#toString`.
+    private static void writeTime(ByteBuf buffer, LocalTime time) {
+        buffer.writeByte(8);
+        writeTimeDigits(buffer, time);
+    }
+
+    private static void writeTimeDigits(ByteBuf buffer, LocalTime time) {
+        writePadded(buffer, time.getHour(), 2);
+        buffer.writeByte(':');
+        writePadded(buffer, time.getMinute(), 2);
+        buffer.writeByte(':');
+        writePadded(buffer, time.getSecond(), 2);
+    }
+
+    // Same as `java.sql.Timestamp#toString`, with trailing zeros of nanos trimmed but at least one digit.
+    private static void writeTimestamp(ByteBuf buffer, LocalDateTime dateTime) {
+        int nanos = dateTime.getNano();
+        int fractionDigits = 9;
+        if (nanos == 0) {
+            fractionDigits = 1;
+        } else {
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                fractionDigits--;
+            }
+        }
+        buffer.writeByte(20 + fractionDigits);
+        writeDateDigits(buffer, dateTime.toLocalDate());
+        buffer.writeByte(' ');
+        writeTimeDigits(buffer, dateTime.toLocalTime());
+        buffer.writeByte('.');
+        writePadded(buffer, nanos, fractionDigits);
+    }
+
+    /**
+     * Split the packet beginning at {@code start} into packets of max size, the last one of which is shorter.
+     */
+    private static void split(ByteBuf buffer, int start, AtomicLong packetId) {
+        ByteBuf payload = buffer.copy(start + 4, buffer.writerIndex() - start - 4);
+        try {
+            buffer.writerIndex(start);
+            packetId.decrementAndGet();
+            int size;
+            do {
+                size = Math.min(payload.readableBytes(), MAX_PACKET_SIZE);
+                BufferUtil.writeUB3(buffer, size);
+                buffer.writeByte((byte) packetId.getAndIncrement());
+                buffer.writeBytes(payload, size);
+            } while (size == MAX_PACKET_SIZE);
+        } finally {
+            payload.release();
+        }
+    }
+
+    private enum Kind {
+        BOOLEAN,
+        INTEGER,
+        BIGINT,
+        FLOAT,
+        DOUBLE,
+        DATE,
+        TIME,
+        TIMESTAMP,
+        ARRAY,
+        STRING;
+
+        static Kind of(String typeName) {
+            switch (typeName.toUpperCase()) {
+                case "BOOLEAN":
+                    return BOOLEAN;
+                case "INTEGER":
+                    return INTEGER;
+                case "BIGINT":
+                    return BIGINT;
+                case "FLOAT":
+                    return FLOAT;
+                case "DOUBLE":
+                    return DOUBLE;
+                case "DATE":
+                    return DATE;
+                case "TIME":
+                    return TIME;
+                case "DATETIME":
+                case "TIMESTAMP":
+                    return TIMESTAMP;
+                case "ARRAY":
+                    return ARRAY;
+                default:
+                    return STRING;
+            }
+        }
+    }
+}
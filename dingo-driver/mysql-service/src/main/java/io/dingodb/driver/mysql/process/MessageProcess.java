@@ -20,20 +20,17 @@ import io.dingodb.common.mysql.MysqlByteUtil;
 import io.dingodb.common.mysql.constant.ErrorCode;
 import io.dingodb.common.mysql.constant.ServerStatus;
 import io.dingodb.driver.DingoConnection;
-import io.dingodb.driver.DingoPreparedStatement;
 import io.dingodb.driver.mysql.MysqlConnection;
 import io.dingodb.driver.mysql.NativeConstants;
 import io.dingodb.driver.mysql.command.MysqlCommands;
 import io.dingodb.driver.mysql.command.MysqlResponseHandler;
-import io.dingodb.driver.mysql.packet.ExecuteStatementPacket;
+import io.dingodb.driver.mysql.command.PreparedStatementCache;
 import io.dingodb.driver.mysql.packet.MysqlPacketFactory;
 import io.dingodb.driver.mysql.packet.OKPacket;
 import io.dingodb.driver.mysql.packet.QueryPacket;
 import io.dingodb.verify.privilege.PrivilegeVerify;
 import io.netty.buffer.ByteBuf;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.calcite.avatica.Meta;
-import org.apache.calcite.avatica.NoSuchStatementException;
 import org.apache.calcite.jdbc.CalciteSchema;
 
 import java.sql.SQLException;
@@ -170,48 +167,49 @@ public final class MessageProcess {
                 commands.prepare(mysqlConnection, prepare);
                 break;
             case NativeConstants.COM_STMT_EXECUTE:
-                byte[] statementIdBytes = new byte[4];
-                System.arraycopy(array, 2, statementIdBytes, 0, statementIdBytes.length);
-                int statementId = MysqlByteUtil.bytesToIntLittleEndian(statementIdBytes);
-                connection = (DingoConnection) mysqlConnection.getConnection();
-                int paramCount;
-                boolean isSelect;
-                DingoPreparedStatement preparedStatement;
-                try {
-                    preparedStatement
-                        = (DingoPreparedStatement) connection.getStatement(new Meta.StatementHandle(connection.id,
-                        statementId, null));
-                    isSelect = preparedStatement.getStatementType() == Meta.StatementType.SELECT;
-                    paramCount = preparedStatement.getParameterCount();
-                } catch (NoSuchStatementException e) {
-                    throw new RuntimeException(e);
+                int statementId = readStatementId(array);
+                PreparedStatementCache.Entry entry = mysqlConnection.preparedStatements.get(statementId);
+                if (entry == null) {
+                    String error = String.format(
+                        ErrorCode.ER_UNKNOWN_STMT_HANDLER.message, statementId, "mysqld_stmt_execute"
+                    );
+                    MysqlResponseHandler.responseError(packetId, mysqlConnection.channel,
+                        ErrorCode.ER_UNKNOWN_STMT_HANDLER, error);
+                    break;
                 }
-                ExecuteStatementPacket statementPacket = new ExecuteStatementPacket(paramCount);
-                statementPacket.read(array);
-                commands.executeStatement(statementPacket, preparedStatement, isSelect, packetId, mysqlConnection);
+                commands.executeStatement(array, entry, packetId, mysqlConnection);
                 break;
             case NativeConstants.COM_STMT_SEND_LONG_DATA:
                 // send blob data
                 break;
             case NativeConstants.COM_STMT_CLOSE:
                 // statement close
-                statementIdBytes = new byte[4];
-                System.arraycopy(array, 2, statementIdBytes, 0, statementIdBytes.length);
-                statementId = MysqlByteUtil.bytesToIntLittleEndian(statementIdBytes);
-                connection = (DingoConnection) mysqlConnection.getConnection();
                 try {
-                    preparedStatement
-                        = (DingoPreparedStatement) connection.getStatement(new Meta.StatementHandle(connection.id,
-                        statementId, null));
-                    preparedStatement.close();
-                } catch (NoSuchStatementException e) {
-                    throw new RuntimeException(e);
+                    mysqlConnection.preparedStatements.close(readStatementId(array));
                 } catch (SQLException e) {
                     MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, e);
                 }
                 break;
             case NativeConstants.COM_STMT_RESET:
                 // destroy prepare sql param cache  : statement reset
+                int resetId = readStatementId(array);
+                PreparedStatementCache.Entry resetEntry = mysqlConnection.preparedStatements.get(resetId);
+                if (resetEntry == null) {
+                    String error = String.format(
+                        ErrorCode.ER_UNKNOWN_STMT_HANDLER.message, resetId, "mysqld_stmt_reset"
+                    );
+                    MysqlResponseHandler.responseError(packetId, mysqlConnection.channel,
+                        ErrorCode.ER_UNKNOWN_STMT_HANDLER, error);
+                    break;
+                }
+                try {
+                    resetEntry.reset();
+                    MysqlResponseHandler.responseOk(
+                        MysqlPacketFactory.getInstance().getOkPacket(0, packetId), mysqlConnection.channel
+                    );
+                } catch (SQLException e) {
+                    MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, e);
+                }
                 break;
             case NativeConstants.COM_SET_OPTION:
                 // set option
@@ -235,4 +233,10 @@ public final class MessageProcess {
                 break;
         }
     }
+
+    private static int readStatementId(byte[] array) {
+        byte[] statementIdBytes = new byte[4];
+        System.arraycopy(array, 2, statementIdBytes, 0, statementIdBytes.length);
+        return MysqlByteUtil.bytesToIntLittleEndian(statementIdBytes);
+    }
 }
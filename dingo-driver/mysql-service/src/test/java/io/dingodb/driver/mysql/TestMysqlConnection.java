@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver.mysql;
+
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.netty.channel.socket.SocketChannel;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestMysqlConnection {
+    private static final long WRITE_TIMEOUT = 200L;
+
+    @BeforeAll
+    public static void setupAll() {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setMysqlWriteTimeout(WRITE_TIMEOUT);
+        DingoConfiguration.instance().setExecution(execution);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
+    @Test
+    public void testAwaitWritable() throws Exception {
+        SocketChannel channel = mock(SocketChannel.class);
+        AtomicBoolean writable = new AtomicBoolean(false);
+        when(channel.isActive()).thenReturn(true);
+        // Not stubbed again while the channel is used by the waiting thread.
+        when(channel.isWritable()).thenAnswer(invocation -> writable.get());
+        MysqlConnection connection = new MysqlConnection(channel);
+        CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(connection::awaitWritable);
+        Thread.sleep(WRITE_TIMEOUT / 4);
+        writable.set(true);
+        connection.notifyWritable();
+        assertThat(future.get(WRITE_TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+        verify(channel, never()).close();
+    }
+
+    @Test
+    public void testAwaitWritableTimeout() {
+        SocketChannel channel = mock(SocketChannel.class);
+        when(channel.isActive()).thenReturn(true);
+        when(channel.isWritable()).thenReturn(false);
+        MysqlConnection connection = new MysqlConnection(channel);
+        long start = System.currentTimeMillis();
+        assertThat(connection.awaitWritable()).isFalse();
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(WRITE_TIMEOUT);
+        // Not read by the client in time.
+        verify(channel).close();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver.mysql.command;
+
+import io.dingodb.common.mysql.MysqlMessage;
+import io.dingodb.driver.mysql.MysqlType;
+import io.dingodb.driver.mysql.util.BufferUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class TestParameterDecoder {
+    private static @NonNull String repeat(char ch, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, ch);
+        return new String(chars);
+    }
+
+    private static @NonNull MysqlMessage message(@NonNull ByteBuf buffer) {
+        try {
+            return new MysqlMessage(ByteBufUtil.getBytes(buffer));
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testDecode() throws SQLException {
+        int[] types = {
+            MysqlType.FIELD_TYPE_LONG,
+            MysqlType.FIELD_TYPE_VAR_STRING,
+            MysqlType.FIELD_TYPE_LONGLONG,
+            MysqlType.FIELD_TYPE_DOUBLE,
+            MysqlType.FIELD_TYPE_TINY,
+            MysqlType.FIELD_TYPE_NEWDECIMAL,
+            MysqlType.FIELD_TYPE_VAR_STRING,
+            MysqlType.FIELD_TYPE_LONG,
+            MysqlType.FIELD_TYPE_VAR_STRING,
+            MysqlType.FIELD_TYPE_LONGLONG,
+        };
+        ParameterDecoder decoder = ParameterDecoder.of(types);
+        assertThat(decoder.isTypesOf(types.clone())).isTrue();
+        // Values over 250 bytes have a length of 3 bytes, and over 65535 bytes of 4 bytes.
+        String longString = repeat('中', 100);
+        String longerString = repeat('a', 70000);
+        ByteBuf buffer = Unpooled.buffer();
+        BufferUtil.writeInt(buffer, -3);
+        BufferUtil.writeWithLength(buffer, longString.getBytes(StandardCharsets.UTF_8));
+        // Null of the 3rd.
+        BufferUtil.writeDouble(buffer, 2.5);
+        buffer.writeByte(1);
+        BufferUtil.writeWithLength(buffer, "12.50".getBytes(StandardCharsets.US_ASCII));
+        BufferUtil.writeWithLength(buffer, longerString.getBytes(StandardCharsets.UTF_8));
+        BufferUtil.writeInt(buffer, 7);
+        // Null of the 9th, in the second byte of the bitmap.
+        BufferUtil.writeLong(buffer, Long.MAX_VALUE);
+        MysqlMessage message = message(buffer);
+        byte[] nullBitmap = {(byte) (1 << 2), 1};
+        PreparedStatement statement = mock(PreparedStatement.class);
+        decoder.decode(message, nullBitmap, statement, StandardCharsets.UTF_8);
+        verify(statement).setInt(1, -3);
+        verify(statement).setString(2, longString);
+        verify(statement).setNull(3, Types.NULL);
+        verify(statement).setDouble(4, 2.5);
+        verify(statement).setBoolean(5, true);
+        verify(statement).setBigDecimal(6, new BigDecimal("12.50"));
+        verify(statement).setString(7, longerString);
+        verify(statement).setInt(8, 7);
+        verify(statement).setNull(9, Types.NULL);
+        verify(statement).setLong(10, Long.MAX_VALUE);
+        verifyNoMoreInteractions(statement);
+        assertThat(message.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void testDecodeAllNull() throws SQLException {
+        int[] types = new int[9];
+        Arrays.fill(types, MysqlType.FIELD_TYPE_LONG);
+        ParameterDecoder decoder = ParameterDecoder.of(types);
+        assertThat(decoder.isTypesOf(new int[8])).isFalse();
+        PreparedStatement statement = mock(PreparedStatement.class);
+        decoder.decode(new MysqlMessage(new byte[0]), new byte[]{(byte) 0xFF, 1}, statement, StandardCharsets.UTF_8);
+        for (int i = 1; i <= types.length; ++i) {
+            verify(statement).setNull(i, Types.NULL);
+        }
+        verifyNoMoreInteractions(statement);
+    }
+}
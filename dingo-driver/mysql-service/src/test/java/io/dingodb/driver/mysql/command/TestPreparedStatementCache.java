@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver.mysql.command;
+
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.driver.DingoPreparedStatement;
+import io.dingodb.driver.mysql.MysqlType;
+import org.apache.calcite.avatica.AvaticaStatement;
+import org.apache.calcite.avatica.Meta;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class TestPreparedStatementCache {
+    private static final int CAPACITY = 2;
+
+    private final List<DingoPreparedStatement> prepared = new ArrayList<>();
+    private PreparedStatementCache cache;
+
+    @BeforeAll
+    public static void setupAll() {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setMysqlStatementCacheSize(CAPACITY);
+        DingoConfiguration.instance().setExecution(execution);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
+    @BeforeEach
+    public void setup() {
+        prepared.clear();
+        cache = new PreparedStatementCache();
+    }
+
+    private @NonNull DingoPreparedStatement prepare() throws SQLException {
+        DingoPreparedStatement statement = mock(DingoPreparedStatement.class);
+        // Not set for a mock, but the id is read from it.
+        try {
+            Field field = AvaticaStatement.class.getDeclaredField("handle");
+            field.setAccessible(true);
+            field.set(statement, new Meta.StatementHandle("connection", prepared.size() + 1, null));
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException(e);
+        }
+        prepared.add(statement);
+        return statement;
+    }
+
+    @Test
+    public void testPrepareClosed() throws SQLException {
+        PreparedStatementCache.Entry entry = cache.prepare("select 1", this::prepare);
+        int id = entry.getId();
+        assertThat(cache.get(id)).isSameAs(entry);
+        cache.close(id);
+        // The client must not use a closed statement.
+        assertThat(cache.get(id)).isNull();
+        assertThat(cache.prepare("select 1", this::prepare)).isSameAs(entry);
+        assertThat(cache.get(id)).isSameAs(entry);
+        assertThat(prepared).hasSize(1);
+        verify(entry.getStatement(), never()).close();
+    }
+
+    @Test
+    public void testPrepareTwice() throws SQLException {
+        PreparedStatementCache.Entry entry0 = cache.prepare("select ?", this::prepare);
+        PreparedStatementCache.Entry entry1 = cache.prepare("select ?", this::prepare);
+        // Every prepare gets a statement of its own.
+        assertThat(entry1.getId()).isNotEqualTo(entry0.getId());
+        assertThat(entry1.getStatement()).isNotSameAs(entry0.getStatement());
+        int[] longTypes = {MysqlType.FIELD_TYPE_LONG};
+        int[] stringTypes = {MysqlType.FIELD_TYPE_VAR_STRING};
+        ParameterDecoder decoder0 = entry0.bind(longTypes);
+        ParameterDecoder decoder1 = entry1.bind(stringTypes);
+        // Executions not binding the types use the types bound to their own statement.
+        assertThat(cache.get(entry0.getId()).getDecoder()).isSameAs(decoder0);
+        assertThat(cache.get(entry1.getId()).getDecoder()).isSameAs(decoder1);
+        assertThat(decoder0.isTypesOf(longTypes)).isTrue();
+        assertThat(decoder1.isTypesOf(stringTypes)).isTrue();
+        assertThat(entry0.bind(longTypes.clone())).isSameAs(decoder0);
+        // Resetting or closing one does not touch the other.
+        entry0.reset();
+        verify(entry0.getStatement()).clearParameters();
+        verify(entry1.getStatement(), never()).clearParameters();
+        cache.close(entry0.getId());
+        assertThat(cache.get(entry0.getId())).isNull();
+        assertThat(cache.get(entry1.getId())).isSameAs(entry1);
+        assertThat(entry1.getDecoder()).isSameAs(decoder1);
+        // Closing a closed statement does nothing.
+        cache.close(entry0.getId());
+        // The closed one is given to the next prepare, with no types bound.
+        assertThat(cache.prepare("select ?", this::prepare)).isSameAs(entry0);
+        assertThat(entry0.getDecoder()).isNull();
+        assertThat(prepared).hasSize(2);
+    }
+
+    @Test
+    public void testEvict() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i <= CAPACITY; ++i) {
+            ids.add(cache.prepare("select " + i, this::prepare).getId());
+        }
+        for (int id : ids) {
+            cache.close(id);
+        }
+        // The eldest closed is evicted.
+        verify(prepared.get(0)).close();
+        for (int i = 1; i <= CAPACITY; ++i) {
+            verify(prepared.get(i), never()).close();
+        }
+        PreparedStatementCache.Entry entry = cache.prepare("select 0", this::prepare);
+        assertThat(entry.getStatement()).isSameAs(prepared.get(CAPACITY + 1));
+        assertThat(cache.prepare("select 1", this::prepare).getStatement()).isSameAs(prepared.get(1));
+        assertThat(prepared).hasSize(CAPACITY + 2);
+    }
+
+    @Test
+    public void testEvictInUse() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i <= CAPACITY; ++i) {
+            ids.add(cache.prepare("select " + i, this::prepare).getId());
+        }
+        // Statements not closed by the client are never evicted.
+        for (int i = 1; i <= CAPACITY; ++i) {
+            cache.close(ids.get(i));
+        }
+        assertThat(cache.get(ids.get(0))).isNotNull();
+        for (DingoPreparedStatement statement : prepared) {
+            verify(statement, never()).close();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.driver.mysql.packet;
+
+import io.dingodb.driver.mysql.MysqlConnection;
+import io.dingodb.driver.mysql.util.BufferUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestResultSetRowEncoder {
+    private static final int MAX_PACKET_SIZE = 0xFFFFFF;
+
+    private static @NonNull ResultSetRowEncoder encoder(boolean binary, String... typeNames) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(typeNames.length);
+        when(metaData.getColumnTypeName(anyInt()))
+            .thenAnswer(invocation -> typeNames[invocation.<Integer>getArgument(0) - 1]);
+        MysqlConnection mysqlConnection = mock(MysqlConnection.class);
+        when(mysqlConnection.getCharset()).thenReturn(StandardCharsets.UTF_8);
+        return ResultSetRowEncoder.of(metaData, mysqlConnection, binary);
+    }
+
+    private static @NonNull ResultSet row(Object... values) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getObject(anyInt())).thenAnswer(invocation -> values[invocation.<Integer>getArgument(0) - 1]);
+        return resultSet;
+    }
+
+    private static byte @NonNull [] encode(
+        @NonNull ResultSetRowEncoder encoder,
+        @NonNull AtomicLong packetId,
+        Object... values
+    ) throws SQLException {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            encoder.write(row(values), packetId, buffer);
+            return ByteBufUtil.getBytes(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Text row as written by the former {@code ResultSetRowPacket}, which sent {@code toString} of values.
+     */
+    private static byte @NonNull [] textRow(int packetId, Object... values) {
+        ByteBuf payload = Unpooled.buffer();
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            for (Object value : values) {
+                if (value == null) {
+                    payload.writeByte(251);
+                } else {
+                    BufferUtil.writeWithLength(payload, value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            BufferUtil.writeUB3(buffer, payload.readableBytes());
+            buffer.writeByte(packetId);
+            buffer.writeBytes(payload);
+            return ByteBufUtil.getBytes(buffer);
+        } finally {
+            payload.release();
+            buffer.release();
+        }
+    }
+
+    private static @NonNull String repeat(char ch, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, ch);
+        return new String(chars);
+    }
+
+    @Test
+    public void testDigits() throws SQLException {
+        ResultSetRowEncoder encoder = encoder(false, "INTEGER", "BIGINT", "INTEGER", "BIGINT", "BIGINT", "BIGINT");
+        AtomicLong packetId = new AtomicLong(3);
+        Object[] values = {0, -1L, Integer.MIN_VALUE, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+        assertThat(encode(encoder, packetId, values)).isEqualTo(textRow(3, values));
+        values = new Object[]{9, 10L, 99, -100L, (long) Integer.MAX_VALUE + 1, -9L};
+        assertThat(encode(encoder, packetId, values)).isEqualTo(textRow(4, values));
+        assertThat(packetId.get()).isEqualTo(5);
+    }
+
+    @Test
+    public void testDateTime() throws SQLException {
+        ResultSetRowEncoder encoder = encoder(false, "DATE", "TIME", "TIMESTAMP", "TIMESTAMP", "DATETIME");
+        AtomicLong packetId = new AtomicLong(1);
+        Object[] values = {
+            Date.valueOf("2023-01-02"),
+            Time.valueOf("01:02:03"),
+            Timestamp.valueOf("2023-01-02 03:04:05"),
+            Timestamp.valueOf("1999-12-31 23:59:59.12"),
+            Timestamp.valueOf("0999-01-01 00:00:00.123456789"),
+        };
+        assertThat(encode(encoder, packetId, values)).isEqualTo(textRow(1, values));
+        values = new Object[]{
+            Date.valueOf("0001-10-20"),
+            Time.valueOf("23:59:00"),
+            Timestamp.valueOf("2023-06-30 12:00:00.000001"),
+            Timestamp.valueOf("2023-06-30 12:00:00.1"),
+            Timestamp.valueOf("2023-06-30 12:00:00.100000010"),
+        };
+        assertThat(encode(encoder, packetId, values)).isEqualTo(textRow(2, values));
+    }
+
+    @Test
+    public void testStrings() throws SQLException {
+        ResultSetRowEncoder encoder = encoder(false, "VARCHAR", "VARCHAR", "CHAR", "VARCHAR", "VARCHAR", "DECIMAL");
+        AtomicLong packetId = new AtomicLong(0);
+        // Up to 3 bytes a char in UTF-8, so strings shorter than 83 chars are encoded in place.
+        Object[] values = {
+            "",
+            "abc",
+            "中文",
+            repeat('中', 82),
+            repeat('中', 84),
+            new BigDecimal("-1.50"),
+        };
+        assertThat(encode(encoder, packetId, values)).isEqualTo(textRow(0, values));
+        // Longer than 65535 bytes.
+        values = new Object[]{repeat('a', 250), repeat('a', 251), repeat('é', 40000), null, null, null};
+        assertThat(encode(encoder, packetId, values)).isEqualTo(textRow(1, values));
+    }
+
+    @Test
+    public void testNullAndBoolean() throws SQLException {
+        ResultSetRowEncoder encoder = encoder(false, "BOOLEAN", "BOOLEAN", "BOOLEAN", "INTEGER", "DATE");
+        AtomicLong packetId = new AtomicLong(0);
+        assertThat(encode(encoder, packetId, true, false, null, null, null))
+            .isEqualTo(textRow(0, "1", "0", null, null, null));
+    }
+
+    @Test
+    public void testBinaryNullBitmap() throws SQLException {
+        String[] typeNames = new String[17];
+        Arrays.fill(typeNames, "INTEGER");
+        ResultSetRowEncoder encoder = encoder(true, typeNames);
+        Object[] values = new Object[typeNames.length];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = i;
+        }
+        // Null of every 8th column from the 7th, which were lost by the former packet.
+        int[] nulls = {0, 5, 6, 7, 14, 16};
+        for (int i : nulls) {
+            values[i] = null;
+        }
+        byte[] bytes = encode(encoder, new AtomicLong(0), values);
+        // Bits of columns are offset by 2.
+        byte[] bitmap = new byte[(typeNames.length + 7 + 2) / 8];
+        for (int i : nulls) {
+            bitmap[(i + 2) / 8] |= 1 << ((i + 2) % 8);
+        }
+        ByteBuf expected = Unpooled.buffer();
+        expected.writeByte(OKPacket.HEADER);
+        expected.writeBytes(bitmap);
+        for (Object value : values) {
+            if (value != null) {
+                BufferUtil.writeInt(expected, (Integer) value);
+            }
+        }
+        assertThat(bytes[3]).isEqualTo((byte) 0);
+        assertThat(Arrays.copyOfRange(bytes, 4, bytes.length)).isEqualTo(ByteBufUtil.getBytes(expected));
+        assertThat(bytes[0] & 0xFF | (bytes[1] & 0xFF) << 8 | (bytes[2] & 0xFF) << 16)
+            .isEqualTo(expected.readableBytes());
+        expected.release();
+    }
+
+    @Test
+    public void testBinaryValues() throws SQLException {
+        ResultSetRowEncoder encoder = encoder(
+            true, "INTEGER", "BIGINT", "DOUBLE", "BOOLEAN", "DATE", "TIME", "TIMESTAMP", "VARCHAR"
+        );
+        Date date = Date.valueOf("2023-01-02");
+        Time time = Time.valueOf("01:02:03");
+        Timestamp timestamp = Timestamp.valueOf("2023-01-02 03:04:05.123");
+        byte[] bytes = encode(encoder, new AtomicLong(7), 1, 2L, 3.5, true, date, time, timestamp, "中文");
+        // The same as written by the former {@code PrepareResultSetRowPacket}.
+        ByteBuf expected = Unpooled.buffer();
+        BufferUtil.writeUB3(expected, 0);
+        expected.writeByte(7);
+        expected.writeByte(OKPacket.HEADER);
+        expected.writeZero(2);
+        BufferUtil.writeInt(expected, 1);
+        BufferUtil.writeLong(expected, 2L);
+        BufferUtil.writeDouble(expected, 3.5);
+        expected.writeByte(1);
+        BufferUtil.writeLength(expected, 4);
+        BufferUtil.writeDate(expected, date);
+        BufferUtil.writeLength(expected, 12);
+        BufferUtil.writeTime(expected, time);
+        BufferUtil.writeLength(expected, 11);
+        BufferUtil.writeDateTime(expected, timestamp);
+        BufferUtil.writeWithLength(expected, "中文".getBytes(StandardCharsets.UTF_8));
+        expected.setMediumLE(0, expected.readableBytes() - 4);
+        assertThat(bytes).isEqualTo(ByteBufUtil.getBytes(expected));
+        expected.release();
+    }
+
+    private static void assertSplit(int length, int packets) throws SQLException {
+        ResultSetRowEncoder encoder = encoder(false, "VARCHAR");
+        String value = repeat('a', length);
+        AtomicLong packetId = new AtomicLong(5);
+        byte[] bytes = encode(encoder, packetId, value);
+        byte[] payload = Arrays.copyOfRange(textRow(0, value), 4, 4 + BufferUtil.getLength(length) + length);
+        assertThat(packetId.get()).isEqualTo(5 + packets);
+        int pos = 0;
+        int offset = 0;
+        for (int i = 0; i < packets; ++i) {
+            int size = bytes[pos] & 0xFF | (bytes[pos + 1] & 0xFF) << 8 | (bytes[pos + 2] & 0xFF) << 16;
+            assertThat(size).isEqualTo(i < packets - 1 ? MAX_PACKET_SIZE : payload.length - offset);
+            assertThat(bytes[pos + 3]).isEqualTo((byte) (5 + i));
+            assertThat(Arrays.equals(
+                Arrays.copyOfRange(bytes, pos + 4, pos + 4 + size),
+                Arrays.copyOfRange(payload, offset, offset + size)
+            )).isTrue();
+            pos += 4 + size;
+            offset += size;
+        }
+        assertThat(pos).isEqualTo(bytes.length);
+        assertThat(offset).isEqualTo(payload.length);
+    }
+
+    @Test
+    public void testSplit() throws SQLException {
+        // Payload of 4 bytes of length and the string.
+        assertSplit(MAX_PACKET_SIZE - 5, 1);
+        // A payload of exactly the max size is followed by an empty packet.
+        assertSplit(MAX_PACKET_SIZE - 4, 2);
+        // Payload of 9 bytes of length and the string.
+        assertSplit(MAX_PACKET_SIZE + 100, 2);
+    }
+}
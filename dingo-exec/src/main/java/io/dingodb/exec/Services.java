@@ -46,7 +46,7 @@ public final class Services {
     public static void initNetService() {
         initControlMsgService();
         NET.registerTagMessageListener(JobManagerImpl.TASK_TAG, (message, channel) ->
-            JobManagerImpl.INSTANCE.processMessage(message));
+            JobManagerImpl.INSTANCE.processMessage(message, channel));
     }
 
     public static void initControlMsgService() {
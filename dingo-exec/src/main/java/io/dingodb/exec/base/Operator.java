@@ -19,6 +19,8 @@ package io.dingodb.exec.base;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
@@ -51,8 +53,56 @@ public interface Operator {
      */
     boolean push(int pin, @Nullable Object[] tuple);
 
+    /**
+     * Push a batch of tuples to the operator. The default implementation pushes the tuples one by one, operators
+     * can override this to process the whole batch at once.
+     *
+     * @param pin   the input pin no
+     * @param batch the tuples pushed in
+     * @return `true` means another push needed, `false` means the task is canceled or finished
+     */
+    default boolean pushBatch(int pin, @NonNull TupleBatch batch) {
+        for (Object[] tuple : batch) {
+            if (!push(pin, tuple)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void fin(int pin, @Nullable Fin fin);
 
+    /**
+     * Whether pushing to the operator may block for long, waiting for other tasks, other inputs or the client.
+     * Source operators pushing to such operators directly or indirectly are run out of the worker threads.
+     *
+     * @param pin the input pin no
+     * @return {@code true} if pushing may block
+     */
+    default boolean mayBlock(int pin) {
+        return false;
+    }
+
+    /**
+     * Whether the operator cannot take more tuples for now without holding them beyond its bounds, for its queue,
+     * channel or writes in flight are full. It still takes tuples pushed, but the sources pushing to it yield and are
+     * resumed by {@link #whenAvailable(Runnable)}, so no thread waits for it.
+     *
+     * @return {@code true} if the operator is full
+     */
+    default boolean isFull() {
+        return false;
+    }
+
+    /**
+     * Call {@code callback} once the operator is not full, at once if it is not full now.
+     *
+     * @param callback the callback
+     */
+    default void whenAvailable(@NonNull Runnable callback) {
+        callback.run();
+    }
+
     default void destroy() {
     }
 
@@ -19,6 +19,7 @@ package io.dingodb.exec.base;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 public interface Output {
@@ -35,6 +36,11 @@ public interface Output {
         return link.getOperator().push(link.getPin(), tuple);
     }
 
+    default boolean pushBatch(@NonNull TupleBatch batch) {
+        Input link = getLink();
+        return link.getOperator().pushBatch(link.getPin(), batch);
+    }
+
     default void fin(Fin fin) {
         Input link = getLink();
         link.getOperator().fin(link.getPin(), fin);
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.base;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Schedules task runs and their source operators on worker threads.
+ */
+public interface Scheduler {
+    /**
+     * Priority of new work. Work with a smaller priority value is taken first, but a scheduler may age queued work
+     * so that work of low priority is not starved by a steady flow of new work.
+     */
+    int PRIORITY_NORMAL = 0;
+    /**
+     * Priority of work resumed after yielding, so that long scans give way to short queries.
+     */
+    int PRIORITY_LOW = 1;
+
+    /**
+     * Admit a task run. {@code onAdmitted} is called at once, or later on another thread if too many runs are
+     * executing. Every admitted run must be released by {@link #release()} when finished.
+     *
+     * <p>Runs waiting for other tasks must not be admitted by this, for they may take all the slots while the runs
+     * they are waiting for are queued.
+     *
+     * @param priority the priority
+     * @param onAdmitted called when the run is admitted
+     */
+    void admit(int priority, @NonNull Runnable onAdmitted);
+
+    /**
+     * Release an admitted task run, so a queued one can be admitted.
+     */
+    void release();
+
+    /**
+     * Execute a slice of work on worker threads. The work should not block for long.
+     *
+     * @param name the name of the work
+     * @param priority the priority
+     * @param command the work
+     */
+    void execute(@NonNull String name, int priority, @NonNull Runnable command);
+
+    /**
+     * Execute work which may block for long, such as an input of a join waiting for the other input, out of worker
+     * threads. Blocking it on a worker thread may starve the work it is waiting for. Work which only waits for free
+     * buffers or for tuples from other tasks should yield instead, see {@link Operator#isFull()}.
+     *
+     * @param name the name of the work
+     * @param command the work
+     */
+    void executeBlocking(@NonNull String name, @NonNull Runnable command);
+
+    /**
+     * Submit a call to the store, which blocks waiting for the response but never for other work, out of worker
+     * threads. The number of calls running at the same time is bounded by the scheduler.
+     *
+     * @param name the name of the call
+     * @param call the call
+     * @param <T> type of the result
+     * @return the future completed with the result of the call, or exceptionally with the exception thrown by it
+     */
+    <T> @NonNull CompletableFuture<T> submitStoreCall(@NonNull String name, @NonNull Supplier<T> call);
+}
@@ -30,5 +30,10 @@ public interface TaskManager {
         removeTask(task.getJobId(), task.getId());
     }
 
+    /**
+     * Get the scheduler which runs the tasks.
+     */
+    Scheduler getScheduler();
+
     void close();
 }
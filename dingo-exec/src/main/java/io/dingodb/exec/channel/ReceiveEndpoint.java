@@ -28,6 +28,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import static io.dingodb.exec.Services.CTRL_TAG;
@@ -39,7 +40,7 @@ public class ReceiveEndpoint {
     private final String host;
     private final int port;
     private final String tag;
-    private final Consumer<byte[]> handler;
+    private final Consumer<ByteBuffer> handler;
 
     @Getter
     private boolean stopped;
@@ -47,7 +48,7 @@ public class ReceiveEndpoint {
     private Channel channel;
     private ReceiveMessageListener messageListener;
 
-    public ReceiveEndpoint(String host, int port, String tag, Consumer<byte[]> handler) {
+    public ReceiveEndpoint(String host, int port, String tag, Consumer<ByteBuffer> handler) {
         this.host = host;
         this.port = port;
         this.tag = tag;
@@ -106,8 +107,8 @@ public class ReceiveEndpoint {
         @Override
         public void onMessage(@NonNull Message message, @NonNull Channel channel) {
             sendIncreaseBuffer(message.length());
-            final byte[] content = message.content();
-            handler.accept(content);
+            // The content is a view of the received frame, valid only until this method returns.
+            handler.accept(message.contentBuffer());
         }
     }
 }
@@ -25,6 +25,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
@@ -35,13 +37,26 @@ public class SendEndpoint {
     private final String tag;
     private final byte[] binaryTag;
 
+    // Contents waiting for the receiver to increase the buffer, sent in order.
+    private final Queue<Pending> pendingContents = new ArrayDeque<>();
+    private final Runnable onAvailable;
+
     private Channel channel;
 
-    public SendEndpoint(String host, int port, String tag) {
+    /**
+     * Create an endpoint.
+     *
+     * @param host the host of the receiver
+     * @param port the port of the receiver
+     * @param tag the tag of the receiver
+     * @param onAvailable called after the pending contents are all sent
+     */
+    public SendEndpoint(String host, int port, String tag, Runnable onAvailable) {
         this.host = host;
         this.port = port;
         this.tag = tag;
         this.binaryTag = PrimitiveCodec.encodeString(tag);
+        this.onAvailable = onAvailable;
     }
 
     public void init() {
@@ -53,44 +68,78 @@ public class SendEndpoint {
         }
     }
 
-    synchronized void wakeUp() {
-        notify();
+    void wakeUp() {
+        boolean available;
+        synchronized (this) {
+            available = !pendingContents.isEmpty() && flush();
+        }
+        if (available) {
+            onAvailable.run();
+        }
     }
 
-    synchronized boolean checkAvailableBufferCount(int size) {
-        boolean successful = false;
+    /**
+     * Send the pending contents as far as the buffer of the receiver allows.
+     *
+     * @return {@code true} if all the pending contents are sent
+     */
+    private boolean flush() {
         AtomicInteger bufferCount = EndpointManager.INSTANCE.getBufferCount(tag);
-        while (!successful) {
+        while (!pendingContents.isEmpty()) {
+            Pending pending = pendingContents.peek();
             int origSize = bufferCount.get();
             if (origSize < 0) {
+                // The receiver stopped, only the needed contents are sent.
+                pendingContents.stream().filter(p -> p.needed).forEach(p -> channel.send(p.content, true));
+                pendingContents.clear();
+                break;
+            }
+            if (origSize <= pending.content.bytes()) {
                 return false;
             }
-            if (origSize > size) {
-                successful = bufferCount.compareAndSet(origSize, origSize - size);
-            } else {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    log.warn("Catch (tag = {}) Interrupted while waiting for channel to be ready.", tag);
-                }
+            if (bufferCount.compareAndSet(origSize, origSize - pending.content.bytes())) {
+                channel.send(pending.content, pending.needed);
+                pendingContents.poll();
             }
         }
         return true;
     }
 
+    /**
+     * Whether there are contents waiting for the receiver to increase the buffer.
+     */
+    public synchronized boolean isFull() {
+        return !pendingContents.isEmpty();
+    }
+
     public boolean send(BufferOutputStream content) {
         return send(content, false);
     }
 
-    public boolean send(@NonNull BufferOutputStream content, boolean needed) {
-        boolean ok = checkAvailableBufferCount(content.bytes());
-        if (ok || needed) {
-            channel.send(content, needed);
+    /**
+     * Send the content, or queue it if the buffer of the receiver is not enough, so this method never blocks. The
+     * caller should stop producing contents while {@link #isFull()}.
+     *
+     * @param content the content
+     * @param needed whether the content must be sent even if the receiver stopped, like FIN
+     * @return {@code false} if the receiver stopped
+     */
+    public synchronized boolean send(@NonNull BufferOutputStream content, boolean needed) {
+        if (EndpointManager.INSTANCE.getBufferCount(tag).get() < 0) {
+            if (needed) {
+                channel.send(content, true);
+            }
+            return false;
         }
-        return ok;
+        pendingContents.add(new Pending(content, needed));
+        flush();
+        return true;
     }
 
     public void close() {
+        synchronized (this) {
+            pendingContents.clear();
+        }
         EndpointManager.INSTANCE.unregisterSendEndpoint(this);
         channel.close();
         if (log.isDebugEnabled()) {
@@ -103,4 +152,14 @@ public class SendEndpoint {
         bos.write(binaryTag);
         return bos;
     }
+
+    private static final class Pending {
+        private final BufferOutputStream content;
+        private final boolean needed;
+
+        private Pending(BufferOutputStream content, boolean needed) {
+            this.content = content;
+            this.needed = needed;
+        }
+    }
 }
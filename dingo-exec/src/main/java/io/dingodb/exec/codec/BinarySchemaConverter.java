@@ -0,0 +1,462 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.ArrayType;
+import io.dingodb.common.type.ListType;
+import io.dingodb.common.type.MapType;
+import io.dingodb.common.type.NullType;
+import io.dingodb.common.type.SchemaConverter;
+import io.dingodb.common.type.TupleType;
+import io.dingodb.common.type.scalar.BinaryType;
+import io.dingodb.common.type.scalar.BooleanType;
+import io.dingodb.common.type.scalar.DateType;
+import io.dingodb.common.type.scalar.DecimalType;
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.FloatType;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import io.dingodb.common.type.scalar.ObjectType;
+import io.dingodb.common.type.scalar.StringType;
+import io.dingodb.common.type.scalar.TimeType;
+import io.dingodb.common.type.scalar.TimestampType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Create {@link BinaryValueCodec}s for {@link io.dingodb.common.type.DingoType}s. Nullable values are prefixed by a
+ * flag byte, others are written without any tag, in the same layout as the Avro schemas.
+ */
+public class BinarySchemaConverter implements SchemaConverter<BinaryValueCodec> {
+    public static final BinarySchemaConverter INSTANCE = new BinarySchemaConverter();
+
+    private static final BinaryValueCodec NULL = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) {
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) {
+            return null;
+        }
+    };
+
+    private static final BinaryValueCodec INTEGER = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeInt(((Number) value).intValue());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readInt();
+        }
+    };
+
+    private static final BinaryValueCodec LONG = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeLong(((Number) value).longValue());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readLong();
+        }
+    };
+
+    private static final BinaryValueCodec FLOAT = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeFloat(((Number) value).floatValue());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readFloat();
+        }
+    };
+
+    private static final BinaryValueCodec DOUBLE = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeDouble(((Number) value).doubleValue());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readDouble();
+        }
+    };
+
+    private static final BinaryValueCodec DECIMAL = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            BigDecimal decimal = (BigDecimal) value;
+            output.writeInt(decimal.scale());
+            output.writeBytes(decimal.unscaledValue().toByteArray());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            int scale = input.readInt();
+            return new BigDecimal(new BigInteger(input.readBytes()), scale);
+        }
+    };
+
+    private static final BinaryValueCodec STRING = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeString((String) value);
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readString();
+        }
+    };
+
+    private static final BinaryValueCodec BOOLEAN = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeBoolean((Boolean) value);
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readBoolean();
+        }
+    };
+
+    private static final BinaryValueCodec BINARY = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeBytes((byte[]) value);
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readBytes();
+        }
+    };
+
+    private static final BinaryValueCodec DATE = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeLong(((Date) value).getTime());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return new Date(input.readLong());
+        }
+    };
+
+    private static final BinaryValueCodec TIME = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeLong(((Time) value).getTime());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return new Time(input.readLong());
+        }
+    };
+
+    private static final BinaryValueCodec TIMESTAMP = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            output.writeLong(((Timestamp) value).getTime());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return new Timestamp(input.readLong());
+        }
+    };
+
+    private static final BinaryValueCodec OBJECT = new BinaryValueCodec() {
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            output.writeBytes(bos.toByteArray());
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(input.readBytes()))) {
+                return ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+    };
+
+    private BinarySchemaConverter() {
+    }
+
+    private static @NonNull BinaryValueCodec ofNullable(BinaryValueCodec codec, boolean nullable) {
+        return nullable ? new NullableValueCodec(codec) : codec;
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull NullType type) {
+        return NULL;
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull IntegerType type) {
+        return ofNullable(INTEGER, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull LongType type) {
+        return ofNullable(LONG, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull FloatType type) {
+        return ofNullable(FLOAT, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull DoubleType type) {
+        return ofNullable(DOUBLE, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull DecimalType type) {
+        return ofNullable(DECIMAL, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull StringType type) {
+        return ofNullable(STRING, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull BooleanType type) {
+        return ofNullable(BOOLEAN, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull BinaryType type) {
+        return ofNullable(BINARY, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull DateType type) {
+        return ofNullable(DATE, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull TimeType type) {
+        return ofNullable(TIME, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull TimestampType type) {
+        return ofNullable(TIMESTAMP, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull ObjectType type) {
+        return ofNullable(OBJECT, type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull TupleType type) {
+        BinaryValueCodec[] codecs = new BinaryValueCodec[type.fieldCount()];
+        for (int i = 0; i < codecs.length; ++i) {
+            codecs[i] = type.getChild(i).toSchema(this);
+        }
+        return new TupleValueCodec(codecs);
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull ArrayType type) {
+        return ofNullable(new ArrayValueCodec(type.getElementType().toSchema(this)), type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull ListType type) {
+        return ofNullable(new ListValueCodec(type.getElementType().toSchema(this)), type.isNullable());
+    }
+
+    @Override
+    public @NonNull BinaryValueCodec createSchema(@NonNull MapType type) {
+        return ofNullable(
+            new MapValueCodec(type.getKeyType().toSchema(this), type.getValueType().toSchema(this)),
+            type.isNullable()
+        );
+    }
+
+    private static class NullableValueCodec implements BinaryValueCodec {
+        private final BinaryValueCodec codec;
+
+        private NullableValueCodec(BinaryValueCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeByte(0);
+            } else {
+                output.writeByte(1);
+                codec.encode(output, value);
+            }
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            return input.readByte() == 0 ? null : codec.decode(input);
+        }
+    }
+
+    private static class TupleValueCodec implements BinaryValueCodec {
+        private final BinaryValueCodec[] codecs;
+
+        private TupleValueCodec(BinaryValueCodec[] codecs) {
+            this.codecs = codecs;
+        }
+
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            Object[] tuple = (Object[]) value;
+            if (tuple.length != codecs.length) {
+                throw new IllegalArgumentException(
+                    "Required " + codecs.length + " fields, but " + tuple.length + " given."
+                );
+            }
+            for (int i = 0; i < codecs.length; ++i) {
+                codecs[i].encode(output, tuple[i]);
+            }
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            Object[] tuple = new Object[codecs.length];
+            for (int i = 0; i < codecs.length; ++i) {
+                tuple[i] = codecs[i].decode(input);
+            }
+            return tuple;
+        }
+    }
+
+    private static class ArrayValueCodec implements BinaryValueCodec {
+        private final BinaryValueCodec elementCodec;
+
+        private ArrayValueCodec(BinaryValueCodec elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            Object[] array = (Object[]) value;
+            output.writeInt(array.length);
+            for (Object element : array) {
+                elementCodec.encode(output, element);
+            }
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            Object[] array = new Object[input.readInt()];
+            for (int i = 0; i < array.length; ++i) {
+                array[i] = elementCodec.decode(input);
+            }
+            return array;
+        }
+    }
+
+    private static class ListValueCodec implements BinaryValueCodec {
+        private final BinaryValueCodec elementCodec;
+
+        private ListValueCodec(BinaryValueCodec elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            List<?> list = (List<?>) value;
+            output.writeInt(list.size());
+            for (Object element : list) {
+                elementCodec.encode(output, element);
+            }
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            int size = input.readInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                list.add(elementCodec.decode(input));
+            }
+            return list;
+        }
+    }
+
+    private static class MapValueCodec implements BinaryValueCodec {
+        private final BinaryValueCodec keyCodec;
+        private final BinaryValueCodec valueCodec;
+
+        private MapValueCodec(BinaryValueCodec keyCodec, BinaryValueCodec valueCodec) {
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        public void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException {
+            Map<?, ?> map = (Map<?, ?>) value;
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                keyCodec.encode(output, entry.getKey());
+                valueCodec.encode(output, entry.getValue());
+            }
+        }
+
+        @Override
+        public Object decode(@NonNull BinaryTupleInput input) throws IOException {
+            int size = input.readInt();
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < size; ++i) {
+                Object key = keyCodec.decode(input);
+                map.put(key, valueCodec.decode(input));
+            }
+            return map;
+        }
+    }
+}
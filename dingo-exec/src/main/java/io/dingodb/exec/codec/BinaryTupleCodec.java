@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.DingoType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tuple codec specialized for the schema, which writes the values of tuples directly into the output stream.
+ *
+ * <p>A batch is encoded as the count of tuples followed by the tuples.
+ */
+public class BinaryTupleCodec implements TupleCodec {
+    private static final ThreadLocal<BinaryTupleOutput> outputLocal = ThreadLocal.withInitial(BinaryTupleOutput::new);
+
+    private final BinaryValueCodec codec;
+
+    public BinaryTupleCodec(@NonNull DingoType type) {
+        this.codec = type.toSchema(BinarySchemaConverter.INSTANCE);
+    }
+
+    @Override
+    public void encode(@NonNull OutputStream os, @NonNull List<Object @NonNull []> tuples) throws IOException {
+        BinaryTupleOutput output = outputLocal.get();
+        output.reset(os);
+        try {
+            output.writeInt(tuples.size());
+            for (Object[] tuple : tuples) {
+                codec.encode(output, tuple);
+            }
+            output.flush();
+        } finally {
+            output.reset(null);
+        }
+    }
+
+    @Override
+    public @NonNull List<Object[]> decode(@NonNull InputStream is) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int count;
+        while ((count = is.read(buf)) > 0) {
+            bos.write(buf, 0, count);
+        }
+        byte[] bytes = bos.toByteArray();
+        return decode(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public @NonNull List<Object[]> decode(byte @NonNull [] bytes, int offset, int length) throws IOException {
+        return decode(new BinaryTupleInput(bytes, offset, length));
+    }
+
+    @Override
+    public @NonNull List<Object[]> decode(@NonNull ByteBuffer buffer) throws IOException {
+        return decode(new BinaryTupleInput(buffer));
+    }
+
+    private @NonNull List<Object[]> decode(@NonNull BinaryTupleInput input) throws IOException {
+        int size = input.readInt();
+        List<Object[]> tuples = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            tuples.add((Object[]) codec.decode(input));
+        }
+        return tuples;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads primitives written by {@link BinaryTupleOutput} from a byte array or a (possibly direct) byte buffer.
+ */
+public final class BinaryTupleInput {
+    private final ByteBuffer buf;
+
+    public BinaryTupleInput(byte @NonNull [] buf, int offset, int length) {
+        this(ByteBuffer.wrap(buf, offset, length));
+    }
+
+    /**
+     * Read from the remaining bytes of the buffer, without copying them. The position of the buffer is not changed.
+     */
+    public BinaryTupleInput(@NonNull ByteBuffer buf) {
+        this.buf = buf.slice();
+    }
+
+    private void require(int length) throws EOFException {
+        if (length < 0 || buf.remaining() < length) {
+            throw new EOFException("Required " + length + " bytes but " + buf.remaining() + " remained.");
+        }
+    }
+
+    public byte readByte() throws EOFException {
+        require(1);
+        return buf.get();
+    }
+
+    public boolean readBoolean() throws EOFException {
+        return readByte() != 0;
+    }
+
+    public int readInt() throws EOFException {
+        require(4);
+        return buf.getInt();
+    }
+
+    public long readLong() throws EOFException {
+        require(8);
+        return buf.getLong();
+    }
+
+    public float readFloat() throws EOFException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public double readDouble() throws EOFException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public byte[] readBytes() throws EOFException {
+        int length = readInt();
+        require(length);
+        return readRaw(length);
+    }
+
+    public @NonNull String readString() throws EOFException {
+        int length = readInt();
+        require(length);
+        if (buf.hasArray()) {
+            int pos = buf.position();
+            String value = new String(buf.array(), buf.arrayOffset() + pos, length, StandardCharsets.UTF_8);
+            buf.position(pos + length);
+            return value;
+        }
+        return new String(readRaw(length), StandardCharsets.UTF_8);
+    }
+
+    private byte @NonNull [] readRaw(int length) {
+        byte[] value = new byte[length];
+        buf.get(value);
+        return value;
+    }
+}
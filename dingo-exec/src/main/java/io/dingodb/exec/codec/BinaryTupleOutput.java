@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes primitives in big-endian order into a small staging buffer, which is flushed to the underlying stream when
+ * it is full, so no intermediate object is created for each value.
+ */
+public final class BinaryTupleOutput {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] buf;
+    private OutputStream os;
+    private int pos;
+
+    public BinaryTupleOutput() {
+        buf = new byte[BUFFER_SIZE];
+    }
+
+    public void reset(OutputStream os) {
+        this.os = os;
+        pos = 0;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buf.length - pos < length) {
+            flush();
+        }
+    }
+
+    private void putInt(int index, int value) {
+        buf[index] = (byte) (value >>> 24);
+        buf[index + 1] = (byte) (value >>> 16);
+        buf[index + 2] = (byte) (value >>> 8);
+        buf[index + 3] = (byte) value;
+    }
+
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buf[pos++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeInt(int value) throws IOException {
+        ensure(4);
+        putInt(pos, value);
+        pos += 4;
+    }
+
+    public void writeLong(long value) throws IOException {
+        ensure(8);
+        putInt(pos, (int) (value >>> 32));
+        putInt(pos + 4, (int) value);
+        pos += 8;
+    }
+
+    public void writeFloat(float value) throws IOException {
+        writeInt(Float.floatToIntBits(value));
+    }
+
+    public void writeDouble(double value) throws IOException {
+        writeLong(Double.doubleToLongBits(value));
+    }
+
+    public void writeBytes(byte @NonNull [] value) throws IOException {
+        writeInt(value.length);
+        if (value.length <= buf.length - pos) {
+            System.arraycopy(value, 0, buf, pos, value.length);
+            pos += value.length;
+        } else {
+            flush();
+            os.write(value);
+        }
+    }
+
+    /**
+     * Write a string as length prefixed UTF-8 bytes. The chars are encoded into the buffer directly, falling back to
+     * {@link String#getBytes} for long strings or strings containing surrogates.
+     */
+    public void writeString(@NonNull String value) throws IOException {
+        int length = value.length();
+        if (4 + length * 3 > buf.length) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        ensure(4 + length * 3);
+        int start = pos;
+        int index = start + 4;
+        for (int i = 0; i < length; ++i) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                buf[index++] = (byte) ch;
+            } else if (ch < 0x800) {
+                buf[index++] = (byte) (0xC0 | (ch >> 6));
+                buf[index++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isSurrogate(ch)) {
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            } else {
+                buf[index++] = (byte) (0xE0 | (ch >> 12));
+                buf[index++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                buf[index++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+        putInt(start, index - start - 4);
+        pos = index;
+    }
+
+    public void flush() throws IOException {
+        if (pos > 0) {
+            os.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Codec of the values of a specific {@link io.dingodb.common.type.DingoType}, created by
+ * {@link BinarySchemaConverter}.
+ */
+public interface BinaryValueCodec {
+    void encode(@NonNull BinaryTupleOutput output, Object value) throws IOException;
+
+    Object decode(@NonNull BinaryTupleInput input) throws IOException;
+}
@@ -18,13 +18,31 @@ package io.dingodb.exec.codec;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 public interface TupleCodec {
     void encode(@NonNull OutputStream os, @NonNull List<Object @NonNull []> tuples) throws IOException;
 
     @NonNull List<Object[]> decode(@NonNull InputStream is) throws IOException;
+
+    default @NonNull List<Object[]> decode(byte @NonNull [] bytes, int offset, int length) throws IOException {
+        return decode(new ByteArrayInputStream(bytes, offset, length));
+    }
+
+    /**
+     * Decode the remaining bytes of the buffer. The position of the buffer is not changed.
+     */
+    default @NonNull List<Object[]> decode(@NonNull ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return decode(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return decode(bytes, 0, bytes.length);
+    }
 }
@@ -21,6 +21,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 public interface TxRxCodec {
@@ -29,4 +30,9 @@ public interface TxRxCodec {
     void encodeFin(OutputStream os, Fin fin) throws IOException;
 
     List<Object[]> decode(byte[] bytes) throws IOException;
+
+    /**
+     * Decode the remaining bytes of the buffer, which may be a view of a network frame valid only during the call.
+     */
+    List<Object[]> decode(ByteBuffer buffer) throws IOException;
 }
@@ -16,6 +16,7 @@
 
 package io.dingodb.exec.codec;
 
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
@@ -25,6 +26,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.List;
 
@@ -32,17 +34,45 @@ public class TxRxCodecImpl implements TxRxCodec {
     public static final int TUPLES_FLAG = 0;
     public static final int NORMAL_FIN_FLAG = 1;
     public static final int ABNORMAL_FIN_FLAG = 2;
+    public static final int BINARY_TUPLES_FLAG = 3;
 
-    private final TupleCodec codec;
+    private final DingoType schema;
+    private final boolean avro;
+
+    // Created on demand, for only one of them is used unless the nodes are configured differently.
+    private TupleCodec avroCodec;
+    private TupleCodec binaryCodec;
 
     public TxRxCodecImpl(@NonNull DingoType schema) {
-        this.codec = new AvroTupleCodec(schema);
+        this.schema = schema;
+        this.avro = ExecutionConfiguration.EXCHANGE_CODEC_AVRO.equalsIgnoreCase(
+            ExecutionConfiguration.exchangeCodec()
+        );
+    }
+
+    private TupleCodec getAvroCodec() {
+        if (avroCodec == null) {
+            avroCodec = new AvroTupleCodec(schema);
+        }
+        return avroCodec;
+    }
+
+    private TupleCodec getBinaryCodec() {
+        if (binaryCodec == null) {
+            binaryCodec = new BinaryTupleCodec(schema);
+        }
+        return binaryCodec;
     }
 
     @Override
     public void encodeTuples(@NonNull OutputStream os, @NonNull List<Object[]> tuples) throws IOException {
-        os.write(TUPLES_FLAG);
-        codec.encode(os, tuples);
+        if (avro) {
+            os.write(TUPLES_FLAG);
+            getAvroCodec().encode(os, tuples);
+        } else {
+            os.write(BINARY_TUPLES_FLAG);
+            getBinaryCodec().encode(os, tuples);
+        }
     }
 
     @Override
@@ -57,17 +87,39 @@ public class TxRxCodecImpl implements TxRxCodec {
 
     @Override
     public List<Object[]> decode(byte[] bytes) throws IOException {
-        ByteArrayInputStream is = new ByteArrayInputStream(bytes);
-        int flag = is.read();
+        int flag = bytes.length > 0 ? bytes[0] : -1;
         switch (flag) {
+            case BINARY_TUPLES_FLAG:
+                return getBinaryCodec().decode(bytes, 1, bytes.length - 1);
             case TUPLES_FLAG:
-                return codec.decode(is);
+                return getAvroCodec().decode(bytes, 1, bytes.length - 1);
             case NORMAL_FIN_FLAG:
-                return Collections.singletonList(new Object[]{FinWithProfiles.deserialize(is)});
+                return Collections.singletonList(new Object[]{
+                    FinWithProfiles.deserialize(new ByteArrayInputStream(bytes, 1, bytes.length - 1))
+                });
             case ABNORMAL_FIN_FLAG:
-                return Collections.singletonList(new Object[]{FinWithException.deserialize(is)});
+                return Collections.singletonList(new Object[]{
+                    FinWithException.deserialize(new ByteArrayInputStream(bytes, 1, bytes.length - 1))
+                });
             default:
         }
         throw new IllegalStateException("Unexpected data message flag \"" + flag + "\".");
     }
+
+    @Override
+    public List<Object[]> decode(@NonNull ByteBuffer buffer) throws IOException {
+        int flag = buffer.hasRemaining() ? buffer.get(buffer.position()) : -1;
+        ByteBuffer body = (ByteBuffer) buffer.duplicate().position(buffer.position() + 1);
+        switch (flag) {
+            case BINARY_TUPLES_FLAG:
+                return getBinaryCodec().decode(body);
+            case TUPLES_FLAG:
+                return getAvroCodec().decode(body);
+            default:
+        }
+        // Fins are rare and small, so just copy them out.
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return decode(bytes);
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Evaluator of an expression compiled to bytecode by {@link EvalCodeGenerator}.
+ */
+public interface CompiledEval {
+    /**
+     * Evaluate the expression.
+     *
+     * @param tuple the input tuple
+     * @param paras the sql parameters
+     * @return the result, maybe {@code null}
+     */
+    @Nullable Object eval(Object @Nullable [] tuple, Object @Nullable [] paras);
+}
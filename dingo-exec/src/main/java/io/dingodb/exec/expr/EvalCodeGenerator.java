@@ -0,0 +1,1084 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import io.dingodb.expr.core.TypeCode;
+import io.dingodb.expr.runtime.eval.BinaryEval;
+import io.dingodb.expr.runtime.eval.Eval;
+import io.dingodb.expr.runtime.eval.EvalVisitor;
+import io.dingodb.expr.runtime.eval.UnaryEval;
+import io.dingodb.expr.runtime.eval.arithmetic.AddDouble;
+import io.dingodb.expr.runtime.eval.arithmetic.AddFloat;
+import io.dingodb.expr.runtime.eval.arithmetic.AddInt;
+import io.dingodb.expr.runtime.eval.arithmetic.AddLong;
+import io.dingodb.expr.runtime.eval.arithmetic.DivDouble;
+import io.dingodb.expr.runtime.eval.arithmetic.DivFloat;
+import io.dingodb.expr.runtime.eval.arithmetic.DivInt;
+import io.dingodb.expr.runtime.eval.arithmetic.DivLong;
+import io.dingodb.expr.runtime.eval.arithmetic.MulDouble;
+import io.dingodb.expr.runtime.eval.arithmetic.MulFloat;
+import io.dingodb.expr.runtime.eval.arithmetic.MulInt;
+import io.dingodb.expr.runtime.eval.arithmetic.MulLong;
+import io.dingodb.expr.runtime.eval.arithmetic.NegDouble;
+import io.dingodb.expr.runtime.eval.arithmetic.NegFloat;
+import io.dingodb.expr.runtime.eval.arithmetic.NegInt;
+import io.dingodb.expr.runtime.eval.arithmetic.NegLong;
+import io.dingodb.expr.runtime.eval.arithmetic.PosDouble;
+import io.dingodb.expr.runtime.eval.arithmetic.PosFloat;
+import io.dingodb.expr.runtime.eval.arithmetic.PosInt;
+import io.dingodb.expr.runtime.eval.arithmetic.PosLong;
+import io.dingodb.expr.runtime.eval.arithmetic.SubDouble;
+import io.dingodb.expr.runtime.eval.arithmetic.SubFloat;
+import io.dingodb.expr.runtime.eval.arithmetic.SubInt;
+import io.dingodb.expr.runtime.eval.arithmetic.SubLong;
+import io.dingodb.expr.runtime.eval.cast.DoubleToBool;
+import io.dingodb.expr.runtime.eval.cast.DoubleToFloat;
+import io.dingodb.expr.runtime.eval.cast.DoubleToInt;
+import io.dingodb.expr.runtime.eval.cast.DoubleToLong;
+import io.dingodb.expr.runtime.eval.cast.FloatToBool;
+import io.dingodb.expr.runtime.eval.cast.FloatToDouble;
+import io.dingodb.expr.runtime.eval.cast.FloatToInt;
+import io.dingodb.expr.runtime.eval.cast.FloatToLong;
+import io.dingodb.expr.runtime.eval.cast.IntToBool;
+import io.dingodb.expr.runtime.eval.cast.IntToDouble;
+import io.dingodb.expr.runtime.eval.cast.IntToFloat;
+import io.dingodb.expr.runtime.eval.cast.IntToLong;
+import io.dingodb.expr.runtime.eval.cast.LongToBool;
+import io.dingodb.expr.runtime.eval.cast.LongToDouble;
+import io.dingodb.expr.runtime.eval.cast.LongToFloat;
+import io.dingodb.expr.runtime.eval.cast.LongToInt;
+import io.dingodb.expr.runtime.eval.logical.AndEval;
+import io.dingodb.expr.runtime.eval.logical.NotEval;
+import io.dingodb.expr.runtime.eval.logical.OrEval;
+import io.dingodb.expr.runtime.eval.logical.VarArgAndEval;
+import io.dingodb.expr.runtime.eval.logical.VarArgOrEval;
+import io.dingodb.expr.runtime.eval.relational.EqBool;
+import io.dingodb.expr.runtime.eval.relational.EqDouble;
+import io.dingodb.expr.runtime.eval.relational.EqFloat;
+import io.dingodb.expr.runtime.eval.relational.EqInt;
+import io.dingodb.expr.runtime.eval.relational.EqLong;
+import io.dingodb.expr.runtime.eval.relational.EqString;
+import io.dingodb.expr.runtime.eval.relational.GeBool;
+import io.dingodb.expr.runtime.eval.relational.GeDouble;
+import io.dingodb.expr.runtime.eval.relational.GeFloat;
+import io.dingodb.expr.runtime.eval.relational.GeInt;
+import io.dingodb.expr.runtime.eval.relational.GeLong;
+import io.dingodb.expr.runtime.eval.relational.GeString;
+import io.dingodb.expr.runtime.eval.relational.GtBool;
+import io.dingodb.expr.runtime.eval.relational.GtDouble;
+import io.dingodb.expr.runtime.eval.relational.GtFloat;
+import io.dingodb.expr.runtime.eval.relational.GtInt;
+import io.dingodb.expr.runtime.eval.relational.GtLong;
+import io.dingodb.expr.runtime.eval.relational.GtString;
+import io.dingodb.expr.runtime.eval.relational.IsFalseBool;
+import io.dingodb.expr.runtime.eval.relational.IsFalseDouble;
+import io.dingodb.expr.runtime.eval.relational.IsFalseFloat;
+import io.dingodb.expr.runtime.eval.relational.IsFalseInt;
+import io.dingodb.expr.runtime.eval.relational.IsFalseLong;
+import io.dingodb.expr.runtime.eval.relational.IsFalseString;
+import io.dingodb.expr.runtime.eval.relational.IsNullBool;
+import io.dingodb.expr.runtime.eval.relational.IsNullDouble;
+import io.dingodb.expr.runtime.eval.relational.IsNullFloat;
+import io.dingodb.expr.runtime.eval.relational.IsNullInt;
+import io.dingodb.expr.runtime.eval.relational.IsNullLong;
+import io.dingodb.expr.runtime.eval.relational.IsNullString;
+import io.dingodb.expr.runtime.eval.relational.IsTrueBool;
+import io.dingodb.expr.runtime.eval.relational.IsTrueDouble;
+import io.dingodb.expr.runtime.eval.relational.IsTrueFloat;
+import io.dingodb.expr.runtime.eval.relational.IsTrueInt;
+import io.dingodb.expr.runtime.eval.relational.IsTrueLong;
+import io.dingodb.expr.runtime.eval.relational.IsTrueString;
+import io.dingodb.expr.runtime.eval.relational.LeBool;
+import io.dingodb.expr.runtime.eval.relational.LeDouble;
+import io.dingodb.expr.runtime.eval.relational.LeFloat;
+import io.dingodb.expr.runtime.eval.relational.LeInt;
+import io.dingodb.expr.runtime.eval.relational.LeLong;
+import io.dingodb.expr.runtime.eval.relational.LeString;
+import io.dingodb.expr.runtime.eval.relational.LtBool;
+import io.dingodb.expr.runtime.eval.relational.LtDouble;
+import io.dingodb.expr.runtime.eval.relational.LtFloat;
+import io.dingodb.expr.runtime.eval.relational.LtInt;
+import io.dingodb.expr.runtime.eval.relational.LtLong;
+import io.dingodb.expr.runtime.eval.relational.LtString;
+import io.dingodb.expr.runtime.eval.relational.NeBool;
+import io.dingodb.expr.runtime.eval.relational.NeDouble;
+import io.dingodb.expr.runtime.eval.relational.NeFloat;
+import io.dingodb.expr.runtime.eval.relational.NeInt;
+import io.dingodb.expr.runtime.eval.relational.NeLong;
+import io.dingodb.expr.runtime.eval.relational.NeString;
+import io.dingodb.expr.runtime.eval.value.BoolValue;
+import io.dingodb.expr.runtime.eval.value.DoubleValue;
+import io.dingodb.expr.runtime.eval.value.FloatValue;
+import io.dingodb.expr.runtime.eval.value.IntValue;
+import io.dingodb.expr.runtime.eval.value.LongValue;
+import io.dingodb.expr.runtime.eval.value.StringValue;
+import io.dingodb.expr.runtime.eval.var.IndexedVar;
+import io.dingodb.expr.runtime.eval.var.NamedVar;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generate a {@link CompiledEval} class from an {@link Eval} tree.
+ *
+ * <p>Each node leaves its primitive value on the operand stack, or jumps to the current null label with an empty
+ * stack if the value is {@code null}. Operands of binary nodes are kept in local variables so that the stack is
+ * always empty at the jumping points. Nodes which are not supported make the visitor return {@code false}, then the
+ * caller should fall back to the interpreter.
+ */
+@Slf4j
+public final class EvalCodeGenerator implements EvalVisitor<Boolean> {
+    private static final String CLASS_NAME_PREFIX = "io/dingodb/exec/expr/generated/Eval";
+    private static final String COMPILED_EVAL = Type.getInternalName(CompiledEval.class);
+    private static final String EVAL_DESC = "([Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String CASTING = "io/dingodb/expr/core/Casting";
+    private static final String STRING = "java/lang/String";
+    private static final String NUMBER = "java/lang/Number";
+    private static final String BOOLEAN = "java/lang/Boolean";
+
+    private static final int TUPLE_LOCAL = 1;
+    private static final int PARAS_LOCAL = 2;
+
+    private static final AtomicLong CLASS_COUNTER = new AtomicLong(0);
+
+    private final MethodVisitor mv;
+    private Label nullLabel;
+    private int nextLocal;
+
+    private EvalCodeGenerator(MethodVisitor mv) {
+        this.mv = mv;
+        this.nullLabel = new Label();
+        this.nextLocal = PARAS_LOCAL + 1;
+    }
+
+    /**
+     * Generate and instantiate the evaluating class of an {@link Eval} tree.
+     *
+     * @param eval the {@link Eval}
+     * @return the {@link CompiledEval}, or {@code null} if the {@link Eval} cannot be compiled
+     */
+    public static @Nullable CompiledEval generate(@NonNull Eval eval) {
+        Type resultType = typeOf(eval.getType());
+        if (resultType == null) {
+            return null;
+        }
+        String className = CLASS_NAME_PREFIX + CLASS_COUNTER.incrementAndGet();
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        cw.visit(
+            Opcodes.V1_8,
+            Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+            className,
+            null,
+            "java/lang/Object",
+            new String[]{COMPILED_EVAL}
+        );
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "eval", EVAL_DESC, null, null);
+        mv.visitCode();
+        EvalCodeGenerator generator = new EvalCodeGenerator(mv);
+        if (!eval.accept(generator)) {
+            return null;
+        }
+        box(mv, resultType);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitLabel(generator.nullLabel);
+        mv.visitInsn(Opcodes.ACONST_NULL);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+        try {
+            byte[] bytes = cw.toByteArray();
+            Class<?> clazz = new EvalClassLoader(CompiledEval.class.getClassLoader())
+                .define(className.replace('/', '.'), bytes);
+            return (CompiledEval) clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            log.warn("Failed to generate code for eval \"{}\", fall back to interpreting.", eval, e);
+            return null;
+        }
+    }
+
+    private static @Nullable Type typeOf(int typeCode) {
+        switch (typeCode) {
+            case TypeCode.INT:
+                return Type.INT_TYPE;
+            case TypeCode.LONG:
+                return Type.LONG_TYPE;
+            case TypeCode.BOOL:
+                return Type.BOOLEAN_TYPE;
+            case TypeCode.FLOAT:
+                return Type.FLOAT_TYPE;
+            case TypeCode.DOUBLE:
+                return Type.DOUBLE_TYPE;
+            case TypeCode.STRING:
+                return Type.getObjectType(STRING);
+            default:
+                return null;
+        }
+    }
+
+    private static void box(@NonNull MethodVisitor mv, @NonNull Type type) {
+        String owner;
+        switch (type.getSort()) {
+            case Type.INT:
+                owner = "java/lang/Integer";
+                break;
+            case Type.LONG:
+                owner = "java/lang/Long";
+                break;
+            case Type.BOOLEAN:
+                owner = BOOLEAN;
+                break;
+            case Type.FLOAT:
+                owner = "java/lang/Float";
+                break;
+            case Type.DOUBLE:
+                owner = "java/lang/Double";
+                break;
+            default:
+                return;
+        }
+        String desc = "(" + type.getDescriptor() + ")L" + owner + ";";
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, owner, "valueOf", desc, false);
+    }
+
+    private void unbox(@NonNull Type type) {
+        switch (type.getSort()) {
+            case Type.INT:
+                mv.visitTypeInsn(Opcodes.CHECKCAST, NUMBER);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NUMBER, "intValue", "()I", false);
+                break;
+            case Type.LONG:
+                mv.visitTypeInsn(Opcodes.CHECKCAST, NUMBER);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NUMBER, "longValue", "()J", false);
+                break;
+            case Type.BOOLEAN:
+                mv.visitTypeInsn(Opcodes.CHECKCAST, BOOLEAN);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, BOOLEAN, "booleanValue", "()Z", false);
+                break;
+            case Type.FLOAT:
+                mv.visitTypeInsn(Opcodes.CHECKCAST, NUMBER);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NUMBER, "floatValue", "()F", false);
+                break;
+            case Type.DOUBLE:
+                mv.visitTypeInsn(Opcodes.CHECKCAST, NUMBER);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NUMBER, "doubleValue", "()D", false);
+                break;
+            default:
+                mv.visitTypeInsn(Opcodes.CHECKCAST, STRING);
+                break;
+        }
+    }
+
+    private int store(@NonNull Type type) {
+        int local = nextLocal;
+        nextLocal += type.getSize();
+        mv.visitVarInsn(type.getOpcode(Opcodes.ISTORE), local);
+        return local;
+    }
+
+    private void load(@NonNull Type type, int local) {
+        mv.visitVarInsn(type.getOpcode(Opcodes.ILOAD), local);
+    }
+
+    private void pushCondition(int jumpOpcode) {
+        Label trueLabel = new Label();
+        Label end = new Label();
+        mv.visitJumpInsn(jumpOpcode, trueLabel);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitJumpInsn(Opcodes.GOTO, end);
+        mv.visitLabel(trueLabel);
+        mv.visitInsn(Opcodes.ICONST_1);
+        mv.visitLabel(end);
+    }
+
+    private boolean visitUnaryEval(@NonNull UnaryEval eval, int opcode) {
+        if (eval.getOperand().accept(this)) {
+            if (opcode != Opcodes.NOP) {
+                mv.visitInsn(opcode);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private boolean visitOperands(@NonNull BinaryEval eval) {
+        Type type0 = typeOf(eval.getOperand0().getType());
+        Type type1 = typeOf(eval.getOperand1().getType());
+        if (type0 == null || type1 == null || !eval.getOperand0().accept(this)) {
+            return false;
+        }
+        int local0 = store(type0);
+        if (!eval.getOperand1().accept(this)) {
+            return false;
+        }
+        int local1 = store(type1);
+        load(type0, local0);
+        load(type1, local1);
+        return true;
+    }
+
+    private boolean visitBinaryEval(@NonNull BinaryEval eval, int opcode) {
+        if (visitOperands(eval)) {
+            mv.visitInsn(opcode);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean visitCompare(@NonNull BinaryEval eval, int cmpOpcode, int jumpOpcode) {
+        if (visitOperands(eval)) {
+            if (cmpOpcode != Opcodes.NOP) {
+                mv.visitInsn(cmpOpcode);
+            }
+            pushCondition(jumpOpcode);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean visitStringEquals(@NonNull BinaryEval eval, boolean negative) {
+        if (visitOperands(eval)) {
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, "equals", "(Ljava/lang/Object;)Z", false);
+            if (negative) {
+                mv.visitInsn(Opcodes.ICONST_1);
+                mv.visitInsn(Opcodes.IXOR);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private boolean visitStringCompare(@NonNull BinaryEval eval, int jumpOpcode) {
+        if (visitOperands(eval)) {
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, "compareTo", "(Ljava/lang/String;)I", false);
+            pushCondition(jumpOpcode);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean visitCasting(@NonNull UnaryEval eval, String method, String desc) {
+        if (eval.getOperand().accept(this)) {
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, CASTING, method, desc, false);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean visitIsNull(@NonNull UnaryEval eval) {
+        Type type = typeOf(eval.getOperand().getType());
+        if (type == null) {
+            return false;
+        }
+        Label outerNullLabel = nullLabel;
+        Label isNull = new Label();
+        Label end = new Label();
+        nullLabel = isNull;
+        if (!eval.getOperand().accept(this)) {
+            return false;
+        }
+        nullLabel = outerNullLabel;
+        mv.visitInsn(type.getSize() == 2 ? Opcodes.POP2 : Opcodes.POP);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitJumpInsn(Opcodes.GOTO, end);
+        mv.visitLabel(isNull);
+        mv.visitInsn(Opcodes.ICONST_1);
+        mv.visitLabel(end);
+        return true;
+    }
+
+    private boolean visitIsTrue(@NonNull UnaryEval eval, boolean negative) {
+        Label outerNullLabel = nullLabel;
+        Label isNull = new Label();
+        Label end = new Label();
+        nullLabel = isNull;
+        if (!eval.getOperand().accept(this)) {
+            return false;
+        }
+        nullLabel = outerNullLabel;
+        switch (eval.getOperand().getType()) {
+            case TypeCode.INT:
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, CASTING, "intToBool", "(I)Z", false);
+                break;
+            case TypeCode.LONG:
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, CASTING, "longToBool", "(J)Z", false);
+                break;
+            case TypeCode.FLOAT:
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, CASTING, "floatToBool", "(F)Z", false);
+                break;
+            case TypeCode.DOUBLE:
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, CASTING, "doubleToBool", "(D)Z", false);
+                break;
+            case TypeCode.BOOL:
+                break;
+            default:
+                return false;
+        }
+        if (negative) {
+            mv.visitInsn(Opcodes.ICONST_1);
+            mv.visitInsn(Opcodes.IXOR);
+        }
+        mv.visitJumpInsn(Opcodes.GOTO, end);
+        mv.visitLabel(isNull);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitLabel(end);
+        return true;
+    }
+
+    /**
+     * Three-valued logical and/or, which stops at the first {@code false}/{@code true} operand and results in
+     * {@code null} if there is no such operand but a {@code null} one.
+     */
+    private boolean visitLogical(Eval @NonNull [] operands, boolean isAnd) {
+        Label outerNullLabel = nullLabel;
+        Label shortcut = new Label();
+        Label end = new Label();
+        int hasNull = nextLocal++;
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitVarInsn(Opcodes.ISTORE, hasNull);
+        for (Eval operand : operands) {
+            if (operand.getType() != TypeCode.BOOL) {
+                return false;
+            }
+            Label operandNull = new Label();
+            Label next = new Label();
+            nullLabel = operandNull;
+            if (!operand.accept(this)) {
+                return false;
+            }
+            mv.visitJumpInsn(isAnd ? Opcodes.IFEQ : Opcodes.IFNE, shortcut);
+            mv.visitJumpInsn(Opcodes.GOTO, next);
+            mv.visitLabel(operandNull);
+            mv.visitInsn(Opcodes.ICONST_1);
+            mv.visitVarInsn(Opcodes.ISTORE, hasNull);
+            mv.visitLabel(next);
+        }
+        nullLabel = outerNullLabel;
+        mv.visitVarInsn(Opcodes.ILOAD, hasNull);
+        mv.visitJumpInsn(Opcodes.IFNE, nullLabel);
+        mv.visitInsn(isAnd ? Opcodes.ICONST_1 : Opcodes.ICONST_0);
+        mv.visitJumpInsn(Opcodes.GOTO, end);
+        mv.visitLabel(shortcut);
+        mv.visitInsn(isAnd ? Opcodes.ICONST_0 : Opcodes.ICONST_1);
+        mv.visitLabel(end);
+        return true;
+    }
+
+    private boolean visitValue(@Nullable Object value) {
+        if (value != null) {
+            mv.visitLdcInsn(value);
+        } else {
+            mv.visitJumpInsn(Opcodes.GOTO, nullLabel);
+        }
+        return true;
+    }
+
+    @Override
+    public Boolean visit(@NonNull IntValue eval) {
+        return visitValue(eval.getValue());
+    }
+
+    @Override
+    public Boolean visit(@NonNull LongValue eval) {
+        return visitValue(eval.getValue());
+    }
+
+    @Override
+    public Boolean visit(@NonNull FloatValue eval) {
+        return visitValue(eval.getValue());
+    }
+
+    @Override
+    public Boolean visit(@NonNull DoubleValue eval) {
+        return visitValue(eval.getValue());
+    }
+
+    @Override
+    public Boolean visit(@NonNull BoolValue eval) {
+        Boolean value = eval.getValue();
+        if (value != null) {
+            mv.visitInsn(value ? Opcodes.ICONST_1 : Opcodes.ICONST_0);
+        } else {
+            mv.visitJumpInsn(Opcodes.GOTO, nullLabel);
+        }
+        return true;
+    }
+
+    @Override
+    public Boolean visit(@NonNull StringValue eval) {
+        return visitValue(eval.getValue());
+    }
+
+    @Override
+    public Boolean visit(@NonNull LongToInt eval) {
+        // Range checking of narrowing casts depends on the fun factory, leave it to the interpreter.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull FloatToInt eval) {
+        // Range checking of narrowing casts depends on the fun factory, leave it to the interpreter.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull DoubleToInt eval) {
+        // Range checking of narrowing casts depends on the fun factory, leave it to the interpreter.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull IntToLong eval) {
+        return visitCasting(eval, "intToLong", "(I)J");
+    }
+
+    @Override
+    public Boolean visit(@NonNull FloatToLong eval) {
+        // Range checking of narrowing casts depends on the fun factory, leave it to the interpreter.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull DoubleToLong eval) {
+        // Range checking of narrowing casts depends on the fun factory, leave it to the interpreter.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull IntToFloat eval) {
+        return visitCasting(eval, "intToFloat", "(I)F");
+    }
+
+    @Override
+    public Boolean visit(@NonNull LongToFloat eval) {
+        return visitCasting(eval, "longToFloat", "(J)F");
+    }
+
+    @Override
+    public Boolean visit(@NonNull DoubleToFloat eval) {
+        // Range checking of narrowing casts depends on the fun factory, leave it to the interpreter.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull IntToDouble eval) {
+        return visitCasting(eval, "intToDouble", "(I)D");
+    }
+
+    @Override
+    public Boolean visit(@NonNull LongToDouble eval) {
+        return visitCasting(eval, "longToDouble", "(J)D");
+    }
+
+    @Override
+    public Boolean visit(@NonNull FloatToDouble eval) {
+        return visitCasting(eval, "floatToDouble", "(F)D");
+    }
+
+    @Override
+    public Boolean visit(@NonNull IntToBool eval) {
+        return visitCasting(eval, "intToBool", "(I)Z");
+    }
+
+    @Override
+    public Boolean visit(@NonNull LongToBool eval) {
+        return visitCasting(eval, "longToBool", "(J)Z");
+    }
+
+    @Override
+    public Boolean visit(@NonNull FloatToBool eval) {
+        return visitCasting(eval, "floatToBool", "(F)Z");
+    }
+
+    @Override
+    public Boolean visit(@NonNull DoubleToBool eval) {
+        return visitCasting(eval, "doubleToBool", "(D)Z");
+    }
+
+    @Override
+    public Boolean visit(@NonNull PosInt eval) {
+        return visitUnaryEval(eval, Opcodes.NOP);
+    }
+
+    @Override
+    public Boolean visit(@NonNull PosLong eval) {
+        return visitUnaryEval(eval, Opcodes.NOP);
+    }
+
+    @Override
+    public Boolean visit(@NonNull PosFloat eval) {
+        return visitUnaryEval(eval, Opcodes.NOP);
+    }
+
+    @Override
+    public Boolean visit(@NonNull PosDouble eval) {
+        return visitUnaryEval(eval, Opcodes.NOP);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NegInt eval) {
+        return visitUnaryEval(eval, Opcodes.INEG);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NegLong eval) {
+        return visitUnaryEval(eval, Opcodes.LNEG);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NegFloat eval) {
+        return visitUnaryEval(eval, Opcodes.FNEG);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NegDouble eval) {
+        return visitUnaryEval(eval, Opcodes.DNEG);
+    }
+
+    @Override
+    public Boolean visit(@NonNull AddInt eval) {
+        return visitBinaryEval(eval, Opcodes.IADD);
+    }
+
+    @Override
+    public Boolean visit(@NonNull AddLong eval) {
+        return visitBinaryEval(eval, Opcodes.LADD);
+    }
+
+    @Override
+    public Boolean visit(@NonNull AddFloat eval) {
+        return visitBinaryEval(eval, Opcodes.FADD);
+    }
+
+    @Override
+    public Boolean visit(@NonNull AddDouble eval) {
+        return visitBinaryEval(eval, Opcodes.DADD);
+    }
+
+    @Override
+    public Boolean visit(@NonNull SubInt eval) {
+        return visitBinaryEval(eval, Opcodes.ISUB);
+    }
+
+    @Override
+    public Boolean visit(@NonNull SubLong eval) {
+        return visitBinaryEval(eval, Opcodes.LSUB);
+    }
+
+    @Override
+    public Boolean visit(@NonNull SubFloat eval) {
+        return visitBinaryEval(eval, Opcodes.FSUB);
+    }
+
+    @Override
+    public Boolean visit(@NonNull SubDouble eval) {
+        return visitBinaryEval(eval, Opcodes.DSUB);
+    }
+
+    @Override
+    public Boolean visit(@NonNull MulInt eval) {
+        return visitBinaryEval(eval, Opcodes.IMUL);
+    }
+
+    @Override
+    public Boolean visit(@NonNull MulLong eval) {
+        return visitBinaryEval(eval, Opcodes.LMUL);
+    }
+
+    @Override
+    public Boolean visit(@NonNull MulFloat eval) {
+        return visitBinaryEval(eval, Opcodes.FMUL);
+    }
+
+    @Override
+    public Boolean visit(@NonNull MulDouble eval) {
+        return visitBinaryEval(eval, Opcodes.DMUL);
+    }
+
+    @Override
+    public Boolean visit(@NonNull DivInt eval) {
+        return visitBinaryEval(eval, Opcodes.IDIV);
+    }
+
+    @Override
+    public Boolean visit(@NonNull DivLong eval) {
+        return visitBinaryEval(eval, Opcodes.LDIV);
+    }
+
+    @Override
+    public Boolean visit(@NonNull DivFloat eval) {
+        return visitBinaryEval(eval, Opcodes.FDIV);
+    }
+
+    @Override
+    public Boolean visit(@NonNull DivDouble eval) {
+        return visitBinaryEval(eval, Opcodes.DDIV);
+    }
+
+    @Override
+    public Boolean visit(@NonNull EqInt eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPEQ);
+    }
+
+    @Override
+    public Boolean visit(@NonNull EqLong eval) {
+        return visitCompare(eval, Opcodes.LCMP, Opcodes.IFEQ);
+    }
+
+    @Override
+    public Boolean visit(@NonNull EqFloat eval) {
+        return visitCompare(eval, Opcodes.FCMPL, Opcodes.IFEQ);
+    }
+
+    @Override
+    public Boolean visit(@NonNull EqDouble eval) {
+        return visitCompare(eval, Opcodes.DCMPL, Opcodes.IFEQ);
+    }
+
+    @Override
+    public Boolean visit(@NonNull EqBool eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPEQ);
+    }
+
+    @Override
+    public Boolean visit(@NonNull EqString eval) {
+        return visitStringEquals(eval, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GeInt eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPGE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GeLong eval) {
+        return visitCompare(eval, Opcodes.LCMP, Opcodes.IFGE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GeFloat eval) {
+        return visitCompare(eval, Opcodes.FCMPL, Opcodes.IFGE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GeDouble eval) {
+        return visitCompare(eval, Opcodes.DCMPL, Opcodes.IFGE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GeBool eval) {
+        // The interpreter has no ordering of booleans.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull GeString eval) {
+        return visitStringCompare(eval, Opcodes.IFGE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GtInt eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPGT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GtLong eval) {
+        return visitCompare(eval, Opcodes.LCMP, Opcodes.IFGT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GtFloat eval) {
+        return visitCompare(eval, Opcodes.FCMPL, Opcodes.IFGT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GtDouble eval) {
+        return visitCompare(eval, Opcodes.DCMPL, Opcodes.IFGT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull GtBool eval) {
+        // The interpreter has no ordering of booleans.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull GtString eval) {
+        return visitStringCompare(eval, Opcodes.IFGT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LeInt eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPLE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LeLong eval) {
+        return visitCompare(eval, Opcodes.LCMP, Opcodes.IFLE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LeFloat eval) {
+        return visitCompare(eval, Opcodes.FCMPG, Opcodes.IFLE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LeDouble eval) {
+        return visitCompare(eval, Opcodes.DCMPG, Opcodes.IFLE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LeBool eval) {
+        // The interpreter has no ordering of booleans.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull LeString eval) {
+        return visitStringCompare(eval, Opcodes.IFLE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LtInt eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPLT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LtLong eval) {
+        return visitCompare(eval, Opcodes.LCMP, Opcodes.IFLT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LtFloat eval) {
+        return visitCompare(eval, Opcodes.FCMPG, Opcodes.IFLT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LtDouble eval) {
+        return visitCompare(eval, Opcodes.DCMPG, Opcodes.IFLT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull LtBool eval) {
+        // The interpreter has no ordering of booleans.
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull LtString eval) {
+        return visitStringCompare(eval, Opcodes.IFLT);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NeInt eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPNE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NeLong eval) {
+        return visitCompare(eval, Opcodes.LCMP, Opcodes.IFNE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NeFloat eval) {
+        return visitCompare(eval, Opcodes.FCMPL, Opcodes.IFNE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NeDouble eval) {
+        return visitCompare(eval, Opcodes.DCMPL, Opcodes.IFNE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NeBool eval) {
+        return visitCompare(eval, Opcodes.NOP, Opcodes.IF_ICMPNE);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NeString eval) {
+        return visitStringEquals(eval, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsNullInt eval) {
+        return visitIsNull(eval);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsNullLong eval) {
+        return visitIsNull(eval);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsNullFloat eval) {
+        return visitIsNull(eval);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsNullDouble eval) {
+        return visitIsNull(eval);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsNullBool eval) {
+        return visitIsNull(eval);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsNullString eval) {
+        return visitIsNull(eval);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsTrueInt eval) {
+        return visitIsTrue(eval, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsTrueLong eval) {
+        return visitIsTrue(eval, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsTrueFloat eval) {
+        return visitIsTrue(eval, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsTrueDouble eval) {
+        return visitIsTrue(eval, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsTrueBool eval) {
+        return visitIsTrue(eval, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsTrueString eval) {
+        return visitIsTrue(eval, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsFalseInt eval) {
+        return visitIsTrue(eval, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsFalseLong eval) {
+        return visitIsTrue(eval, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsFalseFloat eval) {
+        return visitIsTrue(eval, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsFalseDouble eval) {
+        return visitIsTrue(eval, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsFalseBool eval) {
+        return visitIsTrue(eval, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IsFalseString eval) {
+        return visitIsTrue(eval, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull NotEval eval) {
+        if (eval.getOperand().accept(this)) {
+            mv.visitInsn(Opcodes.ICONST_1);
+            mv.visitInsn(Opcodes.IXOR);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Boolean visit(@NonNull AndEval eval) {
+        return visitLogical(new Eval[]{eval.getOperand0(), eval.getOperand1()}, true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull OrEval eval) {
+        return visitLogical(new Eval[]{eval.getOperand0(), eval.getOperand1()}, false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull VarArgAndEval eval) {
+        return visitLogical(eval.getOperands(), true);
+    }
+
+    @Override
+    public Boolean visit(@NonNull VarArgOrEval eval) {
+        return visitLogical(eval.getOperands(), false);
+    }
+
+    @Override
+    public Boolean visit(@NonNull IndexedVar eval) {
+        Type type = typeOf(eval.getType());
+        if (type == null) {
+            return false;
+        }
+        int index = eval.getIndex();
+        // Negative index means it is a sql parameter.
+        mv.visitVarInsn(Opcodes.ALOAD, index >= 0 ? TUPLE_LOCAL : PARAS_LOCAL);
+        mv.visitLdcInsn(index >= 0 ? index : -index - 1);
+        mv.visitInsn(Opcodes.AALOAD);
+        int local = nextLocal++;
+        mv.visitVarInsn(Opcodes.ASTORE, local);
+        mv.visitVarInsn(Opcodes.ALOAD, local);
+        mv.visitJumpInsn(Opcodes.IFNULL, nullLabel);
+        mv.visitVarInsn(Opcodes.ALOAD, local);
+        unbox(type);
+        return true;
+    }
+
+    @Override
+    public Boolean visit(@NonNull NamedVar eval) {
+        return false;
+    }
+
+    private static final class EvalClassLoader extends ClassLoader {
+        EvalClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -18,6 +18,9 @@ package io.dingodb.exec.expr;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.fun.DingoFunFactory;
 import io.dingodb.exec.type.converter.ExprConverter;
@@ -29,14 +32,27 @@ import io.dingodb.expr.parser.parser.DingoExprCompiler;
 import io.dingodb.expr.runtime.CompileContext;
 import io.dingodb.expr.runtime.RtExpr;
 import io.dingodb.expr.runtime.eval.Eval;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.ByteArrayOutputStream;
+import java.util.Optional;
 
 public class SqlExpr {
     private static final DingoExprCompiler compiler = new DingoExprCompiler(
         DingoFunFactory.getInstance()
     );
+    private static final int CACHE_SIZE = 4096;
+    // Parsed exprs are not modified in compiling, so can be shared between tasks.
+    private static final Cache<String, Expr> exprCache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
+    private static final Cache<CodeKey, Optional<CompiledEval>> codeCache = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
 
     @JsonProperty("expr")
     @Getter
@@ -45,6 +61,8 @@ public class SqlExpr {
     private final DingoType type;
     private final SqlExprEvalContext etx;
     private RtExpr expr;
+    private CompiledEval code;
+    private Object[] paras;
 
     @JsonCreator
     public SqlExpr(
@@ -58,7 +76,32 @@ public class SqlExpr {
     }
 
     private Expr getExpr() throws ExprParseException {
-        return compiler.parse(exprString);
+        Expr ast = exprCache.getIfPresent(exprString);
+        if (ast == null) {
+            ast = compiler.parse(exprString);
+            exprCache.put(exprString, ast);
+        }
+        return ast;
+    }
+
+    private static @Nullable CompiledEval getCode(
+        @NonNull Expr ast,
+        @NonNull CodeKey key,
+        @NonNull CompileContext context
+    ) {
+        Optional<CompiledEval> code = codeCache.getIfPresent(key);
+        if (code == null) {
+            Eval eval;
+            try {
+                eval = ast.accept(new ExprCompiler(context));
+            } catch (ExprCompileException | RuntimeException e) {
+                // Not supported by the eval tree, leave it to the interpreter.
+                eval = null;
+            }
+            code = Optional.ofNullable(eval != null ? EvalCodeGenerator.generate(eval) : null);
+            codeCache.put(key, code);
+        }
+        return code.orElse(null);
     }
 
     public byte[] getCoding(DingoType tupleType, DingoType parasType) {
@@ -83,19 +126,27 @@ public class SqlExpr {
 
     public void compileIn(DingoType tupleType, DingoType parasType) {
         try {
-            expr = getExpr().compileIn(
-                new SqlExprCompileContext(tupleType, parasType)
-            );
+            // The context must be created before compiling, for it resets the ids of paras.
+            CompileContext context = new SqlExprCompileContext(tupleType, parasType);
+            Expr ast = getExpr();
+            code = ExecutionConfiguration.exprCodegen()
+                ? getCode(ast, new CodeKey(exprString, tupleType, parasType), context)
+                : null;
+            expr = code == null ? ast.compileIn(context) : null;
         } catch (ExprParseException | ExprCompileException e) {
             throw new IllegalStateException(e);
         }
     }
 
     public void setParas(Object[] paras) {
+        this.paras = paras;
         etx.setParas(paras);
     }
 
     public Object eval(Object[] tuple) {
+        if (code != null) {
+            return type.convertFrom(code.eval(tuple, paras), ExprConverter.INSTANCE);
+        }
         etx.setTuple(tuple);
         return type.convertFrom(expr.eval(etx), ExprConverter.INSTANCE);
     }
@@ -103,4 +154,12 @@ public class SqlExpr {
     public SqlExpr copy() {
         return new SqlExpr(exprString, type);
     }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class CodeKey {
+        private final String exprString;
+        private final DingoType tupleType;
+        private final DingoType parasType;
+    }
 }
@@ -37,6 +37,8 @@ public class OperatorProfile {
     long endTimeStamp;
     @JsonProperty("count")
     long processedTupleCount;
+    @JsonProperty("spill")
+    long spillBytes;
 
     public String detail() {
         SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS");
@@ -44,6 +46,7 @@ public class OperatorProfile {
             + " Start: " + dateFormat.format(new Date(startTimeStamp))
             + " End: " + dateFormat.format(new Date(endTimeStamp))
             + " Duration: " + (endTimeStamp - startTimeStamp) + "ms"
-            + " Count: " + processedTupleCount;
+            + " Count: " + processedTupleCount
+            + (spillBytes > 0 ? " Spill: " + spillBytes + "B" : "");
     }
 }
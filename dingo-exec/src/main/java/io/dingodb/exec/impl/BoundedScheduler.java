@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.common.concurrent.ThreadPoolBuilder;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.exec.base.Scheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs work on a fixed number of worker threads, taking queued work by priority and then in FIFO order.
+ *
+ * <p>Work is aged by the number of work queued after it: each step of priority value lets at most
+ * {@code priorityDelay} pieces of work queued later go first, so work of low priority is never starved.
+ *
+ * <p>Work which may block is run on another fixed number of threads, so that it never holds the workers. Calls to the
+ * store are run on a third fixed number of threads, so that they are never queued behind work waiting for them.
+ */
+@Slf4j
+public final class BoundedScheduler implements Scheduler {
+    static final String NAME = "EXEC_SCHEDULER";
+    static final String BLOCKING_NAME = "EXEC_SCHEDULER_BLOCKING";
+    static final String STORE_NAME = "EXEC_SCHEDULER_STORE";
+    private static final long DEFAULT_PRIORITY_DELAY = 1024;
+
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor blockingWorkers;
+    private final ThreadPoolExecutor storeWorkers;
+    private final int maxRunningTasks;
+    private final long priorityDelay;
+    private final AtomicLong seq = new AtomicLong();
+    private final Queue<Work> pendingTasks = new PriorityQueue<>();
+    private int runningTasks = 0;
+
+    public BoundedScheduler(int threads, int blockingThreads, int storeThreads, int maxRunningTasks) {
+        this(threads, blockingThreads, storeThreads, maxRunningTasks, DEFAULT_PRIORITY_DELAY);
+    }
+
+    BoundedScheduler(int threads, int blockingThreads, int storeThreads, int maxRunningTasks, long priorityDelay) {
+        this.workers = new ThreadPoolBuilder()
+            .name(NAME)
+            .coreThreads(threads)
+            .maximumThreads(threads)
+            .workQueue(new PriorityBlockingQueue<>())
+            .daemon(true)
+            .group(new ThreadGroup(NAME))
+            .build();
+        this.blockingWorkers = new ThreadPoolBuilder()
+            .name(BLOCKING_NAME)
+            .coreThreads(blockingThreads)
+            .maximumThreads(blockingThreads)
+            .daemon(true)
+            .group(new ThreadGroup(BLOCKING_NAME))
+            .build();
+        this.storeWorkers = new ThreadPoolBuilder()
+            .name(STORE_NAME)
+            .coreThreads(storeThreads)
+            .maximumThreads(storeThreads)
+            .daemon(true)
+            .group(new ThreadGroup(STORE_NAME))
+            .build();
+        this.maxRunningTasks = maxRunningTasks;
+        this.priorityDelay = priorityDelay;
+        DingoMetrics.gauge("scheduler_queue_depth", this::getQueueDepth);
+        DingoMetrics.gauge("scheduler_active_workers", workers::getActiveCount);
+        DingoMetrics.gauge("scheduler_active_blocking_workers", blockingWorkers::getActiveCount);
+        DingoMetrics.gauge("scheduler_blocking_queue_depth", () -> blockingWorkers.getQueue().size());
+        DingoMetrics.gauge("scheduler_active_store_workers", storeWorkers::getActiveCount);
+        DingoMetrics.gauge("scheduler_store_queue_depth", () -> storeWorkers.getQueue().size());
+        DingoMetrics.gauge("scheduler_running_tasks", this::getRunningTasks);
+        DingoMetrics.gauge("scheduler_pending_tasks", this::getPendingTasks);
+    }
+
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    public synchronized int getRunningTasks() {
+        return runningTasks;
+    }
+
+    public synchronized int getPendingTasks() {
+        return pendingTasks.size();
+    }
+
+    @Override
+    public void admit(int priority, @NonNull Runnable onAdmitted) {
+        synchronized (this) {
+            if (maxRunningTasks > 0 && runningTasks >= maxRunningTasks) {
+                pendingTasks.add(newWork(priority, onAdmitted));
+                return;
+            }
+            ++runningTasks;
+        }
+        onAdmitted.run();
+    }
+
+    @Override
+    public void release() {
+        Work next;
+        synchronized (this) {
+            next = pendingTasks.poll();
+            if (next == null) {
+                --runningTasks;
+                return;
+            }
+        }
+        // The slot is handed over to the next run directly.
+        next.run();
+    }
+
+    @Override
+    public void execute(@NonNull String name, int priority, @NonNull Runnable command) {
+        workers.execute(newWork(priority, () -> {
+            try {
+                command.run();
+            } catch (Throwable e) {
+                log.error("Execute {} catch error.", name, e);
+            }
+        }));
+    }
+
+    @Override
+    public void executeBlocking(@NonNull String name, @NonNull Runnable command) {
+        blockingWorkers.execute(() -> {
+            try {
+                command.run();
+            } catch (Throwable e) {
+                log.error("Execute {} catch error.", name, e);
+            }
+        });
+    }
+
+    @Override
+    public <T> @NonNull CompletableFuture<T> submitStoreCall(@NonNull String name, @NonNull Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, storeWorkers);
+    }
+
+    private @NonNull Work newWork(int priority, @NonNull Runnable command) {
+        long workSeq = seq.getAndIncrement();
+        return new Work(workSeq + priority * priorityDelay, workSeq, command);
+    }
+
+    private static final class Work implements Runnable, Comparable<Work> {
+        // The seq the work is ordered as, which is delayed by priority.
+        private final long order;
+        private final long seq;
+        private final Runnable command;
+
+        private Work(long order, long seq, Runnable command) {
+            this.order = order;
+            this.seq = seq;
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            command.run();
+        }
+
+        @Override
+        public int compareTo(@NonNull Work other) {
+            int result = Long.compare(order, other.order);
+            return result != 0 ? result : Long.compare(seq, other.seq);
+        }
+    }
+}
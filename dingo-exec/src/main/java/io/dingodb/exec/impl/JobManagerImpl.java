@@ -18,7 +18,9 @@ package io.dingodb.exec.impl;
 
 import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.dingodb.common.Location;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.Services;
@@ -41,6 +43,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
@@ -53,6 +56,8 @@ public final class JobManagerImpl implements JobManager {
 
     private final Map<CommonId, Job> jobMap = new ConcurrentHashMap<>();
     private final Map<Location, Channel> channelMap;
+    // Templates of tasks sent or received through each channel.
+    private final Map<Channel, TaskTemplates> templatesMap = new ConcurrentHashMap<>();
     private final TaskManager taskManager;
     private final IdGenerator idGenerator;
 
@@ -101,9 +106,10 @@ public final class JobManagerImpl implements JobManager {
             return Collections.emptyIterator();
         }
         if (job.getStatus() == Status.BORN) {
-            distributeTasks(job);
+            distributeTasks(job, paras);
+        } else {
+            run(job, paras);
         }
-        run(job, paras);
         Task root = job.getRoot();
         return new JobIteratorImpl(job, (RootOperator) root.getRoot());
     }
@@ -115,23 +121,56 @@ public final class JobManagerImpl implements JobManager {
         taskManager.close();
     }
 
-    private void distributeTasks(@NonNull Job job) {
+    private void distributeTasks(@NonNull Job job, Object @Nullable [] paras) {
+        Task root = null;
         for (Task task : job.getTasks().values()) {
             if (task.getRoot() != null) {
                 assert task.getLocation().equals(MetaService.root().currentLocation())
                     : "The root task must be at current location.";
                 taskManager.addTask(task);
+                root = task;
                 continue;
             }
             // Currently only root task is run at localhost, if a task is at localhost but not root task,
             // it is just ignored. Just distribute all the tasks to avoid this.
             try {
-                sendTaskMessage(task, new Message(TASK_TAG, new CreateTaskMessage(task).toBytes()));
+                distributeTask(task, job.getParasType(), paras);
             } catch (Exception e) {
                 log.error("Error to distribute tasks.", e);
                 throw new RuntimeException("Error to distribute tasks.", e);
             }
         }
+        if (root != null) {
+            root.run(paras);
+        }
+    }
+
+    /**
+     * Create and run a task remotely. If a task of the same shape has been sent through the channel, the task is
+     * created from the template kept by the remote, so only the ids and paras are sent.
+     */
+    private void distributeTask(@NonNull Task task, DingoType parasType, Object @Nullable [] paras) {
+        Channel channel = getChannel(task.getLocation());
+        int capacity = ExecutionConfiguration.taskTemplates();
+        if (capacity <= 0) {
+            channel.send(new Message(TASK_TAG, new CreateTaskMessage(task).toBytes()));
+            channel.send(new Message(TASK_TAG, new RunTaskMessage(task, parasType, paras).toBytes()));
+            return;
+        }
+        ObjectNode taskTree = JobImpl.PARSER.toTree(task);
+        String shape = TaskTemplates.shapeOf(taskTree);
+        TaskTemplates templates = templatesMap.computeIfAbsent(channel, c -> new TaskTemplates(capacity));
+        // Assigning slots and sending must be in the same order.
+        synchronized (templates) {
+            Integer slot = templates.slotOf(shape);
+            if (slot != null) {
+                channel.send(new Message(TASK_TAG, new RunTaskMessage(task, parasType, paras, slot).toBytes()));
+                return;
+            }
+            slot = templates.assign(shape);
+            channel.send(new Message(TASK_TAG, new CreateTaskMessage(taskTree, slot).toBytes()));
+        }
+        channel.send(new Message(TASK_TAG, new RunTaskMessage(task, parasType, paras).toBytes()));
     }
 
     private void run(@NonNull Job job, Object @Nullable [] paras) {
@@ -144,40 +183,51 @@ public final class JobManagerImpl implements JobManager {
         }
     }
 
-    private void sendTaskMessage(@NonNull Task task, Message message) {
-        Location location = task.getLocation();
+    private @NonNull Channel getChannel(@NonNull Location location) {
         Channel channel = channelMap.computeIfAbsent(
             location,
             l -> Services.openNewSysChannel(l.getHost(), l.getPort())
         );
-        channel.setCloseListener(__ -> channelMap.remove(location));
-        channel.send(message);
+        channel.setCloseListener(__ -> {
+            channelMap.remove(location);
+            templatesMap.remove(channel);
+        });
+        return channel;
     }
 
-    public void processMessage(@NonNull Message message) {
+    private void sendTaskMessage(@NonNull Task task, Message message) {
+        getChannel(task.getLocation()).send(message);
+    }
+
+    public void processMessage(@NonNull Message message, @NonNull Channel channel) {
         final Timer.Context timeCtx = DingoMetrics.getTimeContext("deserialize");
         TaskMessage taskMessage;
         try {
             taskMessage = TaskMessage.fromBytes(message.content());
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             // TODO: sql execution will be hang up.
             throw new RuntimeException("Cannot deserialize received TaskMessage.", e);
         }
         timeCtx.stop();
         if (taskMessage instanceof CreateTaskMessage) {
-            processCommand((CreateTaskMessage) taskMessage);
+            processCommand((CreateTaskMessage) taskMessage, channel);
         } else if (taskMessage instanceof RunTaskMessage) {
-            processCommand((RunTaskMessage) taskMessage);
+            processCommand((RunTaskMessage) taskMessage, channel);
         } else if (taskMessage instanceof DestroyTaskMessage) {
             processCommand((DestroyTaskMessage) taskMessage);
         }
     }
 
-    private void processCommand(@NonNull CreateTaskMessage cmd) {
+    private void processCommand(@NonNull CreateTaskMessage cmd, @NonNull Channel channel) {
         final long startTime = System.currentTimeMillis();
         try {
-            Task task = cmd.getTask();
-            taskManager.addTask(task);
+            Integer template = cmd.getTemplate();
+            if (template != null) {
+                receivedTemplates(channel).put(template, cmd.getTaskTree());
+            }
+            taskManager.addTask(cmd.createTask());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot deserialize received task.", e);
         } finally {
             final long cost = System.currentTimeMillis() - startTime;
             if (log.isDebugEnabled()) {
@@ -187,11 +237,35 @@ public final class JobManagerImpl implements JobManager {
         }
     }
 
-    private void processCommand(@NonNull RunTaskMessage cmd) {
-        Task task = taskManager.getTask(cmd.getJobId(), cmd.getTaskId());
+    private void processCommand(@NonNull RunTaskMessage cmd, @NonNull Channel channel) {
+        Task task;
+        Integer template = cmd.getTemplate();
+        if (template != null) {
+            try {
+                task = receivedTemplates(channel).create(template, cmd.getJobId(), cmd.getTaskId());
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Cannot create task from template.", e);
+            }
+            taskManager.addTask(task);
+        } else {
+            task = taskManager.getTask(cmd.getJobId(), cmd.getTaskId());
+        }
         task.run(cmd.getParas());
     }
 
+    private @NonNull TaskTemplates receivedTemplates(@NonNull Channel channel) {
+        // Messages of a channel are processed one by one, so no race here.
+        TaskTemplates templates = templatesMap.get(channel);
+        if (templates == null) {
+            // The channel is opened by the remote and its single close listener is not ours to replace, so the
+            // templates of closed channels are dropped when a new channel comes instead.
+            templatesMap.keySet().removeIf(Channel::isClosed);
+            templates = new TaskTemplates(0);
+            templatesMap.put(channel, templates);
+        }
+        return templates;
+    }
+
     private void processCommand(@NonNull DestroyTaskMessage cmd) {
         taskManager.removeTask(cmd.getJobId(), cmd.getTaskId());
     }
@@ -24,10 +24,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.dingodb.common.Location;
-import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.CommonId;
+import io.dingodb.exec.base.Input;
 import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.base.Scheduler;
 import io.dingodb.exec.base.Status;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.fin.FinWithException;
@@ -41,10 +43,12 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
@@ -79,7 +83,14 @@ public final class TaskImpl implements Task {
     private final DingoType parasType;
     private final transient AtomicInteger status;
     private CommonId rootOperatorId = null;
-    private CountDownLatch activeThreads = null;
+    private final transient AtomicInteger activeOperators = new AtomicInteger();
+    // Paras of the runs requested while the task is running.
+    private final transient Queue<Object[]> pendingRuns = new LinkedList<>();
+    // Source operators pushing to operators which may block for long, to be run out of the worker threads.
+    private final transient Set<CommonId> blockingSources = new HashSet<>();
+    // Set if any source operator waits for other tasks, then the runs are not admission controlled. Such sources
+    // yield instead of waiting, so they hold no thread while waiting and their pushes still run on the workers.
+    private transient boolean waitingForTasks;
     @Getter
     private TaskStatus taskInitStatus;
 
@@ -149,10 +160,36 @@ public final class TaskImpl implements Task {
         taskInitStatus.setTaskId(this.id.toString());
         taskInitStatus.setErrorMsg(statusErrMsg);
         if (taskInitStatus.getStatus()) {
+            findBlockingSources();
             status.compareAndSet(Status.BORN, Status.READY);
         }
     }
 
+    private void findBlockingSources() {
+        blockingSources.clear();
+        waitingForTasks = false;
+        for (CommonId operatorId : runList) {
+            SourceOperator operator = (SourceOperator) operators.get(operatorId);
+            if (operator.isWaitingForTasks()) {
+                waitingForTasks = true;
+            }
+            if (mayBlockDownstream(operator)) {
+                blockingSources.add(operatorId);
+            }
+        }
+    }
+
+    private static boolean mayBlockDownstream(@NonNull Operator operator) {
+        for (Output output : operator.getOutputs()) {
+            Input link = output.getLink();
+            Operator next = link.getOperator();
+            if (next.mayBlock(link.getPin()) || mayBlockDownstream(next)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void run(Object @Nullable [] paras) {
         if (status.get() == Status.BORN) {
@@ -162,56 +199,103 @@ public final class TaskImpl implements Task {
             operator.fin(0, FinWithException.of(taskInitStatus));
             return;
         }
-        // This method should not be blocked, so schedule a running thread.
-        Executors.execute("task-" + jobId + "-" + id, () -> internalRun(paras));
+        // This method should not be blocked, so runs are queued if the task is running.
+        synchronized (this) {
+            if (!status.compareAndSet(Status.READY, Status.RUNNING)) {
+                pendingRuns.add(paras);
+                return;
+            }
+        }
+        admit(paras);
     }
 
-    // Synchronize to make sure there are only one thread run this.
-    private synchronized void internalRun(Object @Nullable [] paras) {
-        if (!status.compareAndSet(Status.READY, Status.RUNNING)) {
-            throw new RuntimeException("Status should be READY.");
+    private void admit(Object @Nullable [] paras) {
+        if (waitingForTasks) {
+            // The runs waited for may be queued for admission, so taking a slot may deadlock.
+            internalRun(paras);
+        } else {
+            scheduler().admit(Scheduler.PRIORITY_NORMAL, () -> internalRun(paras));
         }
+    }
+
+    private static Scheduler scheduler() {
+        return TaskManagerImpl.INSTANCE.getScheduler();
+    }
+
+    private void internalRun(Object @Nullable [] paras) {
         if (log.isDebugEnabled()) {
             log.debug("Task {}-{} is starting at {}...", jobId, id, location);
         }
-        activeThreads = new CountDownLatch(runList.size());
+        activeOperators.set(runList.size());
         setParas(paras);
+        if (runList.isEmpty()) {
+            onFinished();
+            return;
+        }
         for (CommonId operatorId : runList) {
             final Operator operator = operators.get(operatorId);
             assert operator instanceof SourceOperator
                 : "Operators in run list must be source operator.";
-            Executors.execute("operator-" + jobId + "-" + id + "-" + operatorId, () -> {
-                final long startTime = System.currentTimeMillis();
-                try {
-                    while (operator.push(0, null)) {
-                        log.info("Operator {} need another pushing.", operator.getId());
-                    }
-                    operator.fin(0, null);
-                } catch (RuntimeException e) {
-                    log.error("Run Task:{} catch operator:{} run Exception:{}",
-                        getId().toString(), operator.getId(), e, e);
-                    TaskStatus taskStatus = new TaskStatus();
-                    taskStatus.setStatus(false);
-                    taskStatus.setTaskId(operator.getTask().getId().toString());
-                    taskStatus.setErrorMsg(e.toString());
-                    operator.fin(0, FinWithException.of(taskStatus));
-                } finally {
-                    if (log.isDebugEnabled()) {
-                        log.debug("TaskImpl run cost: {}ms.", System.currentTimeMillis() - startTime);
-                    }
-                    activeThreads.countDown();
+            String name = "operator-" + jobId + "-" + id + "-" + operatorId;
+            schedule(name, operator, Scheduler.PRIORITY_NORMAL, System.currentTimeMillis());
+        }
+    }
+
+    private void schedule(String name, @NonNull Operator operator, int priority, long startTime) {
+        if (blockingSources.contains(operator.getId())) {
+            scheduler().executeBlocking(name, () -> runOperator(name, operator, startTime));
+        } else {
+            scheduler().execute(name, priority, () -> runOperator(name, operator, startTime));
+        }
+    }
+
+    private void runOperator(String name, @NonNull Operator operator, long startTime) {
+        boolean yielded = false;
+        try {
+            if (operator.push(0, null)) {
+                // The operator yielded, queue it behind new work to push again once it can push without waiting, but
+                // never on the workers if it may block.
+                yielded = true;
+                ((SourceOperator) operator).whenResumable(
+                    () -> schedule(name, operator, Scheduler.PRIORITY_LOW, startTime)
+                );
+                return;
+            }
+            operator.fin(0, null);
+        } catch (RuntimeException e) {
+            log.error("Run Task:{} catch operator:{} run Exception:{}",
+                getId().toString(), operator.getId(), e, e);
+            TaskStatus taskStatus = new TaskStatus();
+            taskStatus.setStatus(false);
+            taskStatus.setTaskId(operator.getTask().getId().toString());
+            taskStatus.setErrorMsg(e.toString());
+            operator.fin(0, FinWithException.of(taskStatus));
+        } finally {
+            if (!yielded) {
+                if (log.isDebugEnabled()) {
+                    log.debug("TaskImpl run cost: {}ms.", System.currentTimeMillis() - startTime);
                 }
-            });
+                if (activeOperators.decrementAndGet() == 0) {
+                    onFinished();
+                }
+            }
         }
-        while (true) {
-            try {
-                activeThreads.await();
-                break;
-            } catch (InterruptedException ignored) {
+    }
+
+    private void onFinished() {
+        if (!waitingForTasks) {
+            scheduler().release();
+        }
+        Object[] paras;
+        synchronized (this) {
+            status.compareAndSet(Status.RUNNING, Status.READY);
+            status.compareAndSet(Status.STOPPED, Status.READY);
+            if (pendingRuns.isEmpty() || !status.compareAndSet(Status.READY, Status.RUNNING)) {
+                return;
             }
+            paras = pendingRuns.poll();
         }
-        status.compareAndSet(Status.RUNNING, Status.READY);
-        status.compareAndSet(Status.STOPPED, Status.READY);
+        admit(paras);
     }
 
     @Override
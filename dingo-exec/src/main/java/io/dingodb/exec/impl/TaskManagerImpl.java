@@ -17,8 +17,12 @@
 package io.dingodb.exec.impl;
 
 import io.dingodb.common.CommonId;
+import io.dingodb.common.concurrent.ThreadPoolBuilder;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.exec.base.Scheduler;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.base.TaskManager;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -31,7 +35,20 @@ public final class TaskManagerImpl implements TaskManager {
 
     private final Map<CommonId, Task> taskMap = new ConcurrentHashMap<>();
 
+    @Getter
+    private final Scheduler scheduler;
+
     private TaskManagerImpl() {
+        if (ExecutionConfiguration.SCHEDULER_UNBOUNDED.equalsIgnoreCase(ExecutionConfiguration.scheduler())) {
+            scheduler = UnboundedScheduler.INSTANCE;
+        } else {
+            scheduler = new BoundedScheduler(
+                ThreadPoolBuilder.AVAILABLE_PROCESSORS * ExecutionConfiguration.schedulerThreadsPerCore(),
+                ExecutionConfiguration.schedulerBlockingThreads(),
+                ExecutionConfiguration.schedulerStoreThreads(),
+                ExecutionConfiguration.maxRunningTasks()
+            );
+        }
     }
 
     public static @NonNull String taskFullId(CommonId jobId, CommonId taskId) {
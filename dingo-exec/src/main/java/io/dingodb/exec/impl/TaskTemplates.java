@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.dingodb.common.CommonId;
+import io.dingodb.exec.base.Task;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Templates of the tasks sent through a channel. Tasks of the same shape differ only in their ids, so a task can be
+ * created remotely from a template with new ids instead of shipping it again.
+ *
+ * <p>The sending side decides the slot of each template and the receiving side keeps the templates in the same slots.
+ * Messages of a channel are processed in order, so both sides always agree on the content of the slots.
+ */
+final class TaskTemplates {
+    private static final String ID = "id";
+    private static final String JOB_ID = "jobId";
+    private static final String SHAPE_DIGEST = "SHA-256";
+
+    private final int capacity;
+    // Used by the sending side, the slots of shapes in access order.
+    private final LinkedHashMap<String, Integer> slots;
+    // Used by the receiving side.
+    private final Map<Integer, ObjectNode> templates;
+
+    TaskTemplates(int capacity) {
+        this.capacity = capacity;
+        this.slots = new LinkedHashMap<>(16, 0.75f, true);
+        this.templates = new HashMap<>();
+    }
+
+    /**
+     * Get the shape of a task, which is the digest of the serialized task without ids. The digest is kept instead of
+     * the serialized task, so the memory of the slots does not grow with the size of the tasks.
+     */
+    static @NonNull String shapeOf(@NonNull ObjectNode taskTree) {
+        JsonNode id = taskTree.remove(ID);
+        JsonNode jobId = taskTree.remove(JOB_ID);
+        String json = taskTree.toString();
+        taskTree.set(ID, id);
+        taskTree.set(JOB_ID, jobId);
+        try {
+            byte[] digest = MessageDigest.getInstance(SHAPE_DIGEST).digest(json.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nullable Integer slotOf(@NonNull String shape) {
+        return slots.get(shape);
+    }
+
+    /**
+     * Assign a slot to a shape, reusing the slot of the least recently used shape if there are no free slots.
+     */
+    int assign(@NonNull String shape) {
+        int slot;
+        if (slots.size() < capacity) {
+            slot = slots.size();
+        } else {
+            Iterator<Integer> it = slots.values().iterator();
+            slot = it.next();
+            it.remove();
+        }
+        slots.put(shape, slot);
+        return slot;
+    }
+
+    void put(int slot, @NonNull ObjectNode taskTree) {
+        templates.put(slot, taskTree);
+    }
+
+    @NonNull Task create(int slot, @NonNull CommonId jobId, @NonNull CommonId taskId) throws JsonProcessingException {
+        ObjectNode template = templates.get(slot);
+        if (template == null) {
+            throw new IllegalStateException("No task template in slot " + slot + ".");
+        }
+        // The template is shared, so only replace the top level fields in a copy.
+        ObjectNode taskTree = JsonNodeFactory.instance.objectNode();
+        taskTree.setAll(template);
+        taskTree.put(ID, taskId.toString());
+        taskTree.put(JOB_ID, jobId.toString());
+        return JobImpl.PARSER.parse(taskTree, TaskImpl.class);
+    }
+}
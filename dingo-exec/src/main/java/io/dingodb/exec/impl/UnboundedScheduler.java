@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.exec.base.Scheduler;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs every piece of work on its own thread of the global pool, with no admission control.
+ */
+public final class UnboundedScheduler implements Scheduler {
+    public static final UnboundedScheduler INSTANCE = new UnboundedScheduler();
+
+    private UnboundedScheduler() {
+    }
+
+    @Override
+    public void admit(int priority, @NonNull Runnable onAdmitted) {
+        onAdmitted.run();
+    }
+
+    @Override
+    public void release() {
+    }
+
+    @Override
+    public void execute(@NonNull String name, int priority, @NonNull Runnable command) {
+        Executors.execute(name, command);
+    }
+
+    @Override
+    public void executeBlocking(@NonNull String name, @NonNull Runnable command) {
+        Executors.execute(name, command);
+    }
+
+    @Override
+    public <T> @NonNull CompletableFuture<T> submitStoreCall(@NonNull String name, @NonNull Supplier<T> call) {
+        return Executors.submit(name, call::get);
+    }
+}
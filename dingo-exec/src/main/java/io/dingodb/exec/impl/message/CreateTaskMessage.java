@@ -17,24 +17,43 @@
 package io.dingodb.exec.impl.message;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
-import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.JobImpl;
 import io.dingodb.exec.impl.TaskImpl;
 import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 @JsonTypeName("create")
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CreateTaskMessage extends TaskMessage {
     @JsonProperty("task")
     @Getter
-    private final Task task;
+    private final ObjectNode taskTree;
+    // The slot to keep the task as a template, if not null.
+    @JsonProperty("template")
+    @Getter
+    private final @Nullable Integer template;
 
     @JsonCreator
     public CreateTaskMessage(
-        @JsonDeserialize(as = TaskImpl.class)
-        @JsonProperty("task") Task task
+        @JsonProperty("task") ObjectNode taskTree,
+        @JsonProperty("template") @Nullable Integer template
     ) {
-        this.task = task;
+        this.taskTree = taskTree;
+        this.template = template;
+    }
+
+    public CreateTaskMessage(@NonNull Task task) {
+        this(JobImpl.PARSER.toTree(task), null);
+    }
+
+    public @NonNull Task createTask() throws JsonProcessingException {
+        return JobImpl.PARSER.parse(taskTree, TaskImpl.class);
     }
 }
@@ -50,17 +50,32 @@ public class RunTaskMessage extends TaskMessage {
     private final @NonNull DingoType parasType;
     @Getter
     private final Object @Nullable [] paras;
+    // The slot of the template to create the task from, if not null.
+    @JsonProperty("template")
+    @Getter
+    private final @Nullable Integer template;
 
     public RunTaskMessage(
         CommonId jobId,
         CommonId taskId,
         @NonNull DingoType parasType,
-        Object @Nullable [] paras
+        Object @Nullable [] paras,
+        @Nullable Integer template
     ) {
         this.jobId = jobId;
         this.taskId = taskId;
         this.parasType = parasType;
         this.paras = paras;
+        this.template = template;
+    }
+
+    public RunTaskMessage(
+        @NonNull Task task,
+        @NonNull DingoType parasType,
+        Object @Nullable [] paras,
+        @Nullable Integer template
+    ) {
+        this(task.getJobId(), task.getId(), parasType, paras, template);
     }
 
     public RunTaskMessage(
@@ -68,7 +83,7 @@ public class RunTaskMessage extends TaskMessage {
         @NonNull DingoType parasType,
         Object @Nullable [] paras
     ) {
-        this(task.getJobId(), task.getId(), parasType, paras);
+        this(task, parasType, paras, null);
     }
 
     @JsonCreator
@@ -77,13 +92,14 @@ public class RunTaskMessage extends TaskMessage {
         @JsonProperty("task") CommonId taskId,
         @NonNull @JsonProperty("parasType") DingoType parasType,
         @JsonDeserialize(using = RawJsonDeserializer.class)
-        @JsonProperty("paras") JsonNode paras
+        @JsonProperty("paras") JsonNode paras,
+        @JsonProperty("template") @Nullable Integer template
     ) {
         Object[] newParas = null;
         if (paras != null) {
             newParas = (Object[]) parasType.convertFrom(paras, JsonConverter.INSTANCE);
         }
-        return new RunTaskMessage(jobId, taskId, parasType, newParas);
+        return new RunTaskMessage(jobId, taskId, parasType, newParas, template);
     }
 
     @JsonProperty("paras")
@@ -19,9 +19,13 @@ package io.dingodb.exec.impl.message;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.exec.impl.JobImpl;
+import io.dingodb.expr.json.runtime.Parser;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
 @JsonTypeInfo(
@@ -35,7 +39,22 @@ import java.nio.charset.StandardCharsets;
 })
 @Slf4j
 public abstract class TaskMessage {
-    public static TaskMessage fromBytes(byte[] bytes) throws JsonProcessingException {
+    // Leading byte of binary encoded messages, the version of the encoding. Json encoded messages start with '{'.
+    public static final byte BINARY_V1 = 1;
+
+    private static final Parser BINARY_PARSER = Parser.SMILE;
+
+    public static TaskMessage fromBytes(byte @NonNull [] bytes) throws IOException {
+        if (bytes.length > 0 && bytes[0] == BINARY_V1) {
+            TaskMessage message = BINARY_PARSER.parse(bytes, 1, bytes.length - 1, TaskMessage.class);
+            if (log.isDebugEnabled()) {
+                log.debug("TaskMessage deserialized, content: {}", message);
+            }
+            return message;
+        }
+        if (bytes.length > 0 && bytes[0] != '{') {
+            throw new IllegalArgumentException("Unsupported TaskMessage encoding version " + bytes[0] + ".");
+        }
         String str = new String(bytes, StandardCharsets.UTF_8);
         if (log.isDebugEnabled()) {
             log.debug("TaskMessage deserialized, content: {}", str);
@@ -44,7 +63,18 @@ public abstract class TaskMessage {
     }
 
     public byte[] toBytes() {
-        return toString().getBytes(StandardCharsets.UTF_8);
+        if (!ExecutionConfiguration.TASK_CODEC_BINARY.equalsIgnoreCase(ExecutionConfiguration.taskCodec())) {
+            return toString().getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            byte[] content = BINARY_PARSER.serialize(this);
+            byte[] bytes = new byte[content.length + 1];
+            bytes[0] = BINARY_V1;
+            System.arraycopy(content, 0, bytes, 1, content.length);
+            return bytes;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
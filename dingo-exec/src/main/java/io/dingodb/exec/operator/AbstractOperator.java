@@ -27,6 +27,10 @@ import io.dingodb.exec.base.Operator;
 import io.dingodb.exec.base.Task;
 import lombok.Getter;
 import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.NAME,
@@ -34,6 +38,7 @@ import lombok.Setter;
 )
 @JsonSubTypes({
     @JsonSubTypes.Type(AggregateOperator.class),
+    @JsonSubTypes.Type(BroadcastOperator.class),
     @JsonSubTypes.Type(EmptySourceOperator.class),
     @JsonSubTypes.Type(CoalesceOperator.class),
     @JsonSubTypes.Type(FilterOperator.class),
@@ -42,6 +47,9 @@ import lombok.Setter;
     @JsonSubTypes.Type(HashJoinOperator.class),
     @JsonSubTypes.Type(HashOperator.class),
     @JsonSubTypes.Type(LikeScanOperator.class),
+    @JsonSubTypes.Type(LookupJoinOperator.class),
+    @JsonSubTypes.Type(MergeJoinOperator.class),
+    @JsonSubTypes.Type(OrderedScanOperator.class),
     @JsonSubTypes.Type(PartCountOperator.class),
     @JsonSubTypes.Type(PartDeleteOperator.class),
     @JsonSubTypes.Type(PartInsertOperator.class),
@@ -71,7 +79,36 @@ public abstract class AbstractOperator implements Operator {
     @Setter
     protected Task task;
 
+    // Callbacks of the sources waiting for the operator to be not full.
+    private final List<Runnable> availableCallbacks = new ArrayList<>();
+
     @Override
     public void setParas(Object[] paras) {
     }
+
+    @Override
+    public void whenAvailable(@NonNull Runnable callback) {
+        synchronized (availableCallbacks) {
+            if (isFull()) {
+                availableCallbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * Call the callbacks waiting for the operator, must be called after the operator becomes not full.
+     */
+    protected void onAvailable() {
+        List<Runnable> callbacks;
+        synchronized (availableCallbacks) {
+            if (availableCallbacks.isEmpty()) {
+                return;
+            }
+            callbacks = new ArrayList<>(availableCallbacks);
+            availableCallbacks.clear();
+        }
+        callbacks.forEach(Runnable::run);
+    }
 }
@@ -27,7 +27,9 @@ import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
 import io.dingodb.exec.aggregate.AggCache;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.List;
 
@@ -65,6 +67,14 @@ public final class AggregateOperator extends SoleOutOperator {
         return true;
     }
 
+    @Override
+    public synchronized boolean pushBatch(int pin, @NonNull TupleBatch batch) {
+        for (Object[] tuple : batch) {
+            cache.addTuple(tuple);
+        }
+        return true;
+    }
+
     @Override
     public synchronized void fin(int pin, Fin fin) {
         for (Object[] t : cache) {
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.impl.OutputIml;
+import io.dingodb.exec.tuple.TupleBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Push every tuple to all the outputs, used to replicate the build side of a broadcast join.
+ */
+@Slf4j
+@JsonTypeName("broadcast")
+@JsonPropertyOrder({"outputs"})
+public class BroadcastOperator extends AbstractOperator {
+    @JsonProperty("outputs")
+    @JsonSerialize(contentAs = OutputIml.class)
+    @JsonDeserialize(contentAs = OutputIml.class)
+    private List<Output> outputs;
+    // Outputs still wanting tuples, an output is not pushed to again in a run once it returned false.
+    private boolean[] live;
+
+    @JsonCreator
+    public BroadcastOperator() {
+        super();
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        live = new boolean[outputs.size()];
+        Arrays.fill(live, true);
+    }
+
+    @Override
+    public synchronized boolean push(int pin, Object @NonNull [] tuple) {
+        boolean more = false;
+        for (int i = 0; i < live.length; ++i) {
+            if (live[i]) {
+                live[i] = outputs.get(i).push(tuple);
+                more |= live[i];
+            }
+        }
+        return more;
+    }
+
+    @Override
+    public synchronized boolean pushBatch(int pin, @NonNull TupleBatch batch) {
+        boolean more = false;
+        for (int i = 0; i < live.length; ++i) {
+            if (live[i]) {
+                live[i] = outputs.get(i).pushBatch(batch);
+                more |= live[i];
+            }
+        }
+        return more;
+    }
+
+    @Override
+    public synchronized void fin(int pin, Fin fin) {
+        if (log.isDebugEnabled()) {
+            log.debug("Got FIN, push it to {} outputs", outputs.size());
+        }
+        for (Output output : outputs) {
+            output.fin(fin);
+        }
+    }
+
+    @Override
+    public synchronized void setParas(Object[] paras) {
+        Arrays.fill(live, true);
+        super.setParas(paras);
+    }
+
+    @Override
+    public @NonNull Collection<Output> getOutputs() {
+        return outputs;
+    }
+
+    public void createOutputs(int num) {
+        outputs = new ArrayList<>(num);
+        for (int i = 0; i < num; ++i) {
+            outputs.add(OutputIml.of(this));
+        }
+    }
+}
@@ -22,9 +22,11 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.impl.OutputIml;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -46,6 +48,24 @@ public abstract class FanOutOperator extends AbstractOperator {
         return outputs.get(index).push(tuple);
     }
 
+    @Override
+    public synchronized boolean pushBatch(int pin, @NonNull TupleBatch batch) {
+        List<List<Object[]>> buckets = new ArrayList<>(outputs.size());
+        for (int i = 0; i < outputs.size(); ++i) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Object[] tuple : batch) {
+            buckets.get(calcOutputIndex(pin, tuple)).add(tuple);
+        }
+        for (int i = 0; i < outputs.size(); ++i) {
+            List<Object[]> bucket = buckets.get(i);
+            if (!bucket.isEmpty() && !outputs.get(i).pushBatch(TupleBatch.of(bucket))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public synchronized void fin(int pin, Fin fin) {
         if (log.isDebugEnabled()) {
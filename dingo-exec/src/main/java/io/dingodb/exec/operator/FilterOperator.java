@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 @JsonTypeName("filter")
 @JsonPropertyOrder({"filter", "schema", "output"})
@@ -58,6 +60,15 @@ public final class FilterOperator extends SoleOutOperator {
         return true;
     }
 
+    @Override
+    public synchronized boolean pushBatch(int pin, @NonNull TupleBatch batch) {
+        batch.filter(tuple -> {
+            Boolean v = (Boolean) filter.eval(tuple);
+            return v != null && v;
+        });
+        return batch.isEmpty() || output.pushBatch(batch);
+    }
+
     @Override
     public synchronized void fin(int pin, Fin fin) {
         output.fin(fin);
@@ -35,10 +35,10 @@ import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.Optional;
 import io.dingodb.exec.codec.RawJsonDeserializer;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.table.BatchGetIterator;
+import io.dingodb.exec.table.PartInKvStore;
 import io.dingodb.partition.DingoPartitionServiceProvider;
 import io.dingodb.partition.PartitionService;
-import io.dingodb.exec.table.PartInKvStore;
-import io.dingodb.store.api.StoreInstance;
 import io.dingodb.store.api.StoreService;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -158,21 +158,19 @@ public final class GetByIndexOperator extends PartIteratorSourceOperator {
 
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator() {
-        List<Iterator<Object[]>> iteratorList = scan();
-        List<Object[]> objectList = new ArrayList<>();
-        for (Iterator<Object[]> iterator : iteratorList) {
+        List<Object[]> indexTuples = new ArrayList<>();
+        for (Iterator<Object[]> iterator : scan()) {
             while (iterator.hasNext()) {
-                Object[] objects = iterator.next();
-                if (isLookup) {
-                    Object[] val = lookUp(objects);
-                    if (val != null) {
-                        objectList.add(val);
-                    }
-                } else {
-                    objectList.add(transformTuple(objects));
-                }
+                indexTuples.add(iterator.next());
             }
         }
+        if (isLookup) {
+            return lookUp(indexTuples);
+        }
+        List<Object[]> objectList = new ArrayList<>(indexTuples.size());
+        for (Object[] tuple : indexTuples) {
+            objectList.add(transformTuple(tuple));
+        }
         return objectList.iterator();
     }
 
@@ -199,23 +197,26 @@ public final class GetByIndexOperator extends PartIteratorSourceOperator {
         }
     }
 
-    private Object[] lookUp(Object[] tuples) {
-        Object[] keyTuples = new Object[tableDefinition.getColumnsCount()];
-        for (int i = 0; i < indices.getMappings().length; i ++) {
-            keyTuples[indices.get(i)] = tuples[i];
-        }
-        try {
-            byte[] keys = lookupCodec.encodeKey(keyTuples);
-            CommonId regionId = PartitionService.getService(
-                    Optional.ofNullable(tableDefinition.getPartDefinition())
-                        .map(PartitionDefinition::getFuncName)
-                        .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME)).
-                calcPartId(keys, ranges);
-            StoreInstance storeInstance = StoreService.getDefault().getInstance(tableId, regionId);
-            return lookupCodec.decode(storeInstance.get(keys));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    /**
+     * Look up the table rows of the index tuples, with keys grouped by region and sent in batches.
+     */
+    private @NonNull Iterator<Object[]> lookUp(@NonNull List<Object[]> indexTuples) {
+        PartitionService partitionService = PartitionService.getService(
+            Optional.ofNullable(tableDefinition.getPartDefinition())
+                .map(PartitionDefinition::getFuncName)
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME)
+        );
+        List<Object[]> keyTuples = new ArrayList<>(indexTuples.size());
+        for (Object[] tuple : indexTuples) {
+            Object[] keyTuple = new Object[tableDefinition.getColumnsCount()];
+            for (int i = 0; i < indices.getMappings().length; i++) {
+                keyTuple[indices.get(i)] = tuple[i];
+            }
+            keyTuples.add(keyTuple);
         }
+        return BatchGetIterator.getByKeys(
+            StoreService.getDefault(), tableId, lookupCodec, partitionService, ranges, keyTuples
+        );
     }
 
     private Object[] transformTuple(Object[] tuple) {
@@ -22,21 +22,26 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.collect.Lists;
 import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.codec.RawJsonDeserializer;
 import io.dingodb.exec.converter.JsonConverter;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.table.BatchGetIterator;
 import io.dingodb.exec.table.PartInKvStore;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -45,6 +50,8 @@ import java.util.stream.Collectors;
 public final class GetByKeysOperator extends PartIteratorSourceOperator {
     private final List<Object[]> keyTuples;
 
+    private KeyValueCodec codec;
+
     public GetByKeysOperator(
         CommonId tableId,
         CommonId partId,
@@ -82,11 +89,22 @@ public final class GetByKeysOperator extends PartIteratorSourceOperator {
 
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator() {
-        return keyTuples.stream()
-            .map(part::get)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList())
-            .iterator();
+        return new BatchGetIterator<>(
+            Lists.partition(keyTuples, ExecutionConfiguration.multiGetBatchSize()).iterator(),
+            batch -> part.get(encodeKeys(batch))
+        );
+    }
+
+    private @NonNull List<byte[]> encodeKeys(@NonNull List<Object[]> tuples) {
+        List<byte[]> keys = new ArrayList<>(tuples.size());
+        try {
+            for (Object[] tuple : tuples) {
+                keys.add(codec.encodeKey(tuple));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return keys;
     }
 
     // This method is only used by json serialization.
@@ -100,9 +118,7 @@ public final class GetByKeysOperator extends PartIteratorSourceOperator {
     @Override
     public void init() {
         super.init();
-        part = new PartInKvStore(
-            Services.KV_STORE.getInstance(tableId, partId),
-            CodecService.getDefault().createKeyValueCodec(schema, keyMapping)
-        );
+        codec = CodecService.getDefault().createKeyValueCodec(schema, keyMapping);
+        part = new PartInKvStore(Services.KV_STORE.getInstance(tableId, partId), codec);
     }
 }
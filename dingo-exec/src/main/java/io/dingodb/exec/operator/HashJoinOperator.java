@@ -20,20 +20,47 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.OperatorProfile;
 import io.dingodb.exec.operator.data.TupleWithJoinFlag;
+import io.dingodb.exec.spill.MemoryEstimator;
+import io.dingodb.exec.spill.SpillFile;
 import io.dingodb.exec.tuple.TupleKey;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
 
+/**
+ * Hybrid hash join.
+ *
+ * <p>The right (build) side is hash partitioned by join key. When the in-memory size of the build side exceeds the
+ * memory budget, the largest in-memory partitions are spilled to disk, and the left (probe) tuples falling into
+ * spilled partitions are spilled too. Spilled partitions are joined one by one after the left side finished. If the
+ * build side of a spilled partition still does not fit in the budget, the partition is split again by a hash of the
+ * next level, up to {@link #MAX_SPILL_LEVEL} levels, beyond which a partition (of a skewed key) is loaded as a whole.
+ *
+ * <p>The memory budget applies to each join operator, so a task with several joins may use a multiple of it.
+ */
+@Slf4j
 @JsonTypeName("hashJoin")
-@JsonPropertyOrder({"joinType", "leftMapping", "rightMapping"})
-public class  HashJoinOperator extends SoleOutOperator {
+@JsonPropertyOrder({"joinType", "leftMapping", "rightMapping", "leftSchema", "rightSchema"})
+public class HashJoinOperator extends SoleOutOperator {
+    public static final int PARTITION_NUM = 16;
+    public static final int MAX_SPILL_LEVEL = 3;
+
     @JsonProperty("leftMapping")
     private final TupleMapping leftMapping;
     @JsonProperty("rightMapping")
@@ -47,9 +74,19 @@ public class  HashJoinOperator extends SoleOutOperator {
     private final boolean leftRequired;
     @JsonProperty("rightRequired")
     private final boolean rightRequired;
+    // Schemas are needed to encode spilled tuples, spilling is disabled if they are absent.
+    @JsonProperty("leftSchema")
+    private final DingoType leftSchema;
+    @JsonProperty("rightSchema")
+    private final DingoType rightSchema;
 
     boolean rightFinFlag;
-    private ConcurrentHashMap<TupleKey, List<TupleWithJoinFlag>> hashMap;
+    private Partition[] partitions;
+    private long memoryBudget;
+    private long memoryUsed;
+    private long spillBytes;
+    private long startTimeStamp;
+    private long count;
 
     @JsonCreator
     public HashJoinOperator(
@@ -58,7 +95,9 @@ public class  HashJoinOperator extends SoleOutOperator {
         @JsonProperty("leftLength") int leftLength,
         @JsonProperty("rightLength") int rightLength,
         @JsonProperty("leftRequired") boolean leftRequired,
-        @JsonProperty("rightRequired") boolean rightRequired
+        @JsonProperty("rightRequired") boolean rightRequired,
+        @JsonProperty("leftSchema") DingoType leftSchema,
+        @JsonProperty("rightSchema") DingoType rightSchema
     ) {
         this.leftMapping = leftMapping;
         this.rightMapping = rightMapping;
@@ -66,77 +105,332 @@ public class  HashJoinOperator extends SoleOutOperator {
         this.rightLength = rightLength;
         this.leftRequired = leftRequired;
         this.rightRequired = rightRequired;
+        this.leftSchema = leftSchema;
+        this.rightSchema = rightSchema;
         rightFinFlag = false;
     }
 
+    /**
+     * Get the partition of a key at a level of partitioning. Each level mixes the hash with a different seed, so that
+     * keys falling into the same partition are spread when the partition is split again.
+     */
+    private static int partitionOf(@NonNull TupleKey key, int level) {
+        int h = key.hashCode() + level * 0x9E3779B9;
+        h ^= (h >>> 16);
+        h *= 0x85EBCA6B;
+        h ^= (h >>> 13);
+        h *= 0xC2B2AE35;
+        h ^= (h >>> 16);
+        return (h & 0x7FFFFFFF) % PARTITION_NUM;
+    }
+
     @Override
     public void init() {
         super.init();
-        hashMap = new ConcurrentHashMap<>();
+        partitions = new Partition[PARTITION_NUM];
+        for (int i = 0; i < PARTITION_NUM; ++i) {
+            partitions[i] = new Partition();
+        }
+        boolean spillable = leftSchema != null && rightSchema != null;
+        memoryBudget = spillable ? ExecutionConfiguration.joinMemoryBudget() : 0;
+        memoryUsed = 0;
+        spillBytes = 0;
+        count = 0;
+        startTimeStamp = System.currentTimeMillis();
+    }
+
+    @Override
+    public boolean mayBlock(int pin) {
+        // The left input waits for the right one to finish.
+        return pin == 0;
     }
 
     @Override
     public synchronized boolean push(int pin, Object[] tuple) {
-        if (pin == 0) { // left
-            waitRightFinFlag();
-            TupleKey leftKey = new TupleKey(leftMapping.revMap(tuple));
-            List<TupleWithJoinFlag> rightList = hashMap.get(leftKey);
-            if (rightList != null) {
-                for (TupleWithJoinFlag t : rightList) {
-                    Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                    t.setJoined(true);
-                    if (!output.push(newTuple)) {
-                        return false;
-                    }
+        try {
+            if (pin == 0) { // left
+                waitRightFinFlag();
+                TupleKey leftKey = new TupleKey(leftMapping.revMap(tuple));
+                Partition partition = partitions[partitionOf(leftKey, 0)];
+                if (partition.isSpilled()) {
+                    partition.leftSpill.add(tuple);
+                    return true;
+                }
+                return probe(partition.hashMap, leftKey, tuple);
+            } else if (pin == 1) { //right
+                TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
+                Partition partition = partitions[partitionOf(rightKey, 0)];
+                if (partition.isSpilled()) {
+                    partition.rightSpill.add(tuple);
+                    return true;
+                }
+                List<TupleWithJoinFlag> list = partition.hashMap.computeIfAbsent(rightKey, k -> new LinkedList<>());
+                list.add(new TupleWithJoinFlag(tuple));
+                long size = MemoryEstimator.estimate(tuple);
+                partition.memoryUsed += size;
+                memoryUsed += size;
+                if (memoryBudget > 0 && memoryUsed > memoryBudget) {
+                    spillPartitions();
                 }
-            } else if (leftRequired) {
-                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
-                return output.push(newTuple);
             }
-        } else if (pin == 1) { //right
-            TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
-            List<TupleWithJoinFlag> list = hashMap.computeIfAbsent(rightKey, k -> new LinkedList<>());
-            list.add(new TupleWithJoinFlag(tuple));
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        return true;
     }
 
     @Override
     public synchronized void fin(int pin, Fin fin) {
         if (fin instanceof FinWithException) {
             output.fin(fin);
+            release();
             return;
         }
 
         if (pin == 0) { // left
-            if (rightRequired) {
-                // should wait in case of no data push to left.
-                waitRightFinFlag();
-                outer:
-                for (List<TupleWithJoinFlag> tList : hashMap.values()) {
-                    for (TupleWithJoinFlag t : tList) {
-                        if (!t.isJoined()) {
-                            Object[] newTuple = new Object[leftLength + rightLength];
-                            Arrays.fill(newTuple, 0, leftLength, null);
-                            System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                            if (!output.push(newTuple)) {
-                                break outer;
-                            }
+            try {
+                boolean more = true;
+                if (rightRequired) {
+                    // should wait in case of no data push to left.
+                    waitRightFinFlag();
+                    for (Partition partition : partitions) {
+                        if (!partition.isSpilled() && !pushNotJoined(partition.hashMap)) {
+                            more = false;
+                            break;
                         }
                     }
                 }
+                // If the right side is not finished, no left tuples were pushed and no right tuples are required.
+                if (more && rightFinFlag) {
+                    joinSpilledPartitions();
+                }
+            } catch (IOException e) {
+                release();
+                throw new RuntimeException(e);
             }
-            output.fin(fin);
-            // Reset
-            hashMap.clear();
+            // Reset, before making the profile to count all spilled bytes.
+            release();
+            output.fin(withProfile(fin));
         } else if (pin == 1) { //right
             rightFinFlag = true;
             notify();
         }
     }
 
+    private boolean probe(
+        @NonNull Map<TupleKey, List<TupleWithJoinFlag>> hashMap,
+        TupleKey leftKey,
+        Object @NonNull [] tuple
+    ) {
+        List<TupleWithJoinFlag> rightList = hashMap.get(leftKey);
+        if (rightList != null) {
+            for (TupleWithJoinFlag t : rightList) {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
+                t.setJoined(true);
+                ++count;
+                if (!output.push(newTuple)) {
+                    return false;
+                }
+            }
+        } else if (leftRequired) {
+            Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+            Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            ++count;
+            return output.push(newTuple);
+        }
+        return true;
+    }
+
+    private boolean pushNotJoined(@NonNull Map<TupleKey, List<TupleWithJoinFlag>> hashMap) {
+        for (List<TupleWithJoinFlag> tList : hashMap.values()) {
+            for (TupleWithJoinFlag t : tList) {
+                if (!t.isJoined()) {
+                    Object[] newTuple = new Object[leftLength + rightLength];
+                    Arrays.fill(newTuple, 0, leftLength, null);
+                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
+                    ++count;
+                    if (!output.push(newTuple)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Spill the largest in-memory partitions until the memory used is within the budget.
+     */
+    private void spillPartitions() throws IOException {
+        while (memoryUsed > memoryBudget) {
+            Partition victim = null;
+            for (Partition partition : partitions) {
+                if (!partition.isSpilled() && (victim == null || partition.memoryUsed > victim.memoryUsed)) {
+                    victim = partition;
+                }
+            }
+            if (victim == null || victim.memoryUsed == 0) {
+                return;
+            }
+            SpillFile rightSpill = new SpillFile(rightSchema);
+            SpillFile leftSpill;
+            try {
+                leftSpill = new SpillFile(leftSchema);
+            } catch (IOException | RuntimeException e) {
+                // Do not leave the partition half spilled, nor the right file on disk.
+                rightSpill.close();
+                throw e;
+            }
+            victim.rightSpill = rightSpill;
+            victim.leftSpill = leftSpill;
+            for (List<TupleWithJoinFlag> tList : victim.hashMap.values()) {
+                for (TupleWithJoinFlag t : tList) {
+                    victim.rightSpill.add(t.getTuple());
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "Hash join operator {} spilled partition of {} bytes in memory, {} right tuples.",
+                    id, victim.memoryUsed, victim.rightSpill.getCount()
+                );
+            }
+            memoryUsed -= victim.memoryUsed;
+            victim.memoryUsed = 0;
+            victim.hashMap = new HashMap<>();
+        }
+    }
+
+    private void joinSpilledPartitions() throws IOException {
+        // In-memory partitions are fully joined, release them first.
+        for (Partition partition : partitions) {
+            if (!partition.isSpilled()) {
+                partition.hashMap.clear();
+                memoryUsed -= partition.memoryUsed;
+                partition.memoryUsed = 0;
+            }
+        }
+        for (Partition partition : partitions) {
+            if (!partition.isSpilled()) {
+                continue;
+            }
+            boolean more = joinSpilled(partition.rightSpill, partition.leftSpill, 1);
+            spillBytes += partition.closeSpill();
+            if (!more) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Join the spilled tuples of a partition. If the right tuples exceed the memory budget, both sides are split by
+     * the hash of {@code level} and the split partitions are joined recursively.
+     *
+     * @return {@code false} if the output does not want more tuples
+     */
+    private boolean joinSpilled(@NonNull SpillFile right, @NonNull SpillFile left, int level) throws IOException {
+        Map<TupleKey, List<TupleWithJoinFlag>> hashMap = new HashMap<>();
+        long size = 0;
+        try (SpillFile.SpillIterator rightIt = right.iterator()) {
+            while (rightIt.hasNext()) {
+                Object[] tuple = rightIt.next();
+                size += MemoryEstimator.estimate(tuple);
+                if (size > memoryBudget && level <= MAX_SPILL_LEVEL) {
+                    hashMap = null;
+                    break;
+                }
+                TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
+                hashMap.computeIfAbsent(rightKey, k -> new ArrayList<>(1)).add(new TupleWithJoinFlag(tuple));
+            }
+        }
+        if (hashMap == null) {
+            return repartition(right, left, level);
+        }
+        try (SpillFile.SpillIterator leftIt = left.iterator()) {
+            while (leftIt.hasNext()) {
+                Object[] tuple = leftIt.next();
+                if (!probe(hashMap, new TupleKey(leftMapping.revMap(tuple)), tuple)) {
+                    return false;
+                }
+            }
+        }
+        return !rightRequired || pushNotJoined(hashMap);
+    }
+
+    private boolean repartition(@NonNull SpillFile right, @NonNull SpillFile left, int level) throws IOException {
+        SpillFile[] rights = new SpillFile[PARTITION_NUM];
+        SpillFile[] lefts = new SpillFile[PARTITION_NUM];
+        try {
+            for (int i = 0; i < PARTITION_NUM; ++i) {
+                rights[i] = new SpillFile(rightSchema);
+                lefts[i] = new SpillFile(leftSchema);
+            }
+            try (SpillFile.SpillIterator it = right.iterator()) {
+                while (it.hasNext()) {
+                    Object[] tuple = it.next();
+                    rights[partitionOf(new TupleKey(rightMapping.revMap(tuple)), level)].add(tuple);
+                }
+            }
+            try (SpillFile.SpillIterator it = left.iterator()) {
+                while (it.hasNext()) {
+                    Object[] tuple = it.next();
+                    lefts[partitionOf(new TupleKey(leftMapping.revMap(tuple)), level)].add(tuple);
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "Hash join operator {} split spilled partition of {} right tuples at level {}.",
+                    id, right.getCount(), level
+                );
+            }
+            for (int i = 0; i < PARTITION_NUM; ++i) {
+                if (!joinSpilled(rights[i], lefts[i], level + 1)) {
+                    return false;
+                }
+                spillBytes += closeSpill(rights[i]) + closeSpill(lefts[i]);
+                rights[i] = null;
+                lefts[i] = null;
+            }
+            return true;
+        } finally {
+            for (int i = 0; i < PARTITION_NUM; ++i) {
+                spillBytes += closeSpill(rights[i]) + closeSpill(lefts[i]);
+            }
+        }
+    }
+
+    private static long closeSpill(SpillFile file) {
+        if (file == null) {
+            return 0;
+        }
+        file.close();
+        return file.getBytes();
+    }
+
+    private @NonNull Fin withProfile(Fin fin) {
+        if (!(fin instanceof FinWithProfiles)) {
+            return fin;
+        }
+        OperatorProfile profile = new OperatorProfile();
+        profile.setOperatorId(id);
+        profile.setStartTimeStamp(startTimeStamp);
+        profile.setEndTimeStamp(System.currentTimeMillis());
+        profile.setProcessedTupleCount(count);
+        profile.setSpillBytes(spillBytes);
+        List<OperatorProfile> profiles = new LinkedList<>(((FinWithProfiles) fin).getProfiles());
+        profiles.add(profile);
+        return new FinWithProfiles(profiles);
+    }
+
+    private void release() {
+        for (Partition partition : partitions) {
+            spillBytes += partition.closeSpill();
+            partition.hashMap.clear();
+            partition.memoryUsed = 0;
+        }
+        memoryUsed = 0;
+    }
+
     private void waitRightFinFlag() {
         while (!rightFinFlag) {
             try {
@@ -145,4 +439,30 @@ public class  HashJoinOperator extends SoleOutOperator {
             }
         }
     }
+
+    private static class Partition {
+        private Map<TupleKey, List<TupleWithJoinFlag>> hashMap = new HashMap<>();
+        private long memoryUsed = 0;
+        private SpillFile rightSpill;
+        private SpillFile leftSpill;
+
+        boolean isSpilled() {
+            return rightSpill != null;
+        }
+
+        long closeSpill() {
+            long bytes = 0;
+            if (rightSpill != null) {
+                bytes += rightSpill.getBytes();
+                rightSpill.close();
+                rightSpill = null;
+            }
+            if (leftSpill != null) {
+                bytes += leftSpill.getBytes();
+                leftSpill.close();
+                leftSpill = null;
+            }
+            return bytes;
+        }
+    }
 }
@@ -16,7 +16,9 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.exec.fin.OperatorProfile;
+import io.dingodb.exec.tuple.TupleBatch;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -24,26 +26,76 @@ import java.util.Iterator;
 
 @Slf4j
 public abstract class IteratorSourceOperator extends SourceOperator {
+    // State of a push yielded in the middle, kept for the next push.
+    private Iterator<Object[]> iterator;
+    private OperatorProfile profile;
+    private long count;
+
     @Override
     public boolean push() {
-        long count = 0;
+        try {
+            return pushSlice();
+        } catch (RuntimeException e) {
+            iterator = null;
+            profile = null;
+            throw e;
+        }
+    }
+
+    private boolean pushSlice() {
+        if (iterator == null) {
+            profile = getProfile();
+            profile.setStartTimeStamp(System.currentTimeMillis());
+            iterator = createIterator();
+            count = 0;
+        }
         long startTime = System.currentTimeMillis();
-        OperatorProfile profile = getProfile();
-        profile.setStartTimeStamp(startTime);
-        Iterator<Object[]> iterator = createIterator();
-        while (iterator.hasNext()) {
-            Object[] tuple = iterator.next();
-            ++count;
-            if (!output.push(tuple)) {
-                break;
+        int yieldTuples = ExecutionConfiguration.sourceYieldTuples();
+        long limit = yieldTuples > 0 ? count + yieldTuples : Long.MAX_VALUE;
+        boolean more = true;
+        int batchSize = ExecutionConfiguration.batchSize();
+        if (batchSize > 1) {
+            Object[][] tuples = new Object[batchSize][];
+            int size = 0;
+            while (iterator.hasNext()) {
+                tuples[size++] = iterator.next();
+                ++count;
+                if (size == batchSize || !iterator.hasNext()) {
+                    if (!output.pushBatch(new TupleBatch(tuples, size))) {
+                        more = false;
+                        break;
+                    }
+                    if (count >= limit || isDownstreamFull()) {
+                        break;
+                    }
+                    tuples = new Object[batchSize][];
+                    size = 0;
+                }
+            }
+        } else {
+            while (iterator.hasNext()) {
+                Object[] tuple = iterator.next();
+                ++count;
+                if (!output.push(tuple)) {
+                    more = false;
+                    break;
+                }
+                if (count >= limit || isDownstreamFull()) {
+                    break;
+                }
             }
         }
         if (log.isDebugEnabled()) {
             log.debug("IteratorSourceOperator push,  count: {}, cost: {}ms.", count,
                 System.currentTimeMillis() - startTime);
         }
+        if (more && iterator.hasNext()) {
+            return true;
+        }
         profile.setProcessedTupleCount(count);
         profile.setEndTimeStamp(System.currentTimeMillis());
+        iterator = null;
+        profile = null;
         return false;
     }
 
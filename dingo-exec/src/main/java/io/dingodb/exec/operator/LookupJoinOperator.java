@@ -0,0 +1,319 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.partition.PartitionDefinition;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.common.util.Optional;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.table.BatchGetIterator;
+import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.expr.runtime.op.logical.RtLogicalOp;
+import io.dingodb.partition.DingoPartitionServiceProvider;
+import io.dingodb.partition.PartitionService;
+import io.dingodb.store.api.StoreService;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+
+import static io.dingodb.common.util.Utils.calculatePrefixCount;
+
+/**
+ * Index nested-loop join.
+ *
+ * <p>Left (outer) tuples are buffered, and for each batch of them, the right (inner) table is looked up by batched
+ * point gets on the primary key, or by batched prefix scans on a secondary index followed by batched point gets. So
+ * the inner table is never scanned entirely.
+ */
+@Slf4j
+@JsonTypeName("lookupJoin")
+@JsonPropertyOrder({
+    "tableId", "tableDefinition", "distributions",
+    "indexId", "indexDefinition", "indexDistributions", "indexMapping",
+    "leftMapping", "rightMapping", "lookupLeftMapping", "lookupMapping",
+    "filter", "selection", "leftLength", "leftRequired", "output"
+})
+public final class LookupJoinOperator extends SoleOutOperator {
+    @JsonProperty("tableId")
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final CommonId tableId;
+    @JsonProperty("tableDefinition")
+    private final TableDefinition tableDefinition;
+    @JsonProperty("distributions")
+    @JsonSerialize(keyUsing = ComparableByteArray.JacksonKeySerializer.class)
+    @JsonDeserialize(keyUsing = ComparableByteArray.JacksonKeyDeserializer.class)
+    private final NavigableMap<ComparableByteArray, RangeDistribution> distributions;
+    // Index fields are absent if the table is looked up by primary key.
+    @JsonProperty("indexId")
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final CommonId indexId;
+    @JsonProperty("indexDefinition")
+    private final TableDefinition indexDefinition;
+    @JsonProperty("indexDistributions")
+    @JsonSerialize(keyUsing = ComparableByteArray.JacksonKeySerializer.class)
+    @JsonDeserialize(keyUsing = ComparableByteArray.JacksonKeyDeserializer.class)
+    private final NavigableMap<ComparableByteArray, RangeDistribution> indexDistributions;
+    // Table column index of each index column.
+    @JsonProperty("indexMapping")
+    private final TupleMapping indexMapping;
+    // Join keys in left tuples and in selected right tuples.
+    @JsonProperty("leftMapping")
+    private final TupleMapping leftMapping;
+    @JsonProperty("rightMapping")
+    private final TupleMapping rightMapping;
+    // Join keys in left tuples used to look up, and their columns in the table or the index.
+    @JsonProperty("lookupLeftMapping")
+    private final TupleMapping lookupLeftMapping;
+    @JsonProperty("lookupMapping")
+    private final TupleMapping lookupMapping;
+    @JsonProperty("filter")
+    private final SqlExpr filter;
+    @JsonProperty("selection")
+    private final TupleMapping selection;
+    @JsonProperty("leftLength")
+    private final int leftLength;
+    @JsonProperty("leftRequired")
+    private final boolean leftRequired;
+
+    private StoreService storeService;
+    private KeyValueCodec codec;
+    private KeyValueCodec indexCodec;
+    private PartitionService partitionService;
+    private PartitionService indexPartitionService;
+    private int rightLength;
+    private int batchSize;
+    private List<Object[]> batch;
+
+    @JsonCreator
+    public LookupJoinOperator(
+        @JsonProperty("tableId") CommonId tableId,
+        @JsonProperty("tableDefinition") TableDefinition tableDefinition,
+        @JsonProperty("distributions") NavigableMap<ComparableByteArray, RangeDistribution> distributions,
+        @JsonProperty("indexId") CommonId indexId,
+        @JsonProperty("indexDefinition") TableDefinition indexDefinition,
+        @JsonProperty("indexDistributions") NavigableMap<ComparableByteArray, RangeDistribution> indexDistributions,
+        @JsonProperty("indexMapping") TupleMapping indexMapping,
+        @JsonProperty("leftMapping") TupleMapping leftMapping,
+        @JsonProperty("rightMapping") TupleMapping rightMapping,
+        @JsonProperty("lookupLeftMapping") TupleMapping lookupLeftMapping,
+        @JsonProperty("lookupMapping") TupleMapping lookupMapping,
+        @JsonProperty("filter") SqlExpr filter,
+        @JsonProperty("selection") TupleMapping selection,
+        @JsonProperty("leftLength") int leftLength,
+        @JsonProperty("leftRequired") boolean leftRequired
+    ) {
+        super();
+        this.tableId = tableId;
+        this.tableDefinition = tableDefinition;
+        this.distributions = distributions;
+        this.indexId = indexId;
+        this.indexDefinition = indexDefinition;
+        this.indexDistributions = indexDistributions;
+        this.indexMapping = indexMapping;
+        this.leftMapping = leftMapping;
+        this.rightMapping = rightMapping;
+        this.lookupLeftMapping = lookupLeftMapping;
+        this.lookupMapping = lookupMapping;
+        this.filter = filter;
+        this.selection = selection;
+        this.leftLength = leftLength;
+        this.leftRequired = leftRequired;
+    }
+
+    private static PartitionService partitionService(@NonNull TableDefinition definition) {
+        return PartitionService.getService(
+            Optional.ofNullable(definition.getPartDefinition())
+                .map(PartitionDefinition::getFuncName)
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME)
+        );
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        storeService = StoreService.getDefault();
+        codec = CodecService.getDefault().createKeyValueCodec(tableDefinition);
+        partitionService = partitionService(tableDefinition);
+        if (indexId != null) {
+            indexCodec = CodecService.getDefault().createKeyValueCodec(indexDefinition.getColumns());
+            indexPartitionService = partitionService(indexDefinition);
+        }
+        DingoType schema = tableDefinition.getDingoType();
+        if (selection != null) {
+            schema = schema.select(selection);
+        }
+        rightLength = schema.fieldCount();
+        if (filter != null) {
+            filter.compileIn(schema, getParasType());
+        }
+        batchSize = ExecutionConfiguration.multiGetBatchSize();
+        batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public synchronized boolean push(int pin, Object[] tuple) {
+        batch.add(tuple);
+        if (batch.size() >= batchSize) {
+            return flush();
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void fin(int pin, Fin fin) {
+        if (!(fin instanceof FinWithException)) {
+            flush();
+        }
+        output.fin(fin);
+        batch.clear();
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        super.setParas(paras);
+        if (filter != null) {
+            filter.setParas(paras);
+        }
+    }
+
+    private boolean flush() {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        Set<TupleKey> lookupKeys = new LinkedHashSet<>();
+        for (Object[] tuple : batch) {
+            Object[] key = lookupLeftMapping.revMap(tuple);
+            // Null never equals to anything.
+            if (Arrays.stream(key).allMatch(Objects::nonNull)) {
+                lookupKeys.add(new TupleKey(key));
+            }
+        }
+        Map<TupleKey, List<Object[]>> rightTuples = new HashMap<>();
+        for (Object[] row : lookUp(lookupKeys)) {
+            Object[] tuple = selection != null ? selection.revMap(row) : row;
+            if (filter != null && !RtLogicalOp.test(filter.eval(tuple))) {
+                continue;
+            }
+            rightTuples.computeIfAbsent(new TupleKey(rightMapping.revMap(tuple)), k -> new ArrayList<>()).add(tuple);
+        }
+        List<Object[]> tuples = batch;
+        batch = new ArrayList<>(batchSize);
+        for (Object[] tuple : tuples) {
+            List<Object[]> matched = rightTuples.getOrDefault(
+                new TupleKey(leftMapping.revMap(tuple)),
+                Collections.emptyList()
+            );
+            for (Object[] right : matched) {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                System.arraycopy(right, 0, newTuple, leftLength, rightLength);
+                if (!output.push(newTuple)) {
+                    return false;
+                }
+            }
+            if (matched.isEmpty() && leftRequired) {
+                if (!output.push(Arrays.copyOf(tuple, leftLength + rightLength))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Look up the table rows of the keys, by primary key or by index.
+     */
+    private @NonNull List<Object[]> lookUp(@NonNull Set<TupleKey> keys) {
+        try {
+            if (indexId == null) {
+                List<Object[]> keyTuples = new ArrayList<>(keys.size());
+                for (TupleKey key : keys) {
+                    Object[] keyTuple = new Object[tableDefinition.getColumnsCount()];
+                    lookupMapping.map(keyTuple, key.getTuple());
+                    keyTuples.add(keyTuple);
+                }
+                return getByKeys(keyTuples);
+            }
+            List<byte[]> prefixes = new ArrayList<>(keys.size());
+            for (TupleKey key : keys) {
+                Object[] indexTuple = new Object[indexDefinition.getColumnsCount()];
+                lookupMapping.map(indexTuple, key.getTuple());
+                prefixes.add(indexCodec.encodeKeyPrefix(indexTuple, calculatePrefixCount(indexTuple)));
+            }
+            Iterator<Object[]> iterator = BatchGetIterator.scanByPrefixes(
+                storeService,
+                indexId,
+                indexDefinition,
+                indexCodec,
+                indexPartitionService,
+                indexDistributions,
+                prefixes
+            );
+            Set<TupleKey> primaryKeys = new LinkedHashSet<>();
+            while (iterator.hasNext()) {
+                Object[] keyTuple = new Object[tableDefinition.getColumnsCount()];
+                indexMapping.map(keyTuple, iterator.next());
+                primaryKeys.add(new TupleKey(keyTuple));
+            }
+            List<Object[]> keyTuples = new ArrayList<>(primaryKeys.size());
+            primaryKeys.forEach(k -> keyTuples.add(k.getTuple()));
+            return getByKeys(keyTuples);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private @NonNull List<Object[]> getByKeys(@NonNull List<Object[]> keyTuples) {
+        List<Object[]> rows = new ArrayList<>();
+        BatchGetIterator.getByKeys(storeService, tableId, codec, partitionService, distributions, keyTuples)
+            .forEachRemaining(rows::add);
+        if (log.isDebugEnabled()) {
+            log.debug("Looked up {} keys, got {} rows.", keyTuples.size(), rows.size());
+        }
+        return rows;
+    }
+}
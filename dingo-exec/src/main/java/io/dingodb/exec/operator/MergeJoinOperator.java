@@ -0,0 +1,323 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.OperatorProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Sort-merge join of two inputs ordered by the join keys.
+ *
+ * <p>Tuples of each input are queued as they are pushed, and joined as soon as the keys of both sides are known. A
+ * pushing thread waits if its queue is full, which can only happen while the other queue is empty, so the memory used
+ * is bounded by the queue capacity plus the right tuples with the same key. Pushing is declared blocking by
+ * {@link #mayBlock(int)}, so the sources of both inputs are run out of the worker threads and the waiting never holds
+ * a worker, even after the sources yield.
+ */
+@Slf4j
+@JsonTypeName("mergeJoin")
+@JsonPropertyOrder({"leftMapping", "rightMapping", "leftLength", "rightLength", "leftRequired", "output"})
+public final class MergeJoinOperator extends SoleOutOperator {
+    // Join keys in the order of the collation of both inputs.
+    @JsonProperty("leftMapping")
+    private final TupleMapping leftMapping;
+    @JsonProperty("rightMapping")
+    private final TupleMapping rightMapping;
+    @JsonProperty("leftLength")
+    private final int leftLength;
+    @JsonProperty("rightLength")
+    private final int rightLength;
+    @JsonProperty("leftRequired")
+    private final boolean leftRequired;
+
+    private int capacity;
+    private Deque<Object[]> leftQueue;
+    private Deque<Object[]> rightQueue;
+    // Right tuples with the same key, which are joined with all the left tuples with that key.
+    private List<Object[]> rightGroup;
+    private Object[] groupKey;
+    private Fin leftFin;
+    private Fin rightFin;
+    // Set if the output needs no more tuples or any input failed.
+    private boolean stopped;
+    private boolean finForwarded;
+    private long startTimeStamp;
+    private long count;
+
+    @JsonCreator
+    public MergeJoinOperator(
+        @JsonProperty("leftMapping") TupleMapping leftMapping,
+        @JsonProperty("rightMapping") TupleMapping rightMapping,
+        @JsonProperty("leftLength") int leftLength,
+        @JsonProperty("rightLength") int rightLength,
+        @JsonProperty("leftRequired") boolean leftRequired
+    ) {
+        this.leftMapping = leftMapping;
+        this.rightMapping = rightMapping;
+        this.leftLength = leftLength;
+        this.rightLength = rightLength;
+        this.leftRequired = leftRequired;
+    }
+
+    /**
+     * Compare keys in the order of the encoded primary keys. Strings are encoded in UTF-8, so they are compared by
+     * code points.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareKeys(Object @NonNull [] key0, Object @NonNull [] key1) {
+        for (int i = 0; i < key0.length; ++i) {
+            Object value0 = key0[i];
+            Object value1 = key1[i];
+            int result;
+            if (value0 instanceof String && value1 instanceof String) {
+                result = compareCodePoints((String) value0, (String) value1);
+            } else {
+                result = ((Comparable) value0).compareTo(value1);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareCodePoints(@NonNull String str0, @NonNull String str1) {
+        int i = 0;
+        int j = 0;
+        while (i < str0.length() && j < str1.length()) {
+            int c0 = str0.codePointAt(i);
+            int c1 = str1.codePointAt(j);
+            if (c0 != c1) {
+                return Integer.compare(c0, c1);
+            }
+            i += Character.charCount(c0);
+            j += Character.charCount(c1);
+        }
+        return Integer.compare(str0.length() - i, str1.length() - j);
+    }
+
+    private static boolean hasNull(Object @NonNull [] key) {
+        return Arrays.stream(key).anyMatch(v -> v == null);
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        capacity = Math.max(ExecutionConfiguration.batchSize(), 1);
+        leftQueue = new ArrayDeque<>(capacity);
+        rightQueue = new ArrayDeque<>(capacity);
+        rightGroup = new ArrayList<>();
+        reset();
+    }
+
+    @Override
+    public boolean mayBlock(int pin) {
+        // Waits for the other input to take the queued tuples.
+        return true;
+    }
+
+    @Override
+    public synchronized boolean push(int pin, Object[] tuple) {
+        if (stopped) {
+            return false;
+        }
+        Deque<Object[]> queue = (pin == 0 ? leftQueue : rightQueue);
+        queue.add(tuple);
+        if (!merge()) {
+            stop();
+            return false;
+        }
+        notifyAll();
+        if (pin == 1 && leftFin != null && leftQueue.isEmpty()) {
+            // The left input is finished, so no more right tuples are needed.
+            return false;
+        }
+        while (!stopped && queue.size() >= capacity) {
+            try {
+                wait();
+            } catch (InterruptedException ignored) {
+            }
+        }
+        return !stopped;
+    }
+
+    @Override
+    public synchronized void fin(int pin, Fin fin) {
+        if (pin == 0) {
+            leftFin = fin;
+        } else {
+            rightFin = fin;
+        }
+        if (fin instanceof FinWithException) {
+            if (!finForwarded) {
+                output.fin(fin);
+                finForwarded = true;
+            }
+            stop();
+        } else if (!stopped && !merge()) {
+            stop();
+        }
+        notifyAll();
+        if (leftFin != null && rightFin != null) {
+            if (!finForwarded) {
+                output.fin(withProfile(leftFin, rightFin));
+            }
+            reset();
+        }
+    }
+
+    /**
+     * Join the queued tuples as far as possible.
+     *
+     * @return {@code false} if the output needs no more tuples
+     */
+    private boolean merge() {
+        while (true) {
+            Object[] left = leftQueue.peek();
+            if (left == null) {
+                if (leftFin == null) {
+                    return true;
+                }
+                // No more left tuples, so the right tuples are not needed.
+                rightQueue.clear();
+                rightGroup.clear();
+                return true;
+            }
+            Object[] leftKey = leftMapping.revMap(left);
+            if (hasNull(leftKey)) {
+                leftQueue.poll();
+                if (!pushNotJoined(left)) {
+                    return false;
+                }
+                continue;
+            }
+            if (groupKey == null) {
+                Object[] right = rightQueue.poll();
+                if (right == null) {
+                    if (rightFin == null) {
+                        return true;
+                    }
+                    leftQueue.poll();
+                    if (!pushNotJoined(left)) {
+                        return false;
+                    }
+                    continue;
+                }
+                Object[] rightKey = rightMapping.revMap(right);
+                if (hasNull(rightKey)) {
+                    continue;
+                }
+                groupKey = rightKey;
+                rightGroup.add(right);
+            }
+            // Collect the right tuples with the same key.
+            while (!rightQueue.isEmpty() && compareKeys(rightMapping.revMap(rightQueue.peek()), groupKey) == 0) {
+                rightGroup.add(rightQueue.poll());
+            }
+            boolean groupComplete = !rightQueue.isEmpty() || rightFin != null;
+            int result = compareKeys(leftKey, groupKey);
+            if (result < 0) {
+                leftQueue.poll();
+                if (!pushNotJoined(left)) {
+                    return false;
+                }
+            } else if (result > 0) {
+                // Right tuples with this key arriving later are dropped as a new group.
+                groupKey = null;
+                rightGroup.clear();
+            } else if (groupComplete) {
+                leftQueue.poll();
+                for (Object[] right : rightGroup) {
+                    Object[] newTuple = Arrays.copyOf(left, leftLength + rightLength);
+                    System.arraycopy(right, 0, newTuple, leftLength, rightLength);
+                    ++count;
+                    if (!output.push(newTuple)) {
+                        return false;
+                    }
+                }
+            } else {
+                return true;
+            }
+        }
+    }
+
+    private boolean pushNotJoined(Object @NonNull [] left) {
+        if (leftRequired) {
+            ++count;
+            return output.push(Arrays.copyOf(left, leftLength + rightLength));
+        }
+        return true;
+    }
+
+    private void stop() {
+        stopped = true;
+        release();
+        notifyAll();
+    }
+
+    private void reset() {
+        release();
+        leftFin = null;
+        rightFin = null;
+        stopped = false;
+        finForwarded = false;
+        startTimeStamp = System.currentTimeMillis();
+        count = 0;
+    }
+
+    private void release() {
+        leftQueue.clear();
+        rightQueue.clear();
+        rightGroup.clear();
+        groupKey = null;
+    }
+
+    private @NonNull Fin withProfile(@NonNull Fin leftFin, @NonNull Fin rightFin) {
+        if (!(leftFin instanceof FinWithProfiles)) {
+            return leftFin;
+        }
+        OperatorProfile profile = new OperatorProfile();
+        profile.setOperatorId(id);
+        profile.setStartTimeStamp(startTimeStamp);
+        profile.setEndTimeStamp(System.currentTimeMillis());
+        profile.setProcessedTupleCount(count);
+        List<OperatorProfile> profiles = new LinkedList<>(((FinWithProfiles) leftFin).getProfiles());
+        if (rightFin instanceof FinWithProfiles) {
+            profiles.addAll(((FinWithProfiles) rightFin).getProfiles());
+        }
+        profiles.add(profile);
+        return new FinWithProfiles(profiles);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.Iterators;
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.Services;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.table.PartInKvStore;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Scan the ranges of a table one after another, so the tuples are ordered by the primary key if the ranges are in key
+ * order, for rows in a region are returned ordered by encoded key.
+ */
+@JsonTypeName("orderedScan")
+@JsonPropertyOrder({"table", "ranges", "schema", "keyMapping", "filter", "selection", "output"})
+public final class OrderedScanOperator extends FilterProjectSourceOperator {
+    @JsonProperty("table")
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final CommonId tableId;
+    @JsonProperty("ranges")
+    private final List<RangeDistribution> ranges;
+    @JsonProperty("keyMapping")
+    private final TupleMapping keyMapping;
+
+    private KeyValueCodec codec;
+
+    @JsonCreator
+    public OrderedScanOperator(
+        @JsonProperty("table") CommonId tableId,
+        @JsonProperty("ranges") List<RangeDistribution> ranges,
+        @JsonProperty("schema") DingoType schema,
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("filter") SqlExpr filter,
+        @JsonProperty("selection") TupleMapping selection
+    ) {
+        super(schema, filter, selection);
+        this.tableId = tableId;
+        this.ranges = ranges;
+        this.keyMapping = keyMapping;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        codec = CodecService.getDefault().createKeyValueCodec(schema, keyMapping);
+    }
+
+    @Override
+    protected @NonNull Iterator<Object[]> createSourceIterator() {
+        // Regions are opened lazily, one at a time.
+        return Iterators.concat(Iterators.transform(ranges.iterator(), range -> new PartInKvStore(
+            Services.KV_STORE.getInstance(tableId, range.id()),
+            codec
+        ).scan(range.getStartKey(), range.getEndKey(), range.isWithStart(), range.isWithEnd())));
+    }
+}
@@ -22,16 +22,19 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.codec.CodecService;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.Services;
 import io.dingodb.exec.fin.OperatorProfile;
 import io.dingodb.exec.table.Part;
+import io.dingodb.exec.table.PartInKvStore;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @JsonTypeName("count")
-@JsonPropertyOrder({"table", "partStartKey", "schema", "keyMapping", "output"})
+@JsonPropertyOrder({"table", "part", "schema", "keyMapping", "startKey", "endKey", "withStart", "withEnd", "output"})
 public final class PartCountOperator extends SourceOperator {
     @JsonProperty("table")
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
@@ -45,26 +48,45 @@ public final class PartCountOperator extends SourceOperator {
     private final DingoType schema;
     @JsonProperty("keyMapping")
     private final TupleMapping keyMapping;
+    @JsonProperty("startKey")
+    private final byte[] startKey;
+    @JsonProperty("endKey")
+    private final byte[] endKey;
+    @JsonProperty("withStart")
+    private final boolean withStart;
+    @JsonProperty("withEnd")
+    private final boolean withEnd;
 
     private Part part;
 
     @JsonCreator
     public PartCountOperator(
         @JsonProperty("table") CommonId tableId,
-        @JsonProperty("table") CommonId partId,
+        @JsonProperty("part") CommonId partId,
         @JsonProperty("schema") DingoType schema,
-        @JsonProperty("keyMapping") TupleMapping keyMapping
+        @JsonProperty("keyMapping") TupleMapping keyMapping,
+        @JsonProperty("startKey") byte[] startKey,
+        @JsonProperty("endKey") byte[] endKey,
+        @JsonProperty("withStart") boolean withStart,
+        @JsonProperty("withEnd") boolean withEnd
     ) {
         this.tableId = tableId;
         this.partId = partId;
         this.keyMapping = keyMapping;
         this.schema = schema;
+        this.startKey = startKey;
+        this.endKey = endKey;
+        this.withStart = withStart;
+        this.withEnd = withEnd;
     }
 
     @Override
     public void init() {
         super.init();
-        part = null;
+        part = new PartInKvStore(
+            Services.KV_STORE.getInstance(tableId, partId),
+            CodecService.getDefault().createKeyValueCodec(schema, keyMapping)
+        );
     }
 
     @Override
@@ -72,7 +94,8 @@ public final class PartCountOperator extends SourceOperator {
         OperatorProfile profile = getProfile();
         profile.setStartTimeStamp(System.currentTimeMillis());
         final long startTime = System.currentTimeMillis();
-        long count = 0; // todo count must have range, delete this class?;
+        // The store counts the records of the region, and the counts of regions are summed up by the receiver.
+        long count = part.count(startKey, endKey, withStart, withEnd);
         output.push(new Object[]{count});
         if (log.isDebugEnabled()) {
             log.debug("Count table by partition, get count: {}, cost: {} ms.",
@@ -23,6 +23,9 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
 
 @JsonTypeName("delete")
 @JsonPropertyOrder({"table", "part", "schema", "keyMapping", "output"})
@@ -44,9 +47,12 @@ public final class PartDeleteOperator extends PartModifyOperator {
 
     @Override
     protected boolean pushTuple(Object[] tuple) {
-        if (part.remove(tuple)) {
-            count++;
-        }
+        write(tuple);
         return true;
     }
+
+    @Override
+    protected long writeBatch(@NonNull List<Object[]> rows) {
+        return part.remove(rows);
+    }
 }
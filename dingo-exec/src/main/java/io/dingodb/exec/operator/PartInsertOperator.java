@@ -24,6 +24,9 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.converter.ValueConverter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
 
 @JsonTypeName("insert")
 @JsonPropertyOrder({"table", "part", "schema", "keyMapping", "output"})
@@ -46,9 +49,12 @@ public final class PartInsertOperator extends PartModifyOperator {
     @SuppressWarnings("ConstantConditions")
     @Override
     public boolean pushTuple(Object[] tuple) {
-        if (part.insert((Object[]) schema.convertFrom(tuple, ValueConverter.INSTANCE))) {
-            count++;
-        }
+        write((Object[]) schema.convertFrom(tuple, ValueConverter.INSTANCE));
         return true;
     }
+
+    @Override
+    protected long writeBatch(@NonNull List<Object[]> rows) {
+        return part.insert(rows);
+    }
 }
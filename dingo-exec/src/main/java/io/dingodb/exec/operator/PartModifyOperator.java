@@ -21,15 +21,33 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.dingodb.codec.CodecService;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.impl.TaskManagerImpl;
 import io.dingodb.exec.table.Part;
 import io.dingodb.exec.table.PartInKvStore;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Writes the rows in batches, with at most {@link ExecutionConfiguration#writeBatchesInFlight()} batches waiting for
+ * responses. The batches are written by the store threads of the scheduler, and the operator is full while the limit
+ * is reached, so the sources pushing to it yield instead of waiting. The count of rows affected and the fin of a run
+ * are forwarded after all its batches are done, by the thread finishing the last batch if it is not done at fin.
+ */
+@Slf4j
 public abstract class PartModifyOperator extends SoleOutOperator {
     @JsonProperty("table")
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
@@ -45,7 +63,13 @@ public abstract class PartModifyOperator extends SoleOutOperator {
     protected final TupleMapping keyMapping;
 
     protected Part part = null;
-    protected long count;
+
+    // Rows to be written in the next batch, as defined by the subclass.
+    private List<Object[]> rows;
+    // Runs whose fins are not forwarded yet, the last is the current run.
+    private Deque<Run> runs;
+    // Number of batches waiting for responses, of all the runs.
+    private volatile int inFlight;
 
     protected PartModifyOperator(
         CommonId tableId,
@@ -70,11 +94,23 @@ public abstract class PartModifyOperator extends SoleOutOperator {
     @Override
     public void init() {
         super.init();
-        count = 0;
+        rows = new ArrayList<>();
+        runs = new ArrayDeque<>();
+        runs.add(new Run());
+        inFlight = 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return inFlight >= ExecutionConfiguration.writeBatchesInFlight();
     }
 
     @Override
     public synchronized boolean push(int pin, @Nullable Object[] tuple) {
+        if (runs.getLast().error != null) {
+            // A batch failed, the run is to be failed, so stop the upstream.
+            return false;
+        }
         if (part == null) {
             part = getPart();
         }
@@ -83,13 +119,101 @@ public abstract class PartModifyOperator extends SoleOutOperator {
 
     @Override
     public synchronized void fin(int pin, Fin fin) {
-        if (!(fin instanceof FinWithException)) {
-            output.push(new Object[]{count});
+        Run run = runs.getLast();
+        if (!(fin instanceof FinWithException) && run.error == null && !rows.isEmpty()) {
+            submit();
         }
-        output.fin(fin);
         // Reset
-        count = 0;
+        rows = new ArrayList<>();
+        run.fin = fin;
+        runs.add(new Run());
+        forwardFinished();
+    }
+
+    /**
+     * Add a row to the current batch, the batch is submitted if it is full.
+     *
+     * @param row the row
+     */
+    protected void write(@NonNull Object[] row) {
+        rows.add(row);
+        if (rows.size() >= ExecutionConfiguration.writeBatchSize()) {
+            submit();
+        }
+    }
+
+    private void submit() {
+        List<Object[]> batch = rows;
+        rows = new ArrayList<>();
+        Run run = runs.getLast();
+        ++run.inFlight;
+        ++inFlight;
+        TaskManagerImpl.INSTANCE.getScheduler()
+            .submitStoreCall("part-modify-" + getId(), () -> writeBatch(batch))
+            .whenComplete((affected, error) -> onBatchDone(run, affected, error));
+    }
+
+    private void onBatchDone(@NonNull Run run, Long affected, Throwable error) {
+        synchronized (this) {
+            --run.inFlight;
+            --inFlight;
+            if (error != null) {
+                if (error instanceof CompletionException && error.getCause() != null) {
+                    error = error.getCause();
+                }
+                log.error("Write batch of part {} of table {} failed.", partId, tableId, error);
+                if (run.error == null) {
+                    run.error = error;
+                }
+            } else {
+                run.count += affected;
+            }
+            forwardFinished();
+        }
+        // Out of the lock, for the callbacks may check if the operator is full.
+        if (!isFull()) {
+            onAvailable();
+        }
+    }
+
+    /**
+     * Forward the count and the fin of each finished run in order. Even if failed, the batches still writing must be
+     * done before fin is forwarded, so that they do not overlap with the writes of a re-run.
+     */
+    private void forwardFinished() {
+        Run run;
+        while ((run = runs.peekFirst()) != null && run.fin != null && run.inFlight == 0) {
+            runs.pollFirst();
+            if (run.fin instanceof FinWithException) {
+                output.fin(run.fin);
+            } else if (run.error != null) {
+                TaskStatus taskStatus = new TaskStatus();
+                taskStatus.setStatus(false);
+                taskStatus.setTaskId(task.getId().toString());
+                taskStatus.setErrorMsg(run.error.toString());
+                output.fin(FinWithException.of(taskStatus));
+            } else {
+                output.push(new Object[]{run.count});
+                output.fin(run.fin);
+            }
+        }
     }
 
     protected abstract boolean pushTuple(@Nullable Object[] tuple);
+
+    /**
+     * Write the rows added by {@link #write(Object[])} in batch.
+     *
+     * @param rows the rows
+     * @return the number of rows affected
+     */
+    protected abstract long writeBatch(@NonNull List<Object[]> rows);
+
+    private static final class Run {
+        private long count = 0;
+        // Number of batches of the run waiting for responses.
+        private int inFlight = 0;
+        private Throwable error = null;
+        private Fin fin = null;
+    }
 }
@@ -26,7 +26,9 @@ import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.converter.ValueConverter;
 import io.dingodb.exec.expr.SqlExpr;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -79,22 +81,33 @@ public final class PartUpdateOperator extends PartModifyOperator {
                     updated = true;
                 }
             }
-            updated = updated && part.update(
-                (Object[]) schema.convertFrom(newTuple, ValueConverter.INSTANCE),
-                Arrays.copyOf(tuple, tupleSize)
-            );
-            if (updated) {
-                count++;
-            }
         } catch (Exception ex) {
             log.error("update operator with expr:{}, exception:{}",
                 updates.get(i) == null ? "None" : updates.get(i).getExprString(),
                 ex, ex);
             throw new RuntimeException("Update Operator catch Exception");
         }
+        if (updated) {
+            write(new Object[]{
+                schema.convertFrom(newTuple, ValueConverter.INSTANCE),
+                Arrays.copyOf(tuple, tupleSize)
+            });
+        }
         return true;
     }
 
+    @Override
+    protected long writeBatch(@NonNull List<Object[]> rows) {
+        // Each row is a pair of the new tuple and the old tuple.
+        List<Object[]> newTuples = new ArrayList<>(rows.size());
+        List<Object[]> oldTuples = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            newTuples.add((Object[]) row[0]);
+            oldTuples.add((Object[]) row[1]);
+        }
+        return part.update(newTuples, oldTuples);
+    }
+
     @Override
     public void setParas(Object[] paras) {
         super.setParas(paras);
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.channel.ReceiveEndpoint;
 import io.dingodb.exec.codec.TxRxCodec;
@@ -31,11 +32,14 @@ import io.dingodb.exec.fin.OperatorProfile;
 import io.dingodb.exec.utils.QueueUtils;
 import io.dingodb.exec.utils.TagUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @JsonPropertyOrder({"host", "port", "schema", "output"})
@@ -55,6 +59,11 @@ public final class ReceiveOperator extends SourceOperator {
     private BlockingQueue<Object[]> tupleQueue;
     private ReceiveEndpoint endpoint;
     private Fin finObj;
+    // Set while the operator yields for no tuples received, to resume it when tuples arrive.
+    private final AtomicReference<Runnable> arrivalCallback = new AtomicReference<>();
+    // State of a push yielded in the middle, kept for the next push.
+    private OperatorProfile profile;
+    private long count;
 
     @JsonCreator
     public ReceiveOperator(
@@ -74,7 +83,7 @@ public final class ReceiveOperator extends SourceOperator {
         codec = new TxRxCodecImpl(schema);
         tupleQueue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
         tag = TagUtils.tag(getTask().getJobId(), getId());
-        endpoint = new ReceiveEndpoint(host, port, tag, (byte[] content) -> {
+        endpoint = new ReceiveEndpoint(host, port, tag, (ByteBuffer content) -> {
             try {
                 List<Object[]> tuples = codec.decode(content);
                 for (Object[] tuple : tuples) {
@@ -85,6 +94,7 @@ public final class ReceiveOperator extends SourceOperator {
             } catch (IOException e) {
                 log.error("Exception in receive handler:", e);
             }
+            onArrival();
         });
         endpoint.init();
         if (log.isDebugEnabled()) {
@@ -106,13 +116,28 @@ public final class ReceiveOperator extends SourceOperator {
         }
     }
 
+    @Override
+    public boolean isWaitingForTasks() {
+        return true;
+    }
+
+    /**
+     * Push the received tuples, yielding instead of waiting if no tuples are received, until FIN is received.
+     */
     @Override
     public boolean push() {
-        long count = 0;
-        OperatorProfile profile = getProfile();
-        profile.setStartTimeStamp(System.currentTimeMillis());
+        if (profile == null) {
+            profile = getProfile();
+            profile.setStartTimeStamp(System.currentTimeMillis());
+            count = 0;
+        }
+        int yieldTuples = ExecutionConfiguration.sourceYieldTuples();
+        long limit = yieldTuples > 0 ? count + yieldTuples : Long.MAX_VALUE;
         while (true) {
-            Object[] tuple = QueueUtils.forceTake(tupleQueue);
+            Object[] tuple = tupleQueue.poll();
+            if (tuple == null) {
+                return true;
+            }
             if (!(tuple[0] instanceof Fin)) {
                 ++count;
                 if (log.isDebugEnabled()) {
@@ -122,6 +147,9 @@ public final class ReceiveOperator extends SourceOperator {
                     endpoint.stop();
                     // Stay in loop to receive FIN.
                 }
+                if (count >= limit || isDownstreamFull()) {
+                    return true;
+                }
             } else {
                 if (log.isDebugEnabled()) {
                     log.debug("(tag = {}) Take out FIN.", tag);
@@ -134,10 +162,34 @@ public final class ReceiveOperator extends SourceOperator {
                 } else if (fin instanceof FinWithException) {
                     finObj = fin;
                 }
-                break;
+                profile = null;
+                return false;
             }
         }
-        return false;
+    }
+
+    @Override
+    public void whenResumable(@NonNull Runnable resume) {
+        if (tupleQueue.isEmpty()) {
+            arrivalCallback.set(() -> super.whenResumable(resume));
+            // Tuples may arrive before the callback is set, then whoever takes the callback runs it.
+            if (tupleQueue.isEmpty()) {
+                return;
+            }
+            Runnable callback = arrivalCallback.getAndSet(null);
+            if (callback != null) {
+                callback.run();
+            }
+            return;
+        }
+        super.whenResumable(resume);
+    }
+
+    private void onArrival() {
+        Runnable callback = arrivalCallback.getAndSet(null);
+        if (callback != null) {
+            callback.run();
+        }
     }
 
     @Override
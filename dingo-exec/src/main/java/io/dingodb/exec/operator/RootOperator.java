@@ -38,6 +38,7 @@ import java.util.concurrent.LinkedBlockingDeque;
 @JsonTypeName("root")
 @JsonPropertyOrder({"schema"})
 public final class RootOperator extends SinkOperator {
+    // Tuples queued before the root is full, but the queue is not bounded, so pushing never blocks.
     public static final int TUPLE_QUEUE_SIZE = 512;
     public static final Object[] FIN = new Object[0];
 
@@ -61,7 +62,12 @@ public final class RootOperator extends SinkOperator {
     @Override
     public void init() {
         super.init();
-        tupleQueue = new LinkedBlockingDeque<>(TUPLE_QUEUE_SIZE);
+        tupleQueue = new LinkedBlockingDeque<>();
+    }
+
+    @Override
+    public boolean isFull() {
+        return tupleQueue.size() >= TUPLE_QUEUE_SIZE;
     }
 
     @Override
@@ -91,6 +97,10 @@ public final class RootOperator extends SinkOperator {
 
     public Object @NonNull [] popValue() {
         Object[] tuple = QueueUtils.forceTake(tupleQueue);
+        if (tupleQueue.size() <= TUPLE_QUEUE_SIZE / 2) {
+            // Resume the sources when half of the queue is taken, not to wake them for every tuple.
+            onAvailable();
+        }
         if (tuple != FIN && selection != null) {
             Object[] tuple1 = new Object[selection.size()];
             selection.revMap(tuple1, tuple);
@@ -29,9 +29,11 @@ import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.codec.TxRxCodecImpl;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.tuple.TupleBatch;
 import io.dingodb.exec.utils.TagUtils;
 import io.dingodb.net.BufferOutputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
 import java.util.LinkedList;
@@ -79,7 +81,7 @@ public final class SendOperator extends SinkOperator {
     public void init() {
         super.init();
         codec = new TxRxCodecImpl(schema);
-        endpoint = new SendEndpoint(host, port, TagUtils.tag(getTask().getJobId(), receiveId));
+        endpoint = new SendEndpoint(host, port, TagUtils.tag(getTask().getJobId(), receiveId), this::onAvailable);
         endpoint.init();
     }
 
@@ -94,12 +96,28 @@ public final class SendOperator extends SinkOperator {
         }
     }
 
+    @Override
+    public boolean isFull() {
+        // Buffers are queued instead of waiting for the receiver to consume them.
+        return endpoint.isFull();
+    }
+
     @Override
     public boolean push(Object[] tuple) {
         try {
-            tupleList.add(tuple);
-            if (tupleList.size() >= SEND_BATCH_SIZE) {
-                return sendTupleList();
+            return addTuple(tuple);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public boolean pushBatch(@NonNull TupleBatch batch) {
+        try {
+            for (Object[] tuple : batch) {
+                if (!addTuple(tuple)) {
+                    return false;
+                }
             }
             return true;
         } catch (IOException e) {
@@ -124,6 +142,14 @@ public final class SendOperator extends SinkOperator {
         }
     }
 
+    private boolean addTuple(Object[] tuple) throws IOException {
+        tupleList.add(tuple);
+        if (tupleList.size() >= SEND_BATCH_SIZE) {
+            return sendTupleList();
+        }
+        return true;
+    }
+
     private boolean sendTupleList() throws IOException {
         if (!tupleList.isEmpty()) {
             BufferOutputStream bos = endpoint.getOutputStream(maxBufferSize);
@@ -19,6 +19,7 @@ package io.dingodb.exec.operator;
 import com.google.common.collect.ImmutableList;
 import io.dingodb.exec.base.Output;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.tuple.TupleBatch;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.List;
@@ -34,6 +35,20 @@ public abstract class SinkOperator extends AbstractOperator {
         return push(tuple);
     }
 
+    protected boolean pushBatch(@NonNull TupleBatch batch) {
+        for (Object[] tuple : batch) {
+            if (!push(tuple)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean pushBatch(int pin, @NonNull TupleBatch batch) {
+        return pushBatch(batch);
+    }
+
     @Override
     public synchronized void fin(int pin, Fin fin) {
         fin(fin);
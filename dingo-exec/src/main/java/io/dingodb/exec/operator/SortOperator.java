@@ -20,37 +20,69 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.spill.MemoryEstimator;
+import io.dingodb.exec.spill.SpillFile;
+import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
+/**
+ * Sort operator.
+ *
+ * <p>If there is a limit and {@code offset + limit} is small, only the top {@code offset + limit} tuples are kept
+ * in a bounded heap. Otherwise, tuples are sorted in memory, and sorted runs are spilled to disk once the memory
+ * budget is exceeded, then merged in {@link #fin(int, Fin)}. At most {@link #MERGE_FAN_IN} runs are open at the same
+ * time, more runs are merged into bigger runs in passes first.
+ */
+@Slf4j
 @JsonTypeName("sort")
-@JsonPropertyOrder({"collations", "limit", "offset", "output"})
+@JsonPropertyOrder({"collations", "limit", "offset", "schema", "output"})
 public class SortOperator extends SoleOutOperator {
+    public static final int TOP_N_MAX_SIZE = 65536;
+    public static final int MERGE_FAN_IN = 64;
+
     @JsonProperty("collations")
     private final List<SortCollation> collations;
     @JsonProperty("limit")
     private final int limit;
     @JsonProperty("offset")
     private final int offset;
+    // Schema is needed to encode spilled runs, spilling is disabled if it is absent.
+    @JsonProperty("schema")
+    private final DingoType schema;
 
-    private final List<Object[]> cache;
     private final Comparator<Object[]> comparator;
 
+    private List<Object[]> cache;
+    private PriorityQueue<Object[]> heap;
+    private List<SpillFile> runs;
+    private long memoryBudget;
+    private long memoryUsed;
+    private long count;
+
     @JsonCreator
     public SortOperator(
         @JsonProperty("collations") @NonNull List<SortCollation> collations,
         @JsonProperty("limit") int limit,
-        @JsonProperty("offset") int offset
+        @JsonProperty("offset") int offset,
+        @JsonProperty("schema") DingoType schema
     ) {
         this.limit = limit;
         this.offset = offset;
         this.collations = collations;
-        this.cache = new LinkedList<>();
+        this.schema = schema;
         if (!collations.isEmpty()) {
             Comparator<Object[]> c = collations.get(0).makeComparator();
             for (int i = 1; i < collations.size(); ++i) {
@@ -62,23 +94,82 @@ public class SortOperator extends SoleOutOperator {
         }
     }
 
+    private boolean isTopN() {
+        return comparator != null && limit >= 0 && (long) offset + limit <= TOP_N_MAX_SIZE;
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        cache = new ArrayList<>();
+        if (isTopN()) {
+            // The head of the heap is the greatest one, to be evicted first.
+            heap = new PriorityQueue<>(offset + limit + 1, comparator.reversed());
+        }
+        runs = new ArrayList<>();
+        memoryBudget = schema != null ? ExecutionConfiguration.sortMemoryBudget() : 0;
+        memoryUsed = 0;
+        count = 0;
+    }
+
     @Override
     public synchronized boolean push(int pin, Object[] tuple) {
         if (limit == 0) {
             return false;
         }
+        if (comparator == null) {
+            // No need to sort, just skip `offset` tuples and pass on `limit` tuples.
+            ++count;
+            if (count <= offset) {
+                return true;
+            }
+            if (!output.push(tuple)) {
+                return false;
+            }
+            return limit < 0 || count < (long) offset + limit;
+        }
+        if (heap != null) {
+            heap.offer(tuple);
+            if (heap.size() > offset + limit) {
+                heap.poll();
+            }
+            return true;
+        }
         cache.add(tuple);
-        return collations.size() > 0 || limit < 0 || cache.size() < offset + limit;
+        if (memoryBudget > 0) {
+            memoryUsed += MemoryEstimator.estimate(tuple);
+            if (memoryUsed > memoryBudget) {
+                spillRun();
+            }
+        }
+        return true;
     }
 
     @Override
     public synchronized void fin(int pin, Fin fin) {
-        if (comparator != null) {
-            cache.sort(comparator);
+        try {
+            if (!(fin instanceof FinWithException)) {
+                if (heap != null) {
+                    Object[][] tuples = heap.toArray(new Object[0][]);
+                    Arrays.sort(tuples, comparator);
+                    pushSorted(Arrays.asList(tuples).iterator());
+                } else if (comparator != null) {
+                    cache.sort(comparator);
+                    pushSorted(runs.isEmpty() ? cache.iterator() : merge());
+                }
+            }
+            output.fin(fin);
+        } finally {
+            // Reset, which also closes the runs not read to the end.
+            reset();
         }
+    }
+
+    private void pushSorted(@NonNull Iterator<Object[]> iterator) {
         int o = 0;
         int c = 0;
-        for (Object[] tuple : cache) {
+        while (iterator.hasNext()) {
+            Object[] tuple = iterator.next();
             if (o < offset) {
                 ++o;
                 continue;
@@ -91,8 +182,125 @@ public class SortOperator extends SoleOutOperator {
             }
             ++c;
         }
-        output.fin(fin);
-        // Reset
-        cache.clear();
+    }
+
+    /**
+     * Sort the cached tuples and write them to disk as a sorted run.
+     */
+    private void spillRun() {
+        cache.sort(comparator);
+        SpillFile run = null;
+        try {
+            run = new SpillFile(schema);
+            for (Object[] tuple : cache) {
+                run.add(tuple);
+            }
+        } catch (IOException e) {
+            if (run != null) {
+                run.close();
+            }
+            throw new RuntimeException(e);
+        }
+        runs.add(run);
+        if (log.isDebugEnabled()) {
+            log.debug("Sort operator {} spilled run {} of {} tuples.", id, runs.size(), cache.size());
+        }
+        cache = new ArrayList<>();
+        memoryUsed = 0;
+    }
+
+    /**
+     * Merge all spilled runs and the sorted tuples still in memory. If there are too many runs, they are merged into
+     * bigger runs first, {@link #MERGE_FAN_IN} runs at a time.
+     */
+    private @NonNull Iterator<Object[]> merge() {
+        try {
+            while (runs.size() >= MERGE_FAN_IN) {
+                List<SpillFile> group = runs.subList(0, MERGE_FAN_IN);
+                SpillFile merged = new SpillFile(schema);
+                try {
+                    Iterator<Object[]> iterator = merge(iteratorsOf(group));
+                    while (iterator.hasNext()) {
+                        merged.add(iterator.next());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    merged.close();
+                    throw e;
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Sort operator {} merged {} runs into a run of {} tuples.", id, group.size(),
+                        merged.getCount());
+                }
+                group.forEach(SpillFile::close);
+                group.clear();
+                runs.add(merged);
+            }
+            List<Iterator<Object[]>> iterators = iteratorsOf(runs);
+            iterators.add(cache.iterator());
+            return merge(iterators);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static @NonNull List<Iterator<Object[]>> iteratorsOf(@NonNull List<SpillFile> runs) throws IOException {
+        List<Iterator<Object[]>> iterators = new ArrayList<>(runs.size() + 1);
+        for (SpillFile run : runs) {
+            iterators.add(run.iterator());
+        }
+        return iterators;
+    }
+
+    /**
+     * K-way merge of sorted iterators.
+     */
+    private @NonNull Iterator<Object[]> merge(@NonNull List<Iterator<Object[]>> iterators) {
+        PriorityQueue<RunHead> heads = new PriorityQueue<>(
+            iterators.size(),
+            (h0, h1) -> comparator.compare(h0.tuple, h1.tuple)
+        );
+        for (Iterator<Object[]> it : iterators) {
+            if (it.hasNext()) {
+                heads.offer(new RunHead(it.next(), it));
+            }
+        }
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Object[] next() {
+                RunHead head = heads.poll();
+                Object[] tuple = head.tuple;
+                if (head.iterator.hasNext()) {
+                    head.tuple = head.iterator.next();
+                    heads.offer(head);
+                }
+                return tuple;
+            }
+        };
+    }
+
+    private void reset() {
+        cache = new ArrayList<>();
+        if (heap != null) {
+            heap.clear();
+        }
+        runs.forEach(SpillFile::close);
+        runs.clear();
+        memoryUsed = 0;
+        count = 0;
+    }
+
+    private static class RunHead {
+        private Object[] tuple;
+        private final Iterator<Object[]> iterator;
+
+        RunHead(Object[] tuple, Iterator<Object[]> iterator) {
+            this.tuple = tuple;
+            this.iterator = iterator;
+        }
     }
 }
@@ -16,12 +16,16 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Output;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.fin.OperatorProfile;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -31,6 +35,8 @@ import java.util.List;
 @Slf4j
 public abstract class SourceOperator extends SoleOutOperator {
     protected List<OperatorProfile> profiles = new LinkedList<>();
+    // Operators downstream, which may be full.
+    private transient volatile List<Operator> downstream;
 
     @Override
     public void init() {
@@ -52,8 +58,68 @@ public abstract class SourceOperator extends SoleOutOperator {
         profiles.clear();
     }
 
+    /**
+     * Push tuples to the output.
+     *
+     * @return {@code true} if the operator yields before all tuples are pushed and should be pushed again
+     */
     public abstract boolean push();
 
+    /**
+     * Whether the operator waits for tuples from other tasks, so the runs of its task must not take the admission
+     * slots of the tasks it waits for.
+     */
+    public boolean isWaitingForTasks() {
+        return false;
+    }
+
+    /**
+     * Whether any operator downstream is full, then the operator should yield.
+     */
+    protected boolean isDownstreamFull() {
+        for (Operator operator : getDownstream()) {
+            if (operator.isFull()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Call {@code resume} once the operator yielded can be pushed again, that is, when no operator downstream is full.
+     *
+     * @param resume the callback to push the operator again
+     */
+    public void whenResumable(@NonNull Runnable resume) {
+        for (Operator operator : getDownstream()) {
+            if (operator.isFull()) {
+                operator.whenAvailable(() -> whenResumable(resume));
+                return;
+            }
+        }
+        resume.run();
+    }
+
+    private @NonNull List<Operator> getDownstream() {
+        List<Operator> operators = downstream;
+        if (operators == null) {
+            operators = new ArrayList<>();
+            addDownstream(operators, this);
+            downstream = operators;
+        }
+        return operators;
+    }
+
+    private static void addDownstream(@NonNull List<Operator> operators, @NonNull Operator operator) {
+        for (Output output : operator.getOutputs()) {
+            Operator next = output.getLink().getOperator();
+            if (!operators.contains(next)) {
+                operators.add(next);
+                addDownstream(operators, next);
+            }
+        }
+    }
+
     public OperatorProfile getProfile() {
         OperatorProfile profile = new OperatorProfile();
         profile.setOperatorId(id);
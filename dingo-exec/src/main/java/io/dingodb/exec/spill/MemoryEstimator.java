@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.math.BigDecimal;
+
+/**
+ * Rough estimation of heap bytes held by tuples, cheap enough to be called for every tuple.
+ */
+public final class MemoryEstimator {
+    private static final int ARRAY_HEADER = 16;
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+
+    private MemoryEstimator() {
+    }
+
+    public static long estimate(Object @NonNull [] tuple) {
+        long size = ARRAY_HEADER + (long) REFERENCE * tuple.length;
+        for (Object value : tuple) {
+            size += estimate(value);
+        }
+        return size;
+    }
+
+    private static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return OBJECT_HEADER + ARRAY_HEADER + ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return ARRAY_HEADER + ((byte[]) value).length;
+        }
+        if (value instanceof BigDecimal) {
+            return 3L * OBJECT_HEADER + ((BigDecimal) value).precision() / 2;
+        }
+        if (value instanceof Object[]) {
+            return estimate((Object[]) value);
+        }
+        return OBJECT_HEADER + REFERENCE;
+    }
+}
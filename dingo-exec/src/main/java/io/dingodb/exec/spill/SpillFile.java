@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.exec.codec.AvroTupleCodec;
+import io.dingodb.exec.codec.TupleCodec;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Append-only temporary file of tuples, used by operators to move state out of memory.
+ *
+ * <p>Tuples are buffered and written as length-prefixed batches encoded by a {@link TupleCodec}, so they can be
+ * read back one batch at a time. The file is deleted and the iterators still open are closed on {@link #close()}.
+ */
+@Slf4j
+public class SpillFile implements Closeable {
+    public static final int SPILL_BATCH_SIZE = 1024;
+
+    private final TupleCodec codec;
+    private final Path path;
+    private final List<Object[]> buffer;
+    private final ByteArrayOutputStream batchBytes;
+    private final List<SpillIterator> iterators;
+    private DataOutputStream os;
+
+    @Getter
+    private long bytes;
+    @Getter
+    private long count;
+
+    public SpillFile(@NonNull DingoType schema) throws IOException {
+        this.codec = new AvroTupleCodec(schema);
+        Path dir = Paths.get(ExecutionConfiguration.spillPath(), "dingo-spill");
+        Files.createDirectories(dir);
+        this.path = Files.createTempFile(dir, "spill-", ".tmp");
+        this.os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        this.buffer = new ArrayList<>(SPILL_BATCH_SIZE);
+        this.batchBytes = new ByteArrayOutputStream();
+        this.iterators = new ArrayList<>();
+        this.bytes = 0;
+        this.count = 0;
+    }
+
+    public void add(Object @NonNull [] tuple) throws IOException {
+        buffer.add(tuple);
+        ++count;
+        if (buffer.size() >= SPILL_BATCH_SIZE) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        batchBytes.reset();
+        codec.encode(batchBytes, buffer);
+        os.writeInt(batchBytes.size());
+        batchBytes.writeTo(os);
+        bytes += Integer.BYTES + batchBytes.size();
+        buffer.clear();
+    }
+
+    /**
+     * Finish writing and iterate over the tuples in the order they were added.
+     * No more tuples can be added after calling this. The iterator should be closed if it is not read to the end.
+     */
+    public @NonNull SpillIterator iterator() throws IOException {
+        if (os != null) {
+            flushBuffer();
+            os.close();
+            os = null;
+        }
+        SpillIterator iterator = new SpillIterator(
+            new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))
+        );
+        iterators.add(iterator);
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (SpillIterator iterator : iterators) {
+                iterator.close();
+            }
+            iterators.clear();
+            if (os != null) {
+                os.close();
+                os = null;
+            }
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spill file \"{}\".", path, e);
+        }
+    }
+
+    public class SpillIterator implements Iterator<Object[]>, Closeable {
+        private final DataInputStream is;
+        private Iterator<Object[]> batch;
+        private boolean eof;
+
+        SpillIterator(DataInputStream is) {
+            this.is = is;
+            this.batch = Collections.emptyIterator();
+            this.eof = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!batch.hasNext()) {
+                if (eof) {
+                    return false;
+                }
+                try {
+                    int length;
+                    try {
+                        length = is.readInt();
+                    } catch (EOFException e) {
+                        close();
+                        return false;
+                    }
+                    byte[] data = new byte[length];
+                    is.readFully(data);
+                    batch = codec.decode(new ByteArrayInputStream(data)).iterator();
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to read spill file \"" + path + "\".", e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+
+        @Override
+        public void close() {
+            if (eof) {
+                return;
+            }
+            eof = true;
+            batch = Collections.emptyIterator();
+            try {
+                is.close();
+            } catch (IOException e) {
+                log.warn("Failed to close spill file \"{}\".", path, e);
+            }
+        }
+    }
+}
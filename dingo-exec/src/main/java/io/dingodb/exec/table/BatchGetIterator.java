@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.table;
+
+import com.google.common.collect.Lists;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.exec.base.Scheduler;
+import io.dingodb.exec.impl.TaskManagerImpl;
+import io.dingodb.partition.PartitionService;
+import io.dingodb.store.api.StoreService;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Iterate over the results of batch gets or scans, with the calls of the next
+ * {@link ExecutionConfiguration#multiGetPrefetch()} batches issued while the current one is consumed. The calls issued
+ * ahead are run by the scheduler of tasks, so the calls in flight are bounded for all the tasks.
+ *
+ * @param <B> type of the batches
+ */
+public final class BatchGetIterator<B> implements Iterator<Object[]> {
+    private static final String CALL_NAME = "batch-get";
+
+    private final Iterator<B> batches;
+    private final Function<B, List<Object[]>> getter;
+    private final int prefetch;
+    private final Scheduler scheduler;
+    // Gets issued ahead, in the order of the batches.
+    private final Deque<CompletableFuture<List<Object[]>>> next;
+
+    private Iterator<Object[]> current;
+
+    public BatchGetIterator(@NonNull Iterator<B> batches, @NonNull Function<B, List<Object[]>> getter) {
+        this(batches, getter, ExecutionConfiguration.multiGetPrefetch(), TaskManagerImpl.INSTANCE.getScheduler());
+    }
+
+    BatchGetIterator(
+        @NonNull Iterator<B> batches,
+        @NonNull Function<B, List<Object[]>> getter,
+        int prefetch,
+        @NonNull Scheduler scheduler
+    ) {
+        this.batches = batches;
+        this.getter = getter;
+        this.prefetch = prefetch;
+        this.scheduler = scheduler;
+        this.next = new ArrayDeque<>(prefetch);
+        this.current = Collections.emptyIterator();
+        prefetch();
+    }
+
+    /**
+     * Get the rows of a table by the key tuples, with the keys grouped by region and got in batches of
+     * {@link ExecutionConfiguration#multiGetBatchSize()}. Keys not found are skipped.
+     */
+    public static @NonNull Iterator<Object[]> getByKeys(
+        @NonNull StoreService storeService,
+        @NonNull CommonId tableId,
+        @NonNull KeyValueCodec codec,
+        @NonNull PartitionService partitionService,
+        @NonNull NavigableMap<ComparableByteArray, RangeDistribution> distributions,
+        @NonNull Collection<Object[]> keyTuples
+    ) {
+        List<byte[]> keys = new ArrayList<>(keyTuples.size());
+        try {
+            for (Object[] keyTuple : keyTuples) {
+                keys.add(codec.encodeKey(keyTuple));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return new BatchGetIterator<>(
+            batchByRegion(keys, partitionService, distributions).iterator(),
+            batch -> new PartInKvStore(storeService.getInstance(tableId, batch.getKey()), codec).get(batch.getValue())
+        );
+    }
+
+    /**
+     * Scan the rows of a table by key prefixes, with the prefixes grouped by region and scanned in batches of
+     * {@link ExecutionConfiguration#multiGetBatchSize()}. The prefixes of a batch are scanned together against one
+     * store instance of the region, and batches are issued ahead like the batches of gets.
+     */
+    public static @NonNull Iterator<Object[]> scanByPrefixes(
+        @NonNull StoreService storeService,
+        @NonNull CommonId tableId,
+        @NonNull TableDefinition tableDefinition,
+        @NonNull KeyValueCodec codec,
+        @NonNull PartitionService partitionService,
+        @NonNull NavigableMap<ComparableByteArray, RangeDistribution> distributions,
+        @NonNull Collection<byte[]> prefixes
+    ) {
+        return new BatchGetIterator<>(
+            batchByRegion(prefixes, partitionService, distributions).iterator(),
+            batch -> {
+                Part part = new PartInKvStore(
+                    storeService.getInstance(tableId, batch.getKey(), tableDefinition),
+                    codec
+                );
+                List<Object[]> tuples = new ArrayList<>();
+                for (byte[] prefix : batch.getValue()) {
+                    part.scan(prefix).forEachRemaining(tuples::add);
+                }
+                return tuples;
+            }
+        );
+    }
+
+    private static @NonNull List<Map.Entry<CommonId, List<byte[]>>> batchByRegion(
+        @NonNull Collection<byte[]> keys,
+        @NonNull PartitionService partitionService,
+        @NonNull NavigableMap<ComparableByteArray, RangeDistribution> distributions
+    ) {
+        Map<CommonId, List<byte[]>> regionKeys = new LinkedHashMap<>();
+        for (byte[] key : keys) {
+            regionKeys.computeIfAbsent(partitionService.calcPartId(key, distributions), k -> new ArrayList<>())
+                .add(key);
+        }
+        int batchSize = ExecutionConfiguration.multiGetBatchSize();
+        List<Map.Entry<CommonId, List<byte[]>>> batches = new ArrayList<>();
+        regionKeys.forEach((regionId, regionBatch) -> {
+            for (List<byte[]> batch : Lists.partition(regionBatch, batchSize)) {
+                batches.add(new AbstractMap.SimpleImmutableEntry<>(regionId, batch));
+            }
+        });
+        return batches;
+    }
+
+    private void prefetch() {
+        while (next.size() < prefetch && batches.hasNext()) {
+            B batch = batches.next();
+            next.add(scheduler.submitStoreCall(CALL_NAME, () -> getter.apply(batch)));
+        }
+    }
+
+    private static List<Object[]> join(@NonNull CompletableFuture<List<Object[]>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            CompletableFuture<List<Object[]>> future = next.poll();
+            List<Object[]> tuples;
+            if (future != null) {
+                prefetch();
+                tuples = join(future);
+            } else if (batches.hasNext()) {
+                tuples = getter.apply(batches.next());
+            } else {
+                return false;
+            }
+            current = tuples.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
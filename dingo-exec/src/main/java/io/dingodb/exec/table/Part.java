@@ -48,6 +48,16 @@ public interface Part {
 
     boolean insert(@NonNull Object[] keyValue);
 
+    /**
+     * Insert tuples in batch.
+     *
+     * @param tuples the tuples
+     * @return the number of tuples inserted
+     */
+    default long insert(@NonNull List<Object[]> tuples) {
+        return tuples.stream().filter(this::insert).count();
+    }
+
     boolean update(@NonNull KeyValue keyValue);
 
     boolean update(@NonNull KeyValue newKeyValue, @NonNull KeyValue oldKeyValue);
@@ -56,10 +66,37 @@ public interface Part {
 
     boolean update(@NonNull Object[] newTuple, @NonNull Object[] oldTuple);
 
+    /**
+     * Update tuples in batch.
+     *
+     * @param newTuples the new tuples
+     * @param oldTuples the old tuples, in the order of the new tuples
+     * @return the number of tuples updated
+     */
+    default long update(@NonNull List<Object[]> newTuples, @NonNull List<Object[]> oldTuples) {
+        long count = 0;
+        for (int i = 0; i < newTuples.size(); ++i) {
+            if (update(newTuples.get(i), oldTuples.get(i))) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
     boolean remove(byte @NonNull [] key);
 
     boolean remove(@NonNull Object[] key);
 
+    /**
+     * Remove tuples in batch.
+     *
+     * @param tuples the tuples containing the keys
+     * @return the number of tuples removed
+     */
+    default long remove(@NonNull List<Object[]> tuples) {
+        return tuples.stream().filter(this::remove).count();
+    }
+
     long count(byte[] start, byte[] end, boolean withStart, boolean withEnd);
 
     Object @Nullable [] get(byte @NonNull [] key);
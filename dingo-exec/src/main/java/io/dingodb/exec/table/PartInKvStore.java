@@ -27,7 +27,11 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static io.dingodb.common.util.NoBreakFunctions.wrap;
 
@@ -90,6 +94,23 @@ public final class PartInKvStore implements Part {
         return false;
     }
 
+    @Override
+    public long insert(@NonNull List<Object[]> tuples) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            List<Object[]> indexed = select(tuples, store.insertIndex(tuples));
+            return indexed.isEmpty() ? 0 : countTrue(store.insertWithIndex(indexed));
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "PartInKvStore batch insert {} tuples cost: {}ms.",
+                    tuples.size(),
+                    System.currentTimeMillis() - startTime
+                );
+            }
+        }
+    }
+
     @Override
     public boolean insert(@NonNull KeyValue keyValue) {
         final long startTime = System.currentTimeMillis();
@@ -127,6 +148,36 @@ public final class PartInKvStore implements Part {
         return false;
     }
 
+    @Override
+    public long update(@NonNull List<Object[]> newTuples, @NonNull List<Object[]> oldTuples) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            List<Boolean> indexed = store.insertIndex(newTuples);
+            List<Object[]> indexedNewTuples = select(newTuples, indexed);
+            List<Object[]> indexedOldTuples = select(oldTuples, indexed);
+            if (indexedNewTuples.isEmpty()) {
+                return 0;
+            }
+            List<Boolean> results = store.updateWithIndex(indexedNewTuples, indexedOldTuples);
+            long count = 0;
+            for (int i = 0; i < results.size(); ++i) {
+                if (results.get(i)) {
+                    store.deleteIndex(indexedNewTuples.get(i), indexedOldTuples.get(i));
+                    ++count;
+                }
+            }
+            return count;
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "PartInKvStore batch update {} tuples cost: {}ms.",
+                    newTuples.size(),
+                    System.currentTimeMillis() - startTime
+                );
+            }
+        }
+    }
+
     @Override
     public boolean update(@NonNull KeyValue newKeyValue, @NonNull KeyValue oldKeyValue) {
         final long startTime = System.currentTimeMillis();
@@ -147,6 +198,26 @@ public final class PartInKvStore implements Part {
         return false;
     }
 
+    @Override
+    public long remove(@NonNull List<Object[]> tuples) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            if (tuples.isEmpty()) {
+                return 0;
+            }
+            List<Object[]> deleted = select(tuples, store.deleteWithIndex(tuples));
+            return deleted.isEmpty() ? 0 : countTrue(store.deleteIndex(deleted));
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "PartInKvStore batch remove {} tuples cost: {}ms.",
+                    tuples.size(),
+                    System.currentTimeMillis() - startTime
+                );
+            }
+        }
+    }
+
     @Override
     public boolean remove(byte @NonNull [] key) {
         final long startTime = System.currentTimeMillis();
@@ -171,6 +242,20 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    private static long countTrue(@NonNull List<Boolean> results) {
+        return results.stream().filter(Boolean::booleanValue).count();
+    }
+
+    private static @NonNull List<Object[]> select(@NonNull List<Object[]> tuples, @NonNull List<Boolean> results) {
+        List<Object[]> selected = new ArrayList<>(tuples.size());
+        for (int i = 0; i < tuples.size(); ++i) {
+            if (results.get(i)) {
+                selected.add(tuples.get(i));
+            }
+        }
+        return selected;
+    }
+
     @Override
     public Object @Nullable [] get(Object @NonNull [] key) {
         try {
@@ -192,4 +277,23 @@ public final class PartInKvStore implements Part {
         }
     }
 
+    @Override
+    public @NonNull List<Object[]> get(@NonNull List<byte[]> keys) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            return store.get(keys).stream()
+                .filter(kv -> kv != null && kv.getValue() != null)
+                .map(wrap(codec::decode)::apply)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        } finally {
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "PartInKvStore batch get {} keys cost: {}ms.",
+                    keys.size(),
+                    System.currentTimeMillis() - startTime
+                );
+            }
+        }
+    }
 }
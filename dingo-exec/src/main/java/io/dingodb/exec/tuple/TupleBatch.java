@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.tuple;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A batch of tuples pushed between operators in one call.
+ *
+ * <p>Filtering only updates the selection vector, so the tuple array is never copied.
+ */
+public final class TupleBatch implements Iterable<Object[]> {
+    private final Object[][] tuples;
+    // Indices of selected tuples, `null` means the first `size` tuples are all selected.
+    private int[] selection;
+    private int size;
+
+    public TupleBatch(Object @NonNull [] @NonNull [] tuples, int size) {
+        this.tuples = tuples;
+        this.selection = null;
+        this.size = size;
+    }
+
+    public static @NonNull TupleBatch of(@NonNull Collection<Object[]> tuples) {
+        return new TupleBatch(tuples.toArray(new Object[0][]), tuples.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Object[] get(int index) {
+        return selection == null ? tuples[index] : tuples[selection[index]];
+    }
+
+    /**
+     * Keep only the tuples satisfying the predicate, in place.
+     *
+     * @param predicate the predicate
+     * @return this batch
+     */
+    public @NonNull TupleBatch filter(@NonNull Predicate<Object[]> predicate) {
+        int[] newSelection = selection != null ? selection : new int[size];
+        int newSize = 0;
+        for (int i = 0; i < size; ++i) {
+            int index = selection == null ? i : selection[i];
+            if (predicate.test(tuples[index])) {
+                newSelection[newSize++] = index;
+            }
+        }
+        selection = newSelection;
+        size = newSize;
+        return this;
+    }
+
+    /**
+     * Map the selected tuples to a new batch.
+     *
+     * @param mapper the mapping function
+     * @return the new batch
+     */
+    public @NonNull TupleBatch map(@NonNull UnaryOperator<Object[]> mapper) {
+        Object[][] newTuples = new Object[size][];
+        for (int i = 0; i < size; ++i) {
+            newTuples[i] = mapper.apply(get(i));
+        }
+        return new TupleBatch(newTuples, size);
+    }
+
+    public @NonNull List<Object[]> toList() {
+        List<Object[]> list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public @NonNull Iterator<Object[]> iterator() {
+        return new Iterator<Object[]>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Object[] next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.channel;
+
+import io.dingodb.net.NetService;
+import io.dingodb.net.NetServiceProvider;
+import org.mockito.Mockito;
+
+/**
+ * Provides a mocked net service for the tests, whose channels are to be stubbed by the tests.
+ */
+public class MockNetServiceProvider implements NetServiceProvider {
+    public static final NetService NET = Mockito.mock(NetService.class);
+
+    @Override
+    public NetService get() {
+        return NET;
+    }
+}
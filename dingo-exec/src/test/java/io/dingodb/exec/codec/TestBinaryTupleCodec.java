@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class TestBinaryTupleCodec {
+    public static @NonNull Stream<Arguments> getArguments() {
+        return Stream.of(
+            arguments(
+                DingoTypeFactory.tuple("INT", "STRING", "DOUBLE"),
+                ImmutableList.of(
+                    new Object[]{1, "Alice", 3.5},
+                    new Object[]{2, "Betty", 3.6},
+                    new Object[]{3, "Cindy", 3.7}
+                )
+            ),
+            arguments(
+                DingoTypeFactory.tuple("LONG|NULL", "STRING|NULL", "BOOL|NULL", "DECIMAL|NULL", "DATE", "TIMESTAMP"),
+                ImmutableList.of(
+                    new Object[]{
+                        1L, "\u00e9\u4e2d\ud83d\ude00", true, new BigDecimal("-12.345"),
+                        new Date(86400000L), new Timestamp(1600000000123L)
+                    },
+                    new Object[]{null, null, null, null, new Date(0L), new Timestamp(0L)},
+                    new Object[]{Long.MIN_VALUE, "", false, BigDecimal.ZERO, new Date(0L), new Timestamp(-1L)}
+                )
+            ),
+            arguments(
+                DingoTypeFactory.tuple("INT"),
+                ImmutableList.of()
+            )
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("getArguments")
+    public void testCodec(DingoType type, List<Object[]> tuples) throws IOException {
+        BinaryTupleCodec codec = new BinaryTupleCodec(type);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.encode(bos, tuples);
+        ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+        List<Object[]> decodedTuples = codec.decode(bis);
+        assertThat(decodedTuples).containsExactlyElementsOf(tuples);
+    }
+
+    @Test
+    public void testLargeBatch() throws IOException {
+        DingoType type = DingoTypeFactory.tuple("INT", "STRING");
+        List<Object[]> tuples = new ArrayList<>();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            builder.append((char) ('a' + i % 26));
+            tuples.add(new Object[]{i, builder.toString()});
+        }
+        BinaryTupleCodec codec = new BinaryTupleCodec(type);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.encode(bos, tuples);
+        byte[] bytes = bos.toByteArray();
+        assertThat(codec.decode(bytes, 0, bytes.length)).containsExactlyElementsOf(tuples);
+    }
+
+    @Test
+    public void testTxRx() throws IOException {
+        DingoType type = DingoTypeFactory.tuple("INT", "STRING|NULL");
+        List<Object[]> tuples = ImmutableList.of(new Object[]{1, "Alice"}, new Object[]{2, null});
+        TxRxCodec codec = new TxRxCodecImpl(type);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.encodeTuples(bos, tuples);
+        // Avro by default, which can be decoded by older nodes.
+        assertThat(bos.toByteArray()[0]).isEqualTo((byte) TxRxCodecImpl.TUPLES_FLAG);
+        assertThat(codec.decode(bos.toByteArray())).containsExactlyElementsOf(tuples);
+    }
+
+    @Test
+    public void testTxRxBinary() throws IOException {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setExchangeCodec(ExecutionConfiguration.EXCHANGE_CODEC_BINARY);
+        DingoConfiguration.instance().setExecution(execution);
+        try {
+            DingoType type = DingoTypeFactory.tuple("INT", "STRING|NULL");
+            List<Object[]> tuples = ImmutableList.of(new Object[]{1, "Alice"}, new Object[]{2, null});
+            TxRxCodec codec = new TxRxCodecImpl(type);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            codec.encodeTuples(bos, tuples);
+            byte[] bytes = bos.toByteArray();
+            assertThat(bytes[0]).isEqualTo((byte) TxRxCodecImpl.BINARY_TUPLES_FLAG);
+            assertThat(codec.decode(bytes)).containsExactlyElementsOf(tuples);
+            // Decoded by a receiver configured with avro too.
+            DingoConfiguration.instance().setExecution(null);
+            assertThat(new TxRxCodecImpl(type).decode(bytes)).containsExactlyElementsOf(tuples);
+        } finally {
+            DingoConfiguration.instance().setExecution(null);
+        }
+    }
+
+    @Test
+    public void testTxRxDirectBuffer() throws IOException {
+        DingoType type = DingoTypeFactory.tuple("INT", "STRING|NULL");
+        List<Object[]> tuples = ImmutableList.of(new Object[]{1, "Alice"}, new Object[]{2, null});
+        TxRxCodec codec = new TxRxCodecImpl(type);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.encodeTuples(bos, tuples);
+        byte[] bytes = bos.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+        buffer.put((byte) 0).put(bytes).put((byte) 0).flip().position(1).limit(bytes.length + 1);
+        assertThat(codec.decode(buffer)).containsExactlyElementsOf(tuples);
+        assertThat(buffer.position()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.expr.parser.Expr;
+import io.dingodb.expr.parser.ExprCompiler;
+import io.dingodb.expr.parser.exception.ExprCompileException;
+import io.dingodb.expr.parser.exception.ExprParseException;
+import io.dingodb.expr.parser.parser.DingoExprCompiler;
+import io.dingodb.expr.runtime.RtExpr;
+import io.dingodb.expr.runtime.eval.Eval;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class TestEvalCodeGenerator {
+    private static final Object[][] TUPLES = new Object[][]{
+        new Object[]{1, "abc", 2.5, 10L, true},
+        new Object[]{-3, "", 0.0, 0L, false},
+        new Object[]{null, null, null, null, null},
+    };
+
+    private static DingoExprCompiler parser;
+    private static DingoType tupleType;
+
+    @BeforeAll
+    public static void setupAll() {
+        parser = new DingoExprCompiler();
+        tupleType = DingoTypeFactory.tuple("INT", "STRING", "DOUBLE", "LONG", "BOOL");
+    }
+
+    public static @NonNull Stream<Arguments> getParameters() {
+        return Stream.of(
+            arguments("1 + 2 * 3"),
+            arguments("'abc' > 'a'"),
+            arguments("_[0] + 1"),
+            arguments("_[0] * _[3] - 5"),
+            arguments("_[2] / 2 > _[0]"),
+            arguments("_[1] == 'abc'"),
+            arguments("_[1] < 'b'"),
+            arguments("-_[2]"),
+            arguments("!_[4]"),
+            arguments("_[0] > 0 && _[4]"),
+            arguments("_[0] > 0 || _[3] < 5"),
+            arguments("_[4] && _[0] < 0 && _[2] > 1.0"),
+            arguments("_[4] || _[0] < 0 || _[2] > 1.0"),
+            arguments("is_null(_[1])"),
+            arguments("is_true(_[3])"),
+            arguments("is_false(_[0])")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("getParameters")
+    public void testSameAsInterpreting(String exprString) throws ExprParseException, ExprCompileException {
+        Expr expr = parser.parse(exprString);
+        SqlExprCompileContext ctx = new SqlExprCompileContext(tupleType, null);
+        Eval eval = expr.accept(ExprCompiler.of(ctx));
+        assertThat(eval).isNotNull();
+        CompiledEval code = EvalCodeGenerator.generate(eval);
+        assertThat(code).isNotNull();
+        RtExpr rtExpr = expr.compileIn(ctx);
+        SqlExprEvalContext etx = new SqlExprEvalContext(null);
+        for (Object[] tuple : TUPLES) {
+            etx.setTuple(tuple);
+            assertThat(code.eval(tuple, null)).isEqualTo(rtExpr.eval(etx));
+        }
+    }
+
+    @Test
+    public void testParas() throws ExprParseException {
+        DingoType parasType = DingoTypeFactory.tuple("INT");
+        SqlExprCompileContext ctx = new SqlExprCompileContext(tupleType, parasType);
+        Eval eval = parser.parse("_[0] + _P[0]").accept(ExprCompiler.of(ctx));
+        CompiledEval code = EvalCodeGenerator.generate(eval);
+        assertThat(code).isNotNull();
+        assertThat(code.eval(TUPLES[0], new Object[]{2})).isEqualTo(3);
+        assertThat(code.eval(TUPLES[0], new Object[]{null})).isNull();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.exec.base.Scheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestBoundedScheduler {
+    @Test
+    public void testPriority() throws InterruptedException {
+        BoundedScheduler scheduler = new BoundedScheduler(1, 1, 1, 0);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.execute("blocker", Scheduler.PRIORITY_NORMAL, () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        scheduler.execute("low", Scheduler.PRIORITY_LOW, () -> {
+            order.add("low");
+            done.countDown();
+        });
+        scheduler.execute("normal-1", Scheduler.PRIORITY_NORMAL, () -> {
+            order.add("normal-1");
+            done.countDown();
+        });
+        scheduler.execute("normal-2", Scheduler.PRIORITY_NORMAL, () -> {
+            order.add("normal-2");
+            done.countDown();
+        });
+        blocker.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("normal-1", "normal-2", "low");
+    }
+
+    @Test
+    public void testAging() throws InterruptedException {
+        BoundedScheduler scheduler = new BoundedScheduler(1, 1, 1, 0, 2);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.execute("blocker", Scheduler.PRIORITY_NORMAL, () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        scheduler.execute("low", Scheduler.PRIORITY_LOW, () -> {
+            order.add("low");
+            done.countDown();
+        });
+        for (int i = 1; i <= 3; ++i) {
+            String name = "normal-" + i;
+            scheduler.execute(name, Scheduler.PRIORITY_NORMAL, () -> {
+                order.add(name);
+                done.countDown();
+            });
+        }
+        blocker.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        // Low priority work gives way to at most 2 pieces of work queued after it.
+        assertThat(order).containsExactly("normal-1", "low", "normal-2", "normal-3");
+    }
+
+    @Test
+    public void testStoreCall() throws InterruptedException {
+        BoundedScheduler scheduler = new BoundedScheduler(1, 1, 1, 0);
+        CountDownLatch blocker = new CountDownLatch(1);
+        scheduler.executeBlocking("blocker", () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        try {
+            // Not queued behind the blocking work.
+            assertThat(scheduler.submitStoreCall("call", () -> Thread.currentThread().getThreadGroup().getName())
+                .join()).isEqualTo(BoundedScheduler.STORE_NAME);
+        } finally {
+            blocker.countDown();
+        }
+    }
+
+    @Test
+    public void testAdmission() {
+        BoundedScheduler scheduler = new BoundedScheduler(1, 1, 1, 1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        scheduler.admit(Scheduler.PRIORITY_NORMAL, () -> order.add("first"));
+        scheduler.admit(Scheduler.PRIORITY_LOW, () -> order.add("low"));
+        scheduler.admit(Scheduler.PRIORITY_NORMAL, () -> order.add("second"));
+        assertThat(order).containsExactly("first");
+        assertThat(scheduler.getRunningTasks()).isEqualTo(1);
+        assertThat(scheduler.getPendingTasks()).isEqualTo(2);
+        scheduler.release();
+        assertThat(order).containsExactly("first", "second");
+        scheduler.release();
+        scheduler.release();
+        assertThat(order).containsExactly("first", "second", "low");
+        assertThat(scheduler.getRunningTasks()).isEqualTo(0);
+        assertThat(scheduler.getPendingTasks()).isEqualTo(0);
+    }
+}
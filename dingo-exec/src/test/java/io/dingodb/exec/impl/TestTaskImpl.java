@@ -18,22 +18,65 @@ package io.dingodb.exec.impl;
 
 import com.google.common.collect.ImmutableList;
 import io.dingodb.common.Location;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.CommonId;
+import io.dingodb.exec.Services;
+import io.dingodb.exec.base.Status;
 import io.dingodb.exec.base.Task;
+import io.dingodb.exec.channel.EndpointManager;
+import io.dingodb.exec.channel.MockNetServiceProvider;
+import io.dingodb.exec.channel.message.IncreaseBuffer;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.CollectOperator;
+import io.dingodb.exec.operator.IteratorSourceOperator;
+import io.dingodb.exec.operator.MergeJoinOperator;
 import io.dingodb.exec.operator.ProjectOperator;
 import io.dingodb.exec.operator.RootOperator;
+import io.dingodb.exec.operator.SendOperator;
 import io.dingodb.exec.operator.ValuesOperator;
+import io.dingodb.exec.utils.TagUtils;
+import io.dingodb.net.BufferOutputStream;
+import io.dingodb.net.Channel;
+import io.dingodb.net.Message;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class TestTaskImpl {
+    private static final int YIELD_TUPLES = 10;
+
+    @BeforeAll
+    public static void setupAll() {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setSourceYieldTuples(YIELD_TUPLES);
+        execution.setBatchSize(1);
+        DingoConfiguration.instance().setExecution(execution);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
     @Test
     public void testValues() {
         Task task = new TaskImpl(CommonId.EMPTY_TASK, CommonId.EMPTY_JOB, Mockito.mock(Location.class), null);
@@ -94,4 +137,167 @@ public class TestTaskImpl {
             root.popValue();
         }
     }
+
+    @Test
+    public void testYieldAndResume() throws InterruptedException {
+        int size = YIELD_TUPLES * 10 + 5;
+        RangeSourceOperator source = new RangeSourceOperator(size);
+        CollectOperator sink = CollectOperator.link(source);
+        Task task = source.getTask();
+        task.run(null);
+        for (int i = 0; i < 1000 && (sink.getFin() == null || task.getStatus() != Status.READY); ++i) {
+            Thread.sleep(10);
+        }
+        assertThat(sink.getFin()).isNotNull();
+        assertThat(task.getStatus()).isEqualTo(Status.READY);
+        assertThat(sink.getTuples()).hasSize(size);
+        for (int i = 0; i < size; ++i) {
+            assertThat(sink.getTuples().get(i)).containsExactly(i);
+        }
+        // Pushed again after every yielding, on the workers of the scheduler.
+        assertThat(source.pushes.get()).isEqualTo(size / YIELD_TUPLES + 1);
+        assertThat(source.threadGroups).containsExactly(BoundedScheduler.NAME);
+    }
+
+    @Test
+    public void testRootPipeline() {
+        int size = RootOperator.TUPLE_QUEUE_SIZE * 3;
+        Task task = new TaskImpl(CommonId.EMPTY_TASK, CommonId.EMPTY_JOB, Mockito.mock(Location.class), null);
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+        RangeSourceOperator source = new RangeSourceOperator(size);
+        source.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(source);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INT"), null);
+        root.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(root);
+        source.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run(null);
+        for (int i = 0; i < size; ++i) {
+            assertThat(root.popValue()).containsExactly(i);
+        }
+        assertThat(root.popValue()).isSameAs(RootOperator.FIN);
+        // The source yields while the root is full instead of waiting, so it is run on the workers.
+        assertThat(source.threadGroups).containsExactly(BoundedScheduler.NAME);
+    }
+
+    @Test
+    public void testSendPipeline() throws Exception {
+        int size = SendOperator.SEND_BATCH_SIZE * 2 + 5;
+        List<BufferOutputStream> sent = new CopyOnWriteArrayList<>();
+        Channel channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.getOutputStream(Mockito.anyInt())).thenAnswer(invocation -> new BytesOutputStream());
+        Mockito.doAnswer(invocation -> sent.add(invocation.getArgument(0)))
+            .when(channel).send(Mockito.any(BufferOutputStream.class), Mockito.anyBoolean());
+        Mockito.when(MockNetServiceProvider.NET.newChannel(Mockito.any(Location.class))).thenReturn(channel);
+        Task task = new TaskImpl(CommonId.EMPTY_TASK, CommonId.EMPTY_JOB, Mockito.mock(Location.class), null);
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+        RangeSourceOperator source = new RangeSourceOperator(size);
+        source.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(source);
+        CommonId receiveId = idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq);
+        SendOperator send = new SendOperator("localhost", 0, receiveId, DingoTypeFactory.tuple("INT"));
+        send.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(send);
+        source.getSoleOutput().setLink(send.getInput(0));
+        task.init();
+        try {
+            task.run(null);
+            // No buffer is given by the receiver, so the first buffer is queued and the source waits.
+            Thread.sleep(100);
+            assertThat(sent).isEmpty();
+            assertThat(send.isFull()).isTrue();
+            assertThat(task.getStatus()).isEqualTo(Status.RUNNING);
+            IncreaseBuffer increaseBuffer = new IncreaseBuffer(TagUtils.tag(CommonId.EMPTY_JOB, receiveId), 1 << 20);
+            EndpointManager.INSTANCE.onControlMessage(new Message(Services.CTRL_TAG, increaseBuffer.toBytes()));
+            for (int i = 0; i < 1000 && task.getStatus() != Status.READY; ++i) {
+                Thread.sleep(10);
+            }
+            assertThat(task.getStatus()).isEqualTo(Status.READY);
+            // Two full buffers, the rest tuples and FIN.
+            assertThat(sent).hasSize(4);
+            assertThat(source.threadGroups).containsExactly(BoundedScheduler.NAME);
+        } finally {
+            task.destroy();
+        }
+    }
+
+    @Test
+    public void testMergeJoinPipeline() {
+        int size = YIELD_TUPLES * 3;
+        Task task = new TaskImpl(CommonId.EMPTY_TASK, CommonId.EMPTY_JOB, Mockito.mock(Location.class), null);
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+        RangeSourceOperator left = new RangeSourceOperator(size);
+        left.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(left);
+        RangeSourceOperator right = new RangeSourceOperator(size);
+        right.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(right);
+        MergeJoinOperator join = new MergeJoinOperator(
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            1,
+            1,
+            false
+        );
+        join.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(join);
+        RootOperator root = new RootOperator(DingoTypeFactory.tuple("INT", "INT"), null);
+        root.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(root);
+        left.getSoleOutput().setLink(join.getInput(0));
+        right.getSoleOutput().setLink(join.getInput(1));
+        join.getSoleOutput().setLink(root.getInput(0));
+        task.init();
+        task.run(null);
+        for (int i = 0; i < size; ++i) {
+            assertThat(root.popValue()).containsExactly(i, i);
+        }
+        assertThat(root.popValue()).isSameAs(RootOperator.FIN);
+        // Both sources wait for each other in the join, even after yielding, so neither is run on the workers.
+        assertThat(left.pushes.get()).isGreaterThan(1);
+        assertThat(left.threadGroups).containsExactly(BoundedScheduler.BLOCKING_NAME);
+        assertThat(right.threadGroups).containsExactly(BoundedScheduler.BLOCKING_NAME);
+    }
+
+    private static class BytesOutputStream extends BufferOutputStream {
+        private final ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            os.write(b);
+        }
+
+        @Override
+        public int bytes() {
+            return os.size();
+        }
+
+        @Override
+        public Object getBuffer() {
+            return os.toByteArray();
+        }
+    }
+
+    private static class RangeSourceOperator extends IteratorSourceOperator {
+        private final int size;
+        private final AtomicInteger pushes = new AtomicInteger();
+        private final Set<String> threadGroups = ConcurrentHashMap.newKeySet();
+
+        private RangeSourceOperator(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean push() {
+            pushes.incrementAndGet();
+            threadGroups.add(Thread.currentThread().getThreadGroup().getName());
+            return super.push();
+        }
+
+        @Override
+        protected @NonNull Iterator<Object[]> createIterator() {
+            return IntStream.range(0, size).mapToObj(i -> new Object[]{i}).iterator();
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.operator.ValuesOperator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestTaskTemplates {
+    private static @NonNull Task createTask(long jobSeq) {
+        return createTask(jobSeq, "Alice");
+    }
+
+    private static @NonNull Task createTask(long jobSeq, String name) {
+        CommonId jobId = new CommonId(CommonId.CommonType.JOB, 1, jobSeq);
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(jobSeq);
+        Task task = new TaskImpl(idGenerator.getTaskId(), jobId, new Location("localhost", 0), null);
+        ValuesOperator values = new ValuesOperator(
+            ImmutableList.of(new Object[]{1, name}),
+            DingoTypeFactory.tuple("INTEGER", "STRING")
+        );
+        values.setId(idGenerator.getOperatorId(task.getId()));
+        task.putOperator(values);
+        return task;
+    }
+
+    @Test
+    public void testShape() {
+        Task task1 = createTask(1);
+        Task task2 = createTask(2);
+        ObjectNode tree = JobImpl.PARSER.toTree(task1);
+        String shape = TaskTemplates.shapeOf(tree);
+        assertThat(shape).isEqualTo(TaskTemplates.shapeOf(JobImpl.PARSER.toTree(task2)));
+        assertThat(shape).doesNotContain(task1.getJobId().toString());
+        // Only the digest is kept.
+        assertThat(shape.length()).isLessThan(tree.toString().length());
+        assertThat(shape).isNotEqualTo(TaskTemplates.shapeOf(JobImpl.PARSER.toTree(createTask(3, "Betty"))));
+        // The ids are kept in the tree.
+        assertThat(tree.get("jobId").asText()).isEqualTo(task1.getJobId().toString());
+    }
+
+    @Test
+    public void testAssign() {
+        TaskTemplates templates = new TaskTemplates(2);
+        assertThat(templates.assign("a")).isEqualTo(0);
+        assertThat(templates.assign("b")).isEqualTo(1);
+        assertThat(templates.slotOf("a")).isEqualTo(0);
+        // "b" is the least recently used.
+        assertThat(templates.assign("c")).isEqualTo(1);
+        assertThat(templates.slotOf("b")).isNull();
+        assertThat(templates.slotOf("c")).isEqualTo(1);
+    }
+
+    @Test
+    public void testCreate() throws JsonProcessingException {
+        Task task = createTask(1);
+        TaskTemplates templates = new TaskTemplates(0);
+        templates.put(0, JobImpl.PARSER.toTree(task));
+        CommonId jobId = new CommonId(CommonId.CommonType.JOB, 1, 2);
+        CommonId taskId = new CommonId(CommonId.CommonType.TASK, 2, 0);
+        Task newTask = templates.create(0, jobId, taskId);
+        assertThat(newTask.getJobId()).isEqualTo(jobId);
+        assertThat(newTask.getId()).isEqualTo(taskId);
+        assertThat(newTask.getOperators().keySet()).isEqualTo(task.getOperators().keySet());
+        assertThat(newTask.getRunList()).isEqualTo(task.getRunList());
+    }
+}
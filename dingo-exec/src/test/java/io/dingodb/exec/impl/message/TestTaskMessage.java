@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl.message;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.ValuesOperator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTaskMessage {
+    @BeforeAll
+    public static void setupAll() {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setTaskCodec(ExecutionConfiguration.TASK_CODEC_BINARY);
+        DingoConfiguration.instance().setExecution(execution);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
+    @Test
+    public void testCreateTask() throws IOException {
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(1);
+        Task task = new TaskImpl(idGenerator.getTaskId(), CommonId.EMPTY_JOB, new Location("localhost", 0), null);
+        ValuesOperator values = new ValuesOperator(
+            ImmutableList.of(new Object[]{1, "Alice", new byte[]{1, 2, 3}}),
+            DingoTypeFactory.tuple("INTEGER", "STRING", "BINARY")
+        );
+        values.setId(idGenerator.getOperatorId(task.getId()));
+        task.putOperator(values);
+        byte[] bytes = new CreateTaskMessage(task).toBytes();
+        assertThat(bytes[0]).isEqualTo(TaskMessage.BINARY_V1);
+        TaskMessage message = TaskMessage.fromBytes(bytes);
+        assertThat(message).isInstanceOf(CreateTaskMessage.class);
+        Task newTask = ((CreateTaskMessage) message).createTask();
+        assertThat(newTask.getId()).isEqualTo(task.getId());
+        assertThat(newTask.getOperators().keySet()).isEqualTo(task.getOperators().keySet());
+    }
+
+    @Test
+    public void testRunTask() throws IOException {
+        DingoType parasType = DingoTypeFactory.tuple("INTEGER", "STRING");
+        CommonId taskId = new CommonId(CommonId.CommonType.TASK, 1, 0);
+        RunTaskMessage message = new RunTaskMessage(CommonId.EMPTY_JOB, taskId, parasType, new Object[]{1, "a"}, 3);
+        RunTaskMessage newMessage = (RunTaskMessage) TaskMessage.fromBytes(message.toBytes());
+        assertThat(newMessage.getJobId()).isEqualTo(CommonId.EMPTY_JOB);
+        assertThat(newMessage.getTaskId()).isEqualTo(taskId);
+        assertThat(newMessage.getParas()).containsExactly(1, "a");
+        assertThat(newMessage.getTemplate()).isEqualTo(3);
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        CommonId taskId = new CommonId(CommonId.CommonType.TASK, 1, 0);
+        byte[] bytes = new DestroyTaskMessage(CommonId.EMPTY_JOB, taskId).toString().getBytes(StandardCharsets.UTF_8);
+        DestroyTaskMessage message = (DestroyTaskMessage) TaskMessage.fromBytes(bytes);
+        assertThat(message.getTaskId()).isEqualTo(taskId);
+        assertThatThrownBy(() -> TaskMessage.fromBytes(new byte[]{2, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testJsonByDefault() throws IOException {
+        CommonId taskId = new CommonId(CommonId.CommonType.TASK, 1, 0);
+        ExecutionConfiguration execution = DingoConfiguration.instance().getExecution();
+        DingoConfiguration.instance().setExecution(null);
+        try {
+            byte[] bytes = new DestroyTaskMessage(CommonId.EMPTY_JOB, taskId).toBytes();
+            assertThat(bytes[0]).isEqualTo((byte) '{');
+            DestroyTaskMessage message = (DestroyTaskMessage) TaskMessage.fromBytes(bytes);
+            assertThat(message.getTaskId()).isEqualTo(taskId);
+        } finally {
+            DingoConfiguration.instance().setExecution(execution);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import lombok.Getter;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sink collecting the tuples pushed in, for testing operators.
+ */
+public class CollectOperator extends SinkOperator {
+    @Getter
+    private final List<Object[]> tuples = new ArrayList<>();
+    @Getter
+    private volatile Fin fin;
+    private final int limit;
+
+    public CollectOperator() {
+        this(-1);
+    }
+
+    /**
+     * Create a sink which stops the upstream after {@code limit} tuples.
+     */
+    public CollectOperator(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Make a task of an operator with a sole output linked to a new collecting sink, and init it.
+     */
+    public static CollectOperator link(Operator operator) {
+        return link(operator, new CollectOperator());
+    }
+
+    public static CollectOperator link(Operator operator, CollectOperator sink) {
+        Task task = new TaskImpl(CommonId.EMPTY_TASK, CommonId.EMPTY_JOB, Mockito.mock(Location.class), null);
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+        operator.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(operator);
+        sink.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(sink);
+        operator.getSoleOutput().setLink(sink.getInput(0));
+        task.init();
+        return sink;
+    }
+
+    @Override
+    protected boolean push(Object[] tuple) {
+        tuples.add(tuple);
+        return limit < 0 || tuples.size() < limit;
+    }
+
+    @Override
+    protected void fin(Fin fin) {
+        this.fin = fin;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.exec.base.Output;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.tuple.TupleBatch;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestBroadcastOperator {
+    private static List<CollectOperator> link(BroadcastOperator operator, CollectOperator... sinks) {
+        Task task = new TaskImpl(CommonId.EMPTY_TASK, CommonId.EMPTY_JOB, Mockito.mock(Location.class), null);
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+        operator.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+        task.putOperator(operator);
+        operator.createOutputs(sinks.length);
+        Iterator<Output> outputs = operator.getOutputs().iterator();
+        for (CollectOperator sink : sinks) {
+            sink.setId(idGenerator.getOperatorId(CommonId.EMPTY_TASK.seq));
+            task.putOperator(sink);
+            outputs.next().setLink(sink.getInput(0));
+        }
+        task.init();
+        return Arrays.asList(sinks);
+    }
+
+    @Test
+    public void testPush() {
+        BroadcastOperator operator = new BroadcastOperator();
+        List<CollectOperator> sinks = link(operator, new CollectOperator(), new CollectOperator());
+        assertThat(operator.push(0, new Object[]{1, "a"})).isTrue();
+        List<Object[]> tuples = new ArrayList<>();
+        tuples.add(new Object[]{2, "b"});
+        tuples.add(new Object[]{3, "c"});
+        assertThat(operator.pushBatch(0, TupleBatch.of(tuples))).isTrue();
+        operator.fin(0, new FinWithProfiles(new LinkedList<>()));
+        for (CollectOperator sink : sinks) {
+            assertThat(sink.getTuples()).hasSize(3);
+            assertThat(sink.getTuples().get(0)).containsExactly(1, "a");
+            assertThat(sink.getTuples().get(2)).containsExactly(3, "c");
+            assertThat(sink.getFin()).isInstanceOf(FinWithProfiles.class);
+        }
+    }
+
+    @Test
+    public void testPushUntilAllStop() {
+        BroadcastOperator operator = new BroadcastOperator();
+        List<CollectOperator> sinks = link(operator, new CollectOperator(1), new CollectOperator());
+        // The second output still wants more.
+        assertThat(operator.push(0, new Object[]{1, "a"})).isTrue();
+        assertThat(sinks.get(0).getTuples()).hasSize(1);
+        assertThat(sinks.get(1).getTuples()).hasSize(1);
+        // The first output is not pushed to again.
+        assertThat(operator.push(0, new Object[]{2, "b"})).isTrue();
+        assertThat(sinks.get(0).getTuples()).hasSize(1);
+        assertThat(sinks.get(1).getTuples()).hasSize(2);
+    }
+
+    @Test
+    public void testPushAllStopped() {
+        BroadcastOperator operator = new BroadcastOperator();
+        List<CollectOperator> sinks = link(operator, new CollectOperator(1), new CollectOperator(2));
+        assertThat(operator.push(0, new Object[]{1, "a"})).isTrue();
+        assertThat(operator.push(0, new Object[]{2, "b"})).isFalse();
+        assertThat(sinks.get(0).getTuples()).hasSize(1);
+        assertThat(sinks.get(1).getTuples()).hasSize(2);
+        // A new run pushes to all the outputs again.
+        operator.setParas(null);
+        sinks.get(1).getTuples().clear();
+        assertThat(operator.push(0, new Object[]{3, "c"})).isTrue();
+        assertThat(sinks.get(1).getTuples()).hasSize(1);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.OperatorProfile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestHashJoinOperator {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INT", "STRING");
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        // Small enough to spill and split partitions again.
+        execution.setJoinMemoryBudget(8L * 1024);
+        DingoConfiguration.instance().setExecution(execution);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
+    private static List<Object[]> expected(
+        List<Object[]> lefts,
+        List<Object[]> rights,
+        boolean leftRequired,
+        boolean rightRequired
+    ) {
+        List<Object[]> result = new ArrayList<>();
+        boolean[] rightJoined = new boolean[rights.size()];
+        for (Object[] left : lefts) {
+            boolean joined = false;
+            for (int i = 0; i < rights.size(); ++i) {
+                if (Objects.equals(left[0], rights.get(i)[0])) {
+                    result.add(new Object[]{left[0], left[1], rights.get(i)[0], rights.get(i)[1]});
+                    joined = true;
+                    rightJoined[i] = true;
+                }
+            }
+            if (!joined && leftRequired) {
+                result.add(new Object[]{left[0], left[1], null, null});
+            }
+        }
+        for (int i = 0; i < rights.size(); ++i) {
+            if (!rightJoined[i] && rightRequired) {
+                result.add(new Object[]{null, null, rights.get(i)[0], rights.get(i)[1]});
+            }
+        }
+        return result;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"INNER", "LEFT", "RIGHT", "FULL"})
+    public void testSpilledJoin(String joinType) {
+        boolean leftRequired = joinType.equals("LEFT") || joinType.equals("FULL");
+        boolean rightRequired = joinType.equals("RIGHT") || joinType.equals("FULL");
+        List<Object[]> rights = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            // A skewed key which cannot be split by hash.
+            rights.add(new Object[]{i % 3 == 0 ? 7 : i % 500, "right" + i});
+        }
+        List<Object[]> lefts = new ArrayList<>();
+        for (int i = 0; i < 600; ++i) {
+            lefts.add(new Object[]{i, "left" + i});
+        }
+        HashJoinOperator join = new HashJoinOperator(
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            2,
+            2,
+            leftRequired,
+            rightRequired,
+            SCHEMA,
+            SCHEMA
+        );
+        CollectOperator sink = CollectOperator.link(join);
+        rights.forEach(t -> join.push(1, t));
+        join.fin(1, new FinWithProfiles(new LinkedList<>()));
+        lefts.forEach(t -> join.push(0, t));
+        join.fin(0, new FinWithProfiles(new LinkedList<>()));
+        assertThat(sink.getTuples())
+            .usingElementComparator((t0, t1) -> Arrays.deepEquals(t0, t1) ? 0 : 1)
+            .containsExactlyInAnyOrderElementsOf(expected(lefts, rights, leftRequired, rightRequired));
+        List<OperatorProfile> profiles = ((FinWithProfiles) sink.getFin()).getProfiles();
+        assertThat(profiles).hasSize(1);
+        assertThat(profiles.get(0).getSpillBytes()).isGreaterThan(0);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.meta.MetaService;
+import io.dingodb.store.api.StoreInstance;
+import io.dingodb.store.api.StoreService;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestLookupJoinOperator {
+    private static final String TABLE_NAME = "LOOKUP_JOIN_TABLE";
+    private static final String INDEX_NAME = "LOOKUP_JOIN_INDEX";
+    // Smaller than the left tuples pushed, so some are looked up before fin.
+    private static final int BATCH_SIZE = 2;
+
+    private static TableDefinition tableDefinition;
+    private static TableDefinition indexDefinition;
+    private static CommonId tableId;
+    private static CommonId indexId;
+
+    @BeforeAll
+    public static void setupAll() throws IOException {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setMultiGetBatchSize(BATCH_SIZE);
+        DingoConfiguration.instance().setExecution(execution);
+        MetaService root = MetaService.root();
+        if (root.getSubMetaService(MetaService.DINGO_NAME) == null) {
+            root.createSubMetaService(MetaService.DINGO_NAME);
+        }
+        MetaService metaService = root.getSubMetaService(MetaService.DINGO_NAME);
+        tableDefinition = new TableDefinition(TABLE_NAME);
+        tableDefinition.addColumn(column("ID", "INT", 0));
+        tableDefinition.addColumn(column("NAME", "STRING", -1));
+        tableDefinition.addColumn(column("AMOUNT", "DOUBLE", -1));
+        metaService.createTable(TABLE_NAME, tableDefinition);
+        tableId = metaService.getTableId(TABLE_NAME);
+        // Index on NAME, with the primary key appended.
+        indexDefinition = new TableDefinition(INDEX_NAME);
+        indexDefinition.addColumn(column("NAME", "STRING", 0));
+        indexDefinition.addColumn(column("ID", "INT", 1));
+        metaService.createTable(INDEX_NAME, indexDefinition);
+        indexId = metaService.getTableId(INDEX_NAME);
+        KeyValueCodec codec = CodecService.getDefault().createKeyValueCodec(tableDefinition);
+        KeyValueCodec indexCodec = CodecService.getDefault().createKeyValueCodec(indexDefinition.getColumns());
+        // The operator looks up in the default store service, which is the memory store in tests.
+        StoreInstance table = StoreService.getDefault().getInstance(tableId, tableId);
+        StoreInstance index = StoreService.getDefault().getInstance(indexId, indexId);
+        Object[][] rows = {
+            {1, "a", 1.0},
+            {2, "b", 2.0},
+            {3, "a", null},
+        };
+        for (Object[] row : rows) {
+            table.insert(codec.encode(row));
+            index.insert(indexCodec.encode(new Object[]{row[1], row[0]}));
+        }
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
+    private static ColumnDefinition column(String name, String type, int primary) {
+        return ColumnDefinition.builder()
+            .name(name)
+            .type(type)
+            .nullable(primary < 0)
+            .primary(primary)
+            .build();
+    }
+
+    private static @NonNull NavigableMap<ComparableByteArray, RangeDistribution> distributions(CommonId id) {
+        NavigableMap<ComparableByteArray, RangeDistribution> distributions = new TreeMap<>();
+        distributions.put(
+            new ComparableByteArray(ByteArrayUtils.EMPTY_BYTES),
+            RangeDistribution.builder()
+                .id(id)
+                .startKey(ByteArrayUtils.EMPTY_BYTES)
+                .endKey(ByteArrayUtils.MAX)
+                .build()
+        );
+        return distributions;
+    }
+
+    // Left tuples are (ID, TAG), joined on ID = table.ID.
+    private static @NonNull LookupJoinOperator byPrimaryKey(boolean leftRequired) {
+        return new LookupJoinOperator(
+            tableId,
+            tableDefinition,
+            distributions(tableId),
+            null,
+            null,
+            null,
+            null,
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            null,
+            null,
+            2,
+            leftRequired
+        );
+    }
+
+    // Left tuples are (NAME, TAG), joined on NAME = table.NAME.
+    private static @NonNull LookupJoinOperator byIndex(boolean leftRequired) {
+        return new LookupJoinOperator(
+            tableId,
+            tableDefinition,
+            distributions(tableId),
+            indexId,
+            indexDefinition,
+            distributions(indexId),
+            TupleMapping.of(new int[]{1, 0}),
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{1}),
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            null,
+            null,
+            2,
+            leftRequired
+        );
+    }
+
+    private static @NonNull CollectOperator run(@NonNull LookupJoinOperator operator, Object[]... tuples) {
+        CollectOperator sink = CollectOperator.link(operator);
+        for (Object[] tuple : tuples) {
+            assertThat(operator.push(0, tuple)).isTrue();
+        }
+        operator.fin(0, new FinWithProfiles(new LinkedList<>()));
+        assertThat(sink.getFin()).isInstanceOf(FinWithProfiles.class);
+        return sink;
+    }
+
+    @Test
+    public void testByPrimaryKey() {
+        CollectOperator sink = run(
+            byPrimaryKey(false),
+            new Object[]{1, "x"},
+            new Object[]{3, "y"},
+            new Object[]{5, "z"},
+            new Object[]{null, "n"},
+            new Object[]{1, "w"}
+        );
+        assertThat(sink.getTuples()).containsExactlyInAnyOrder(
+            new Object[]{1, "x", 1, "a", 1.0},
+            new Object[]{3, "y", 3, "a", null},
+            new Object[]{1, "w", 1, "a", 1.0}
+        );
+    }
+
+    @Test
+    public void testByPrimaryKeyLeft() {
+        CollectOperator sink = run(
+            byPrimaryKey(true),
+            new Object[]{2, "x"},
+            new Object[]{5, "z"},
+            new Object[]{null, "n"}
+        );
+        assertThat(sink.getTuples()).containsExactlyInAnyOrder(
+            new Object[]{2, "x", 2, "b", 2.0},
+            new Object[]{5, "z", null, null, null},
+            new Object[]{null, "n", null, null, null}
+        );
+    }
+
+    @Test
+    public void testByIndex() {
+        CollectOperator sink = run(
+            byIndex(false),
+            new Object[]{"a", "x"},
+            new Object[]{"c", "y"},
+            new Object[]{"b", "z"}
+        );
+        assertThat(sink.getTuples()).containsExactlyInAnyOrder(
+            new Object[]{"a", "x", 1, "a", 1.0},
+            new Object[]{"a", "x", 3, "a", null},
+            new Object[]{"b", "z", 2, "b", 2.0}
+        );
+    }
+
+    @Test
+    public void testByIndexLeft() {
+        CollectOperator sink = run(
+            byIndex(true),
+            new Object[]{"c", "y"},
+            new Object[]{"b", "z"}
+        );
+        assertThat(sink.getTuples()).containsExactlyInAnyOrder(
+            new Object[]{"c", "y", null, null, null},
+            new Object[]{"b", "z", 2, "b", 2.0}
+        );
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.meta.MetaService;
+import io.dingodb.store.api.StoreInstance;
+import io.dingodb.store.api.StoreService;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPartCountOperator {
+    private static final String TABLE_NAME = "PART_COUNT_TABLE";
+
+    private static CommonId tableId;
+    private static KeyValueCodec codec;
+
+    @BeforeAll
+    public static void setupAll() throws IOException {
+        MetaService root = MetaService.root();
+        if (root.getSubMetaService(MetaService.DINGO_NAME) == null) {
+            root.createSubMetaService(MetaService.DINGO_NAME);
+        }
+        MetaService metaService = root.getSubMetaService(MetaService.DINGO_NAME);
+        TableDefinition tableDefinition = new TableDefinition(TABLE_NAME);
+        tableDefinition.addColumn(column("ID", "INT", 0));
+        tableDefinition.addColumn(column("NAME", "STRING", -1));
+        metaService.createTable(TABLE_NAME, tableDefinition);
+        tableId = metaService.getTableId(TABLE_NAME);
+        codec = CodecService.getDefault().createKeyValueCodec(tableDefinition);
+        // Counting goes to the store got by the operator, which is the memory store in tests.
+        StoreInstance store = StoreService.getDefault().getInstance(tableId, tableId);
+        for (int i = 1; i <= 9; ++i) {
+            store.insert(codec.encode(new Object[]{i, "n" + i}));
+        }
+    }
+
+    private static ColumnDefinition column(String name, String type, int primary) {
+        return ColumnDefinition.builder()
+            .name(name)
+            .type(type)
+            .nullable(primary < 0)
+            .primary(primary)
+            .build();
+    }
+
+    private static byte[] key(int id) throws IOException {
+        return codec.encode(new Object[]{id, null}).getKey();
+    }
+
+    private static @NonNull PartCountOperator operator(byte[] startKey, byte[] endKey, boolean withEnd) {
+        return new PartCountOperator(
+            tableId,
+            tableId,
+            DingoTypeFactory.tuple("INT", "STRING"),
+            TupleMapping.of(new int[]{0}),
+            startKey,
+            endKey,
+            true,
+            withEnd
+        );
+    }
+
+    private static long count(PartCountOperator operator) {
+        CollectOperator sink = CollectOperator.link(operator);
+        assertThat(operator.push()).isFalse();
+        assertThat(sink.getTuples()).hasSize(1);
+        return (long) sink.getTuples().get(0)[0];
+    }
+
+    @Test
+    public void testCountRange() throws IOException {
+        assertThat(count(operator(key(3), key(7), false))).isEqualTo(4L);
+        assertThat(count(operator(key(3), key(7), true))).isEqualTo(5L);
+    }
+
+    @Test
+    public void testCountLastRegion() throws IOException {
+        // The last region has no end key.
+        assertThat(count(operator(key(3), null, false))).isEqualTo(7L);
+    }
+
+    @Test
+    public void testCountAll() {
+        assertThat(count(operator(null, null, false))).isEqualTo(9L);
+    }
+}
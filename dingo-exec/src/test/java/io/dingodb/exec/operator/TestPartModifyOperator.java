@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.table.Part;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPartModifyOperator {
+    private static final int BATCH_SIZE = 2;
+    private static final int BATCHES_IN_FLIGHT = 2;
+
+    @BeforeAll
+    public static void setupAll() {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        execution.setWriteBatchSize(BATCH_SIZE);
+        execution.setWriteBatchesInFlight(BATCHES_IN_FLIGHT);
+        DingoConfiguration.instance().setExecution(execution);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
+    private static void waitUntil(@NonNull BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void push(@NonNull BatchWriter writer, int size) {
+        for (int i = 0; i < size; ++i) {
+            assertThat(writer.push(0, new Object[]{i, "tuple" + i})).isTrue();
+        }
+    }
+
+    @Test
+    public void testBatching() throws InterruptedException {
+        BatchWriter writer = new BatchWriter(0);
+        CollectOperator sink = CollectOperator.link(writer);
+        push(writer, 5);
+        writer.fin(0, new FinWithProfiles(new LinkedList<>()));
+        waitUntil(() -> sink.getFin() != null);
+        List<Integer> batches = new ArrayList<>(writer.batches);
+        Collections.sort(batches);
+        assertThat(batches).containsExactly(1, 2, 2);
+        assertThat(sink.getTuples()).hasSize(1);
+        assertThat(sink.getTuples().get(0)).containsExactly(5L);
+        assertThat(sink.getFin()).isInstanceOf(FinWithProfiles.class);
+    }
+
+    @Test
+    public void testInFlightLimit() throws InterruptedException {
+        BatchWriter writer = new BatchWriter(1);
+        CollectOperator sink = CollectOperator.link(writer);
+        push(writer, BATCHES_IN_FLIGHT * BATCH_SIZE);
+        waitUntil(() -> writer.running.get() == BATCHES_IN_FLIGHT);
+        // Pushing does not wait, the sources yield when the operator is full.
+        assertThat(writer.isFull()).isTrue();
+        CountDownLatch available = new CountDownLatch(1);
+        writer.whenAvailable(available::countDown);
+        assertThat(available.getCount()).isEqualTo(1);
+        writer.release.countDown();
+        assertThat(available.await(10, TimeUnit.SECONDS)).isTrue();
+        push(writer, BATCH_SIZE);
+        writer.fin(0, new FinWithProfiles(new LinkedList<>()));
+        waitUntil(() -> sink.getFin() != null);
+        assertThat(writer.batches).hasSize(3);
+        assertThat(writer.maxRunning).hasValue(BATCHES_IN_FLIGHT);
+        assertThat(sink.getTuples().get(0)).containsExactly((long) (3 * BATCH_SIZE));
+    }
+
+    @Test
+    public void testFinWithExceptionWaitsForBatches() throws InterruptedException {
+        BatchWriter writer = new BatchWriter(1);
+        CollectOperator sink = CollectOperator.link(writer);
+        push(writer, BATCH_SIZE);
+        waitUntil(() -> writer.running.get() == 1);
+        writer.fin(0, FinWithException.of(new TaskStatus()));
+        assertThat(sink.getFin()).isNull();
+        writer.release.countDown();
+        waitUntil(() -> sink.getFin() != null);
+        assertThat(writer.running).hasValue(0);
+        assertThat(writer.batches).containsExactly(BATCH_SIZE);
+        assertThat(sink.getTuples()).isEmpty();
+        assertThat(sink.getFin()).isInstanceOf(FinWithException.class);
+    }
+
+    @Test
+    public void testBatchFailed() throws InterruptedException {
+        BatchWriter writer = new BatchWriter(0);
+        writer.fail = true;
+        CollectOperator sink = CollectOperator.link(writer);
+        push(writer, BATCH_SIZE);
+        // Not thrown to the source, but forwarded as the fin.
+        writer.fin(0, new FinWithProfiles(new LinkedList<>()));
+        waitUntil(() -> sink.getFin() != null);
+        assertThat(sink.getTuples()).isEmpty();
+        assertThat(sink.getFin()).isInstanceOf(FinWithException.class);
+        assertThat(sink.getFin().detail()).contains("Store is down.");
+    }
+
+    private static final class BatchWriter extends PartModifyOperator {
+        private final CountDownLatch release;
+        private final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private volatile boolean fail = false;
+
+        /**
+         * Create a writer whose batches are blocked until {@link #release} is counted down.
+         */
+        private BatchWriter(int blocks) {
+            super(
+                CommonId.EMPTY_TABLE,
+                CommonId.EMPTY_DISTRIBUTE,
+                DingoTypeFactory.tuple("INT", "STRING"),
+                TupleMapping.of(new int[]{0})
+            );
+            release = new CountDownLatch(blocks);
+        }
+
+        @Override
+        protected Part getPart() {
+            return null;
+        }
+
+        @Override
+        protected boolean pushTuple(@Nullable Object[] tuple) {
+            write(tuple);
+            return true;
+        }
+
+        @Override
+        protected long writeBatch(@NonNull List<Object[]> rows) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                if (fail) {
+                    throw new IllegalStateException("Store is down.");
+                }
+                release.await();
+                batches.add(rows.size());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+            return rows.size();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.config.ExecutionConfiguration;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSortOperator {
+    private static final DingoType SCHEMA = DingoTypeFactory.tuple("INT", "STRING");
+
+    @TempDir
+    static Path spillPath;
+
+    @BeforeAll
+    public static void setupAll() {
+        DingoConfiguration.parse(null);
+        ExecutionConfiguration execution = new ExecutionConfiguration();
+        // Spill a run for every tuple.
+        execution.setSortMemoryBudget(1L);
+        execution.setSpillPath(spillPath.toString());
+        DingoConfiguration.instance().setExecution(execution);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        DingoConfiguration.instance().setExecution(null);
+    }
+
+    private static SortOperator sortOperator(int limit, int offset) {
+        return new SortOperator(
+            Collections.singletonList(
+                new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.UNSPECIFIED)
+            ),
+            limit,
+            offset,
+            SCHEMA
+        );
+    }
+
+    private static List<Object[]> tuples(int size) {
+        List<Object[]> tuples = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            tuples.add(new Object[]{i, "tuple" + i});
+        }
+        Collections.shuffle(tuples, new Random(0));
+        return tuples;
+    }
+
+    private static List<Object> keys(List<Object[]> tuples) {
+        return tuples.stream().map(t -> t[0]).collect(Collectors.toList());
+    }
+
+    private static long spillFileCount() throws IOException {
+        Path dir = spillPath.resolve("dingo-spill");
+        if (!Files.exists(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void testExternalSort() throws IOException {
+        // More runs than the merge fan-in, to merge in passes.
+        int size = SortOperator.MERGE_FAN_IN * 3 + 5;
+        SortOperator sort = sortOperator(-1, 0);
+        CollectOperator sink = CollectOperator.link(sort);
+        tuples(size).forEach(t -> sort.push(0, t));
+        assertThat(spillFileCount()).isGreaterThan(SortOperator.MERGE_FAN_IN);
+        sort.fin(0, new FinWithProfiles(new LinkedList<>()));
+        List<Object> expected = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            expected.add(i);
+        }
+        assertThat(keys(sink.getTuples())).isEqualTo(expected);
+        assertThat(sink.getFin()).isNotNull();
+        assertThat(spillFileCount()).isZero();
+    }
+
+    @Test
+    public void testExternalSortWithOffset() throws IOException {
+        // Too large to be sorted in a bounded heap.
+        int offset = SortOperator.TOP_N_MAX_SIZE;
+        int size = 100;
+        SortOperator sort = sortOperator(10, offset);
+        CollectOperator sink = CollectOperator.link(sort);
+        tuples(size).forEach(t -> sort.push(0, t));
+        sort.fin(0, new FinWithProfiles(new LinkedList<>()));
+        assertThat(sink.getTuples()).isEmpty();
+        assertThat(spillFileCount()).isZero();
+    }
+
+    @Test
+    public void testExternalSortStoppedEarly() throws IOException {
+        int size = 100;
+        SortOperator sort = sortOperator(-1, 0);
+        CollectOperator sink = CollectOperator.link(sort, new CollectOperator(10));
+        tuples(size).forEach(t -> sort.push(0, t));
+        sort.fin(0, new FinWithProfiles(new LinkedList<>()));
+        assertThat(keys(sink.getTuples())).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        // The runs not read to the end are closed and deleted.
+        assertThat(spillFileCount()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSpillFile {
+    @Test
+    public void testSpill() throws IOException {
+        DingoType type = DingoTypeFactory.tuple("INT", "STRING", "DOUBLE");
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 3 * SpillFile.SPILL_BATCH_SIZE + 7; ++i) {
+            tuples.add(new Object[]{i, "name" + i, i * 0.5});
+        }
+        try (SpillFile file = new SpillFile(type)) {
+            for (Object[] tuple : tuples) {
+                file.add(tuple);
+            }
+            List<Object[]> result = new ArrayList<>();
+            Iterator<Object[]> it = file.iterator();
+            while (it.hasNext()) {
+                result.add(it.next());
+            }
+            assertThat(file.getCount()).isEqualTo(tuples.size());
+            assertThat(file.getBytes()).isGreaterThan(0);
+            assertThat(result).containsExactlyElementsOf(tuples);
+        }
+    }
+
+    @Test
+    public void testCloseUnfinishedIterator() throws IOException {
+        DingoType type = DingoTypeFactory.tuple("INT");
+        try (SpillFile file = new SpillFile(type)) {
+            for (int i = 0; i < 2 * SpillFile.SPILL_BATCH_SIZE; ++i) {
+                file.add(new Object[]{i});
+            }
+            try (SpillFile.SpillIterator it = file.iterator()) {
+                assertThat(it.next()).containsExactly(0);
+            }
+            SpillFile.SpillIterator it = file.iterator();
+            assertThat(it.next()).containsExactly(0);
+            file.close();
+            assertThat(it.hasNext()).isFalse();
+        }
+    }
+}
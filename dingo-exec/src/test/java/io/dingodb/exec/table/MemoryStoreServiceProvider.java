@@ -0,0 +1,48 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.table;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.store.api.StoreInstance;
+import io.dingodb.store.api.StoreService;
+import io.dingodb.store.api.StoreServiceProvider;
+import io.dingodb.store.memory.MemoryStoreService;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Provides a memory store service for the tests, whose tables are created in the local meta service.
+ */
+public class MemoryStoreServiceProvider implements StoreServiceProvider {
+    // The index store instance is got by the table id of the index, as the memory store does not know indices.
+    public static final StoreService STORE = new MemoryStoreService() {
+        @Override
+        public StoreInstance getInstance(
+            @NonNull CommonId tableId,
+            CommonId regionId,
+            TableDefinition tableDefinition
+        ) {
+            return getInstance(tableId, regionId);
+        }
+    };
+
+    @Override
+    public StoreService get() {
+        return STORE;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.table;
+
+import io.dingodb.exec.impl.UnboundedScheduler;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestBatchGetIterator {
+    private static @NonNull List<Object[]> collect(@NonNull Iterator<Object[]> iterator) {
+        List<Object[]> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    private static List<Object[]> rows(@NonNull List<Integer> batch) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Integer value : batch) {
+            rows.add(new Object[]{value});
+        }
+        return rows;
+    }
+
+    @Test
+    public void testPrefetch() {
+        List<List<Integer>> batches = Arrays.asList(
+            Arrays.asList(1, 2), Collections.emptyList(), Arrays.asList(3), Arrays.asList(4, 5)
+        );
+        List<Object[]> result = collect(new BatchGetIterator<>(
+            batches.iterator(), TestBatchGetIterator::rows, 2, UnboundedScheduler.INSTANCE
+        ));
+        assertThat(result).containsExactly(
+            new Object[]{1}, new Object[]{2}, new Object[]{3}, new Object[]{4}, new Object[]{5}
+        );
+    }
+
+    @Test
+    public void testNoPrefetch() {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        Function<List<Integer>, List<Object[]>> getter = batch -> {
+            threads.add(Thread.currentThread());
+            return rows(batch);
+        };
+        List<Object[]> result = collect(new BatchGetIterator<>(
+            Arrays.asList(Arrays.asList(1), Arrays.asList(2)).iterator(), getter, 0, UnboundedScheduler.INSTANCE
+        ));
+        assertThat(result).containsExactly(new Object[]{1}, new Object[]{2});
+        assertThat(threads).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    public void testException() {
+        Iterator<Object[]> iterator = new BatchGetIterator<List<Integer>>(
+            Collections.singletonList(Arrays.asList(1)).iterator(),
+            batch -> {
+                throw new IllegalStateException("Store is down.");
+            },
+            1,
+            UnboundedScheduler.INSTANCE
+        );
+        // Thrown as is, not wrapped in CompletionException.
+        assertThatThrownBy(iterator::hasNext)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Store is down.");
+    }
+}
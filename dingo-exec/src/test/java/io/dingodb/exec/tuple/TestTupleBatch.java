@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.tuple;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestTupleBatch {
+    @Test
+    public void testFilterAndMap() {
+        TupleBatch batch = TupleBatch.of(ImmutableList.of(
+            new Object[]{1, "Alice"},
+            new Object[]{2, "Betty"},
+            new Object[]{3, "Cindy"},
+            new Object[]{4, "Doris"}
+        ));
+        batch.filter(t -> (int) t[0] % 2 == 0);
+        assertThat(batch.size()).isEqualTo(2);
+        batch.filter(t -> (int) t[0] > 2);
+        assertThat(batch.toList()).containsExactly(new Object[]{4, "Doris"});
+        TupleBatch mapped = batch.map(t -> new Object[]{t[1]});
+        assertThat(mapped).containsExactly(new Object[]{"Doris"});
+    }
+}
@@ -17,13 +17,16 @@
 package io.dingodb.expr.json.runtime;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
@@ -39,6 +42,7 @@ public class Parser implements Serializable {
     public static final Parser JSON = new Parser(DataFormat.APPLICATION_JSON);
     public static final Parser YAML = new Parser(DataFormat.APPLICATION_YAML);
     public static final Parser CSV = new Parser(DataFormat.TEXT_CSV);
+    public static final Parser SMILE = new Parser(DataFormat.APPLICATION_SMILE);
 
     private static final long serialVersionUID = -4801322278537134701L;
     protected final ObjectMapper mapper;
@@ -66,6 +70,12 @@ public class Parser implements Serializable {
             case TEXT_CSV:
                 mapper = setCsvFeature(new CsvMapper());
                 break;
+            case APPLICATION_SMILE:
+                mapper = JsonMapper.builder(new SmileFactory())
+                    .addModule(new AfterburnerModule())
+                    .build();
+                setJsonFeature(mapper);
+                break;
             default:
                 throw new IllegalArgumentException("Invalid DataFormat value \"" + format
                     + "\" for ParserFactory.");
@@ -98,6 +108,8 @@ public class Parser implements Serializable {
                 return YAML;
             case TEXT_CSV:
                 return CSV;
+            case APPLICATION_SMILE:
+                return SMILE;
             default:
                 throw new IllegalArgumentException("Unsupported format \"" + format + "\".");
         }
@@ -107,6 +119,7 @@ public class Parser implements Serializable {
         JSON.mapper.registerSubtypes(classes);
         YAML.mapper.registerSubtypes(classes);
         CSV.mapper.registerSubtypes(classes);
+        SMILE.mapper.registerSubtypes(classes);
     }
 
     public <T> T parse(String json, Class<T> clazz) throws JsonProcessingException {
@@ -117,10 +130,26 @@ public class Parser implements Serializable {
         return mapper.readValue(is, clazz);
     }
 
+    public <T> T parse(byte[] bytes, int offset, int len, Class<T> clazz) throws IOException {
+        return mapper.readValue(bytes, offset, len, clazz);
+    }
+
+    public <T> T parse(TreeNode tree, Class<T> clazz) throws JsonProcessingException {
+        return mapper.treeToValue(tree, clazz);
+    }
+
+    public <T extends JsonNode> T toTree(Object obj) {
+        return mapper.valueToTree(obj);
+    }
+
     public <T> String stringify(T obj) throws JsonProcessingException {
         return mapper.writeValueAsString(obj);
     }
 
+    public <T> byte[] serialize(T obj) throws JsonProcessingException {
+        return mapper.writeValueAsBytes(obj);
+    }
+
     public <T> void writeStream(OutputStream os, T obj) throws IOException {
         mapper.writeValue(os, obj);
     }
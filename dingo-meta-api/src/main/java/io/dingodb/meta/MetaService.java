@@ -147,6 +147,18 @@ public interface MetaService {
      */
     TableDefinition getTableDefinition(@NonNull CommonId id);
 
+    /**
+     * Get the version of table definition by table id. The version may be read from a local cache, so it is cheap but
+     * may lag behind DDL issued through other nodes for a bounded time.
+     *
+     * @param id table id
+     * @return the version, or null if not found.
+     */
+    default Integer getTableVersion(@NonNull CommonId id) {
+        TableDefinition tableDefinition = getTableDefinition(id);
+        return tableDefinition == null ? null : tableDefinition.getVersion();
+    }
+
     List<TableDefinition> getTableDefinitions(@NonNull String name);
 
     Map<CommonId, TableDefinition> getTableIndexDefinitions(@NonNull String name);
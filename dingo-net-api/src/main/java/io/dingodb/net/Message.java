@@ -18,7 +18,6 @@ package io.dingodb.net;
 
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.util.ByteArrayUtils;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
@@ -26,9 +25,7 @@ import java.nio.ByteBuffer;
 
 import static io.dingodb.common.util.ByteArrayUtils.EMPTY_BYTES;
 
-@Getter
 @EqualsAndHashCode
-@AllArgsConstructor
 public final class Message {
 
     public static final byte[] EMPTY_TAG = new byte[] {0};
@@ -37,10 +34,15 @@ public final class Message {
 
     @Getter
     private final byte[] tag;
-    @Getter
-    private final byte[] content;
+    private byte[] content;
     private String tagStr;
 
+    /**
+     * Content view of the received frame, set by {@link #wrap(ByteBuffer)} and cleared by {@link #release()}.
+     */
+    @EqualsAndHashCode.Exclude
+    private transient ByteBuffer buffer;
+
     public Message(byte[] content) {
         this(EMPTY_TAG, content);
     }
@@ -61,20 +63,63 @@ public final class Message {
         this.tagStr = new String(tag);
     }
 
+    private Message(String tag, ByteBuffer buffer) {
+        this(tag, (byte[]) null);
+        this.buffer = buffer;
+    }
+
     public int length() {
-        return tag.length + content.length;
+        return tag.length + (content != null ? content.length : buffer().remaining());
     }
 
     public String tag() {
         return tagStr;
     }
 
+    public byte[] getContent() {
+        return content();
+    }
+
+    /**
+     * Get the content as a byte array, which is copied out of the received frame on first call.
+     */
     public byte[] content() {
+        if (content == null) {
+            ByteBuffer buffer = buffer();
+            content = new byte[buffer.remaining()];
+            buffer.duplicate().get(content);
+        }
         return content;
     }
 
+    /**
+     * Get a read-only view of the content without copying. For a received message, the view shares memory with the
+     * network frame and must not be used after the message listener returns.
+     */
+    public ByteBuffer contentBuffer() {
+        if (content != null) {
+            return ByteBuffer.wrap(content).asReadOnlyBuffer();
+        }
+        return buffer().asReadOnlyBuffer();
+    }
+
+    /**
+     * Detach this message from the received frame, for the frame is about to be released. The content is lost if
+     * not copied out before; listeners that keep the message must call {@link #content()} first.
+     */
+    public void release() {
+        buffer = null;
+    }
+
+    private ByteBuffer buffer() {
+        if (buffer == null) {
+            throw new IllegalStateException("Message content of tag \"" + tagStr + "\" has been released.");
+        }
+        return buffer;
+    }
+
     public byte[] encode() {
-        return ByteArrayUtils.concatByteArray(tag, content);
+        return ByteArrayUtils.concatByteArray(tag, content());
     }
 
     public static Message decode(ByteBuffer buffer) {
@@ -83,4 +128,12 @@ public final class Message {
         buffer.get(content);
         return new Message(tag, content);
     }
+
+    /**
+     * Decode a message whose content is a view of the remaining bytes of {@code buffer}, without copying.
+     */
+    public static Message wrap(ByteBuffer buffer) {
+        String tag = PrimitiveCodec.readString(buffer);
+        return new Message(tag, buffer.slice());
+    }
 }
@@ -208,16 +208,22 @@ public class Channel implements io.dingodb.net.Channel {
         connection.sendAsync(content);
     }
 
-    public void receive(ByteBuffer buffer) {
+    /**
+     * Receive a frame, the channel takes ownership of it and releases it after the message is processed.
+     */
+    public void receive(ByteBuf frame) {
         if (status == Status.ACTIVE) {
-            if (!runner.follow(() -> processMessage(buffer))) {
-                log.error("Channel [{}] concurrent receive.", channelId);
+            if (runner.follow(() -> processMessage(frame))) {
+                return;
             }
+            log.error("Channel [{}] concurrent receive.", channelId);
         }
+        frame.release();
     }
 
-    private void processMessage(ByteBuffer buffer) {
+    private void processMessage(ByteBuf frame) {
         try {
+            ByteBuffer buffer = frame.nioBuffer();
             byte type = buffer.get();
             switch (type) {
                 case USER_DEFINE_T:
@@ -225,23 +231,30 @@ public class Channel implements io.dingodb.net.Channel {
                         directListener.accept(buffer);
                         return;
                     }
-                    Message message = Message.decode(buffer);
-                    if (messageListener != null) {
-                        messageListener.onMessage(message, this);
+                    Message message = Message.wrap(buffer);
+                    try {
+                        if (messageListener != null) {
+                            messageListener.onMessage(message, this);
+                        }
+                        TagRegistry.onTagMessage(message, this);
+                    } finally {
+                        message.release();
                     }
-                    TagRegistry.onTagMessage(message, this);
                     break;
                 case COMMAND_T:
                     processCommand(buffer);
                     break;
                 case API_T:
-                    API_REGISTRY.invoke(this, buffer);
+                    // Api arguments are decoded by codecs working on heap buffers.
+                    API_REGISTRY.invoke(this, (ByteBuffer) ByteBuffer.allocate(buffer.remaining()).put(buffer).flip());
                     break;
                 default:
                     throw new IllegalStateException("Unexpected value: " + type);
             }
         } catch (Exception e) {
             log.error("Process message failed.", e);
+        } finally {
+            frame.release();
         }
     }
 
@@ -144,14 +144,18 @@ public class Connection {
         authContent = ApiRegistryImpl.instance().invoke(AUTH, channel, message);
     }
 
-    public void receive(ByteBuffer message) {
+    /**
+     * Receive a frame, the connection takes ownership of it and releases it when no channel accepts it.
+     */
+    public void receive(ByteBuf message) {
         if (message == null) {
             return;
         }
-        long channelId = message.getLong();
+        long channelId = message.readLong();
         Channel channel = getChannel(channelId);
         if (channel == null) {
             log.error("Receive message, channel id is [{}], but not have channel.", channelId);
+            message.release();
             return;
         }
         channel.receive(message);
@@ -21,6 +21,7 @@ import io.dingodb.net.netty.api.ApiRegistryImpl;
 import io.dingodb.net.netty.api.AuthProxyApi;
 import io.dingodb.net.netty.api.HandshakeApi;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -72,7 +73,11 @@ public final class NettyHandlers {
             Optional.ifPresent(read(in), out::add);
         }
 
-        private static ByteBuffer read(ByteBuf buf) {
+        /**
+         * Read a frame as a retained slice of the cumulation buffer, so the (usually pooled direct) memory is handed
+         * up without copying; whoever consumes the frame must release it.
+         */
+        private static ByteBuf read(ByteBuf buf) {
             if (buf.readableBytes() < 5) {
                 return null;
             }
@@ -88,15 +93,13 @@ public final class NettyHandlers {
                 buf.resetReaderIndex();
                 return null;
             }
-            ByteBuffer buffer = ByteBuffer.allocate(length);
-            buf.readBytes(buffer);
-            return (ByteBuffer) buffer.flip();
+            return buf.readRetainedSlice(length);
         }
     }
 
     @Slf4j
     @AllArgsConstructor
-    public static class AuthHandler extends SimpleChannelInboundHandler<ByteBuffer> {
+    public static class AuthHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
         static {
             ApiRegistryImpl.INSTANCE.register(AuthProxyApi.class, AuthProxyApi.INSTANCE);
@@ -105,9 +108,9 @@ public final class NettyHandlers {
         private final Connection connection;
 
         @Override
-        protected void channelRead0(ChannelHandlerContext ctx, ByteBuffer msg) throws Exception {
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
             try {
-                connection.auth(msg);
+                connection.auth(ByteBuffer.wrap(ByteBufUtil.getBytes(msg)));
                 ctx.channel().pipeline().remove(this);
             } catch (Exception e) {
                 log.error("Handler message from [{}] error.", connection.remote());
@@ -118,7 +121,7 @@ public final class NettyHandlers {
 
     @Slf4j
     @AllArgsConstructor
-    public static class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuffer> {
+    public static class HandshakeHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
         static {
             ApiRegistryImpl.INSTANCE.register(HandshakeApi.class, HandshakeApi.INSTANCE);
@@ -127,9 +130,9 @@ public final class NettyHandlers {
         private final Connection connection;
 
         @Override
-        protected void channelRead0(ChannelHandlerContext ctx, ByteBuffer msg) throws Exception {
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
             try {
-                connection.handshake(msg);
+                connection.handshake(ByteBuffer.wrap(ByteBufUtil.getBytes(msg)));
                 ctx.channel().pipeline().remove(this);
             } catch (Exception e) {
                 log.error("Handler message from [{}] error.", connection.remote());
@@ -139,13 +142,18 @@ public final class NettyHandlers {
     }
 
     @Slf4j
-    @AllArgsConstructor
-    public static class MessageHandler extends SimpleChannelInboundHandler<ByteBuffer> {
+    public static class MessageHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
         private final Connection connection;
 
+        public MessageHandler(Connection connection) {
+            // Frames are processed asynchronously and released by the connection, so do not release them here.
+            super(false);
+            this.connection = connection;
+        }
+
         @Override
-        protected void channelRead0(ChannelHandlerContext ctx, ByteBuffer msg) throws Exception {
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
             try {
                 connection.receive(msg);
             } catch (Exception e) {
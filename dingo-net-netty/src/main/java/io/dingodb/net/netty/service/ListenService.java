@@ -83,7 +83,11 @@ public final class ListenService implements io.dingodb.net.service.ListenService
         NetService netService = NetService.getDefault();
         Channel channel = netService.newChannel(location);
         try {
-            channel.setMessageListener((msg, ch) -> listener.accept(msg));
+            channel.setMessageListener((msg, ch) -> {
+                // Copy out the content, for the listener may keep the message after the frame is released.
+                msg.content();
+                listener.accept(msg);
+            });
             channel.setCloseListener(__ -> onClose.run());
             channel.send(new Message(Constant.LISTENER, ProtostuffCodec.write(ltag)));
         } catch (Exception e) {
@@ -15,73 +15,162 @@
  */
 
 package io.dingodb.partition.base;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.*;
+import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Consistent hashing ring of nodes.
+ *
+ * <p>Positions on the ring are MD5 digests compared as signed 128-bit integers, which must be kept the same with
+ * the clients for they route keys by the same ring. The ring is flattened into primitive arrays after modifying, so
+ * looking up a node does not allocate anything but the digest.
+ */
 @Slf4j
 public class ConsistentHashing<T> {
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("MD5 not supported", e);
+        }
+    });
+
     private final int replicas;
-    private final TreeMap<BigInteger, T> ring = new TreeMap<>();
+    private final TreeMap<Position, T> ring = new TreeMap<>();
+
+    private volatile Flattened<T> flattened;
 
     public ConsistentHashing(int replicas) {
         this.replicas = replicas;
     }
 
-    public void addNode(T node) {
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; ++i) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int compare(long high0, long low0, long high1, long low1) {
+        return high0 != high1 ? Long.compare(high0, high1) : Long.compareUnsigned(low0, low1);
+    }
+
+    private static Position getHash(String key) {
+        return getHash(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position getHash(byte[] key) {
+        byte[] digest = digest(key);
+        return new Position(getLong(digest, 0), getLong(digest, 8));
+    }
+
+    private static byte[] digest(byte[] key) {
+        MessageDigest md = MD5.get();
+        md.reset();
+        return md.digest(key);
+    }
+
+    public synchronized void addNode(T node) {
         for (int i = 0; i < replicas; i++) {
             String nodeStr = node.toString() + "-" + i;
-            byte[] key = getHash(nodeStr);
-            BigInteger hash = new BigInteger(key);
-            log.trace("node:" + nodeStr + ",hash:" + hash);
+            Position hash = getHash(nodeStr);
+            log.trace("node: {}, hash: {}", nodeStr, hash);
             ring.put(hash, node);
         }
+        flattened = null;
     }
 
-    public void removeNode(T node) {
+    public synchronized void removeNode(T node) {
         for (int i = 0; i < replicas; i++) {
-            byte[] key = getHash(node.toString() + "-" + i);
-            BigInteger hash = new BigInteger(key);
-            ring.remove(hash);
+            ring.remove(getHash(node.toString() + "-" + i));
         }
+        flattened = null;
+    }
+
+    private synchronized Flattened<T> flatten() {
+        if (flattened == null) {
+            flattened = new Flattened<>(ring);
+        }
+        return flattened;
     }
 
     public T getNode(byte[] key) {
-        if (ring.isEmpty()) {
+        Flattened<T> flattened = this.flattened;
+        if (flattened == null) {
+            flattened = flatten();
+        }
+        if (flattened.nodes.length == 0) {
             return null;
         }
-        byte[] hash = getHash(key);
-        BigInteger bigHash = new BigInteger(hash);
-        Map.Entry<BigInteger, T> entry = ring.ceilingEntry(bigHash);
-        if (entry == null) {
-            entry = ring.firstEntry();
+        byte[] digest = digest(key);
+        int index = flattened.ceiling(getLong(digest, 0), getLong(digest, 8));
+        if (index == flattened.nodes.length) {
+            index = 0;
         }
-        log.trace("key:" +new String(key) + " hash:" + entry.getKey());
-        return entry.getValue();
+        return flattened.nodes[index];
     }
 
-    private byte[] getHash(String key) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            md.update(key.getBytes(StandardCharsets.UTF_8));
-            return md.digest();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Position implements Comparable<Position> {
+        private final long high;
+        private final long low;
+
+        @Override
+        public int compareTo(Position other) {
+            return compare(high, low, other.high, other.low);
         }
-    }
 
-    private byte[] getHash(byte[] key) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            md.update(key);
-            return md.digest();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
+        @Override
+        public String toString() {
+            return String.format("%016x%016x", high, low);
         }
     }
 
+    private static final class Flattened<T> {
+        private final long[] highs;
+        private final long[] lows;
+        private final T[] nodes;
+
+        @SuppressWarnings("unchecked")
+        Flattened(TreeMap<Position, T> ring) {
+            int size = ring.size();
+            highs = new long[size];
+            lows = new long[size];
+            nodes = (T[]) new Object[size];
+            int i = 0;
+            for (Map.Entry<Position, T> entry : ring.entrySet()) {
+                highs[i] = entry.getKey().high;
+                lows[i] = entry.getKey().low;
+                nodes[i] = entry.getValue();
+                ++i;
+            }
+        }
+
+        /**
+         * Get the index of the first position not less than the specified one.
+         */
+        int ceiling(long high, long low) {
+            int lo = 0;
+            int hi = highs.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(highs[mid], lows[mid], high, low) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
 }
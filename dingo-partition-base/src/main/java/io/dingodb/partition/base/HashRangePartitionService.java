@@ -16,16 +16,21 @@
 
 package io.dingodb.partition.base;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.dingodb.codec.CodecService;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.common.util.RangeUtils;
 import io.dingodb.partition.PartitionService;
+import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -34,6 +39,18 @@ import java.util.TreeSet;
 
 @Slf4j
 public class HashRangePartitionService implements PartitionService {
+    private static final int REPLICAS = 3;
+
+    private static final int HASH_RANGES_CACHE_SIZE = 1024;
+
+    // The distributions are fetched anew for each statement, so rings are cached by the start keys and ids of the
+    // ranges, which are all a ring depends on.
+    private final Cache<RangesKey, HashRanges> hashRangesCache = CacheBuilder.newBuilder()
+        .maximumSize(HASH_RANGES_CACHE_SIZE)
+        .build();
+
+    // The distribution used last and its ring, for an operator calls with the same distribution for every tuple.
+    private volatile LastRanges lastRanges;
 
     @Override
     public int getPartNum(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
@@ -42,24 +59,25 @@ public class HashRangePartitionService implements PartitionService {
 
     @Override
     public CommonId calcPartId(byte[] key, NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
-        ConsistentHashing<Long> hashRing = new ConsistentHashing<>(3);
-        NavigableMap<ComparableByteArray, RangeDistribution> partRanges = new TreeMap<>();
-        for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
-            RangeDistribution value = entry.getValue();
-            log.trace("id:" + value.getId().domain);
-            hashRing.addNode(value.getId().domain);
+        HashRanges hashRanges = getHashRanges(ranges);
+        Long selectNode = hashRanges.hashRing.getNode(key);
+        CodecService.getDefault().setId(key, hashRanges.partitionIds.get(selectNode));
+        return hashRanges.nodeRanges.get(selectNode).floorEntry(new ComparableByteArray(key)).getValue().id();
+    }
+
+    HashRanges getHashRanges(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
+        LastRanges last = lastRanges;
+        if (last != null && last.ranges == ranges) {
+            return last.hashRanges;
         }
-        Long selectNode = hashRing.getNode(key);
-        for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
-            ComparableByteArray rangeKeyBytes = entry.getKey();
-            RangeDistribution rangeValue = entry.getValue();
-            if (rangeValue.getId().domain == selectNode.longValue()) {
-                partRanges.put(rangeKeyBytes, rangeValue);
-            }
+        RangesKey key = new RangesKey(ranges);
+        HashRanges hashRanges = hashRangesCache.getIfPresent(key);
+        if (hashRanges == null) {
+            hashRanges = new HashRanges(ranges);
+            hashRangesCache.put(key, hashRanges);
         }
-
-        CodecService.getDefault().setId(key, new CommonId(CommonId.CommonType.PARTITION, 0, selectNode));
-        return partRanges.floorEntry(new ComparableByteArray(key)).getValue().id();
+        lastRanges = new LastRanges(ranges, hashRanges);
+        return hashRanges;
     }
 
     @Override
@@ -120,4 +138,46 @@ public class HashRangePartitionService implements PartitionService {
         return  distributions;
     }
 
+    @EqualsAndHashCode
+    private static final class RangesKey {
+        private final List<ComparableByteArray> startKeys;
+        private final List<CommonId> ids;
+
+        private RangesKey(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
+            startKeys = new ArrayList<>(ranges.keySet());
+            ids = new ArrayList<>(ranges.size());
+            for (RangeDistribution range : ranges.values()) {
+                ids.add(range.getId());
+            }
+        }
+    }
+
+    private static final class LastRanges {
+        private final NavigableMap<ComparableByteArray, RangeDistribution> ranges;
+        private final HashRanges hashRanges;
+
+        private LastRanges(NavigableMap<ComparableByteArray, RangeDistribution> ranges, HashRanges hashRanges) {
+            this.ranges = ranges;
+            this.hashRanges = hashRanges;
+        }
+    }
+
+    static final class HashRanges {
+        private final ConsistentHashing<Long> hashRing = new ConsistentHashing<>(REPLICAS);
+        private final Map<Long, NavigableMap<ComparableByteArray, RangeDistribution>> nodeRanges = new HashMap<>();
+        private final Map<Long, CommonId> partitionIds = new HashMap<>();
+
+        private HashRanges(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
+            for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
+                RangeDistribution value = entry.getValue();
+                long domain = value.getId().domain;
+                log.trace("id: {}", domain);
+                if (!nodeRanges.containsKey(domain)) {
+                    hashRing.addNode(domain);
+                    partitionIds.put(domain, new CommonId(CommonId.CommonType.PARTITION, 0, domain));
+                }
+                nodeRanges.computeIfAbsent(domain, k -> new TreeMap<>()).put(entry.getKey(), value);
+            }
+        }
+    }
 }
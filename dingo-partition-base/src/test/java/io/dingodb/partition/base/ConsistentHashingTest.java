@@ -16,7 +16,11 @@
 
 package io.dingodb.partition.base;
 
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -93,4 +97,28 @@ public class ConsistentHashingTest {
         Assertions.assertEquals(node3, node4);
 
     }
+
+    @Test
+    public void testSameAsBigIntegerRing() throws Exception {
+        ConsistentHashing<Long> ring = new ConsistentHashing<>(3);
+        TreeMap<BigInteger, Long> expected = new TreeMap<>();
+        MessageDigest md = MessageDigest.getInstance("MD5");
+        for (long node = 1; node <= 20; ++node) {
+            ring.addNode(node * 1000);
+            for (int i = 0; i < 3; ++i) {
+                byte[] hash = md.digest((node * 1000 + "-" + i).getBytes(StandardCharsets.UTF_8));
+                expected.put(new BigInteger(hash), node * 1000);
+            }
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; ++i) {
+            byte[] key = new byte[16];
+            random.nextBytes(key);
+            BigInteger hash = new BigInteger(md.digest(key));
+            Long node = expected.ceilingKey(hash) != null
+                ? expected.ceilingEntry(hash).getValue()
+                : expected.firstEntry().getValue();
+            Assertions.assertEquals(node, ring.getNode(key));
+        }
+    }
 }
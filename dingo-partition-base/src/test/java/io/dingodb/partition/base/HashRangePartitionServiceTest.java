@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.partition.base;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class HashRangePartitionServiceTest {
+    private static NavigableMap<ComparableByteArray, RangeDistribution> ranges(long... seqs) {
+        NavigableMap<ComparableByteArray, RangeDistribution> ranges = new TreeMap<>();
+        for (int i = 0; i < seqs.length; ++i) {
+            byte[] startKey = new byte[]{(byte) i};
+            RangeDistribution range = RangeDistribution.builder()
+                .id(new CommonId(CommonId.CommonType.DISTRIBUTION, i % 2, seqs[i]))
+                .startKey(startKey)
+                .endKey(new byte[]{(byte) (i + 1)})
+                .build();
+            ranges.put(new ComparableByteArray(startKey), range);
+        }
+        return ranges;
+    }
+
+    @Test
+    public void testHashRangesOfEqualDistributions() {
+        HashRangePartitionService service = new HashRangePartitionService();
+        HashRangePartitionService.HashRanges hashRanges = service.getHashRanges(ranges(1, 2, 3, 4));
+        // A distribution fetched again is a new map with the same ranges.
+        Assertions.assertSame(hashRanges, service.getHashRanges(ranges(1, 2, 3, 4)));
+        Assertions.assertNotSame(hashRanges, service.getHashRanges(ranges(1, 2, 5, 4)));
+        Assertions.assertNotSame(hashRanges, service.getHashRanges(ranges(1, 2, 3)));
+        Assertions.assertSame(hashRanges, service.getHashRanges(ranges(1, 2, 3, 4)));
+    }
+
+    @Test
+    public void testHashRangesOfSameDistribution() {
+        HashRangePartitionService service = new HashRangePartitionService();
+        NavigableMap<ComparableByteArray, RangeDistribution> ranges = ranges(1, 2);
+        HashRangePartitionService.HashRanges hashRanges = service.getHashRanges(ranges);
+        Assertions.assertSame(hashRanges, service.getHashRanges(ranges));
+    }
+}
@@ -23,9 +23,11 @@ import io.dingodb.common.vector.VectorCalcDistance;
 import io.dingodb.common.vector.VectorSearchResponse;
 import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public interface StoreInstance {
 
@@ -90,22 +92,77 @@ public interface StoreInstance {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Insert records in one batch if their keys are absent.
+     *
+     * @param records the records
+     * @return if each record is inserted, in the order of the records
+     */
+    default List<Boolean> insertWithIndex(List<Object[]> records) {
+        return records.stream().map(r -> insertWithIndex(r)).collect(Collectors.toList());
+    }
+
     default boolean insertIndex(Object[] record) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Insert the index entries of records, in batches for each index region if supported.
+     *
+     * @param records the records
+     * @return if the index entries of each record are inserted, in the order of the records
+     */
+    default List<Boolean> insertIndex(List<Object[]> records) {
+        return records.stream().map(r -> insertIndex(r)).collect(Collectors.toList());
+    }
+
     default boolean updateWithIndex(Object[] newRecord, Object[] oldRecord) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Update records in one batch if their old values are not changed.
+     *
+     * @param newRecords the new records
+     * @param oldRecords the old records, in the order of the new records
+     * @return if each record is updated, in the order of the records
+     */
+    default List<Boolean> updateWithIndex(List<Object[]> newRecords, List<Object[]> oldRecords) {
+        List<Boolean> results = new ArrayList<>(newRecords.size());
+        for (int i = 0; i < newRecords.size(); ++i) {
+            results.add(updateWithIndex(newRecords.get(i), oldRecords.get(i)));
+        }
+        return results;
+    }
+
     default boolean deleteWithIndex(Object[] key) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Delete records in one batch.
+     *
+     * @param keys the records containing the keys
+     * @return if each record is deleted, in the order of the records
+     */
+    default List<Boolean> deleteWithIndex(List<Object[]> keys) {
+        return keys.stream().map(k -> deleteWithIndex(k)).collect(Collectors.toList());
+    }
+
     default boolean deleteIndex(Object[] key) {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Delete the index entries of records, in batches for each index region if supported.
+     *
+     * @param records the records
+     * @return if the index entries of each record are deleted, in the order of the records
+     */
+    default List<Boolean> deleteIndex(List<Object[]> records) {
+        return records.stream().map(r -> deleteIndex(r)).collect(Collectors.toList());
+    }
+
     // TODO Temporary way, to be optimized
     default boolean deleteIndex(Object[] newRecord, Object[] oldRecord) {
         throw new UnsupportedOperationException();
@@ -17,6 +17,7 @@
 package io.dingodb.store;
 
 import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.util.Optional;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -34,6 +35,8 @@ public class Configuration {
 
     private static final Configuration INSTANCE;
 
+    private static final int DEFAULT_META_CACHE_TTL = 60;
+
     static {
         try {
             DingoConfiguration.instance().setStore(Configuration.class);
@@ -49,8 +52,16 @@ public class Configuration {
     }
 
     private String coordinators;
+    private Integer metaCacheTtl;
 
     public static String coordinators() {
         return INSTANCE.coordinators;
     }
+
+    /**
+     * Seconds for the cached table metadata and range distributions to live.
+     */
+    public static int metaCacheTtl() {
+        return Optional.ofNullable(INSTANCE.metaCacheTtl).orElse(DEFAULT_META_CACHE_TTL);
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.store.service;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.AggregationOperator;
+import io.dingodb.common.Coprocessor;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.expr.core.TypeCode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Coprocessors to aggregate records in the store, so only the aggregated values are returned.
+ */
+final class Aggregations {
+    static final ColumnDefinition COUNT_COLUMN = ColumnDefinition.builder()
+        .name("COUNT")
+        .type(TypeCode.LONG_NAME)
+        .nullable(false)
+        .build();
+
+    private Aggregations() {
+    }
+
+    /**
+     * Create a coprocessor counting the records of a table, including those with null columns.
+     */
+    static @NonNull Coprocessor count(@NonNull List<ColumnDefinition> columns, long tableSeq) {
+        return Coprocessor.builder()
+            .originalSchema(Coprocessor.SchemaWrapper.builder()
+                .schemas(columns)
+                .commonId(tableSeq)
+                .build())
+            .resultSchema(Coprocessor.SchemaWrapper.builder()
+                .schemas(singletonList(COUNT_COLUMN))
+                .commonId(tableSeq)
+                .build())
+            .aggregations(singletonList(AggregationOperator.builder()
+                .operation(AggregationOperator.AggregationType.COUNT_WITH_NULL)
+                .indexOfColumn(0)
+                .build()))
+            .build();
+    }
+
+    /**
+     * Sum up the counts returned by the store, one for each region scanned.
+     */
+    static long sumCounts(@NonNull Iterator<KeyValue> iterator, @NonNull KeyValueCodec codec) {
+        long count = 0;
+        try {
+            while (iterator.hasNext()) {
+                Object value = codec.decode(iterator.next())[0];
+                if (value != null) {
+                    count += ((Number) value).longValue();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.store.service;
+
+import com.codahale.metrics.Meter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.store.Configuration;
+import lombok.AllArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Local cache of the range distributions of tables and indices, shared by all the meta services.
+ *
+ * <p>Only what is keyed by ids is cached. Table definitions are cached by table id, for routing and for checking
+ * cached plans, and may lag behind DDL issued through other nodes until they expire after
+ * {@link Configuration#metaCacheTtl()} seconds. A table distribution records the version of the table definition it
+ * was built from and is rebuilt when the cached definition changes. Both are dropped by DDL issued through this node
+ * and when the store reports a stale route, for regions are split and merged without changing definitions.
+ */
+final class MetaCache {
+    static final MetaCache INSTANCE = new MetaCache(Configuration.metaCacheTtl());
+
+    private static final int MAX_SIZE = 4096;
+
+    private final Meter hits = DingoMetrics.meter("meta_cache_hit");
+    private final Meter misses = DingoMetrics.meter("meta_cache_miss");
+
+    final Cache<CommonId, TableDefinition> definitions;
+    final Cache<CommonId, Distribution> distributions;
+    final Cache<Map.Entry<CommonId, Boolean>, NavigableMap<ComparableByteArray, RangeDistribution>>
+        indexDistributions;
+
+    MetaCache(long ttlSeconds) {
+        definitions = newCache(ttlSeconds);
+        distributions = newCache(ttlSeconds);
+        indexDistributions = newCache(ttlSeconds);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long ttlSeconds) {
+        return CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .build();
+    }
+
+    static Map.Entry<CommonId, Boolean> indexDistributionKey(CommonId indexId, boolean isOriginalKey) {
+        return new AbstractMap.SimpleImmutableEntry<>(indexId, isOriginalKey);
+    }
+
+    /**
+     * Get the cached value, or load and cache it. {@code null} values are not cached.
+     */
+    <K, V> V get(@NonNull Cache<K, V> cache, @NonNull K key, @NonNull Supplier<V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value != null) {
+            hits.mark();
+            return value;
+        }
+        misses.mark();
+        value = loader.get();
+        if (value != null) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Get the cached distribution of a table if it was built from the table definition of {@code version}, or load
+     * and cache it.
+     */
+    Distribution getDistribution(@NonNull CommonId tableId, int version, @NonNull Supplier<Distribution> loader) {
+        Distribution distribution = distributions.getIfPresent(tableId);
+        if (distribution != null && distribution.version == version) {
+            hits.mark();
+            return distribution;
+        }
+        misses.mark();
+        distribution = loader.get();
+        distributions.put(tableId, distribution);
+        return distribution;
+    }
+
+    /**
+     * Drop the definition and the range distributions of a table or an index, called after DDL on it or when the store
+     * reports a stale route.
+     */
+    void invalidateDistribution(@NonNull CommonId id) {
+        definitions.invalidate(id);
+        distributions.invalidate(id);
+        indexDistributions.invalidate(indexDistributionKey(id, true));
+        indexDistributions.invalidate(indexDistributionKey(id, false));
+    }
+
+    void invalidateAll() {
+        definitions.invalidateAll();
+        distributions.invalidateAll();
+        indexDistributions.invalidateAll();
+    }
+
+    @AllArgsConstructor
+    static final class Distribution {
+        final int version;
+        final NavigableMap<ComparableByteArray, RangeDistribution> ranges;
+        final Map<CommonId, RangeDistribution> byId;
+    }
+}
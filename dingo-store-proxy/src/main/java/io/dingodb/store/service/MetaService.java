@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
@@ -77,6 +78,11 @@ public class MetaService implements io.dingodb.meta.MetaService {
 
     protected final MetaServiceClient metaServiceClient;
 
+    private static final MetaCache CACHE = MetaCache.INSTANCE;
+
+    private static final KeyValueCodec INDEX_CODEC = CodecService.getDefault()
+        .createKeyValueCodec(DingoTypeFactory.tuple(TypeCode.LONG), TupleMapping.of(new int[0]));
+
     @Override
     public CommonId id() {
         // todo refactor
@@ -113,6 +119,7 @@ public class MetaService implements io.dingodb.meta.MetaService {
 
     @Override
     public boolean dropSubMetaService(String name) {
+        CACHE.invalidateAll();
         return metaServiceClient.dropSubMetaService(mapping(getSubMetaService(name).id()));
     }
 
@@ -136,14 +143,29 @@ public class MetaService implements io.dingodb.meta.MetaService {
 
     @Override
     public boolean dropTable(@NonNull String tableName) {
-        return metaServiceClient.dropTable(tableName);
+        CommonId tableId = getTableId(tableName);
+        try {
+            return metaServiceClient.dropTable(tableName);
+        } finally {
+            invalidateDistributions(tableId);
+        }
     }
 
     @Override
     public boolean dropTables(@NonNull Collection<CommonId> tableIds) {
-        return metaServiceClient.dropTables(
-            tableIds.stream().map(Mapping::mapping).collect(Collectors.toCollection(ArrayList::new))
-        );
+        try {
+            return metaServiceClient.dropTables(
+                tableIds.stream().map(Mapping::mapping).collect(Collectors.toCollection(ArrayList::new))
+            );
+        } finally {
+            tableIds.forEach(CACHE::invalidateDistribution);
+        }
+    }
+
+    private void invalidateDistributions(CommonId tableId) {
+        if (tableId != null) {
+            CACHE.invalidateDistribution(tableId);
+        }
     }
 
     @Override
@@ -202,22 +224,18 @@ public class MetaService implements io.dingodb.meta.MetaService {
 
     @Override
     public Map<CommonId, TableDefinition> getTableIndexDefinitions(@NonNull CommonId id) {
-        return metaServiceClient.getTableIndexes(mapping(id)).entrySet().stream()
-           .collect(Collectors.toMap(entry -> mapping(entry.getKey()), entry -> {
-               // Remove . from the index table name
-               Table table = entry.getValue();
-               String tableName = table.getName();
-               String[] split = tableName.split("\\.");
-               if (split.length > 1) {
-                   tableName = split[split.length - 1];
-               }
-               return mapping(table).copyWithName(tableName);
-           }));
+        return mapIndexDefinitions(metaServiceClient.getTableIndexes(mapping(id)));
     }
 
     @Override
     public Map<CommonId, TableDefinition> getTableIndexDefinitions(@NonNull String name) {
-        return metaServiceClient.getTableIndexes(name).entrySet().stream()
+        return mapIndexDefinitions(metaServiceClient.getTableIndexes(name));
+    }
+
+    private static Map<CommonId, TableDefinition> mapIndexDefinitions(
+        @NonNull Map<io.dingodb.sdk.common.DingoCommonId, Table> indexes
+    ) {
+        return indexes.entrySet().stream()
             .collect(Collectors.toMap(entry -> mapping(entry.getKey()), entry -> {
                 // Remove . from the index table name
                 Table table = entry.getValue();
@@ -232,26 +250,59 @@ public class MetaService implements io.dingodb.meta.MetaService {
 
     public void addDistribution(String tableName, PartitionDetailDefinition partitionDetail) {
         metaServiceClient.addDistribution(tableName, partitionDetail);
+        invalidateDistributions(getTableId(tableName));
     }
 
     public RangeDistribution getRangeDistribution(CommonId tableId, CommonId distributionId) {
-        return getRangeDistribution(tableId).values().stream()
-            .filter(d -> d.id().equals(distributionId))
-            .findAny().get();
+        RangeDistribution distribution = getDistribution(tableId).byId.get(distributionId);
+        if (distribution == null) {
+            throw new NoSuchElementException("No distribution " + distributionId + " in table " + tableId + ".");
+        }
+        return distribution;
     }
 
     @Override
     public NavigableMap<ComparableByteArray, RangeDistribution> getRangeDistribution(CommonId id) {
-        NavigableMap<ComparableByteArray, RangeDistribution> result = new TreeMap<>();
-        TableDefinition tableDefinition = getTableDefinition(id);
+        return new TreeMap<>(getDistribution(id).ranges);
+    }
+
+    /**
+     * Get the version of the table definition from the local cache, which is read from the coordinator again when it
+     * expires or the store reports a stale route.
+     */
+    @Override
+    public Integer getTableVersion(@NonNull CommonId id) {
+        return Optional.mapOrNull(getCachedTableDefinition(id), TableDefinition::getVersion);
+    }
+
+    private TableDefinition getCachedTableDefinition(@NonNull CommonId id) {
+        return CACHE.get(CACHE.definitions, id, () -> getTableDefinition(id));
+    }
+
+    private MetaCache.Distribution getDistribution(CommonId id) {
+        TableDefinition tableDefinition = getCachedTableDefinition(id);
+        if (tableDefinition == null) {
+            throw new NoSuchElementException("No table " + id + ".");
+        }
+        return CACHE.getDistribution(
+            id, tableDefinition.getVersion(), () -> loadDistribution(id, tableDefinition)
+        );
+    }
+
+    private MetaCache.Distribution loadDistribution(CommonId id, TableDefinition tableDefinition) {
+        NavigableMap<ComparableByteArray, RangeDistribution> ranges = new TreeMap<>();
+        Map<CommonId, RangeDistribution> byId = new HashMap<>();
         String funcName = tableDefinition.getPartDefinition().getFuncName();
         // hash partition strategy need use the original key
         boolean isOriginalKey = funcName.equalsIgnoreCase("HASH");
         KeyValueCodec codec = CodecService.getDefault().createKeyValueCodec(tableDefinition);
         metaServiceClient.getRangeDistribution(mapping(id)).values().stream()
             .map(__ -> mapping(__, codec, isOriginalKey))
-            .forEach(__ -> result.put(new ComparableByteArray(__.getStartKey()), __));
-        return result;
+            .forEach(__ -> {
+                ranges.put(new ComparableByteArray(__.getStartKey()), __);
+                byId.put(__.id(), __);
+            });
+        return new MetaCache.Distribution(tableDefinition.getVersion(), ranges, byId);
     }
 
     @Override
@@ -259,27 +310,28 @@ public class MetaService implements io.dingodb.meta.MetaService {
         @NonNull CommonId id,
         TableDefinition tableDefinition
     ) {
-        NavigableMap<ComparableByteArray, RangeDistribution> result = new TreeMap<>();
         String funcName = tableDefinition.getPartDefinition().getFuncName();
         // hash partition strategy need use the original key
-        boolean isOriginalKey = funcName.equalsIgnoreCase("HASH");
-        KeyValueCodec codec = CodecService.getDefault()
-            .createKeyValueCodec(DingoTypeFactory.tuple(TypeCode.LONG), TupleMapping.of(new int[0]));
-        metaServiceClient.getIndexRangeDistribution(mapping(id)).values().stream()
-            .map(__ -> mapping(__, codec, isOriginalKey))
-            .forEach(__ -> result.put(new ComparableByteArray(__.getStartKey()), __));
-        return result;
+        return getIndexRangeDistribution(id, funcName.equalsIgnoreCase("HASH"));
     }
 
     @Override
     public NavigableMap<ComparableByteArray, RangeDistribution> getIndexRangeDistribution(@NonNull CommonId id) {
-        NavigableMap<ComparableByteArray, RangeDistribution> result = new TreeMap<>();
-        KeyValueCodec codec = CodecService.getDefault()
-            .createKeyValueCodec(DingoTypeFactory.tuple(TypeCode.LONG), TupleMapping.of(new int[0]));
-        metaServiceClient.getIndexRangeDistribution(mapping(id)).values().stream()
-            .map(__ -> mapping(__, codec, true))
-            .forEach(__ -> result.put(new ComparableByteArray(__.getStartKey()), __));
-        return result;
+        return getIndexRangeDistribution(id, true);
+    }
+
+    private NavigableMap<ComparableByteArray, RangeDistribution> getIndexRangeDistribution(
+        @NonNull CommonId id,
+        boolean isOriginalKey
+    ) {
+        Map.Entry<CommonId, Boolean> key = MetaCache.indexDistributionKey(id, isOriginalKey);
+        return new TreeMap<>(CACHE.get(CACHE.indexDistributions, key, () -> {
+            NavigableMap<ComparableByteArray, RangeDistribution> result = new TreeMap<>();
+            metaServiceClient.getIndexRangeDistribution(mapping(id)).values().stream()
+                .map(__ -> mapping(__, INDEX_CODEC, isOriginalKey))
+                .forEach(__ -> result.put(new ComparableByteArray(__.getStartKey()), __));
+            return result;
+        }));
     }
 
     @Override
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.store.service;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.store.api.StoreInstance.Range;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the calls of a store instance over regions, used to call again after the store reports a stale route.
+ */
+final class RegionRouter {
+    private RegionRouter() {
+    }
+
+    @FunctionalInterface
+    interface RegionCall<C, K, R> {
+        List<R> call(C context, CommonId regionId, List<K> batch);
+    }
+
+    /**
+     * Group the positions of the parameters by the regions their keys belong to, in the order of first appearance.
+     */
+    static <K> @NonNull Map<CommonId, List<Integer>> groupByRegion(
+        @NonNull List<K> params,
+        @NonNull Function<K, byte[]> keyOf,
+        @NonNull Function<byte[], CommonId> regionOf
+    ) {
+        Map<CommonId, List<Integer>> regions = new LinkedHashMap<>();
+        for (int i = 0; i < params.size(); ++i) {
+            regions.computeIfAbsent(regionOf.apply(keyOf.apply(params.get(i))), k -> new ArrayList<>()).add(i);
+        }
+        return regions;
+    }
+
+    /**
+     * Call once for each region with the parameters belonging to it.
+     *
+     * @param aligned if the results of a call are one for each parameter, so they are put back to the positions of
+     *                the parameters; otherwise the results are concatenated
+     */
+    static <K, R> @NonNull List<R> call(
+        @NonNull List<K> params,
+        @NonNull Function<K, byte[]> keyOf,
+        @NonNull Function<byte[], CommonId> regionOf,
+        @NonNull BiFunction<CommonId, List<K>, List<R>> call,
+        boolean aligned
+    ) {
+        List<R> results = aligned ? new ArrayList<>(Collections.nCopies(params.size(), null)) : new ArrayList<>();
+        groupByRegion(params, keyOf, regionOf).forEach((regionId, positions) -> {
+            List<R> batchResults = call.apply(
+                regionId,
+                positions.stream().map(params::get).collect(Collectors.toList())
+            );
+            if (aligned) {
+                for (int i = 0; i < positions.size(); ++i) {
+                    results.set(positions.get(i), batchResults.get(i));
+                }
+            } else {
+                results.addAll(batchResults);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Call once for each region with the items belonging to it, and get the results in the order of the items. If a
+     * call reports a stale route, the results of the regions done are kept, and the items not done yet are routed
+     * again by the refreshed context and called once more.
+     *
+     * @param context  the context to route by and to call with
+     * @param regionOf get the region of a key by a context
+     * @param items    the items
+     * @param keys     the keys of the items, in the same order
+     * @param call     the call for a region, returning one result for each item
+     * @param isStale  if an exception reports a stale route
+     * @param refresh  get a refreshed context
+     */
+    static <C, K, R> @NonNull List<R> callWithRetry(
+        @NonNull C context,
+        @NonNull BiFunction<C, byte[], CommonId> regionOf,
+        @NonNull List<K> items,
+        @NonNull List<byte[]> keys,
+        @NonNull RegionCall<C, K, R> call,
+        @NonNull Predicate<RuntimeException> isStale,
+        @NonNull UnaryOperator<C> refresh
+    ) {
+        List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        boolean[] done = new boolean[items.size()];
+        List<Integer> pending = IntStream.range(0, items.size()).boxed().collect(Collectors.toList());
+        C current = context;
+        boolean retried = false;
+        while (true) {
+            C ctx = current;
+            Map<CommonId, List<Integer>> regions = new LinkedHashMap<>();
+            for (int position : pending) {
+                regions.computeIfAbsent(regionOf.apply(ctx, keys.get(position)), k -> new ArrayList<>()).add(position);
+            }
+            try {
+                for (Map.Entry<CommonId, List<Integer>> region : regions.entrySet()) {
+                    List<Integer> positions = region.getValue();
+                    List<R> batchResults = call.call(
+                        ctx,
+                        region.getKey(),
+                        positions.stream().map(items::get).collect(Collectors.toList())
+                    );
+                    for (int i = 0; i < positions.size(); ++i) {
+                        results.set(positions.get(i), batchResults.get(i));
+                        done[positions.get(i)] = true;
+                    }
+                }
+                return results;
+            } catch (RuntimeException e) {
+                if (retried || !isStale.test(e)) {
+                    throw e;
+                }
+                retried = true;
+                pending = pending.stream().filter(p -> !done[p]).collect(Collectors.toList());
+                current = refresh.apply(ctx);
+            }
+        }
+    }
+
+    /**
+     * Get the part of the range inside a region, which contains its start key and excludes its end key.
+     */
+    static @NonNull Range clamp(@NonNull Range range, @NonNull RangeDistribution region) {
+        byte[] start = range.start;
+        boolean withStart = range.withStart;
+        if (start == null || ByteArrayUtils.compare(start, region.getStartKey()) < 0) {
+            start = region.getStartKey();
+            withStart = true;
+        }
+        byte[] end = range.end;
+        boolean withEnd = range.withEnd;
+        if (region.getEndKey() != null && (end == null || ByteArrayUtils.compare(end, region.getEndKey()) > 0)) {
+            end = region.getEndKey();
+            withEnd = false;
+        }
+        return new Range(start, end, withStart, withEnd);
+    }
+}
@@ -17,11 +17,14 @@
 package io.dingodb.store.service;
 
 import com.google.auto.service.AutoService;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterators;
 import io.dingodb.codec.CodecService;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Coprocessor;
 import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.table.TableDefinition;
 import io.dingodb.common.type.converter.DingoConverter;
@@ -31,6 +34,7 @@ import io.dingodb.common.vector.VectorSearchResponse;
 import io.dingodb.meta.MetaService;
 import io.dingodb.partition.DingoPartitionServiceProvider;
 import io.dingodb.partition.PartitionService;
+import io.dingodb.sdk.common.DingoClientException;
 import io.dingodb.sdk.common.DingoCommonId;
 import io.dingodb.sdk.common.KeyValueWithExpect;
 import io.dingodb.sdk.common.codec.CodecUtils;
@@ -71,6 +75,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.dingodb.sdk.common.utils.ByteArrayUtils.equal;
@@ -79,6 +86,9 @@ import static java.util.Collections.singletonList;
 
 @Slf4j
 public final class StoreService implements io.dingodb.store.api.StoreService {
+    private static final int INDEX_CONTEXT_CACHE_SIZE = 1024;
+    private static final long INDEX_DISTRIBUTION_TTL_SECONDS = 30;
+
     public static final StoreService DEFAULT_INSTANCE = new StoreService();
 
     @AutoService(io.dingodb.store.api.StoreServiceProvider.class)
@@ -94,6 +104,13 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
     private final StoreServiceClient storeService;
     private final MetaService metaService;
 
+    // Codecs, region distributions and partition services of indices, shared by the store instances. The entries are
+    // rebuilt if the table or index version changes; distributions also expire to follow region splits and merges.
+    private final Cache<CommonId, IndexContext> indexContextCache = CacheBuilder.newBuilder()
+        .maximumSize(INDEX_CONTEXT_CACHE_SIZE)
+        .expireAfterWrite(INDEX_DISTRIBUTION_TTL_SECONDS, TimeUnit.SECONDS)
+        .build();
+
 
     private StoreService() {
         String coordinators = DingoConfiguration.instance().getStoreOrigin().get("coordinators").toString();
@@ -131,7 +148,6 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
         private final CommonId tableId;
         private final CommonId partitionId;
         private final CommonId regionId;
-        private final DingoSchema<Long> schema = new LongSchema(0);
 
         private Table table;
         private KeyValueCodec tableCodec;
@@ -186,7 +202,11 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
 
         @Override
         public boolean insert(KeyValue row) {
-            return storeService.kvPutIfAbsent(storeTableId, storeRegionId, mapping(setId(row)));
+            return exec(
+                mapping(setId(row)),
+                io.dingodb.sdk.common.KeyValue::getKey,
+                (regionId, keyValue) -> storeService.kvPutIfAbsent(storeTableId, regionId, keyValue)
+            );
         }
 
         @Override
@@ -198,30 +218,65 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
             }
         }
 
+        @Override
+        public List<Boolean> insertWithIndex(List<Object[]> records) {
+            List<io.dingodb.sdk.common.KeyValue> keyValues = new ArrayList<>(records.size());
+            try {
+                for (Object[] record : records) {
+                    keyValues.add(mapping(setId(tableCodec.encode(record))));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return exec(
+                keyValues,
+                io.dingodb.sdk.common.KeyValue::getKey,
+                (regionId, batch) -> storeService.kvBatchPutIfAbsent(storeTableId, regionId, batch),
+                true
+            );
+        }
+
         @Override
         public boolean insertIndex(Object[] record) {
-            for (Map.Entry<DingoCommonId, Table> entry : tableMap.entrySet()) {
-                Object[] newRecord = Arrays.copyOf(record, record.length);
+            return insertIndex(singletonList(record)).get(0);
+        }
 
-                DingoCommonId indexId = entry.getKey();
-                Table index = entry.getValue();
-                if (index.getIndexParameter().getIndexType().equals(IndexParameter.IndexType.INDEX_TYPE_VECTOR)) {
-                    // vector index add
-                    vectorAdd(newRecord, table, tableCodec, indexId, index);
+        @Override
+        public List<Boolean> insertIndex(List<Object[]> records) {
+            List<Boolean> results = new ArrayList<>(Collections.nCopies(records.size(), true));
+            if (records.isEmpty()) {
+                return results;
+            }
+            List<Object[]> converted = null;
+            for (Map.Entry<DingoCommonId, Table> entry : tableMap.entrySet()) {
+                // As a record failed to be inserted into an index is not inserted into the other indices, only the
+                // records succeeded so far go on.
+                List<Integer> positions = new ArrayList<>(records.size());
+                for (int i = 0; i < records.size(); ++i) {
+                    if (results.get(i)) {
+                        positions.add(i);
+                    }
+                }
+                if (positions.isEmpty()) {
+                    break;
+                }
+                IndexContext context = indexContext(entry.getKey(), entry.getValue(), table);
+                if (context.vector) {
+                    vectorAdd(context, select(records, positions));
                 } else {
-                    // scalar index insert
-                    boolean result = scalarInsert(newRecord, table, indexId, index);
-                    if (!result) {
-                        return false;
+                    if (converted == null) {
+                        converted = convert(records);
                     }
+                    List<Boolean> batchResults = scalarInsert(context, select(converted, positions));
+                    mergeResults(results, positions, batchResults);
                 }
             }
-            return true;
+            return results;
         }
 
         @Override
         public boolean updateWithIndex(Object[] newRecord, Object[] oldRecord) {
-            KeyValueWithExpect kvExpect;
+            final KeyValueWithExpect kvExpect;
             try {
                 KeyValue oldKv = tableCodec.encode(oldRecord);
                 KeyValue newKv = tableCodec.encode(newRecord);
@@ -233,14 +288,64 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
-            return storeService.kvCompareAndSet(storeTableId, storeRegionId, kvExpect);
+            return exec(
+                kvExpect,
+                KeyValueWithExpect::getKey,
+                (regionId, kv) -> storeService.kvCompareAndSet(storeTableId, regionId, resetPrefix(kv, regionId))
+            );
+        }
+
+        @Override
+        public List<Boolean> updateWithIndex(List<Object[]> newRecords, List<Object[]> oldRecords) {
+            List<KeyValueWithExpect> kvExpects = new ArrayList<>(newRecords.size());
+            try {
+                for (int i = 0; i < newRecords.size(); ++i) {
+                    KeyValue oldKv = tableCodec.encode(oldRecords.get(i));
+                    KeyValue newKv = tableCodec.encode(newRecords.get(i));
+                    kvExpects.add(new KeyValueWithExpect(
+                        tableCodec.delegate.resetPrefix(oldKv.getKey(), storeRegionId.parentId()),
+                        newKv.getValue(),
+                        oldKv.getValue()
+                    ));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return exec(
+                kvExpects,
+                KeyValueWithExpect::getKey,
+                (regionId, batch) -> storeService.kvBatchCompareAndSet(
+                    storeTableId,
+                    regionId,
+                    batch.stream().map(kv -> resetPrefix(kv, regionId)).collect(Collectors.toList()),
+                    false
+                ),
+                true
+            );
+        }
+
+        @Override
+        public List<Boolean> deleteWithIndex(List<Object[]> keys) {
+            List<byte[]> keyBytes = new ArrayList<>(keys.size());
+            try {
+                for (Object[] key : keys) {
+                    keyBytes.add(setId(this.tableCodec.encodeKey(key)));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return exec(
+                keyBytes,
+                Function.identity(),
+                (regionId, batch) -> storeService.kvBatchDelete(storeTableId, regionId, batch),
+                true
+            );
         }
 
         @Override
         public boolean deleteWithIndex(Object[] key) {
             try {
-                byte[] bytes = this.tableCodec.encodeKey(key);
-                return storeService.kvBatchDelete(storeTableId, storeRegionId, singletonList(setId(bytes))).get(0);
+                return delete(this.tableCodec.encodeKey(key));
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -248,56 +353,25 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
 
         @Override
         public boolean deleteIndex(Object[] record) {
-            record = (Object[]) tableCodec.type.convertTo(record, DingoConverter.INSTANCE);
+            return deleteIndex(singletonList(record)).get(0);
+        }
+
+        @Override
+        public List<Boolean> deleteIndex(List<Object[]> records) {
+            List<Boolean> results = new ArrayList<>(Collections.nCopies(records.size(), true));
+            if (records.isEmpty()) {
+                return results;
+            }
+            List<Object[]> converted = convert(records);
             for (Map.Entry<DingoCommonId, Table> entry : tableMap.entrySet()) {
-                DingoCommonId indexId = entry.getKey();
-                Table index = entry.getValue();
-                Boolean result = false;
-                if (index.getIndexParameter().getIndexType().equals(IndexParameter.IndexType.INDEX_TYPE_VECTOR)) {
-                    Column primaryCol = index.getColumns().get(0);
-                    schema.setIsKey(true);
-                    schema.setAllowNull(false);
-                    long id = Long.parseLong(String.valueOf(record[table.getColumnIndex(primaryCol.getName())]));
-
-                    DingoKeyValueCodec vectorCodec = new DingoKeyValueCodec(0l, singletonList(schema));
-                    DingoCommonId regionId;
-                    try {
-                        CommonId commonId = mapping(indexId);
-                        NavigableMap<ByteArrayUtils.ComparableByteArray, io.dingodb.common.partition.RangeDistribution> distribution = MetaService.root().getIndexRangeDistribution(commonId, mapping(index));
-                        PartitionService ps = PartitionService.getService(
-                            Optional.ofNullable(index.getPartition())
-                                .map(Partition::getFuncName)
-                                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-                        regionId = mapping(ps.calcPartId(vectorCodec.encodeKey(new Object[]{id}),distribution));
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                    result = indexService.vectorDelete(indexId, regionId, singletonList(id)).get(0);
+                IndexContext context = indexContext(entry.getKey(), entry.getValue(), table);
+                if (context.vector) {
+                    vectorDelete(context, converted, results);
                 } else {
-                    List<DingoSchema> schemas = index.getKeyColumns().stream()
-                        .map(k -> CodecUtils.createSchemaForColumn(k, table.getColumnIndex(k.getName())))
-                        .collect(Collectors.toList());
-                    DingoKeyValueCodec indexCodec = new DingoKeyValueCodec(0l, schemas);
-                    try {
-                        byte[] bytes = indexCodec.encodeKey(record);
-                        CommonId commonId = mapping(indexId);
-                        NavigableMap<ByteArrayUtils.ComparableByteArray, io.dingodb.common.partition.RangeDistribution> distribution = MetaService.root().getIndexRangeDistribution(commonId, mapping(index));
-                        PartitionService ps = PartitionService.getService(
-                            Optional.ofNullable(index.getPartition())
-                                .map(Partition::getFuncName)
-                                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-                        DingoCommonId regionId = mapping(ps.calcPartId(bytes, distribution));
-                        result = storeService.kvBatchDelete(indexId, regionId,
-                            singletonList(indexCodec.resetPrefix(bytes, regionId.parentId()))).get(0);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                }
-                if (!result) {
-                    return false;
+                    scalarDelete(context, converted, results);
                 }
             }
-            return true;
+            return results;
         }
 
         @Override
@@ -305,63 +379,34 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
             newRecord = (Object[]) tableCodec.type.convertTo(newRecord, DingoConverter.INSTANCE);
             oldRecord = (Object[]) tableCodec.type.convertTo(oldRecord, DingoConverter.INSTANCE);
             for (Map.Entry<DingoCommonId, Table> entry : tableMap.entrySet()) {
-                DingoCommonId indexId = entry.getKey();
-                Table index = entry.getValue();
-                boolean result = false;
-                if (index.getIndexParameter().getIndexType().equals(IndexParameter.IndexType.INDEX_TYPE_VECTOR)) {
-                    Column primaryKey = index.getColumns().get(0);
-                    schema.setIsKey(true);
-                    schema.setAllowNull(false);
-                    DingoKeyValueCodec vectorCodec = new DingoKeyValueCodec(0l, singletonList(schema));
-
-                    long newLongId = Long.parseLong(
-                        String.valueOf(newRecord[table.getColumnIndex(primaryKey.getName())])
-                    );
-                    long oldLongId = Long.parseLong(
-                        String.valueOf(oldRecord[table.getColumnIndex(primaryKey.getName())])
-                    );
-                    if (newLongId != oldLongId) {
-                        try {
-                            CommonId commonId = mapping(indexId);
-                            NavigableMap<ByteArrayUtils.ComparableByteArray, io.dingodb.common.partition.RangeDistribution> distribution = MetaService.root().getIndexRangeDistribution(commonId, mapping(index));
-                            PartitionService ps = PartitionService.getService(
-                                Optional.ofNullable(index.getPartition())
-                                    .map(Partition::getFuncName)
-                                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-                            DingoCommonId regionId = mapping(ps.calcPartId(vectorCodec.encodeKey(new Object[]{oldLongId}), distribution));
-                            indexService.vectorDelete(indexId, regionId, singletonList(oldLongId));
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
+                IndexContext context = indexContext(entry.getKey(), entry.getValue(), table);
+                try {
+                    if (context.vector) {
+                        long newId = context.vectorId(newRecord);
+                        long oldId = context.vectorId(oldRecord);
+                        if (newId != oldId) {
+                            execIndex(
+                                context,
+                                singletonList(oldId),
+                                singletonList(context.idKeyCodec.encodeKey(new Object[]{oldId})),
+                                (ctx, id, batch) -> indexService.vectorDelete(ctx.indexId, mapping(id), batch)
+                            );
                         }
-                    }
-                } else {
-                    List<DingoSchema> schemas = new ArrayList<>();
-                    for (Column column : index.getColumns()) {
-                        schemas.add(CodecUtils.createSchemaForColumn(column, table.getColumnIndex(column.getName())));
-                    }
-                    DingoKeyValueCodec indexCodec = new DingoKeyValueCodec(0l, schemas);
-                    try {
-                        io.dingodb.sdk.common.KeyValue newKv = indexCodec.encode(newRecord);
-                        io.dingodb.sdk.common.KeyValue oldKv = indexCodec.encode(oldRecord);
+                    } else {
+                        io.dingodb.sdk.common.KeyValue newKv = context.codec.encode(newRecord);
+                        io.dingodb.sdk.common.KeyValue oldKv = context.codec.encode(oldRecord);
                         if (!equal(newKv.getKey(), oldKv.getKey())) {
-                            CommonId commonId = mapping(indexId);
-                            NavigableMap<ByteArrayUtils.ComparableByteArray, io.dingodb.common.partition.RangeDistribution> distribution = MetaService.root().getIndexRangeDistribution(commonId, mapping(index));
-                            PartitionService ps = PartitionService.getService(
-                                Optional.ofNullable(index.getPartition())
-                                    .map(Partition::getFuncName)
-                                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-                            DingoCommonId regionId = mapping(ps.calcPartId(oldKv.getKey(), distribution));
-                            storeService.kvBatchDelete(
-                                indexId,
-                                regionId,
-                                singletonList(indexCodec.resetPrefix(oldKv.getKey(), regionId.parentId())));
+                            List<byte[]> keys = singletonList(oldKv.getKey());
+                            execIndex(context, keys, keys, (ctx, id, batch) -> {
+                                DingoCommonId regionId = mapping(id);
+                                return storeService.kvBatchDelete(ctx.indexId, regionId, resetPrefix(
+                                    batch, key -> ctx.codec.resetPrefix(key, regionId.parentId())
+                                ));
+                            });
                         }
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
                     }
-                }
-                if (!result) {
-                    return false;
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
                 }
             }
             return true;
@@ -372,8 +417,11 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
             row = setId(row);
             old = setId(old);
             if (ByteArrayUtils.equal(row.getKey(), old.getKey())) {
-                return storeService.kvCompareAndSet(
-                    storeTableId, storeRegionId, new KeyValueWithExpect(row.getKey(), row.getValue(), old.getValue())
+                KeyValueWithExpect kvExpect = new KeyValueWithExpect(row.getKey(), row.getValue(), old.getValue());
+                return exec(
+                    kvExpect,
+                    KeyValueWithExpect::getKey,
+                    (regionId, kv) -> storeService.kvCompareAndSet(storeTableId, regionId, kv)
                 );
             }
             throw new IllegalArgumentException();
@@ -381,24 +429,47 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
 
         @Override
         public boolean delete(byte[] key) {
-            return storeService.kvBatchDelete(storeTableId, storeRegionId, singletonList(setId(key))).get(0);
+            return exec(
+                setId(key),
+                Function.identity(),
+                (regionId, k) -> storeService.kvBatchDelete(storeTableId, regionId, singletonList(k)).get(0)
+            );
         }
 
         @Override
         public long delete(Range range) {
-            range = new Range(setId(range.start), setId(range.end), range.withStart, range.withEnd);
-            return storeService.kvDeleteRange(storeTableId, storeRegionId, mapping(range));
+            Range storeRange = new Range(setId(range.start), setId(range.end), range.withStart, range.withEnd);
+            try {
+                return storeService.kvDeleteRange(storeTableId, storeRegionId, mapping(storeRange));
+            } catch (DingoClientException.InvalidRouteTableException e) {
+                long count = 0;
+                for (RangeDistribution region : partitionService().calcPartitionRange(
+                    storeRange.start, storeRange.end, storeRange.withStart, storeRange.withEnd, refreshDistribution()
+                )) {
+                    count += storeService.kvDeleteRange(
+                        storeTableId, mapping(region.id()), mapping(RegionRouter.clamp(storeRange, region))
+                    );
+                }
+                return count;
+            }
         }
 
         @Override
         public KeyValue get(byte[] key) {
-            return new KeyValue(key, storeService.kvGet(storeTableId, storeRegionId, setId(key)));
+            return new KeyValue(key, exec(
+                setId(key),
+                Function.identity(),
+                (regionId, k) -> storeService.kvGet(storeTableId, regionId, k)
+            ));
         }
 
         @Override
         public List<KeyValue> get(List<byte[]> keys) {
-            return storeService.kvBatchGet(
-                    storeTableId, storeRegionId, keys.stream().map(this::setId).collect(Collectors.toList())
+            return exec(
+                    keys.stream().map(this::setId).collect(Collectors.toList()),
+                    Function.identity(),
+                    (regionId, batch) -> storeService.kvBatchGet(storeTableId, regionId, batch),
+                    false
                 ).stream()
                 .map(Mapping::mapping).collect(Collectors.toList());
         }
@@ -484,85 +555,195 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
             return vectorSearchResponseList;
         }
 
+        /**
+         * Count the records in the range by aggregation in the store, which returns one count for the region.
+         */
         @Override
         public long count(Range range) {
-            // todo operator push down
-            range = new Range(setId(range.start), setId(range.end), range.withStart, range.withEnd);
-            Iterator<KeyValue> iterator = scan(range);
-            long count = 0;
-            while (iterator.hasNext()) {
-                iterator.next();
-                count++;
-            }
-            return count;
+            Coprocessor coprocessor = Aggregations.count(mapping(table).getColumns(), tableId.seq);
+            io.dingodb.codec.KeyValueCodec codec = CodecService.getDefault()
+                .createKeyValueCodec(tableId, singletonList(Aggregations.COUNT_COLUMN));
+            return Aggregations.sumCounts(scan(range, coprocessor), codec);
         }
 
-        private boolean scalarInsert(Object[] record, Table table, DingoCommonId indexId, Table index) {
-            List<DingoSchema> schemas = new ArrayList<>();
-            for (Column column : index.getColumns()) {
-                schemas.add(CodecUtils.createSchemaForColumn(column, table.getColumnIndex(column.getName())));
-            }
-
-            Object[] newRecord = (Object[]) tableCodec.type.convertTo(record, DingoConverter.INSTANCE);
-            DingoKeyValueCodec indexCodec = new DingoKeyValueCodec(0l, schemas);
-            io.dingodb.sdk.common.KeyValue keyValue;
+        /**
+         * Call the store with the parameters in the region of this instance. If the store reports a stale route, drop
+         * the cached distribution of the table and call once more for each region the keys belong to in the refreshed
+         * distribution, for the region may have been split or merged.
+         *
+         * @param aligned if the store returns one result for each parameter
+         */
+        private <K, R> List<R> exec(
+            @NonNull List<K> params,
+            @NonNull Function<K, byte[]> keyOf,
+            @NonNull BiFunction<DingoCommonId, List<K>, List<R>> call,
+            boolean aligned
+        ) {
             try {
-                keyValue = indexCodec.encode(newRecord);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+                return call.apply(storeRegionId, params);
+            } catch (DingoClientException.InvalidRouteTableException e) {
+                NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges = refreshDistribution();
+                PartitionService partitionService = partitionService();
+                return RegionRouter.call(
+                    params,
+                    keyOf,
+                    // Hash partition service resets the key prefix, so give it a copy.
+                    key -> partitionService.calcPartId(Arrays.copyOf(key, key.length), ranges),
+                    (regionId, batch) -> call.apply(mapping(regionId), batch),
+                    aligned
+                );
             }
-            CommonId commonId = mapping(indexId);
-            NavigableMap<ByteArrayUtils.ComparableByteArray, io.dingodb.common.partition.RangeDistribution> distribution = MetaService.root().getIndexRangeDistribution(commonId, mapping(index));
-            PartitionService ps = PartitionService.getService(
-                Optional.ofNullable(index.getPartition())
+        }
+
+        private <K, R> R exec(
+            @NonNull K param,
+            @NonNull Function<K, byte[]> keyOf,
+            @NonNull BiFunction<DingoCommonId, K, R> call
+        ) {
+            return exec(
+                singletonList(param),
+                keyOf,
+                (regionId, batch) -> singletonList(call.apply(regionId, batch.get(0))),
+                true
+            ).get(0);
+        }
+
+        private NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> refreshDistribution() {
+            MetaCache.INSTANCE.invalidateDistribution(tableId);
+            return metaService.getRangeDistribution(tableId);
+        }
+
+        private PartitionService partitionService() {
+            return PartitionService.getService(
+                Optional.ofNullable(table.getPartition())
                     .map(Partition::getFuncName)
                     .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-            DingoCommonId regionId = mapping(ps.calcPartId(keyValue.getKey(), distribution));
+        }
 
-            return storeService.kvPut(indexId, regionId, new io.dingodb.sdk.common.KeyValue(
-                indexCodec.resetPrefix(keyValue.getKey(), regionId.parentId()), keyValue.getValue()));
+        private KeyValueWithExpect resetPrefix(KeyValueWithExpect kvExpect, DingoCommonId regionId) {
+            return new KeyValueWithExpect(
+                tableCodec.delegate.resetPrefix(kvExpect.getKey(), regionId.parentId()),
+                kvExpect.getValue(),
+                kvExpect.getExpect()
+            );
         }
 
-        private void vectorAdd(Object[] record, Table table,
-                               KeyValueCodec tableCodec,
-                               DingoCommonId indexId,
-                               Table index) {
-            Column primaryKey = index.getColumns().get(0);
-            schema.setIsKey(true);
-            schema.setAllowNull(primaryKey.isNullable());
+        private List<Object[]> convert(List<Object[]> records) {
+            return records.stream()
+                .map(r -> (Object[]) tableCodec.type.convertTo(r, DingoConverter.INSTANCE))
+                .collect(Collectors.toList());
+        }
 
-            long longId = Long.parseLong(String.valueOf(record[table.getColumnIndex(primaryKey.getName())]));
+        /**
+         * Put the index entries of the records, in one batch for each index region.
+         */
+        private List<Boolean> scalarInsert(IndexContext context, List<Object[]> records) {
+            List<io.dingodb.sdk.common.KeyValue> keyValues = new ArrayList<>(records.size());
+            List<byte[]> keys = new ArrayList<>(records.size());
+            try {
+                for (Object[] record : records) {
+                    io.dingodb.sdk.common.KeyValue keyValue = context.codec.encode(record);
+                    keyValues.add(keyValue);
+                    keys.add(keyValue.getKey());
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return execIndex(context, keyValues, keys, (ctx, id, batch) -> {
+                DingoCommonId regionId = mapping(id);
+                boolean result = storeService.kvBatchPut(ctx.indexId, regionId, batch.stream()
+                    .map(kv -> new io.dingodb.sdk.common.KeyValue(
+                        ctx.codec.resetPrefix(copy(kv.getKey()), regionId.parentId()), kv.getValue()
+                    ))
+                    .collect(Collectors.toList()));
+                return Collections.nCopies(batch.size(), result);
+            });
+        }
 
-            DingoKeyValueCodec vectorCodec = new DingoKeyValueCodec(0l, singletonList(schema));
-            DingoCommonId regionId;
+        /**
+         * Delete the index entries of the records, in one batch for each index region.
+         */
+        private void scalarDelete(IndexContext context, List<Object[]> records, List<Boolean> results) {
+            List<byte[]> keys = new ArrayList<>(records.size());
             try {
-                CommonId commonId = mapping(indexId);
-                NavigableMap<ByteArrayUtils.ComparableByteArray, io.dingodb.common.partition.RangeDistribution> distribution = MetaService.root().getIndexRangeDistribution(commonId, mapping(index));
-                PartitionService ps
-                    = PartitionService.getService(index.getPartition().getFuncName());
-                regionId = mapping(ps.calcPartId(vectorCodec.encodeKey(new Object[]{longId}), distribution));
+                for (Object[] record : records) {
+                    keys.add(context.keyCodec.encodeKey(record));
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+            mergeResults(results, execIndex(context, keys, keys, (ctx, id, batch) -> {
+                DingoCommonId regionId = mapping(id);
+                return storeService.kvBatchDelete(ctx.indexId, regionId, resetPrefix(
+                    batch, key -> ctx.keyCodec.resetPrefix(key, regionId.parentId())
+                ));
+            }));
+        }
 
-            Column value = index.getColumns().get(1);
-            Vector vector;
-            if (value.getElementType().equalsIgnoreCase("FLOAT")) {
-                List<Float> values = (List<Float>) record[table.getColumnIndex(value.getName())];
-                vector = Vector.getFloatInstance(values.size(), values);
-            } else {
-                List<byte[]> values = (List<byte[]>) record[table.getColumnIndex(value.getName())];
-                vector = Vector.getBinaryInstance(values.size(), values);
+        /**
+         * Add the vectors of the records, in one batch for each index region.
+         */
+        private void vectorAdd(IndexContext context, List<Object[]> records) {
+            List<VectorWithId> vectors = new ArrayList<>(records.size());
+            List<byte[]> keys = new ArrayList<>(records.size());
+            try {
+                for (Object[] record : records) {
+                    long id = context.vectorId(record);
+                    KeyValue keyValue = tableCodec.encode(record);
+                    vectors.add(new VectorWithId(
+                        id,
+                        context.vector(record),
+                        null,
+                        new VectorTableData(keyValue.getKey(), keyValue.getValue())
+                    ));
+                    keys.add(context.idCodec.encodeKey(new Object[]{id}));
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
             }
-            VectorTableData vectorTableData;
+            execIndex(context, vectors, keys, (ctx, id, batch) -> {
+                indexService.vectorAdd(ctx.indexId, mapping(id), batch, false, false);
+                return Collections.nCopies(batch.size(), true);
+            });
+        }
+
+        /**
+         * Delete the vectors of the records, in one batch for each index region.
+         */
+        private void vectorDelete(IndexContext context, List<Object[]> records, List<Boolean> results) {
+            List<Long> ids = new ArrayList<>(records.size());
+            List<byte[]> keys = new ArrayList<>(records.size());
             try {
-                KeyValue keyValue = tableCodec.encode(record);
-                vectorTableData = new VectorTableData(keyValue.getKey(), keyValue.getValue());
+                for (Object[] record : records) {
+                    long id = context.vectorId(record);
+                    ids.add(id);
+                    keys.add(context.idKeyCodec.encodeKey(new Object[]{id}));
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
-            VectorWithId vectorWithId = new VectorWithId(longId, vector, null, vectorTableData);
-            indexService.vectorAdd(indexId, regionId, singletonList(vectorWithId), false, false);
+            mergeResults(results, execIndex(
+                context,
+                ids,
+                keys,
+                (ctx, id, batch) -> indexService.vectorDelete(ctx.indexId, mapping(id), batch)
+            ));
+        }
+
+        private void mergeResults(List<Boolean> results, List<Boolean> batchResults) {
+            for (int i = 0; i < batchResults.size(); ++i) {
+                if (!batchResults.get(i)) {
+                    results.set(i, false);
+                }
+            }
+        }
+
+        private void mergeResults(List<Boolean> results, List<Integer> positions, List<Boolean> batchResults) {
+            for (int i = 0; i < positions.size(); ++i) {
+                if (!batchResults.get(i)) {
+                    results.set(positions.get(i), false);
+                }
+            }
         }
 
         private Search getSearch(VectorIndexParameter.VectorIndexType indexType, Map<String, Object> parameterMap) {
@@ -640,4 +821,159 @@ public final class StoreService implements io.dingodb.store.api.StoreService {
 
     }
 
+    private IndexContext indexContext(DingoCommonId indexId, Table index, Table table) {
+        CommonId id = mapping(indexId);
+        IndexContext context = indexContextCache.getIfPresent(id);
+        if (context == null
+            || context.indexVersion != index.getVersion()
+            || context.tableVersion != table.getVersion()
+        ) {
+            context = new IndexContext(
+                indexId, index, table, metaService.getIndexRangeDistribution(id, mapping(index))
+            );
+            indexContextCache.put(id, context);
+        }
+        return context;
+    }
+
+    /**
+     * Call the index store for the items, in one batch for each index region, and get the results in the order of the
+     * items. If the store reports a stale route, the context is rebuilt with a fresh distribution and the items not
+     * done yet are called once more. The cached context is dropped on any failure.
+     */
+    private <K, R> List<R> execIndex(
+        @NonNull IndexContext context,
+        @NonNull List<K> items,
+        @NonNull List<byte[]> keys,
+        RegionRouter.@NonNull RegionCall<IndexContext, K, R> call
+    ) {
+        try {
+            return RegionRouter.callWithRetry(
+                context,
+                IndexContext::regionOf,
+                items,
+                keys,
+                call,
+                DingoClientException.InvalidRouteTableException.class::isInstance,
+                this::rebuildIndexContext
+            );
+        } catch (RuntimeException e) {
+            indexContextCache.invalidate(mapping(context.indexId));
+            throw e;
+        }
+    }
+
+    private IndexContext rebuildIndexContext(@NonNull IndexContext context) {
+        CommonId id = mapping(context.indexId);
+        indexContextCache.invalidate(id);
+        MetaCache.INSTANCE.invalidateDistribution(id);
+        return indexContext(context.indexId, context.index, context.table);
+    }
+
+    private static byte[] copy(byte @NonNull [] key) {
+        return Arrays.copyOf(key, key.length);
+    }
+
+    /**
+     * Reset the prefixes of copies of the keys, so the keys kept for routing again are not changed.
+     */
+    private static List<byte[]> resetPrefix(@NonNull List<byte[]> keys, @NonNull Function<byte[], byte[]> reset) {
+        return keys.stream().map(key -> reset.apply(copy(key))).collect(Collectors.toList());
+    }
+
+    private static <T> List<T> select(@NonNull List<T> list, @NonNull List<Integer> positions) {
+        return positions.stream().map(list::get).collect(Collectors.toList());
+    }
+
+    private static final class IndexContext {
+        private final DingoCommonId indexId;
+        private final Table index;
+        private final Table table;
+        private final int indexVersion;
+        private final int tableVersion;
+        private final boolean vector;
+        private final NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distribution;
+        private final PartitionService partitionService;
+
+        // For scalar index.
+        private final DingoKeyValueCodec codec;
+        private final DingoKeyValueCodec keyCodec;
+
+        // For vector index.
+        private final int idIndex;
+        private final int vectorIndex;
+        private final boolean floatVector;
+        private final DingoKeyValueCodec idCodec;
+        private final DingoKeyValueCodec idKeyCodec;
+
+        private IndexContext(
+            DingoCommonId indexId,
+            @NonNull Table index,
+            @NonNull Table table,
+            NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distribution
+        ) {
+            this.indexId = indexId;
+            this.index = index;
+            this.table = table;
+            this.indexVersion = index.getVersion();
+            this.tableVersion = table.getVersion();
+            this.vector = index.getIndexParameter().getIndexType().equals(IndexParameter.IndexType.INDEX_TYPE_VECTOR);
+            this.distribution = distribution;
+            this.partitionService = PartitionService.getService(
+                Optional.ofNullable(index.getPartition())
+                    .map(Partition::getFuncName)
+                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
+            List<Column> columns = index.getColumns();
+            if (vector) {
+                Column idColumn = columns.get(0);
+                Column vectorColumn = columns.get(1);
+                this.idIndex = table.getColumnIndex(idColumn.getName());
+                this.vectorIndex = table.getColumnIndex(vectorColumn.getName());
+                this.floatVector = vectorColumn.getElementType().equalsIgnoreCase("FLOAT");
+                this.idCodec = new DingoKeyValueCodec(0L, singletonList(idSchema(idColumn.isNullable())));
+                this.idKeyCodec = new DingoKeyValueCodec(0L, singletonList(idSchema(false)));
+                this.codec = null;
+                this.keyCodec = null;
+            } else {
+                this.codec = new DingoKeyValueCodec(0L, columns.stream()
+                    .map(c -> CodecUtils.createSchemaForColumn(c, table.getColumnIndex(c.getName())))
+                    .collect(Collectors.toList()));
+                this.keyCodec = new DingoKeyValueCodec(0L, index.getKeyColumns().stream()
+                    .map(c -> CodecUtils.createSchemaForColumn(c, table.getColumnIndex(c.getName())))
+                    .collect(Collectors.toList()));
+                this.idIndex = -1;
+                this.vectorIndex = -1;
+                this.floatVector = false;
+                this.idCodec = null;
+                this.idKeyCodec = null;
+            }
+        }
+
+        private static @NonNull DingoSchema idSchema(boolean allowNull) {
+            DingoSchema<Long> schema = new LongSchema(0);
+            schema.setIsKey(true);
+            schema.setAllowNull(allowNull);
+            return schema;
+        }
+
+        private CommonId regionOf(byte[] key) {
+            // Route on a copy, for the partition service may change the prefix, and the key may be routed again.
+            return partitionService.calcPartId(copy(key), distribution);
+        }
+
+        private long vectorId(Object @NonNull [] record) {
+            return Long.parseLong(String.valueOf(record[idIndex]));
+        }
+
+        @SuppressWarnings("unchecked")
+        private @NonNull Vector vector(Object @NonNull [] record) {
+            if (floatVector) {
+                List<Float> values = (List<Float>) record[vectorIndex];
+                return Vector.getFloatInstance(values.size(), values);
+            }
+            List<byte[]> values = (List<byte[]>) record[vectorIndex];
+            return Vector.getBinaryInstance(values.size(), values);
+        }
+    }
+
 }
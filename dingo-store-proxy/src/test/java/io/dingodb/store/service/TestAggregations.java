@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.store.service;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.AggregationOperator;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Coprocessor;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.table.ColumnDefinition;
+import io.dingodb.expr.core.TypeCode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestAggregations {
+    private static final CommonId TABLE_ID = new CommonId(CommonId.CommonType.TABLE, 2, 1);
+
+    @Test
+    public void testCount() {
+        List<ColumnDefinition> columns = Arrays.asList(
+            ColumnDefinition.builder().name("ID").type(TypeCode.INT_NAME).primary(0).build(),
+            ColumnDefinition.builder().name("NAME").type(TypeCode.STRING_NAME).nullable(true).build()
+        );
+        Coprocessor coprocessor = Aggregations.count(columns, TABLE_ID.seq);
+        assertThat(coprocessor.getOriginalSchema().getSchemas()).isEqualTo(columns);
+        assertThat(coprocessor.getOriginalSchema().getCommonId()).isEqualTo(TABLE_ID.seq);
+        assertThat(coprocessor.getResultSchema().getSchemas()).containsExactly(Aggregations.COUNT_COLUMN);
+        assertThat(coprocessor.getResultSchema().getCommonId()).isEqualTo(TABLE_ID.seq);
+        assertThat(coprocessor.getAggregations()).containsExactly(AggregationOperator.builder()
+            .operation(AggregationOperator.AggregationType.COUNT_WITH_NULL)
+            .indexOfColumn(0)
+            .build());
+        assertThat(coprocessor.getSelection()).isEmpty();
+        assertThat(coprocessor.getGroupBy()).isEmpty();
+    }
+
+    @Test
+    public void testSumCounts() throws IOException {
+        KeyValueCodec codec = CodecService.INSTANCE.createKeyValueCodec(
+            TABLE_ID, singletonList(Aggregations.COUNT_COLUMN)
+        );
+        // One count for each region scanned.
+        List<KeyValue> counts = Arrays.asList(
+            codec.encode(new Object[]{3L}),
+            codec.encode(new Object[]{0L}),
+            codec.encode(new Object[]{4L})
+        );
+        assertThat(Aggregations.sumCounts(counts.iterator(), codec)).isEqualTo(7L);
+    }
+
+    @Test
+    public void testSumCountsEmpty() {
+        KeyValueCodec codec = CodecService.INSTANCE.createKeyValueCodec(
+            TABLE_ID, singletonList(Aggregations.COUNT_COLUMN)
+        );
+        assertThat(Aggregations.sumCounts(Collections.emptyIterator(), codec)).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.store.service;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.table.TableDefinition;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestMetaCache {
+    private static final CommonId TABLE_ID = new CommonId(CommonId.CommonType.TABLE, 2, 1);
+
+    private MetaCache cache;
+    private AtomicInteger loads;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        // Needed by the shared instance, which is initialized with the class.
+        DingoConfiguration.parse(null);
+        DingoConfiguration.instance().getStoreOrigin().put("coordinators", "localhost:22001");
+    }
+
+    @BeforeEach
+    public void setup() {
+        cache = new MetaCache(60);
+        loads = new AtomicInteger();
+    }
+
+    private MetaCache.Distribution load(int version) {
+        loads.incrementAndGet();
+        return new MetaCache.Distribution(
+            version,
+            new TreeMap<ComparableByteArray, RangeDistribution>(),
+            Collections.emptyMap()
+        );
+    }
+
+    @Test
+    public void testDistributionOfSameVersion() {
+        MetaCache.Distribution distribution = cache.getDistribution(TABLE_ID, 1, () -> load(1));
+        assertThat(cache.getDistribution(TABLE_ID, 1, () -> load(1))).isSameAs(distribution);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void testDistributionOfNewVersion() {
+        cache.getDistribution(TABLE_ID, 1, () -> load(1));
+        // The definition was changed by DDL issued through another node.
+        MetaCache.Distribution distribution = cache.getDistribution(TABLE_ID, 2, () -> load(2));
+        assertThat(distribution.version).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getDistribution(TABLE_ID, 2, () -> load(2))).isSameAs(distribution);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    public void testDefinitionCached() {
+        TableDefinition definition = new TableDefinition("T");
+        assertThat(cache.get(cache.definitions, TABLE_ID, () -> {
+            loads.incrementAndGet();
+            return definition;
+        })).isSameAs(definition);
+        assertThat(cache.get(cache.definitions, TABLE_ID, () -> {
+            loads.incrementAndGet();
+            return definition;
+        })).isSameAs(definition);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void testInvalidateDistribution() {
+        cache.getDistribution(TABLE_ID, 1, () -> load(1));
+        cache.get(cache.definitions, TABLE_ID, () -> new TableDefinition("T"));
+        cache.get(cache.indexDistributions, MetaCache.indexDistributionKey(TABLE_ID, true), TreeMap::new);
+        cache.invalidateDistribution(TABLE_ID);
+        assertThat(cache.definitions.size()).isZero();
+        assertThat(cache.indexDistributions.size()).isZero();
+        cache.getDistribution(TABLE_ID, 1, () -> load(1));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    public void testNullNotCached() {
+        assertThat(cache.get(cache.indexDistributions, MetaCache.indexDistributionKey(TABLE_ID, false), () -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.indexDistributions.size()).isZero();
+        assertThat(loads).hasValue(1);
+    }
+}
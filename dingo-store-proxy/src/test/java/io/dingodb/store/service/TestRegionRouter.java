@@ -0,0 +1,216 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.store.service;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.store.api.StoreInstance.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestRegionRouter {
+    private static final CommonId REGION_1 = new CommonId(CommonId.CommonType.DISTRIBUTION, 1, 1);
+    private static final CommonId REGION_2 = new CommonId(CommonId.CommonType.DISTRIBUTION, 1, 2);
+
+    // Keys less than 'c' are in region 1, others in region 2, as if region 1 was split at 'c'.
+    private static CommonId regionOf(byte[] key) {
+        return key[0] < 'c' ? REGION_1 : REGION_2;
+    }
+
+    private static byte[] key(char c) {
+        return new byte[]{(byte) c};
+    }
+
+    // The context is the epoch of the route table, region 1 is split since epoch 1.
+    private static CommonId regionOf(Integer epoch, byte[] key) {
+        return epoch == 0 ? REGION_1 : regionOf(key);
+    }
+
+    private static List<byte[]> keys(List<String> items) {
+        return items.stream().map(item -> key(item.charAt(0))).collect(Collectors.toList());
+    }
+
+    private static class StaleRouteException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static List<String> callWithRetry(
+        List<String> items,
+        RegionRouter.RegionCall<Integer, String, String> call
+    ) {
+        return RegionRouter.callWithRetry(
+            0,
+            TestRegionRouter::regionOf,
+            items,
+            keys(items),
+            call,
+            StaleRouteException.class::isInstance,
+            epoch -> epoch + 1
+        );
+    }
+
+    @Test
+    public void testGroupByRegion() {
+        List<byte[]> keys = Arrays.asList(key('c'), key('a'), key('d'), key('b'));
+        Map<CommonId, List<Integer>> regions = RegionRouter.groupByRegion(
+            keys, Function.identity(), TestRegionRouter::regionOf
+        );
+        assertThat(regions.keySet()).containsExactly(REGION_2, REGION_1);
+        assertThat(regions.get(REGION_1)).containsExactly(1, 3);
+        assertThat(regions.get(REGION_2)).containsExactly(0, 2);
+    }
+
+    @Test
+    public void testCallAligned() {
+        List<byte[]> keys = Arrays.asList(key('a'), key('c'), key('b'), key('d'));
+        List<CommonId> calls = new ArrayList<>();
+        List<String> results = RegionRouter.call(
+            keys,
+            Function.identity(),
+            TestRegionRouter::regionOf,
+            (regionId, batch) -> {
+                calls.add(regionId);
+                return batch.stream()
+                    .map(k -> regionId.seq + ":" + (char) k[0])
+                    .collect(Collectors.toList());
+            },
+            true
+        );
+        assertThat(calls).containsExactly(REGION_1, REGION_2);
+        assertThat(results).containsExactly("1:a", "2:c", "1:b", "2:d");
+    }
+
+    @Test
+    public void testCallNotAligned() {
+        List<byte[]> keys = Arrays.asList(key('a'), key('c'), key('b'), key('d'));
+        // Only the keys found are returned, as kvBatchGet does.
+        List<String> results = RegionRouter.call(
+            keys,
+            Function.identity(),
+            TestRegionRouter::regionOf,
+            (regionId, batch) -> batch.stream()
+                .filter(k -> k[0] != 'b')
+                .map(k -> String.valueOf((char) k[0]))
+                .collect(Collectors.toList()),
+            false
+        );
+        assertThat(results).containsExactly("a", "c", "d");
+    }
+
+    @Test
+    public void testClamp() {
+        RangeDistribution region = RangeDistribution.builder()
+            .id(REGION_2)
+            .startKey(key('c'))
+            .endKey(key('e'))
+            .build();
+        Range range = RegionRouter.clamp(new Range(key('a'), key('f'), false, true), region);
+        assertThat(range.start).isEqualTo(key('c'));
+        assertThat(range.withStart).isTrue();
+        assertThat(range.end).isEqualTo(key('e'));
+        assertThat(range.withEnd).isFalse();
+        range = RegionRouter.clamp(new Range(key('c'), key('d'), false, true), region);
+        assertThat(range.start).isEqualTo(key('c'));
+        assertThat(range.withStart).isFalse();
+        assertThat(range.end).isEqualTo(key('d'));
+        assertThat(range.withEnd).isTrue();
+    }
+
+    @Test
+    public void testClampLastRegion() {
+        RangeDistribution region = RangeDistribution.builder()
+            .id(REGION_2)
+            .startKey(key('c'))
+            .build();
+        Range range = RegionRouter.clamp(new Range(key('a'), key('f'), true, true), region);
+        assertThat(range.start).isEqualTo(key('c'));
+        assertThat(range.end).isEqualTo(key('f'));
+        assertThat(range.withEnd).isTrue();
+    }
+
+    @Test
+    public void testCallWithRetry() {
+        List<String> items = Arrays.asList("a", "c", "b", "d");
+        List<String> calls = new ArrayList<>();
+        List<String> results = callWithRetry(items, (epoch, regionId, batch) -> {
+            calls.add(epoch + "/" + regionId.seq + ":" + String.join("", batch));
+            // The store knows region 1 was split.
+            if (batch.stream().anyMatch(item -> regionOf(key(item.charAt(0))) != regionId)) {
+                throw new StaleRouteException();
+            }
+            return batch.stream().map(item -> regionId.seq + ":" + item).collect(Collectors.toList());
+        });
+        assertThat(calls).containsExactly("0/1:acbd", "1/1:ab", "1/2:cd");
+        assertThat(results).containsExactly("1:a", "2:c", "1:b", "2:d");
+    }
+
+    @Test
+    public void testCallWithRetryKeepsDone() {
+        List<String> items = Arrays.asList("a", "c", "b", "d");
+        List<String> calls = new ArrayList<>();
+        // Route with the split regions from the beginning, but region 2 moved once.
+        List<String> results = RegionRouter.callWithRetry(
+            1,
+            TestRegionRouter::regionOf,
+            items,
+            keys(items),
+            (epoch, regionId, batch) -> {
+                calls.add(epoch + "/" + regionId.seq + ":" + String.join("", batch));
+                if (epoch == 1 && regionId.equals(REGION_2)) {
+                    throw new StaleRouteException();
+                }
+                return batch.stream().map(item -> epoch + ":" + item).collect(Collectors.toList());
+            },
+            StaleRouteException.class::isInstance,
+            epoch -> epoch + 1
+        );
+        assertThat(calls).containsExactly("1/1:ab", "1/2:cd", "2/2:cd");
+        assertThat(results).containsExactly("1:a", "2:c", "1:b", "2:d");
+    }
+
+    @Test
+    public void testCallWithRetryOnce() {
+        List<String> items = Arrays.asList("a", "c");
+        List<Integer> epochs = new ArrayList<>();
+        assertThatThrownBy(() -> callWithRetry(items, (epoch, regionId, batch) -> {
+            epochs.add(epoch);
+            throw new StaleRouteException();
+        })).isInstanceOf(StaleRouteException.class);
+        assertThat(epochs).containsExactly(0, 1);
+    }
+
+    @Test
+    public void testCallWithRetryNotStale() {
+        List<String> items = Arrays.asList("a", "c");
+        List<Integer> epochs = new ArrayList<>();
+        assertThatThrownBy(() -> callWithRetry(items, (epoch, regionId, batch) -> {
+            epochs.add(epoch);
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(epochs).containsExactly(0);
+    }
+}
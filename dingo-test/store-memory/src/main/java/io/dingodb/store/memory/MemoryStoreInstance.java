@@ -87,33 +87,53 @@ public class MemoryStoreInstance implements StoreInstance {
 
         while (iterator.hasNext()) {
             Map.Entry<byte[], byte[]> next = iterator.next();
-            boolean start = true;
-            boolean end = false;
-            if (includeStart) {
-                start = ByteArrayUtils.greatThanOrEqual(next.getKey(), startPrimaryKey);
-            } else {
-                start = ByteArrayUtils.greatThan(next.getKey(), startPrimaryKey);
-            }
-
-            if (includeEnd) {
-                end = ByteArrayUtils.lessThanOrEqual(next.getKey(), endPrimaryKey);
-            } else {
-                end = ByteArrayUtils.lessThan(next.getKey(), endPrimaryKey);
-            }
-
-            if (start && end) {
+            if (inRange(next.getKey(), startPrimaryKey, endPrimaryKey, includeStart, includeEnd)) {
                 treeMap.put(next.getKey(), next.getValue());
             }
         }
         return treeMap;
     }
 
+    /**
+     * Check if the key is in the range, a {@code null} start or end means the range is not bounded on that side.
+     */
+    private static boolean inRange(
+        byte[] key,
+        byte[] startPrimaryKey,
+        byte[] endPrimaryKey,
+        boolean includeStart,
+        boolean includeEnd
+    ) {
+        boolean start;
+        boolean end;
+        if (startPrimaryKey == null) {
+            start = true;
+        } else if (includeStart) {
+            start = ByteArrayUtils.greatThanOrEqual(key, startPrimaryKey);
+        } else {
+            start = ByteArrayUtils.greatThan(key, startPrimaryKey);
+        }
+        if (endPrimaryKey == null) {
+            end = true;
+        } else if (includeEnd) {
+            end = ByteArrayUtils.lessThanOrEqual(key, endPrimaryKey);
+        } else {
+            end = ByteArrayUtils.lessThan(key, endPrimaryKey);
+        }
+        return start && end;
+    }
+
     @Override
     public long count(Range range) {
-        Set<byte[]> keys = getTreeMapByRange(
-            db.entrySet().iterator(), range.start, range.end, range.withStart, range.withEnd
-        ).keySet();
-        return keys.size();
+        NavigableMap<byte[], byte[]> map;
+        if (range.start == null) {
+            map = range.end == null ? db : db.headMap(range.end, range.withEnd);
+        } else if (range.end == null) {
+            map = db.tailMap(range.start, range.withStart);
+        } else {
+            map = db.subMap(range.start, range.withStart, range.end, range.withEnd);
+        }
+        return map.size();
     }
 
     @Override